@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * Reference data frozen for fast lookup.
+ * <p>
+ * This flattens the underlying reference data into an array of holiday calendars, indexed by
+ * {@link HolidayCalendarId#getIndex()}, and a single map for all other identifiers.
+ * As such, a lookup does not need to walk a chain of combined reference data.
+ * <p>
+ * Only {@link ImmutableReferenceData} can be flattened, including when combined using
+ * {@link ReferenceData#combinedWith(ReferenceData)}. Any other reference data is queried
+ * after the flattened data, preserving the order of priority of the underlying data.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+final class FrozenReferenceData
+    implements ReferenceData, Serializable {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+  /** Empty calendar array. */
+  private static final HolidayCalendar[] EMPTY_CALENDARS = new HolidayCalendar[0];
+
+  /**
+   * The underlying reference data.
+   */
+  private final ReferenceData underlying;
+  /**
+   * The holiday calendars, indexed by the index of the identifier.
+   */
+  private final transient HolidayCalendar[] calendars;
+  /**
+   * The values by identifier, excluding holiday calendars.
+   */
+  private final transient ImmutableMap<ReferenceDataId<?>, Object> values;
+  /**
+   * The reference data that could not be flattened, null if none.
+   */
+  private final transient ReferenceData remainder;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that freezes the specified reference data.
+   *
+   * @param underlying  the underlying reference data
+   * @return the frozen reference data
+   */
+  static FrozenReferenceData of(ReferenceData underlying) {
+    ArgChecker.notNull(underlying, "underlying");
+    if (underlying instanceof FrozenReferenceData) {
+      return (FrozenReferenceData) underlying;
+    }
+    return new FrozenReferenceData(underlying);
+  }
+
+  // flattens the reference data
+  private FrozenReferenceData(ReferenceData underlying) {
+    this.underlying = underlying;
+    List<ReferenceData> layers = new ArrayList<>();
+    flatten(underlying, layers);
+    // values from earlier layers take priority
+    Map<HolidayCalendarId, HolidayCalendar> calendarMap = new HashMap<>();
+    Map<ReferenceDataId<?>, Object> valueMap = new HashMap<>();
+    int layerIndex = 0;
+    for (; layerIndex < layers.size(); layerIndex++) {
+      ReferenceData layer = layers.get(layerIndex);
+      if (!(layer instanceof ImmutableReferenceData)) {
+        break;
+      }
+      for (Map.Entry<ReferenceDataId<?>, Object> entry : ((ImmutableReferenceData) layer).getValues().entrySet()) {
+        if (entry.getKey() instanceof HolidayCalendarId) {
+          calendarMap.putIfAbsent((HolidayCalendarId) entry.getKey(), (HolidayCalendar) entry.getValue());
+        } else {
+          valueMap.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+      }
+    }
+    int maxIndex = calendarMap.keySet().stream().mapToInt(HolidayCalendarId::getIndex).max().orElse(-1);
+    HolidayCalendar[] calendarArray = maxIndex < 0 ? EMPTY_CALENDARS : new HolidayCalendar[maxIndex + 1];
+    calendarMap.forEach((id, cal) -> calendarArray[id.getIndex()] = cal);
+    this.calendars = calendarArray;
+    this.values = ImmutableMap.copyOf(valueMap);
+    // any remaining layers are queried in order
+    ReferenceData remaining = null;
+    for (int i = layers.size() - 1; i >= layerIndex; i--) {
+      remaining = remaining == null ? layers.get(i) : new CombinedReferenceData(layers.get(i), remaining);
+    }
+    this.remainder = remaining;
+  }
+
+  // flattens the reference data into a list in order of priority
+  private static void flatten(ReferenceData refData, List<ReferenceData> layers) {
+    if (refData instanceof CombinedReferenceData) {
+      CombinedReferenceData combined = (CombinedReferenceData) refData;
+      flatten(combined.getRefData1(), layers);
+      flatten(combined.getRefData2(), layers);
+    } else if (refData instanceof FrozenReferenceData) {
+      flatten(((FrozenReferenceData) refData).underlying, layers);
+    } else {
+      layers.add(refData);
+    }
+  }
+
+  // resolve after deserialization
+  private Object readResolve() {
+    return new FrozenReferenceData(underlying);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the underlying reference data.
+   *
+   * @return the underlying reference data
+   */
+  ReferenceData getUnderlying() {
+    return underlying;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean containsValue(ReferenceDataId<?> id) {
+    // overridden for performance
+    return id.queryValueOrNull(this) != null;
+  }
+
+  @Override
+  public <T> T getValue(ReferenceDataId<T> id) {
+    // overridden for performance
+    T value = id.queryValueOrNull(this);
+    if (value == null) {
+      throw new ReferenceDataNotFoundException(msgValueNotFound(id));
+    }
+    return value;
+  }
+
+  // extracted to aid inlining performance
+  private String msgValueNotFound(ReferenceDataId<?> id) {
+    return Messages.format(
+        "Reference data not found for identifier '{}' of type '{}'", id, id.getClass().getSimpleName());
+  }
+
+  @Override
+  public <T> Optional<T> findValue(ReferenceDataId<T> id) {
+    return Optional.ofNullable(id.queryValueOrNull(this));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T queryValueOrNull(ReferenceDataId<T> id) {
+    // no type check against id.getReferenceDataType() as checked when the underlying data was created
+    Object value;
+    if (id instanceof HolidayCalendarId) {
+      int index = ((HolidayCalendarId) id).getIndex();
+      value = index < calendars.length ? calendars[index] : null;
+    } else {
+      value = values.get(id);
+    }
+    if (value == null && remainder != null) {
+      return remainder.queryValueOrNull(id);
+    }
+    return (T) value;
+  }
+
+  @Override
+  public ReferenceData frozen() {
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof FrozenReferenceData) {
+      return underlying.equals(((FrozenReferenceData) obj).underlying);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return underlying.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "FrozenReferenceData[" + underlying + "]";
+  }
+
+}
@@ -154,4 +154,20 @@ public interface ReferenceData {
     return new CombinedReferenceData(this, other);
   }
 
+  /**
+   * Returns a frozen form of this reference data, optimized for fast lookup.
+   * <p>
+   * The result contains the same data as this instance.
+   * Holiday calendars are stored in an array indexed by {@link HolidayCalendarId#getIndex()},
+   * and other values in a single map, avoiding the need to query each set of combined reference data.
+   * <p>
+   * This is intended to be called once, when the reference data is set up, as the data is copied.
+   * The result is immutable and safe to share between threads.
+   *
+   * @return the frozen reference data
+   */
+  public default ReferenceData frozen() {
+    return FrozenReferenceData.of(this);
+  }
+
 }
@@ -10,6 +10,7 @@ import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.joda.convert.FromString;
 import org.joda.convert.ToString;
@@ -45,6 +46,15 @@ public final class Currency
    * The matcher for the code.
    */
   static final CharMatcher CODE_MATCHER = CharMatcher.inRange('A', 'Z');
+  /**
+   * The ordinals, keyed by code.
+   * Declared before the instances are loaded to ensure initialization.
+   */
+  private static final ConcurrentMap<String, Integer> ORDINALS = new ConcurrentHashMap<>();
+  /**
+   * The next ordinal.
+   */
+  private static final AtomicInteger ORDINAL_COUNTER = new AtomicInteger();
   /**
    * The configured instances.
    */
@@ -275,6 +285,10 @@ public final class Currency
    * The cached hash code.
    */
   private final transient int cachedHashCode;
+  /**
+   * The ordinal, dense from zero in order of creation.
+   */
+  private final transient int ordinal;
 
   //-------------------------------------------------------------------------
   /**
@@ -352,6 +366,7 @@ public final class Currency
     this.triangulationCurrency = triangulationCurrency;
     // total universe is (26 * 26 * 26) codes, which can provide a unique hash code
     this.cachedHashCode = ((code.charAt(0) - 64) << 16) + ((code.charAt(1) - 64) << 8) + (code.charAt(2) - 64);
+    this.ordinal = ORDINALS.computeIfAbsent(code, c -> ORDINAL_COUNTER.getAndIncrement());
   }
 
   /**
@@ -401,6 +416,19 @@ public final class Currency
     return Currency.of(triangulationCurrency);
   }
 
+  /**
+   * Gets the ordinal of the currency.
+   * <p>
+   * Each currency code is assigned a small non-negative ordinal when first created,
+   * allowing the currency to be used as an index into an array.
+   * The ordinal is not stable between runs of the application and must not be persisted.
+   * 
+   * @return the ordinal
+   */
+  int ordinal() {
+    return ordinal;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Compares this currency to another.
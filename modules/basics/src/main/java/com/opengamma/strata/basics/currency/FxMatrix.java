@@ -21,6 +21,7 @@ import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaBean;
 import org.joda.beans.MetaProperty;
 import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableConstructor;
 import org.joda.beans.gen.PropertyDefinition;
 import org.joda.beans.impl.direct.DirectMetaBean;
 import org.joda.beans.impl.direct.DirectMetaProperty;
@@ -44,7 +45,7 @@ import com.opengamma.strata.collect.tuple.Pair;
  * <p>
  * This class is immutable and thread-safe.
  */
-@BeanDefinition(builderScope = "private", constructorScope = "package")
+@BeanDefinition(builderScope = "private")
 public final class FxMatrix
     implements FxRateProvider, ImmutableBean, Serializable {
 
@@ -82,6 +83,14 @@ public final class FxMatrix
    */
   @PropertyDefinition(validate = "notNull")
   private final DoubleMatrix rates;
+  /**
+   * The position within the {@code rates} array, indexed by the currency ordinal, -1 if not present.
+   */
+  private final transient int[] indexByOrdinal;  // not a property
+  /**
+   * The rates as a flat array, with the rate for [i][j] at position {@code i * columnCount + j}.
+   */
+  private final transient double[] flatRates;  // not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -172,6 +181,38 @@ public final class FxMatrix
         FxMatrixBuilder::build);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   * 
+   * @param currencies  the map between the currencies and their position
+   * @param rates  the matrix of rates
+   */
+  @ImmutableConstructor
+  FxMatrix(Map<Currency, Integer> currencies, DoubleMatrix rates) {
+    JodaBeanUtils.notNull(currencies, "currencies");
+    JodaBeanUtils.notNull(rates, "rates");
+    this.currencies = ImmutableMap.copyOf(currencies);
+    this.rates = rates;
+    // derive the lookup arrays, avoiding map access and boxing when querying
+    int maxOrdinal = currencies.keySet().stream().mapToInt(Currency::ordinal).max().orElse(-1);
+    int[] indices = new int[maxOrdinal + 1];
+    Arrays.fill(indices, -1);
+    currencies.forEach((ccy, index) -> indices[ccy.ordinal()] = index);
+    int columns = rates.columnCount();
+    double[] flat = new double[rates.rowCount() * columns];
+    for (int i = 0; i < rates.rowCount(); i++) {
+      System.arraycopy(rates.rowArray(i), 0, flat, i * columns, columns);
+    }
+    this.indexByOrdinal = indices;
+    this.flatRates = flat;
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new FxMatrix(currencies, rates);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Returns the set of currencies held within this matrix.
@@ -199,16 +240,22 @@ public final class FxMatrix
     if (baseCurrency.equals(counterCurrency)) {
       return 1d;
     }
-    Integer index1 = currencies.get(baseCurrency);
-    Integer index2 = currencies.get(counterCurrency);
-    if (index1 != null && index2 != null) {
-      return rates.get(index1, index2);
+    int index1 = index(baseCurrency);
+    int index2 = index(counterCurrency);
+    if (index1 >= 0 && index2 >= 0) {
+      return flatRates[index1 * rates.columnCount() + index2];
     } else {
       throw new IllegalArgumentException(Messages.format(
           "No FX rate found for {}/{}, matrix only contains rates for {}", baseCurrency, counterCurrency, currencies.keySet()));
     }
   }
 
+  // finds the position of the currency, -1 if not present
+  private int index(Currency currency) {
+    int ordinal = currency.ordinal();
+    return ordinal < indexByOrdinal.length ? indexByOrdinal[ordinal] : -1;
+  }
+
   /**
    * Converts a {@code CurrencyAmount} into an amount in the specified
    * currency using the rates in this matrix.
@@ -242,10 +289,10 @@ public final class FxMatrix
 
     // We could do this using the currency amounts but to
     // avoid creating extra objects we'll use doubles
-    double total = amount.getAmounts()
-        .stream()
-        .mapToDouble(ca -> convert(ca.getAmount(), ca.getCurrency(), targetCurrency))
-        .sum();
+    double total = 0d;
+    for (CurrencyAmount ca : amount.getAmounts()) {
+      total += convert(ca.getAmount(), ca.getCurrency(), targetCurrency);
+    }
     return CurrencyAmount.of(targetCurrency, total);
   }
 
@@ -304,20 +351,6 @@ public final class FxMatrix
    */
   private static final long serialVersionUID = 1L;
 
-  /**
-   * Creates an instance.
-   * @param currencies  the value of the property, not null
-   * @param rates  the value of the property, not null
-   */
-  FxMatrix(
-      Map<Currency, Integer> currencies,
-      DoubleMatrix rates) {
-    JodaBeanUtils.notNull(currencies, "currencies");
-    JodaBeanUtils.notNull(rates, "rates");
-    this.currencies = ImmutableMap.copyOf(currencies);
-    this.rates = rates;
-  }
-
   @Override
   public FxMatrix.Meta metaBean() {
     return FxMatrix.Meta.INSTANCE;
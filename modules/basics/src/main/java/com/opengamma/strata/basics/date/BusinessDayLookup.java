@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.date;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+
+import com.google.common.collect.Sets;
+
+/**
+ * Lookup table of business days supporting counting and shifting in constant time.
+ * <p>
+ * The table is the int array of {@link ImmutableHolidayCalendar}, where each int represents a month
+ * and each bit within the int represents a date, 0 for a holiday and 1 for a business day.
+ * In addition, the cumulative number of business days at the start of each month is stored,
+ * so that the number of business days before a date is found using a single bit count.
+ * <p>
+ * Dates outside the table cause an {@link ArrayIndexOutOfBoundsException}, which callers are expected
+ * to handle by falling back to the weekend days, as in {@link ImmutableHolidayCalendar}.
+ */
+final class BusinessDayLookup {
+
+  /**
+   * The start year.
+   * Used as the base year for the lookup table.
+   */
+  private final int startYear;
+  /**
+   * The lookup table, where each item represents a month from January of startYear onwards.
+   */
+  private final int[] lookup;
+  /**
+   * The number of business days in the table before each month, with one extra item for the total.
+   */
+  private final int[] cumulative;
+  /**
+   * The weekend days, applicable outside the range of the table.
+   */
+  private final Set<DayOfWeek> weekendDays;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the lookup table of a calendar.
+   *
+   * @param startYear  the start year of the table
+   * @param lookup  the lookup table, not copied
+   * @param weekendDays  the weekend days, applicable outside the range of the table
+   * @return the lookup
+   */
+  static BusinessDayLookup of(int startYear, int[] lookup, Set<DayOfWeek> weekendDays) {
+    return new BusinessDayLookup(startYear, lookup, weekendDays);
+  }
+
+  /**
+   * Obtains an instance where a date is a holiday if it is a holiday in either lookup.
+   * <p>
+   * The range of the result covers the range of both inputs.
+   * Outside the range of one of the inputs, its weekend days are used.
+   *
+   * @param lookup1  the first lookup
+   * @param lookup2  the second lookup
+   * @return the merged lookup
+   */
+  static BusinessDayLookup merged(BusinessDayLookup lookup1, BusinessDayLookup lookup2) {
+    Set<DayOfWeek> weekendDays = Sets.union(lookup1.weekendDays, lookup2.weekendDays).immutableCopy();
+    if (lookup1.lookup.length == 0 && lookup2.lookup.length == 0) {
+      return new BusinessDayLookup(0, new int[0], weekendDays);
+    }
+    int startYear = Math.min(lookup1.startYearOr(Integer.MAX_VALUE), lookup2.startYearOr(Integer.MAX_VALUE));
+    int endYearExclusive = Math.max(lookup1.endYearOr(Integer.MIN_VALUE), lookup2.endYearOr(Integer.MIN_VALUE));
+    int[] array = new int[(endYearExclusive - startYear) * 12];
+    LocalDate firstOfMonth = LocalDate.of(startYear, 1, 1);
+    for (int i = 0; i < array.length; i++) {
+      array[i] = lookup1.monthData(firstOfMonth) & lookup2.monthData(firstOfMonth);
+      firstOfMonth = firstOfMonth.plusMonths(1);
+    }
+    return new BusinessDayLookup(startYear, array, weekendDays);
+  }
+
+  // create the cumulative counts
+  private BusinessDayLookup(int startYear, int[] lookup, Set<DayOfWeek> weekendDays) {
+    this.startYear = startYear;
+    this.lookup = lookup;
+    this.weekendDays = weekendDays;
+    this.cumulative = new int[lookup.length + 1];
+    for (int i = 0; i < lookup.length; i++) {
+      // use JDK bitCount() method which is mapped to a fast intrinsic
+      cumulative[i + 1] = cumulative[i] + Integer.bitCount(lookup[i]);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // the start year, or the default if the table is empty
+  private int startYearOr(int defaultYear) {
+    return lookup.length == 0 ? defaultYear : startYear;
+  }
+
+  // the end year exclusive, or the default if the table is empty
+  private int endYearOr(int defaultYear) {
+    return lookup.length == 0 ? defaultYear : startYear + lookup.length / 12;
+  }
+
+  // the data for the month, using the weekend days outside the range of the table
+  private int monthData(LocalDate firstOfMonth) {
+    int index = (firstOfMonth.getYear() - startYear) * 12 + firstOfMonth.getMonthValue() - 1;
+    if (index >= 0 && index < lookup.length) {
+      return lookup[index];
+    }
+    return weekendMonthData(firstOfMonth, weekendDays);
+  }
+
+  /**
+   * Creates the data for a month with the days of the month set as business days, except for weekend days.
+   * <p>
+   * The bits for days beyond the end-of-month are unset and thus treated as non-business days.
+   *
+   * @param firstOfMonth  the first day of the month
+   * @param weekendDays  the weekend days
+   * @return the month data
+   */
+  static int weekendMonthData(LocalDate firstOfMonth, Set<DayOfWeek> weekendDays) {
+    // set each valid day-of-month to be a business day
+    // the minus one part converts a single set bit into each lower bit being set
+    int monthData = (1 << firstOfMonth.lengthOfMonth()) - 1;
+    // unset the bits associated with a weekend
+    // can unset across whole month using repeating pattern of 7 bits
+    // just need to find the offset between the weekend and the day-of-week of the 1st of the month
+    for (DayOfWeek weekendDow : weekendDays) {
+      int daysDiff = weekendDow.getValue() - firstOfMonth.getDayOfWeek().getValue();
+      int offset = (daysDiff < 0 ? daysDiff + 7 : daysDiff);
+      monthData &= ~(0b10000001000000100000010000001 << offset);
+    }
+    return monthData;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the number of business days between two dates.
+   *
+   * @param startInclusive  the start date
+   * @param endExclusive  the end date, not before the start date
+   * @return the number of business days
+   * @throws ArrayIndexOutOfBoundsException if either date is outside the table
+   */
+  int daysBetween(LocalDate startInclusive, LocalDate endExclusive) {
+    return businessDaysBefore(endExclusive) - businessDaysBefore(startInclusive);
+  }
+
+  // the number of business days in the table before the date
+  private int businessDaysBefore(LocalDate date) {
+    int index = (date.getYear() - startYear) * 12 + date.getMonthValue() - 1;
+    // keep the bits of the days before the zero-based day-of-month
+    return cumulative[index] + Integer.bitCount(lookup[index] & ((1 << (date.getDayOfMonth() - 1)) - 1));
+  }
+
+  /**
+   * Shifts the date by a number of business days.
+   * <p>
+   * This has the semantics of {@link HolidayCalendar#shift(LocalDate, int)}.
+   *
+   * @param date  the date to shift
+   * @param amount  the number of business days to shift by, not zero
+   * @return the shifted date
+   * @throws ArrayIndexOutOfBoundsException if the date or the result is outside the table
+   */
+  LocalDate shift(LocalDate date, int amount) {
+    // the one-based rank of the target in the business days of the table
+    int before = businessDaysBefore(date);
+    int target;
+    if (amount > 0) {
+      boolean businessDay = (lookup[(date.getYear() - startYear) * 12 + date.getMonthValue() - 1] &
+          (1 << (date.getDayOfMonth() - 1))) != 0;
+      target = before + (businessDay ? 1 : 0) + amount;
+    } else {
+      target = before + amount + 1;
+    }
+    // binary search for the month, such that cumulative[index] < target <= cumulative[index + 1]
+    // an index of -1 or lookup.length indicates a result outside the table
+    int low = 0;
+    int high = cumulative.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (cumulative[mid] < target) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    int index = low - 1;
+    int monthData = lookup[index];
+    // remove the lowest set bits to leave the target as the least significant bit
+    for (int i = cumulative[index] + 1; i < target; i++) {
+      monthData &= monthData - 1;
+    }
+    // use JDK numberOfTrailingZeros() method which is mapped to a fast intrinsic
+    return LocalDate.of(startYear + index / 12, index % 12 + 1, Integer.numberOfTrailingZeros(monthData) + 1);
+  }
+
+}
@@ -23,12 +23,17 @@ import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
+import com.opengamma.strata.collect.ArgChecker;
+
 /**
  * A holiday calendar implementation that combines two other calendars.
  * <p>
  * This immutable implementation of {@link HolidayCalendar} stores two underlying calendars.
  * A date is a holiday if either calendar defines it as a holiday.
  * <p>
+ * When both underlying calendars are {@link ImmutableHolidayCalendar} or combinations of them,
+ * the business days over a long period are counted using a merged lookup table, created when first required.
+ * <p>
  * This implementation is intended for short-lived queries.
  * To combine two calendars for the long-term, such as in a static constant,
  * see {@link ImmutableHolidayCalendar#combined(ImmutableHolidayCalendar, ImmutableHolidayCalendar)}.
@@ -37,6 +42,12 @@ import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 final class CombinedHolidayCalendar
     implements HolidayCalendar, ImmutableBean, Serializable {
 
+  /**
+   * The number of days from which the merged lookup is created.
+   * Creating the lookup has a cost similar to checking a few years of dates in the underlying calendars.
+   */
+  private static final int MERGE_MIN_DAYS = 1000;
+
   /**
    * The first underlying calendar.
    */
@@ -47,6 +58,10 @@ final class CombinedHolidayCalendar
    */
   @PropertyDefinition(validate = "notNull")
   private final HolidayCalendar calendar2;
+  /**
+   * The merged lookup of the underlying calendars, created when first required.
+   */
+  private transient volatile BusinessDayLookup businessDays;  // not a property
 
   //-------------------------------------------------------------------------
   @Override
@@ -59,6 +74,72 @@ final class CombinedHolidayCalendar
     return calendar1.isHoliday(date) || calendar2.isHoliday(date);
   }
 
+  @Override
+  public LocalDate shift(LocalDate date, int amount) {
+    // a business day amount is converted to an approximate number of days
+    BusinessDayLookup lookup = amount != 0 ? businessDayLookup(Math.abs((long) amount) * 7 / 5) : null;
+    if (lookup != null) {
+      try {
+        return lookup.shift(date, amount);
+
+      } catch (ArrayIndexOutOfBoundsException ex) {
+        // fall back to the underlying calendars
+      }
+    }
+    return HolidayCalendar.super.shift(date, amount);
+  }
+
+  @Override
+  public int daysBetween(LocalDate startInclusive, LocalDate endExclusive) {
+    ArgChecker.inOrderOrEqual(startInclusive, endExclusive, "startInclusive", "endExclusive");
+    BusinessDayLookup lookup = businessDayLookup(endExclusive.toEpochDay() - startInclusive.toEpochDay());
+    if (lookup != null) {
+      try {
+        return lookup.daysBetween(startInclusive, endExclusive);
+
+      } catch (ArrayIndexOutOfBoundsException ex) {
+        // fall back to the underlying calendars
+      }
+    }
+    return HolidayCalendar.super.daysBetween(startInclusive, endExclusive);
+  }
+
+  // the merged lookup, null if not available or not worth creating for the number of days
+  private BusinessDayLookup businessDayLookup(long days) {
+    BusinessDayLookup lookup = businessDays;
+    if (lookup == null && days >= MERGE_MIN_DAYS) {
+      lookup = businessDayLookup();
+    }
+    return lookup;
+  }
+
+  // the merged lookup, null if either calendar does not have a lookup
+  BusinessDayLookup businessDayLookup() {
+    BusinessDayLookup lookup = businessDays;
+    if (lookup == null) {
+      BusinessDayLookup lookup1 = businessDayLookup(calendar1);
+      BusinessDayLookup lookup2 = businessDayLookup(calendar2);
+      if (lookup1 == null || lookup2 == null) {
+        return null;
+      }
+      // racy single-check, the lookup is immutable and equal if created twice
+      lookup = BusinessDayLookup.merged(lookup1, lookup2);
+      businessDays = lookup;
+    }
+    return lookup;
+  }
+
+  // the lookup of a calendar, null if not available
+  private static BusinessDayLookup businessDayLookup(HolidayCalendar calendar) {
+    if (calendar instanceof ImmutableHolidayCalendar) {
+      return ((ImmutableHolidayCalendar) calendar).businessDayLookup();
+    }
+    if (calendar instanceof CombinedHolidayCalendar) {
+      return ((CombinedHolidayCalendar) calendar).businessDayLookup();
+    }
+    return null;
+  }
+
   @Override
   public String toString() {
     return "HolidayCalendar[" + getName() + ']';
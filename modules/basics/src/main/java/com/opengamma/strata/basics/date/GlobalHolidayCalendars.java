@@ -27,6 +27,9 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ImmutableMap;
 
 /**
  * Implementation of some common global holiday calendars.
@@ -37,6 +40,13 @@ import java.util.Set;
  */
 final class GlobalHolidayCalendars {
 
+  /**
+   * The calendars loaded from the precompiled snapshot, keyed by name.
+   * <p>
+   * The snapshot avoids running the rules in this class on startup, see {@link HolidayCalendarSnapshot}.
+   */
+  private static final ImmutableMap<String, ImmutableHolidayCalendar> SNAPSHOT = HolidayCalendarSnapshot.loadGlobal();
+
   /**
    * The holiday calendar for London, United Kingdom, with code 'GBLO'.
    * <p>
@@ -45,7 +55,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar GBLO = generateLondon();
+  public static final HolidayCalendar GBLO = calendar("GBLO", GlobalHolidayCalendars::generateLondon);
   /**
    * The holiday calendar for Paris, France, with code 'FRPA'.
    * <p>
@@ -54,7 +64,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar FRPA = generateParis();
+  public static final HolidayCalendar FRPA = calendar("FRPA", GlobalHolidayCalendars::generateParis);
   /**
    * The holiday calendar for Frankfurt, Germany, with code 'DEFR'.
    * <p>
@@ -63,7 +73,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar DEFR = generateFrankfurt();
+  public static final HolidayCalendar DEFR = calendar("DEFR", GlobalHolidayCalendars::generateFrankfurt);
   /**
    * The holiday calendar for Zurich, Switzerland, with code 'EUTA'.
    * <p>
@@ -72,7 +82,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar CHZU = generateZurich();
+  public static final HolidayCalendar CHZU = calendar("CHZU", GlobalHolidayCalendars::generateZurich);
   /**
    * The holiday calendar for the European Union TARGET system, with code 'EUTA'.
    * <p>
@@ -83,7 +93,7 @@ final class GlobalHolidayCalendars {
    * <p>
    * Referenced by the 2006 ISDA definitions 1.8.
    */
-  public static final HolidayCalendar EUTA = generateEuropeanTarget();
+  public static final HolidayCalendar EUTA = calendar("EUTA", GlobalHolidayCalendars::generateEuropeanTarget);
   /**
    * The holiday calendar for United States Government Securities, with code 'USGS'.
    * <p>
@@ -94,7 +104,7 @@ final class GlobalHolidayCalendars {
    * <p>
    * Referenced by the 2006 ISDA definitions 1.11.
    */
-  public static final HolidayCalendar USGS = generateUsGovtSecurities();
+  public static final HolidayCalendar USGS = calendar("USGS", GlobalHolidayCalendars::generateUsGovtSecurities);
   /**
    * The holiday calendar for New York, United States, with code 'USNY'.
    * <p>
@@ -103,7 +113,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar USNY = generateUsNewYork();
+  public static final HolidayCalendar USNY = calendar("USNY", GlobalHolidayCalendars::generateUsNewYork);
   /**
    * The holiday calendar for the Federal Reserve Bank of New York, with code 'NYFD'.
    * <p>
@@ -114,7 +124,7 @@ final class GlobalHolidayCalendars {
    * <p>
    * Referenced by the 2006 ISDA definitions 1.9.
    */
-  public static final HolidayCalendar NYFD = generateNewYorkFed();
+  public static final HolidayCalendar NYFD = calendar("NYFD", GlobalHolidayCalendars::generateNewYorkFed);
   /**
    * The holiday calendar for the New York Stock Exchange, with code 'NYSE'.
    * <p>
@@ -125,7 +135,7 @@ final class GlobalHolidayCalendars {
    * <p>
    * Referenced by the 2006 ISDA definitions 1.10.
    */
-  public static final HolidayCalendar NYSE = generateNewYorkStockExchange();
+  public static final HolidayCalendar NYSE = calendar("NYSE", GlobalHolidayCalendars::generateNewYorkStockExchange);
   /**
    * The holiday calendar for Tokyo, Japan, with code 'JPTO'.
    * <p>
@@ -134,7 +144,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar JPTO = generateTokyo();
+  public static final HolidayCalendar JPTO = calendar("JPTO", GlobalHolidayCalendars::generateTokyo);
 
   /**
    * The holiday calendar for Sydney, Australia, with code 'AUSY'.
@@ -144,7 +154,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar AUSY = generateSydney();
+  public static final HolidayCalendar AUSY = calendar("AUSY", GlobalHolidayCalendars::generateSydney);
   /**
    * The holiday calendar for Brazil with code 'BRBD'.
    * <p>
@@ -154,7 +164,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar BRBD = generateBrazil();
+  public static final HolidayCalendar BRBD = calendar("BRBD", GlobalHolidayCalendars::generateBrazil);
   /**
    * The holiday calendar for Montreal, Canada, with code 'CAMO'.
    * <p>
@@ -163,7 +173,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar CAMO = generateMontreal();
+  public static final HolidayCalendar CAMO = calendar("CAMO", GlobalHolidayCalendars::generateMontreal);
   /**
    * The holiday calendar for Toronto, Canada, with code 'CATO'.
    * <p>
@@ -172,7 +182,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar CATO = generateToronto();
+  public static final HolidayCalendar CATO = calendar("CATO", GlobalHolidayCalendars::generateToronto);
   /**
    * The holiday calendar of Prague, Czech Republic, with code 'CZPR'.
    * <p>
@@ -181,7 +191,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar CZPR = generatePrague();
+  public static final HolidayCalendar CZPR = calendar("CZPR", GlobalHolidayCalendars::generatePrague);
   /**
    * The holiday calendar for Copenhagen, Denmark, with code 'DKCO'.
    * <p>
@@ -190,7 +200,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar DKCO = generateCopenhagen();
+  public static final HolidayCalendar DKCO = calendar("DKCO", GlobalHolidayCalendars::generateCopenhagen);
   /**
    * The holiday calendar for Budapest, Hungary, with code 'HUBU'.
    * <p>
@@ -199,7 +209,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar HUBU = generateBudapest();
+  public static final HolidayCalendar HUBU = calendar("HUBU", GlobalHolidayCalendars::generateBudapest);
   /**
    * The holiday calendar for Mexico City, Mexico, with code 'HUBU'.
    * <p>
@@ -208,7 +218,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar MXMC = generateMexicoCity();
+  public static final HolidayCalendar MXMC = calendar("MXMC", GlobalHolidayCalendars::generateMexicoCity);
   /**
    * The holiday calendar for Oslo, Norway, with code 'NOOS'.
    * <p>
@@ -217,7 +227,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar NOOS = generateOslo();
+  public static final HolidayCalendar NOOS = calendar("NOOS", GlobalHolidayCalendars::generateOslo);
   /**
    * The holiday calendar for Auckland, New Zealand, with code 'NZAU'.
    * <p>
@@ -226,7 +236,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar NZAU = generateAuckland();
+  public static final HolidayCalendar NZAU = calendar("NZAU", GlobalHolidayCalendars::generateAuckland);
   /**
    * The holiday calendar for Wellington, New Zealand, with code 'NZWE'.
    * <p>
@@ -235,7 +245,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar NZWE = generateWellington();
+  public static final HolidayCalendar NZWE = calendar("NZWE", GlobalHolidayCalendars::generateWellington);
   /**
    * The holiday calendar for New Zealand, with code 'NZBD'.
    * <p>
@@ -250,7 +260,7 @@ final class GlobalHolidayCalendars {
    * <p>
    * NOTE: This code is NOT in {@link HolidayCalendarIds} as it should only be used in NZD-BKBM.
    */
-  public static final HolidayCalendar NZBD = generateNewZealand();
+  public static final HolidayCalendar NZBD = calendar("NZBD", GlobalHolidayCalendars::generateNewZealand);
   /**
    * The holiday calendar for Warsaw, Poland, with code 'PLWA'.
    * <p>
@@ -259,7 +269,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar PLWA = generateWarsaw();
+  public static final HolidayCalendar PLWA = calendar("PLWA", GlobalHolidayCalendars::generateWarsaw);
   /**
    * The holiday calendar for Stockholm, Sweden, with code 'SEST'.
    * <p>
@@ -268,7 +278,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar SEST = generateStockholm();
+  public static final HolidayCalendar SEST = calendar("SEST", GlobalHolidayCalendars::generateStockholm);
   /**
    * The holiday calendar for Johannesburg, South Africa, with code 'ZAJO'.
    * <p>
@@ -277,7 +287,7 @@ final class GlobalHolidayCalendars {
    * The default implementation is based on original research and covers 1950 to 2099.
    * Future and past dates are an extrapolations of the latest known rules.
    */
-  public static final HolidayCalendar ZAJO = generateJohannesburg();
+  public static final HolidayCalendar ZAJO = calendar("ZAJO", GlobalHolidayCalendars::generateJohannesburg);
 
   //-------------------------------------------------------------------------
   /**
@@ -286,6 +296,49 @@ final class GlobalHolidayCalendars {
   private GlobalHolidayCalendars() {
   }
 
+  // obtains the calendar from the snapshot, generating it if not available
+  private static HolidayCalendar calendar(String name, Supplier<ImmutableHolidayCalendar> generator) {
+    ImmutableHolidayCalendar calendar = SNAPSHOT.get(name);
+    return calendar != null ? calendar : generator.get();
+  }
+
+  /**
+   * Generates all the calendars from the rules, ignoring the snapshot.
+   * <p>
+   * This is used to create the snapshot.
+   *
+   * @return the calendars, keyed by name
+   */
+  static ImmutableMap<String, ImmutableHolidayCalendar> generateAll() {
+    return ImmutableMap.<String, ImmutableHolidayCalendar>builder()
+        .put("GBLO", generateLondon())
+        .put("FRPA", generateParis())
+        .put("DEFR", generateFrankfurt())
+        .put("CHZU", generateZurich())
+        .put("EUTA", generateEuropeanTarget())
+        .put("USGS", generateUsGovtSecurities())
+        .put("USNY", generateUsNewYork())
+        .put("NYFD", generateNewYorkFed())
+        .put("NYSE", generateNewYorkStockExchange())
+        .put("JPTO", generateTokyo())
+        .put("AUSY", generateSydney())
+        .put("BRBD", generateBrazil())
+        .put("CAMO", generateMontreal())
+        .put("CATO", generateToronto())
+        .put("CZPR", generatePrague())
+        .put("DKCO", generateCopenhagen())
+        .put("HUBU", generateBudapest())
+        .put("MXMC", generateMexicoCity())
+        .put("NOOS", generateOslo())
+        .put("NZAU", generateAuckland())
+        .put("NZWE", generateWellington())
+        .put("NZBD", generateNewZealand())
+        .put("PLWA", generateWarsaw())
+        .put("SEST", generateStockholm())
+        .put("ZAJO", generateJohannesburg())
+        .build();
+  }
+
   //-------------------------------------------------------------------------
   // generate GBLO
   // common law (including before 1871) good friday and christmas day (unadjusted for weekends)
@@ -11,6 +11,7 @@ import static java.util.stream.Collectors.toList;
 import java.io.Serializable;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 
 import org.joda.convert.FromString;
@@ -42,6 +43,8 @@ public final class HolidayCalendarId
   private static final long serialVersionUID = 1L;
   /** Instance cache. */
   private static final ConcurrentHashMap<String, HolidayCalendarId> CACHE = new ConcurrentHashMap<>();
+  /** Index counter. */
+  private static final AtomicInteger INDEX_COUNTER = new AtomicInteger();
 
   /**
    * The identifier, expressed as a normalized unique name.
@@ -51,6 +54,10 @@ public final class HolidayCalendarId
    * The hash code.
    */
   private final transient int hashCode;
+  /**
+   * The dense index, unique to this instance.
+   */
+  private final transient int index;
   /**
    * The resolver function.
    * Implementations of this function must only call {@link ReferenceData#queryValueOrNull(ReferenceDataId)}.
@@ -133,6 +140,7 @@ public final class HolidayCalendarId
   private HolidayCalendarId(String normalizedName) {
     this.name = normalizedName;
     this.hashCode = normalizedName.hashCode();
+    this.index = INDEX_COUNTER.getAndIncrement();
     this.resolver = (id, refData) -> refData.queryValueOrNull(this);
   }
 
@@ -143,6 +151,7 @@ public final class HolidayCalendarId
 
     this.name = normalizedName;
     this.hashCode = normalizedName.hashCode();
+    this.index = INDEX_COUNTER.getAndIncrement();
     this.resolver = resolver;
   }
 
@@ -165,6 +174,20 @@ public final class HolidayCalendarId
     return name;
   }
 
+  /**
+   * Gets the dense index of this identifier.
+   * <p>
+   * Identifiers are cached, such that there is one instance for each name.
+   * Each instance is assigned an index when it is created, starting from zero.
+   * This allows reference data to store holiday calendars in an array for fast lookup.
+   * The index depends on the order of creation, thus it must not be persisted.
+   *
+   * @return the index
+   */
+  public int getIndex() {
+    return index;
+  }
+
   /**
    * Gets the type of data this identifier refers to.
    * <p>
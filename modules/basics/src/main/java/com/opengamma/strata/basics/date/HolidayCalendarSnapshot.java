@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.date;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.io.ResourceLocator;
+
+/**
+ * Binary snapshot of holiday calendars.
+ * <p>
+ * Generating the global holiday calendars from their rules is relatively slow, as every holiday
+ * of every year is calculated. This class writes and reads a compact binary form of the calendars,
+ * such that the rules only need to be run when the snapshot is generated, see {@link #main(String[])}.
+ * <p>
+ * The format is a header, followed by the number of calendars, followed by each calendar.
+ * Each calendar consists of the name, the weekend days as a bit mask, the number of holidays,
+ * the epoch-day of the first holiday, and the number of days between each subsequent holiday.
+ */
+final class HolidayCalendarSnapshot {
+
+  /**
+   * The logger.
+   */
+  private static final Logger log = Logger.getLogger(HolidayCalendarSnapshot.class.getName());
+  /**
+   * The resource name of the snapshot of the global holiday calendars, relative to {@link GlobalHolidayCalendars}.
+   */
+  static final String GLOBAL_RESOURCE = "GlobalHolidayCalendars.bin";
+  /**
+   * The header, identifying the format and version.
+   */
+  private static final int HEADER = 0x53484331;
+
+  /**
+   * Restricted constructor.
+   */
+  private HolidayCalendarSnapshot() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads the snapshot of the global holiday calendars.
+   * <p>
+   * If the snapshot cannot be loaded, an empty map is returned and the calendars must be generated.
+   *
+   * @return the calendars, keyed by name
+   */
+  static ImmutableMap<String, ImmutableHolidayCalendar> loadGlobal() {
+    if (GlobalHolidayCalendars.class.getResource(GLOBAL_RESOURCE) == null) {
+      log.warning("Holiday calendar snapshot not found, calendars will be generated: " + GLOBAL_RESOURCE);
+      return ImmutableMap.of();
+    }
+    try {
+      ResourceLocator resource = ResourceLocator.ofClasspath(GlobalHolidayCalendars.class, GLOBAL_RESOURCE);
+      return read(new ByteArrayInputStream(resource.getByteSource().read()));
+    } catch (IOException | RuntimeException ex) {
+      log.log(Level.SEVERE, "Error processing holiday calendar snapshot, calendars will be generated", ex);
+      return ImmutableMap.of();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Reads holiday calendars from the binary form.
+   *
+   * @param in  the input stream
+   * @return the calendars, keyed by name
+   * @throws IOException if an IO error occurs
+   * @throws IllegalArgumentException if the data is invalid
+   */
+  static ImmutableMap<String, ImmutableHolidayCalendar> read(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    if (data.readInt() != HEADER) {
+      throw new IllegalArgumentException("Invalid holiday calendar snapshot, header not recognized");
+    }
+    int calendarCount = data.readInt();
+    ImmutableMap.Builder<String, ImmutableHolidayCalendar> builder = ImmutableMap.builder();
+    for (int i = 0; i < calendarCount; i++) {
+      String name = data.readUTF();
+      int weekendMask = data.readUnsignedByte();
+      Set<DayOfWeek> weekendDays = EnumSet.noneOf(DayOfWeek.class);
+      for (DayOfWeek dow : DayOfWeek.values()) {
+        if ((weekendMask & (1 << dow.ordinal())) != 0) {
+          weekendDays.add(dow);
+        }
+      }
+      int holidayCount = data.readInt();
+      List<LocalDate> holidays = new ArrayList<>(holidayCount);
+      long epochDay = holidayCount > 0 ? data.readInt() : 0;
+      for (int j = 0; j < holidayCount; j++) {
+        if (j > 0) {
+          epochDay += data.readUnsignedShort();
+        }
+        holidays.add(LocalDate.ofEpochDay(epochDay));
+      }
+      builder.put(name, ImmutableHolidayCalendar.of(HolidayCalendarId.of(name), holidays, weekendDays));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Writes holiday calendars in the binary form.
+   *
+   * @param calendars  the calendars to write
+   * @param out  the output stream
+   * @throws IOException if an IO error occurs
+   * @throws IllegalArgumentException if a calendar cannot be written
+   */
+  static void write(Collection<ImmutableHolidayCalendar> calendars, OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(HEADER);
+    data.writeInt(calendars.size());
+    for (ImmutableHolidayCalendar calendar : calendars) {
+      data.writeUTF(calendar.getName());
+      int weekendMask = 0;
+      for (DayOfWeek dow : calendar.getWeekendDays()) {
+        weekendMask |= 1 << dow.ordinal();
+      }
+      data.writeByte(weekendMask);
+      data.writeInt(calendar.getHolidays().size());
+      long previous = Long.MIN_VALUE;
+      for (LocalDate holiday : calendar.getHolidays()) {
+        long epochDay = holiday.toEpochDay();
+        if (previous == Long.MIN_VALUE) {
+          data.writeInt(Math.toIntExact(epochDay));
+        } else {
+          long gap = epochDay - previous;
+          if (gap > 0xFFFF) {
+            throw new IllegalArgumentException("Holiday calendar cannot be written, gap too large: " + calendar);
+          }
+          data.writeShort((int) gap);
+        }
+        previous = epochDay;
+      }
+    }
+    data.flush();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Generates the snapshot of the global holiday calendars.
+   * <p>
+   * This is run when the rules in {@link GlobalHolidayCalendars} change.
+   * The argument is the file to write, typically
+   * {@code src/main/resources/com/opengamma/strata/basics/date/GlobalHolidayCalendars.bin}.
+   *
+   * @param args  the file to write
+   * @throws IOException if an IO error occurs
+   */
+  public static void main(String[] args) throws IOException {
+    try (OutputStream out = new FileOutputStream(args[0])) {
+      write(GlobalHolidayCalendars.generateAll().values(), out);
+    }
+  }
+
+}
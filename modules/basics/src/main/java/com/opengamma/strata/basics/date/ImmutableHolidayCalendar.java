@@ -59,6 +59,13 @@ public final class ImmutableHolidayCalendar
   // when using Integer.numberOfTrailingZeros and Integer.numberOfLeadingZeros)
   // benchmarking showed nextOrSame() and previousOrSame() do not need to be overridden
   // out-of-range and weekend-only (used in testing) are handled using exceptions to fast-path the common case
+  // counting and long shifts use the cumulative number of business days at the start of each month
+
+  /**
+   * The largest shift amount handled by scanning the months.
+   * Shifts of a few days, such as spot lags, are faster by scanning the bits of one or two months.
+   */
+  private static final int MAX_SCAN_SHIFT = 10;
 
   /**
    * The identifier, such as 'GBLO'.
@@ -90,6 +97,10 @@ public final class ImmutableHolidayCalendar
    * Trailing bits are set to 0 so they act as holidays, avoiding month length logic.
    */
   private final transient int[] lookup;  // not a property
+  /**
+   * The lookup table with the cumulative number of business days, used for counting.
+   */
+  private final transient BusinessDayLookup businessDays;  // not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -178,6 +189,7 @@ public final class ImmutableHolidayCalendar
       int endYearExclusive = holidays.last().getYear() + 1;
       this.lookup = buildLookupArray(holidays, weekendDays, startYear, endYearExclusive);
     }
+    this.businessDays = BusinessDayLookup.of(startYear, lookup, this.weekendDays);
   }
 
   // create and populate the int[] lookup
@@ -192,19 +204,8 @@ public final class ImmutableHolidayCalendar
     // loop through all months to handle end-of-month and weekends
     LocalDate firstOfMonth = LocalDate.of(startYear, 1, 1);
     for (int i = 0; i < array.length; i++) {
-      int monthLen = firstOfMonth.lengthOfMonth();
-      // set each valid day-of-month to be a business day
-      // the bits for days beyond the end-of-month will be unset and thus treated as non-business days
-      // the minus one part converts a single set bit into each lower bit being set
-      array[i] = (1 << monthLen) - 1;
-      // unset the bits associated with a weekend
-      // can unset across whole month using repeating pattern of 7 bits
-      // just need to find the offset between the weekend and the day-of-week of the 1st of the month
-      for (DayOfWeek weekendDow : weekendDays) {
-        int daysDiff = weekendDow.getValue() - firstOfMonth.getDayOfWeek().getValue();
-        int offset = (daysDiff < 0 ? daysDiff + 7 : daysDiff);
-        array[i] &= ~(0b10000001000000100000010000001 << offset);
-      }
+      // set each valid day-of-month to be a business day, except weekends
+      array[i] = BusinessDayLookup.weekendMonthData(firstOfMonth, weekendDays);
       firstOfMonth = firstOfMonth.plusMonths(1);
     }
     // unset the bit associated with each holiday date
@@ -246,7 +247,10 @@ public final class ImmutableHolidayCalendar
   @Override
   public LocalDate shift(LocalDate date, int amount) {
     try {
-      if (amount > 0) {
+      if (amount > MAX_SCAN_SHIFT || amount < -MAX_SCAN_SHIFT) {
+        // count business days for long shifts, rather than scanning each month
+        return businessDays.shift(date, amount);
+      } else if (amount > 0) {
         // day-of-month: minus one for zero-based day-of-month, plus one to start from next day
         return shiftNext(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), amount);
       } else if (amount < 0) {
@@ -268,6 +272,32 @@ public final class ImmutableHolidayCalendar
     throw new IllegalArgumentException("Date is outside the accepted range (year 0000 to 10,000): " + date);
   }
 
+  //-------------------------------------------------------------------------
+  @Override
+  public int daysBetween(LocalDate startInclusive, LocalDate endExclusive) {
+    ArgChecker.inOrderOrEqual(startInclusive, endExclusive, "startInclusive", "endExclusive");
+    try {
+      return businessDays.daysBetween(startInclusive, endExclusive);
+
+    } catch (ArrayIndexOutOfBoundsException ex) {
+      return daysBetweenOutOfRange(startInclusive, endExclusive);
+    }
+  }
+
+  // pulled out to aid hotspot inlining
+  private int daysBetweenOutOfRange(LocalDate startInclusive, LocalDate endExclusive) {
+    if (startInclusive.getYear() >= 0 && endExclusive.getYear() < 10000) {
+      return HolidayCalendar.super.daysBetween(startInclusive, endExclusive);
+    }
+    throw new IllegalArgumentException(
+        "Date is outside the accepted range (year 0000 to 10,000): " + startInclusive + ", " + endExclusive);
+  }
+
+  // the lookup with the cumulative number of business days
+  BusinessDayLookup businessDayLookup() {
+    return businessDays;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public LocalDate next(LocalDate date) {
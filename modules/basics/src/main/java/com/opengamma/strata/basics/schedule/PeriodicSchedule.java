@@ -30,6 +30,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.ImmutableReferenceData;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.date.AdjustableDate;
 import com.opengamma.strata.basics.date.BusinessDayAdjustment;
@@ -404,12 +405,21 @@ public final class PeriodicSchedule
    * <li>applying {@code businessDayAdjustment} to the day-of-month implied by the roll convention
    *  yields the first/last regular date that was specified
    * </ul>
-   * 
+   * <p>
+   * If the reference data is {@link ImmutableReferenceData}, the result is cached, keyed by this
+   * definition and the holiday calendars it resolves. As such, repeatedly creating the schedule
+   * of the same definition is fast.
+   *
    * @return the schedule
    * @param refData  the reference data, used to find the holiday calendars
    * @throws ScheduleException if the definition is invalid
    */
   public Schedule createSchedule(ReferenceData refData) {
+    return ScheduleCache.DEFAULT.schedule(this, refData, () -> createScheduleUncached(refData));
+  }
+
+  // creates the schedule, without using the cache
+  private Schedule createScheduleUncached(ReferenceData refData) {
     LocalDate unadjStart = calculatedUnadjustedStartDate(refData);
     LocalDate unadjEnd = calculatedUnadjustedEndDate(refData);
     LocalDate regularStart = calculatedFirstRegularStartDate(unadjStart, refData);
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.schedule;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.google.common.base.Splitter;
+import com.opengamma.strata.basics.ImmutableReferenceData;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Bounded cache of the schedules created from periodic schedule definitions.
+ * <p>
+ * Trades created from the same convention frequently share the same schedule definition,
+ * for example when many swaps with the same start and end dates are resolved.
+ * This cache avoids generating and adjusting the dates of the schedule each time.
+ * <p>
+ * The key is the definition and the holiday calendars it uses, as resolved from the reference data.
+ * Holiday calendars are compared by identity, as their equality is based only on the identifier.
+ * The reference data itself is not referenced by the cache.
+ * <p>
+ * Only {@link ImmutableReferenceData} is cached, as it is known to always resolve
+ * the same holiday calendar instances. Schedules created using any other reference data,
+ * which may be mutable or resolve calendars dynamically, are not cached.
+ * <p>
+ * When the cache is full, the least recently used schedule is removed. Exceptions are not cached.
+ * <p>
+ * This class is mutable and thread-safe.
+ */
+final class ScheduleCache {
+
+  /**
+   * The maximum number of schedules in the shared cache.
+   */
+  static final int MAX_SIZE = 10_000;
+  /**
+   * The shared cache, used by {@link PeriodicSchedule#createSchedule(ReferenceData)}.
+   */
+  static final ScheduleCache DEFAULT = new ScheduleCache(MAX_SIZE);
+
+  /**
+   * The cache, in least recently used order, guarded by itself.
+   */
+  private final Map<Key, Schedule> cache;
+
+  /**
+   * Creates an instance.
+   *
+   * @param maxSize  the maximum number of schedules in the cache
+   */
+  ScheduleCache(int maxSize) {
+    ArgChecker.notNegativeOrZero(maxSize, "maxSize");
+    this.cache = new LinkedHashMap<Key, Schedule>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Schedule> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the schedule of the definition, creating it if necessary.
+   *
+   * @param definition  the schedule definition
+   * @param refData  the reference data, used to find the holiday calendars
+   * @param creator  the function to create the schedule
+   * @return the schedule
+   * @throws ScheduleException if the definition is invalid
+   */
+  Schedule schedule(PeriodicSchedule definition, ReferenceData refData, Supplier<Schedule> creator) {
+    if (!(refData instanceof ImmutableReferenceData)) {
+      return creator.get();
+    }
+    Key key = new Key(definition, calendars(definition, refData));
+    Schedule schedule;
+    synchronized (cache) {
+      schedule = cache.get(key);
+    }
+    if (schedule == null) {
+      schedule = creator.get();
+      synchronized (cache) {
+        cache.putIfAbsent(key, schedule);
+      }
+    }
+    return schedule;
+  }
+
+  // the holiday calendars used by the definition, including the parts of combined calendars
+  private static HolidayCalendar[] calendars(PeriodicSchedule definition, ReferenceData refData) {
+    List<HolidayCalendarId> ids = new ArrayList<>(3);
+    ids.add(definition.getBusinessDayAdjustment().getCalendar());
+    definition.getStartDateBusinessDayAdjustment().ifPresent(bda -> ids.add(bda.getCalendar()));
+    definition.getEndDateBusinessDayAdjustment().ifPresent(bda -> ids.add(bda.getCalendar()));
+    List<HolidayCalendar> calendars = new ArrayList<>(ids.size());
+    for (HolidayCalendarId id : ids) {
+      calendars.add(refData.queryValueOrNull(id));
+      if (id.getName().indexOf('+') >= 0) {
+        for (String name : Splitter.on('+').split(id.getName())) {
+          calendars.add(refData.queryValueOrNull(HolidayCalendarId.of(name)));
+        }
+      }
+    }
+    return calendars.toArray(new HolidayCalendar[calendars.size()]);
+  }
+
+  /**
+   * Gets the number of cached schedules.
+   *
+   * @return the number of cached schedules
+   */
+  int size() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The cache key.
+   * <p>
+   * The holiday calendars are compared by identity, and may be null if not found.
+   */
+  private static final class Key {
+    private final PeriodicSchedule definition;
+    private final HolidayCalendar[] calendars;
+    private final int hashCode;
+
+    private Key(PeriodicSchedule definition, HolidayCalendar[] calendars) {
+      this.definition = definition;
+      this.calendars = calendars;
+      int hash = definition.hashCode();
+      for (HolidayCalendar calendar : calendars) {
+        hash = hash * 31 + System.identityHashCode(calendar);
+      }
+      this.hashCode = hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (obj instanceof Key) {
+        Key other = (Key) obj;
+        return hashCode == other.hashCode &&
+            sameCalendars(other.calendars) &&
+            definition.equals(other.definition);
+      }
+      return false;
+    }
+
+    // compares the calendars by identity
+    private boolean sameCalendars(HolidayCalendar[] otherCalendars) {
+      if (calendars.length != otherCalendars.length) {
+        return false;
+      }
+      for (int i = 0; i < calendars.length; i++) {
+        if (calendars[i] != otherCalendars[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics;
+
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.GBLO;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.USNY;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertSame;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Optional;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.basics.date.ImmutableHolidayCalendar;
+
+/**
+ * Test {@link FrozenReferenceData}.
+ */
+@Test
+public class FrozenReferenceDataTest {
+
+  private static final TestingReferenceDataId ID1 = new TestingReferenceDataId("1");
+  private static final TestingReferenceDataId ID2 = new TestingReferenceDataId("2");
+  private static final TestingReferenceDataId ID3 = new TestingReferenceDataId("3");
+  private static final TestingReferenceDataId ID4 = new TestingReferenceDataId("4");
+  private static final TestingReferenceDataId ID5 = new TestingReferenceDataId("5");
+  private static final Double VAL1 = 123d;
+  private static final Double VAL2 = 234d;
+  private static final Double VAL3 = 999d;
+  private static final Double VAL5 = 555d;
+  private static final HolidayCalendarId CAL_ID = HolidayCalendarId.of("FrozenTest");
+  private static final ImmutableHolidayCalendar CAL1 =
+      ImmutableHolidayCalendar.of(CAL_ID, ImmutableList.of(date(2017, 1, 2)), SATURDAY, SUNDAY);
+  private static final ImmutableHolidayCalendar CAL2 =
+      ImmutableHolidayCalendar.of(CAL_ID, ImmutableList.of(date(2017, 1, 3)), SATURDAY, SUNDAY);
+  private static final ImmutableReferenceData BASE_DATA1 =
+      ImmutableReferenceData.of(ImmutableMap.<ReferenceDataId<?>, Object>of(ID1, VAL1, ID2, VAL2, CAL_ID, CAL1));
+  private static final ImmutableReferenceData BASE_DATA2 =
+      ImmutableReferenceData.of(ImmutableMap.<ReferenceDataId<?>, Object>of(ID1, VAL3, ID3, VAL3, CAL_ID, CAL2));
+
+  //-------------------------------------------------------------------------
+  public void test_frozen_combination() {
+    ReferenceData test = BASE_DATA1.combinedWith(ReferenceData.standard()).combinedWith(BASE_DATA2).frozen();
+    assertEquals(test.containsValue(ID1), true);
+    assertEquals(test.containsValue(ID2), true);
+    assertEquals(test.containsValue(ID3), true);
+    assertEquals(test.containsValue(ID4), false);
+    assertEquals(test.getValue(ID1), VAL1);
+    assertEquals(test.getValue(ID2), VAL2);
+    assertEquals(test.getValue(ID3), VAL3);
+    assertThrows(() -> test.getValue(ID4), ReferenceDataNotFoundException.class);
+    assertEquals(test.findValue(ID1), Optional.of(VAL1));
+    assertEquals(test.findValue(ID4), Optional.empty());
+    assertEquals(test.queryValueOrNull(ID4), null);
+    // holiday calendars
+    assertSame(test.getValue(CAL_ID), CAL1);
+    assertSame(test.getValue(GBLO), ReferenceData.standard().getValue(GBLO));
+    assertEquals(test.getValue(GBLO.combinedWith(USNY)), ReferenceData.standard().getValue(GBLO.combinedWith(USNY)));
+    assertEquals(test.containsValue(HolidayCalendarId.of("FrozenTestUnknown")), false);
+    assertThrows(
+        () -> test.getValue(HolidayCalendarId.of("FrozenTestUnknown")), ReferenceDataNotFoundException.class);
+  }
+
+  public void test_frozen_priority() {
+    ReferenceData test = BASE_DATA2.combinedWith(BASE_DATA1).frozen();
+    assertEquals(test.getValue(ID1), VAL3);
+    assertSame(test.getValue(CAL_ID), CAL2);
+  }
+
+  public void test_frozen_notFlattened() {
+    // reference data that is not immutable is queried after the data before it
+    ReferenceData other = new TestingReferenceData(ImmutableMap.<ReferenceDataId<?>, Object>of(ID1, VAL5, ID5, VAL5));
+    ReferenceData test = BASE_DATA2.combinedWith(other).combinedWith(BASE_DATA1).frozen();
+    assertEquals(test.getValue(ID1), VAL3);
+    assertEquals(test.getValue(ID2), VAL2);
+    assertEquals(test.getValue(ID5), VAL5);
+    assertSame(test.getValue(CAL_ID), CAL2);
+    ReferenceData test2 = other.combinedWith(BASE_DATA1).frozen();
+    assertEquals(test2.getValue(ID1), VAL5);
+    assertEquals(test2.getValue(ID2), VAL2);
+    assertSame(test2.getValue(CAL_ID), CAL1);
+  }
+
+  public void test_frozen_empty() {
+    ReferenceData test = ReferenceData.empty().frozen();
+    assertEquals(test.containsValue(ID1), false);
+    assertEquals(test.containsValue(GBLO), false);
+  }
+
+  public void test_frozen_idempotent() {
+    ReferenceData test = BASE_DATA1.frozen();
+    assertSame(test.frozen(), test);
+    assertSame(FrozenReferenceData.of(test), test);
+    assertEquals(((FrozenReferenceData) test).getUnderlying(), BASE_DATA1);
+    assertThrowsIllegalArg(() -> FrozenReferenceData.of(null));
+  }
+
+  public void test_frozen_refreeze() {
+    ReferenceData test = BASE_DATA1.frozen().combinedWith(BASE_DATA2).frozen();
+    assertEquals(test.getValue(ID1), VAL1);
+    assertEquals(test.getValue(ID3), VAL3);
+    assertSame(test.getValue(CAL_ID), CAL1);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_equalsHashCodeToString() {
+    ReferenceData test = BASE_DATA1.frozen();
+    assertEquals(test, BASE_DATA1.frozen());
+    assertEquals(test.hashCode(), BASE_DATA1.frozen().hashCode());
+    assertNotEquals(test, BASE_DATA2.frozen());
+    assertNotEquals(test, BASE_DATA1);
+    assertEquals(test.equals(test), true);
+    assertEquals(test.toString().startsWith("FrozenReferenceData["), true);
+  }
+
+  public void serialization() {
+    ReferenceData test = BASE_DATA1.combinedWith(BASE_DATA2).frozen();
+    assertSerialization(test);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() {
+    int nbTest = 10000000;
+    ReferenceData combined =
+        new CombinedReferenceData(BASE_DATA1, new CombinedReferenceData(BASE_DATA2, ReferenceData.standard()));
+    ReferenceData frozen = combined.frozen();
+    for (int looprep = 0; looprep < 5; looprep++) {
+      int total = 0;
+      long startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        HolidayCalendar cal = combined.getValue(looptest % 2 == 0 ? GBLO : USNY);
+        total += cal.getName().length();
+      }
+      long endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " calendars from combined: " + (endTime - startTime) + " ms");
+      startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        HolidayCalendar cal = frozen.getValue(looptest % 2 == 0 ? GBLO : USNY);
+        total += cal.getName().length();
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " calendars from frozen: " + (endTime - startTime) + " ms");
+      System.out.println("Total: " + total);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // reference data that is not an instance of ImmutableReferenceData
+  private static final class TestingReferenceData implements ReferenceData, Serializable {
+    private static final long serialVersionUID = 1L;
+    private final Map<ReferenceDataId<?>, Object> values;
+
+    private TestingReferenceData(Map<ReferenceDataId<?>, Object> values) {
+      this.values = values;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> findValue(ReferenceDataId<T> id) {
+      return Optional.ofNullable((T) values.get(id));
+    }
+  }
+
+}
@@ -149,6 +149,13 @@ public class CurrencyTest {
     assertEquals(Currency.of("CAD").getTriangulationCurrency(), Currency.USD);
   }
 
+  public void test_ordinal() {
+    assertEquals(Currency.of("USD").ordinal(), Currency.USD.ordinal());
+    assertEquals(Currency.of("XXZ").ordinal(), Currency.of("XXZ").ordinal());
+    assertEquals(Currency.USD.ordinal() == Currency.EUR.ordinal(), false);
+    assertEquals(Currency.USD.ordinal() >= 0, true);
+  }
+
   //-----------------------------------------------------------------------
   public void test_compareTo() {
     Currency a = Currency.EUR;
@@ -373,6 +373,18 @@ public class FxMatrixTest {
     assertThat(matrix.fxRate(EUR, CHF)).isEqualTo(1.2);
   }
 
+  public void fxRate_currencyNotInMatrix() {
+    FxMatrix matrix = FxMatrix.builder()
+        .addRate(GBP, USD, 1.6)
+        .build();
+    // a currency not in the matrix, likely to have a larger ordinal than those in the matrix
+    Currency other = Currency.of("FXZ");
+    assertThrowsIllegalArg(() -> matrix.fxRate(GBP, other));
+    assertThrowsIllegalArg(() -> matrix.fxRate(other, USD));
+    assertThrowsIllegalArg(() -> matrix.fxRate(GBP, EUR));
+    assertThat(matrix.fxRate(other, other)).isEqualTo(1d);
+  }
+
   public void convertCurrencyAmount() {
 
     FxMatrix matrix = FxMatrix.builder()
@@ -596,6 +608,39 @@ public class FxMatrixTest {
     assertSerialization(test2);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() {
+    int nbTest = 10000000;
+    FxMatrix matrix = FxMatrix.builder()
+        .addRate(GBP, USD, 1.6)
+        .addRate(EUR, USD, 1.4)
+        .addRate(EUR, CHF, 1.2)
+        .addRate(USD, JPY, 110)
+        .build();
+    MultiCurrencyAmount amount = MultiCurrencyAmount.of(
+        CurrencyAmount.of(GBP, 1), CurrencyAmount.of(EUR, 2), CurrencyAmount.of(CHF, 3), CurrencyAmount.of(JPY, 4));
+    for (int looprep = 0; looprep < 5; looprep++) {
+      double total = 0;
+      long startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        total += matrix.fxRate(looptest % 2 == 0 ? GBP : JPY, CHF);
+      }
+      long endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " FX rates: " + (endTime - startTime) + " ms");
+      startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        total += matrix.convert(amount, USD).getAmount();
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " multi-currency conversions: " + (endTime - startTime) + " ms");
+      System.out.println("Total: " + total);
+    }
+  }
+
   private void cycleBean(Bean bean) {
     JodaBeanSer ser = JodaBeanSer.COMPACT;
     String result = ser.xmlWriter().write(bean);
@@ -109,4 +109,34 @@ public class Business252DayCountTest {
     assertJodaConvert(DayCount.class, DayCount.ofBus252(EUTA));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() {
+    DayCount test = DayCount.ofBus252(HolidayCalendarId.of("BRBD+GBLO"));
+    HolidayCalendar calendar = HolidayCalendarId.of("BRBD+GBLO").resolve(REF_DATA);
+    LocalDate start = date(2017, 1, 3);
+    int nbTest = 10000;
+    for (int looprep = 0; looprep < 5; looprep++) {
+      double total = 0d;
+      long startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        LocalDate end = start.plusYears(30).plusDays(looptest % 100);
+        total += LocalDateUtils.stream(start, end).filter(calendar::isBusinessDay).count() / 252d;
+      }
+      long endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " Bus/252 30Y year fractions, day by day: " + (endTime - startTime) + " ms");
+      startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        LocalDate end = start.plusYears(30).plusDays(looptest % 100);
+        total += test.yearFraction(start, end);
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " Bus/252 30Y year fractions: " + (endTime - startTime) + " ms");
+      System.out.println("Total: " + total);
+    }
+  }
+
 }
@@ -53,6 +53,18 @@ public class HolidayCalendarIdTest {
     assertEquals(test.toString(), "EU+GB");
   }
 
+  public void test_getIndex() {
+    HolidayCalendarId test1 = HolidayCalendarId.of("GB");
+    HolidayCalendarId test2 = HolidayCalendarId.of("GB+EU");
+    HolidayCalendarId test3 = HolidayCalendarId.of("EU");
+    assertEquals(HolidayCalendarId.of("GB").getIndex(), test1.getIndex());
+    assertEquals(HolidayCalendarId.of("EU+GB").getIndex(), test2.getIndex());
+    assertEquals(test1.getIndex() != test2.getIndex(), true);
+    assertEquals(test1.getIndex() != test3.getIndex(), true);
+    assertEquals(test2.getIndex() != test3.getIndex(), true);
+    assertEquals(test1.getIndex() >= 0, true);
+  }
+
   public void test_defaultByCurrency() {
     assertEquals(HolidayCalendarId.defaultByCurrency(Currency.GBP), HolidayCalendarIds.GBLO);
     assertEquals(HolidayCalendarId.defaultByCurrency(Currency.CZK), HolidayCalendarIds.CZPR);
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.date;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static java.time.DayOfWeek.FRIDAY;
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Test {@link HolidayCalendarSnapshot}.
+ */
+@Test
+public class HolidayCalendarSnapshotTest {
+
+  public void test_loadGlobal_matchesRules() {
+    // if this test fails, the snapshot must be regenerated using HolidayCalendarSnapshot.main()
+    ImmutableMap<String, ImmutableHolidayCalendar> expected = GlobalHolidayCalendars.generateAll();
+    ImmutableMap<String, ImmutableHolidayCalendar> loaded = HolidayCalendarSnapshot.loadGlobal();
+    assertEquals(loaded.keySet(), expected.keySet());
+    for (ImmutableHolidayCalendar calendar : expected.values()) {
+      ImmutableHolidayCalendar test = loaded.get(calendar.getName());
+      assertEquals(test.getId(), calendar.getId());
+      assertEquals(test.getHolidays(), calendar.getHolidays());
+      assertEquals(test.getWeekendDays(), calendar.getWeekendDays());
+    }
+  }
+
+  public void test_globalConstants_matchRules() throws Exception {
+    ImmutableMap<String, ImmutableHolidayCalendar> expected = GlobalHolidayCalendars.generateAll();
+    int count = 0;
+    for (Field field : GlobalHolidayCalendars.class.getDeclaredFields()) {
+      if (Modifier.isPublic(field.getModifiers()) && field.getType() == HolidayCalendar.class) {
+        ImmutableHolidayCalendar test = (ImmutableHolidayCalendar) field.get(null);
+        assertEquals(test.getName(), field.getName());
+        assertEquals(test.getHolidays(), expected.get(field.getName()).getHolidays());
+        assertEquals(test.getWeekendDays(), expected.get(field.getName()).getWeekendDays());
+        count++;
+      }
+    }
+    assertEquals(count, expected.size());
+  }
+
+  public void test_writeRead() throws IOException {
+    ImmutableHolidayCalendar cal1 = ImmutableHolidayCalendar.of(
+        HolidayCalendarId.of("Test1"), ImmutableList.of(date(1970, 1, 1), date(2015, 12, 25)), SATURDAY, SUNDAY);
+    ImmutableHolidayCalendar cal2 = ImmutableHolidayCalendar.of(
+        HolidayCalendarId.of("Test2"), ImmutableList.of(date(1899, 1, 2)), FRIDAY, FRIDAY);
+    ImmutableHolidayCalendar cal3 = ImmutableHolidayCalendar.of(
+        HolidayCalendarId.of("Test3"), ImmutableList.of(), ImmutableList.of());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    HolidayCalendarSnapshot.write(ImmutableList.of(cal1, cal2, cal3), out);
+    Map<String, ImmutableHolidayCalendar> test =
+        HolidayCalendarSnapshot.read(new ByteArrayInputStream(out.toByteArray()));
+    assertEquals(test.size(), 3);
+    for (ImmutableHolidayCalendar calendar : ImmutableList.of(cal1, cal2, cal3)) {
+      assertEquals(test.get(calendar.getName()).getHolidays(), calendar.getHolidays());
+      assertEquals(test.get(calendar.getName()).getWeekendDays(), calendar.getWeekendDays());
+    }
+    assertSame(test.get("Test1").getId(), HolidayCalendarId.of("Test1"));
+  }
+
+  public void test_write_gapTooLarge() {
+    ImmutableHolidayCalendar cal = ImmutableHolidayCalendar.of(
+        HolidayCalendarId.of("Test"), ImmutableList.of(date(1800, 1, 1), date(2015, 12, 25)), SATURDAY, SUNDAY);
+    assertThrowsIllegalArg(() -> HolidayCalendarSnapshot.write(ImmutableList.of(cal), new ByteArrayOutputStream()));
+  }
+
+  public void test_read_invalidHeader() {
+    byte[] bytes = new byte[] {1, 2, 3, 4, 0, 0, 0, 0};
+    assertThrowsIllegalArg(() -> HolidayCalendarSnapshot.read(new ByteArrayInputStream(bytes)));
+  }
+
+  public void coverage() {
+    coverPrivateConstructor(HolidayCalendarSnapshot.class);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() {
+    int nbTest = 20;
+    for (int looprep = 0; looprep < 5; looprep++) {
+      int total = 0;
+      long startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        total += GlobalHolidayCalendars.generateAll().size();
+      }
+      long endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " global calendars generated: " + (endTime - startTime) + " ms");
+      startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        total += HolidayCalendarSnapshot.loadGlobal().size();
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " global calendars loaded: " + (endTime - startTime) + " ms");
+      System.out.println("Total: " + total);
+    }
+  }
+
+}
@@ -751,6 +751,47 @@ public class ImmutableHolidayCalendarTest {
     assertEquals(HOLCAL_MON_WED.daysBetween(start, end), expected);
   }
 
+  public void test_daysBetween_badOrder() {
+    assertThrowsIllegalArg(() -> HOLCAL_MON_WED.daysBetween(TUE_2014_07_15, MON_2014_07_14));
+  }
+
+  public void test_daysBetween_shift_broad() {
+    Random random = new Random(547698);
+    ImmutableHolidayCalendar cal1 = sampleCalendar(random, "TestBroad1", LocalDate.of(2010, 1, 1), SATURDAY, SUNDAY);
+    ImmutableHolidayCalendar cal2 = sampleCalendar(random, "TestBroad2", LocalDate.of(2015, 1, 1), FRIDAY, SATURDAY);
+    HolidayCalendar combined = cal1.combinedWith(cal2);
+    for (HolidayCalendar test : ImmutableList.of(cal1, cal2, combined)) {
+      for (int i = 0; i < 200; i++) {
+        // dates within and outside the range of the holidays
+        LocalDate start = LocalDate.of(2005, 1, 1).plusDays(random.nextInt(365 * 25));
+        LocalDate end = start.plusDays(random.nextInt(3000));
+        int expected = 0;
+        for (LocalDate date = start; date.isBefore(end); date = date.plusDays(1)) {
+          expected += test.isBusinessDay(date) ? 1 : 0;
+        }
+        assertEquals(test.daysBetween(start, end), expected);
+        int amount = random.nextInt(1200) - 600;
+        LocalDate expectedShift = start;
+        for (int j = 0; j < Math.abs(amount); j++) {
+          expectedShift = amount > 0 ? test.next(expectedShift) : test.previous(expectedShift);
+        }
+        assertEquals(test.shift(start, amount), expectedShift);
+      }
+    }
+  }
+
+  // a calendar with holidays over ten years
+  private static ImmutableHolidayCalendar sampleCalendar(
+      Random random, String name, LocalDate start, DayOfWeek weekend1, DayOfWeek weekend2) {
+
+    LocalDate end = start.plusYears(10);
+    SortedSet<LocalDate> set = new TreeSet<>();
+    for (LocalDate date = start; date.isBefore(end); date = date.plusDays(random.nextInt(20) + 1)) {
+      set.add(date);
+    }
+    return ImmutableHolidayCalendar.of(HolidayCalendarId.of(name), set, weekend1, weekend2);
+  }
+
   //-------------------------------------------------------------------------
   public void test_combinedWith() {
     Iterable<LocalDate> holidays1 = Arrays.asList(WED_2014_07_16);
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.schedule;
+
+import static com.opengamma.strata.basics.date.BusinessDayConventions.MODIFIED_FOLLOWING;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.GBLO;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.USNY;
+import static com.opengamma.strata.basics.schedule.Frequency.P3M;
+import static com.opengamma.strata.basics.schedule.Frequency.P6M;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static java.time.DayOfWeek.SATURDAY;
+import static java.time.DayOfWeek.SUNDAY;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertSame;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ReferenceDataId;
+import com.opengamma.strata.basics.ReferenceDataNotFoundException;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.basics.date.ImmutableHolidayCalendar;
+
+/**
+ * Test {@link ScheduleCache}.
+ */
+@Test
+public class ScheduleCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ReferenceData NOT_CACHED_REF_DATA = new ReferenceData() {
+    @Override
+    public <T> Optional<T> findValue(ReferenceDataId<T> id) {
+      return REF_DATA.findValue(id);
+    }
+  };
+  private static final BusinessDayAdjustment BDA_GBLO = BusinessDayAdjustment.of(MODIFIED_FOLLOWING, GBLO);
+  private static final PeriodicSchedule DEFN = PeriodicSchedule.builder()
+      .startDate(date(2017, 3, 15))
+      .endDate(date(2027, 3, 15))
+      .frequency(P3M)
+      .businessDayAdjustment(BDA_GBLO)
+      .build();
+
+  public void test_createSchedule_cached() {
+    Schedule test1 = DEFN.createSchedule(REF_DATA);
+    Schedule test2 = DEFN.createSchedule(REF_DATA);
+    assertSame(test2, test1);
+    // an equal definition finds the same schedule
+    Schedule test3 = DEFN.toBuilder().build().createSchedule(REF_DATA);
+    assertSame(test3, test1);
+    // a different definition finds a different schedule
+    Schedule test4 = DEFN.toBuilder().frequency(P6M).build().createSchedule(REF_DATA);
+    assertEquals(test4.size(), 20);
+    assertEquals(test1.size(), 40);
+  }
+
+  public void test_schedule() {
+    ScheduleCache test = new ScheduleCache(10);
+    AtomicInteger count = new AtomicInteger();
+    Schedule schedule1 = test.schedule(DEFN, REF_DATA, () -> create(DEFN, REF_DATA, count));
+    Schedule schedule2 = test.schedule(DEFN.toBuilder().build(), REF_DATA, () -> create(DEFN, REF_DATA, count));
+    assertSame(schedule2, schedule1);
+    assertEquals(count.get(), 1);
+    assertEquals(test.size(), 1);
+  }
+
+  public void test_schedule_combinedCalendar() {
+    ScheduleCache test = new ScheduleCache(10);
+    AtomicInteger count = new AtomicInteger();
+    PeriodicSchedule defn = DEFN.toBuilder()
+        .businessDayAdjustment(BusinessDayAdjustment.of(MODIFIED_FOLLOWING, GBLO.combinedWith(USNY)))
+        .build();
+    Schedule schedule1 = test.schedule(defn, REF_DATA, () -> create(defn, REF_DATA, count));
+    Schedule schedule2 = test.schedule(defn, REF_DATA, () -> create(defn, REF_DATA, count));
+    assertSame(schedule2, schedule1);
+    assertEquals(count.get(), 1);
+  }
+
+  public void test_schedule_differentHolidays() {
+    // the same calendar identifier with different holidays in the reference data
+    ScheduleCache test = new ScheduleCache(10);
+    AtomicInteger count = new AtomicInteger();
+    HolidayCalendarId calId = HolidayCalendarId.of("Test");
+    LocalDate holiday = date(2017, 6, 15);
+    ReferenceData refData1 = ReferenceData.of(ImmutableMap.of(
+        calId, ImmutableHolidayCalendar.of(calId, ImmutableList.of(), SATURDAY, SUNDAY)));
+    ReferenceData refData2 = ReferenceData.of(ImmutableMap.of(
+        calId, ImmutableHolidayCalendar.of(calId, ImmutableList.of(holiday), SATURDAY, SUNDAY)));
+    PeriodicSchedule defn = DEFN.toBuilder()
+        .businessDayAdjustment(BusinessDayAdjustment.of(MODIFIED_FOLLOWING, calId))
+        .build();
+    Schedule schedule1 = test.schedule(defn, refData1, () -> create(defn, refData1, count));
+    Schedule schedule2 = test.schedule(defn, refData2, () -> create(defn, refData2, count));
+    assertNotEquals(schedule2, schedule1);
+    assertEquals(schedule1.getPeriod(0).getEndDate(), holiday);
+    assertEquals(schedule2.getPeriod(0).getEndDate(), holiday.plusDays(1));
+    assertSame(test.schedule(defn, refData1, () -> create(defn, refData1, count)), schedule1);
+    assertSame(test.schedule(defn, refData2, () -> create(defn, refData2, count)), schedule2);
+    assertEquals(count.get(), 2);
+    // different reference data resolving the same calendars finds the same schedule
+    ReferenceData refData3 = refData1.combinedWith(ReferenceData.empty());
+    assertSame(test.schedule(defn, refData3, () -> create(defn, refData3, count)), schedule1);
+    assertEquals(count.get(), 2);
+  }
+
+  public void test_schedule_notImmutableReferenceData() {
+    ScheduleCache test = new ScheduleCache(10);
+    AtomicInteger count = new AtomicInteger();
+    ReferenceData refData = NOT_CACHED_REF_DATA;
+    Schedule schedule1 = test.schedule(DEFN, refData, () -> create(DEFN, refData, count));
+    Schedule schedule2 = test.schedule(DEFN, refData, () -> create(DEFN, refData, count));
+    assertEquals(schedule2, schedule1);
+    assertEquals(count.get(), 2);
+    assertEquals(test.size(), 0);
+  }
+
+  public void test_schedule_missingCalendar() {
+    PeriodicSchedule defn = DEFN.toBuilder()
+        .businessDayAdjustment(BusinessDayAdjustment.of(MODIFIED_FOLLOWING, HolidayCalendarId.of("Unknown")))
+        .build();
+    assertThrows(() -> defn.createSchedule(REF_DATA), ReferenceDataNotFoundException.class);
+    ScheduleCache test = new ScheduleCache(10);
+    assertThrows(() -> test.schedule(defn, REF_DATA, () -> defn.createSchedule(REF_DATA)),
+        ReferenceDataNotFoundException.class);
+    assertEquals(test.size(), 0);
+  }
+
+  public void test_schedule_leastRecentlyUsed() {
+    ScheduleCache test = new ScheduleCache(2);
+    AtomicInteger count = new AtomicInteger();
+    PeriodicSchedule defn1 = DEFN;
+    PeriodicSchedule defn2 = DEFN.toBuilder().frequency(P6M).build();
+    PeriodicSchedule defn3 = DEFN.toBuilder().endDate(date(2022, 3, 15)).build();
+    Schedule schedule1 = test.schedule(defn1, REF_DATA, () -> create(defn1, REF_DATA, count));
+    test.schedule(defn2, REF_DATA, () -> create(defn2, REF_DATA, count));
+    // use the first, so the second is the least recently used
+    assertSame(test.schedule(defn1, REF_DATA, () -> create(defn1, REF_DATA, count)), schedule1);
+    test.schedule(defn3, REF_DATA, () -> create(defn3, REF_DATA, count));
+    assertEquals(test.size(), 2);
+    assertEquals(count.get(), 3);
+    assertSame(test.schedule(defn1, REF_DATA, () -> create(defn1, REF_DATA, count)), schedule1);
+    assertEquals(count.get(), 3);
+    test.schedule(defn2, REF_DATA, () -> create(defn2, REF_DATA, count));
+    assertEquals(count.get(), 4);
+  }
+
+  public void test_invalidSize() {
+    assertThrowsIllegalArg(() -> new ScheduleCache(0));
+  }
+
+  private static Schedule create(PeriodicSchedule defn, ReferenceData refData, AtomicInteger count) {
+    count.incrementAndGet();
+    return defn.createSchedule(refData);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() {
+    int nbTest = 100000;
+    for (int looprep = 0; looprep < 5; looprep++) {
+      int total = 0;
+      long startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        total += DEFN.createSchedule(NOT_CACHED_REF_DATA).size();
+      }
+      long endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " schedules created: " + (endTime - startTime) + " ms");
+      startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        total += DEFN.createSchedule(REF_DATA).size();
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " schedules cached: " + (endTime - startTime) + " ms");
+      System.out.println("Total: " + total);
+    }
+  }
+
+}
@@ -0,0 +1,812 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+
+/**
+ * Calculation results stored by column, with numeric values held in primitive arrays.
+ * <p>
+ * This is an alternative representation of {@link Results} that is suited to a large number of
+ * targets and scenarios. In {@code Results}, each cell is a separate {@link Result} object wrapping
+ * a separate value, such as a {@link CurrencyScenarioArray} wrapping a {@link DoubleArray}.
+ * Here, the successful values of a numeric column are stored in a single contiguous array.
+ * <p>
+ * A column is stored in primitive form if every successful result in the column has the same type,
+ * and the same number of scenarios, where the type is one of the following:
+ * <ul>
+ * <li>{@code Double} or {@link DoubleScenarioArray}, stored as a single array of values
+ * <li>{@link CurrencyAmount}, {@link CurrencyScenarioArray}, {@link MultiCurrencyAmount} or
+ *  {@link MultiCurrencyScenarioArray}, stored as one array of values per currency
+ * </ul>
+ * Failures in a primitive column are held in a sparse map keyed by row.
+ * Any other column, including a column where every result is a failure, is stored as an array of results.
+ * <p>
+ * The arrays are organized by row, then scenario.
+ * Thus, the index of a given value is {@code (rowIndex * scenarioCount) + scenarioIndex}.
+ * A single value that is not a scenario array is treated as having one scenario.
+ * <p>
+ * The results are accessed using the same methods as {@code Results}, where a {@code Result} equal to
+ * the original is created on demand. The primitive columns can also be accessed in bulk using
+ * {@link #getValues(int)} and {@link #getValues(int, Currency)}.
+ * <p>
+ * An instance can be created from {@code Results}, or populated as each result is calculated using
+ * {@link #builder(List, int)}, which avoids holding every result in memory at the same time.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class ColumnarResults {
+
+  /**
+   * The column headers.
+   */
+  private final ImmutableList<ColumnHeader> columns;
+  /**
+   * The number of rows.
+   */
+  private final int rowCount;
+  /**
+   * The data of each column.
+   */
+  private final ColumnData[] columnData;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from a set of results.
+   *
+   * @param results  the results
+   * @return the columnar results
+   */
+  public static ColumnarResults of(Results results) {
+    ArgChecker.notNull(results, "results");
+    return new ColumnarResults(results.getColumns(), results.getCells(), results.getRowCount());
+  }
+
+  /**
+   * Obtains an instance containing the results of the calculation for each cell.
+   * <p>
+   * The cells are grouped by target, then column, as in {@link Results}.
+   * The number of cells must be exactly divisible by the number of columns.
+   *
+   * @param columns  the names of each column
+   * @param cells  the calculated results, one for each cell
+   * @return the columnar results
+   */
+  public static ColumnarResults of(List<ColumnHeader> columns, List<? extends Result<?>> cells) {
+    return of(Results.of(columns, cells));
+  }
+
+  /**
+   * Returns a builder that is populated one cell at a time.
+   * <p>
+   * The builder stores each result in columnar form as it is received, thus the results
+   * do not all need to be held in memory before the columnar results are created.
+   * See {@link ColumnarResultsBuilder}.
+   *
+   * @param columns  the names of each column
+   * @param rowCount  the number of rows
+   * @return the builder
+   */
+  public static ColumnarResultsBuilder builder(List<ColumnHeader> columns, int rowCount) {
+    return new ColumnarResultsBuilder(columns, rowCount);
+  }
+
+  // restricted constructor
+  private ColumnarResults(List<ColumnHeader> columns, List<? extends Result<?>> cells, int rowCount) {
+    this.columns = ImmutableList.copyOf(columns);
+    this.rowCount = rowCount;
+    int columnCount = columns.size();
+    // each column is independent, thus they can be converted in parallel
+    this.columnData = IntStream.range(0, columnCount)
+        .parallel()
+        .mapToObj(columnIndex -> {
+          ColumnBuilder builder = new ColumnBuilder(rowCount);
+          for (int row = 0; row < rowCount; row++) {
+            builder.put(row, cells.get(row * columnCount + columnIndex));
+          }
+          return builder.build();
+        })
+        .toArray(ColumnData[]::new);
+  }
+
+  // creates an instance from complete column builders
+  ColumnarResults(List<ColumnHeader> columns, ColumnBuilder[] columnBuilders, int rowCount) {
+    this.columns = ImmutableList.copyOf(columns);
+    this.rowCount = rowCount;
+    this.columnData = Stream.of(columnBuilders)
+        .map(ColumnBuilder::build)
+        .toArray(ColumnData[]::new);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the column headers.
+   *
+   * @return the column headers
+   */
+  public ImmutableList<ColumnHeader> getColumns() {
+    return columns;
+  }
+
+  /**
+   * Gets the number of rows in the results.
+   * <p>
+   * The number of rows equals the number of targets input to the calculation.
+   *
+   * @return the number of rows
+   */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Gets the number of columns in the results.
+   *
+   * @return the number of columns
+   */
+  public int getColumnCount() {
+    return columns.size();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the results for a target and column index.
+   * <p>
+   * The result may be a single value or a multi-scenario value.
+   * A multi-scenario value will implement {@link ScenarioArray} unless it has been aggregated.
+   * <p>
+   * If the calculation did not complete successfully, a failure result will be returned
+   * explaining the problem. Callers must check whether the result is a success or failure
+   * before examining the result value.
+   * <p>
+   * The result of a primitive column is created on demand, thus it should be used and discarded
+   * rather than retained.
+   *
+   * @param rowIndex   the index of the row containing the results for a target
+   * @param columnIndex  the index of the column
+   * @return the result for the specified row and column for a set of scenarios
+   * @throws IllegalArgumentException if the row or column index is invalid
+   */
+  public Result<?> get(int rowIndex, int columnIndex) {
+    checkRowIndex(rowIndex);
+    return column(columnIndex).get(rowIndex);
+  }
+
+  /**
+   * Returns the results for a target and column index, casting the result to a known type.
+   * <p>
+   * See {@link #get(int, int)} for details.
+   *
+   * @param <T>  the result type
+   * @param rowIndex   the index of the row containing the results for a target
+   * @param columnIndex  the index of the column
+   * @param type  the result type
+   * @return the result for the specified row and column for a set of scenarios, cast to the specified type
+   * @throws IllegalArgumentException if the row or column index is invalid
+   * @throws ClassCastException if the result is not of the specified type
+   */
+  public <T> Result<T> get(int rowIndex, int columnIndex, Class<T> type) {
+    return cast(get(rowIndex, columnIndex), type);
+  }
+
+  /**
+   * Returns the results for a target and column name.
+   * <p>
+   * See {@link #get(int, int)} for details.
+   *
+   * @param rowIndex   the index of the row containing the results for a target
+   * @param columnName  the name of the column
+   * @return the result for the specified row and column for a set of scenarios
+   * @throws IllegalArgumentException if the row index or column name is invalid
+   */
+  public Result<?> get(int rowIndex, ColumnName columnName) {
+    return get(rowIndex, columnIndex(columnName));
+  }
+
+  /**
+   * Returns the results for a target and column name, casting the result to a known type.
+   * <p>
+   * See {@link #get(int, int)} for details.
+   *
+   * @param <T>  the result type
+   * @param rowIndex   the index of the row containing the results for a target
+   * @param columnName  the name of the column
+   * @param type  the result type
+   * @return the result for the specified row and column for a set of scenarios, cast to the specified type
+   * @throws IllegalArgumentException if the row index or column name is invalid
+   * @throws ClassCastException if the result is not of the specified type
+   */
+  public <T> Result<T> get(int rowIndex, ColumnName columnName, Class<T> type) {
+    return cast(get(rowIndex, columnName), type);
+  }
+
+  /**
+   * Checks if the result for a target and column index is a success.
+   * <p>
+   * This avoids creating the result.
+   *
+   * @param rowIndex   the index of the row containing the results for a target
+   * @param columnIndex  the index of the column
+   * @return true if the result is a success
+   * @throws IllegalArgumentException if the row or column index is invalid
+   */
+  public boolean isSuccess(int rowIndex, int columnIndex) {
+    checkRowIndex(rowIndex);
+    return column(columnIndex).isSuccess(rowIndex);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the column is stored in primitive form.
+   * <p>
+   * The bulk accessors can only be used on a primitive column.
+   *
+   * @param columnIndex  the index of the column
+   * @return true if the column is stored in primitive form
+   * @throws IllegalArgumentException if the column index is invalid
+   */
+  public boolean isPrimitive(int columnIndex) {
+    return column(columnIndex).kind != ValueKind.OBJECT;
+  }
+
+  /**
+   * Checks if the column is stored in primitive form and contains currency amounts.
+   * <p>
+   * If true, the values are obtained using {@link #getValues(int, Currency)},
+   * otherwise the values of a primitive column are obtained using {@link #getValues(int)}.
+   *
+   * @param columnIndex  the index of the column
+   * @return true if the column is stored in primitive form and contains currency amounts
+   * @throws IllegalArgumentException if the column index is invalid
+   */
+  public boolean hasCurrencies(int columnIndex) {
+    return column(columnIndex).currencyValues != null;
+  }
+
+  /**
+   * Gets the number of scenarios of a primitive column.
+   * <p>
+   * A column of single values that are not scenario arrays has one scenario.
+   *
+   * @param columnIndex  the index of the column
+   * @return the number of scenarios
+   * @throws IllegalArgumentException if the column index is invalid or the column is not primitive
+   */
+  public int getScenarioCount(int columnIndex) {
+    return primitiveColumn(columnIndex).scenarioCount;
+  }
+
+  /**
+   * Gets the values of a primitive column of {@code Double} or {@code DoubleScenarioArray}.
+   * <p>
+   * The values are organized by row, then scenario, with zero for each row that is a failure.
+   * The array is returned without copying.
+   *
+   * @param columnIndex  the index of the column
+   * @return the values
+   * @throws IllegalArgumentException if the column index is invalid or the column does not contain doubles
+   */
+  public DoubleArray getValues(int columnIndex) {
+    ColumnData column = primitiveColumn(columnIndex);
+    if (column.values == null) {
+      throw new IllegalArgumentException(Messages.format("Column {} does not contain double values", columnIndex));
+    }
+    return DoubleArray.ofUnsafe(column.values);
+  }
+
+  /**
+   * Gets the currencies of a primitive column of currency amounts.
+   *
+   * @param columnIndex  the index of the column
+   * @return the currencies that occur in the column
+   * @throws IllegalArgumentException if the column index is invalid or the column does not contain currency amounts
+   */
+  public ImmutableSet<Currency> getCurrencies(int columnIndex) {
+    return currencyColumn(columnIndex).currencyValues.keySet();
+  }
+
+  /**
+   * Gets the values of a primitive column of currency amounts for a single currency.
+   * <p>
+   * The values are organized by row, then scenario, with zero for each row that is a failure
+   * or that has no amount in the currency. The array is returned without copying.
+   * Summing the values of each scenario across the rows gives the total of the column in the currency.
+   *
+   * @param columnIndex  the index of the column
+   * @param currency  the currency
+   * @return the values
+   * @throws IllegalArgumentException if the column index is invalid, the column does not contain
+   *  currency amounts or the currency does not occur in the column
+   */
+  public DoubleArray getValues(int columnIndex, Currency currency) {
+    double[] values = currencyColumn(columnIndex).currencyValues.get(currency);
+    if (values == null) {
+      throw new IllegalArgumentException(
+          Messages.format("Column {} does not contain values in currency {}", columnIndex, currency));
+    }
+    return DoubleArray.ofUnsafe(values);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Converts this instance to a set of results.
+   * <p>
+   * Each cell of a primitive column is created, thus this is expensive for a large number of results.
+   *
+   * @return the results
+   */
+  public Results toResults() {
+    List<Result<?>> cells = new ArrayList<>(rowCount * columnData.length);
+    for (int row = 0; row < rowCount; row++) {
+      for (ColumnData column : columnData) {
+        cells.add(column.get(row));
+      }
+    }
+    return Results.of(columns, cells);
+  }
+
+  //-------------------------------------------------------------------------
+  private void checkRowIndex(int rowIndex) {
+    if (rowIndex < 0 || rowIndex >= rowCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Row index must be greater than or equal to zero and less than the row count ({}), but it was {}",
+          rowCount,
+          rowIndex));
+    }
+  }
+
+  private ColumnData column(int columnIndex) {
+    if (columnIndex < 0 || columnIndex >= columnData.length) {
+      throw new IllegalArgumentException(Messages.format(
+          "Column index must be greater than or equal to zero and less than the column count ({}), but it was {}",
+          columnData.length,
+          columnIndex));
+    }
+    return columnData[columnIndex];
+  }
+
+  private ColumnData primitiveColumn(int columnIndex) {
+    ColumnData column = column(columnIndex);
+    if (column.kind == ValueKind.OBJECT) {
+      throw new IllegalArgumentException(Messages.format("Column {} is not stored in primitive form", columnIndex));
+    }
+    return column;
+  }
+
+  private ColumnData currencyColumn(int columnIndex) {
+    ColumnData column = primitiveColumn(columnIndex);
+    if (column.currencyValues == null) {
+      throw new IllegalArgumentException(Messages.format("Column {} does not contain currency amounts", columnIndex));
+    }
+    return column;
+  }
+
+  private int columnIndex(ColumnName columnName) {
+    for (int i = 0; i < columns.size(); i++) {
+      if (columns.get(i).getName().equals(columnName)) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException(Messages.format("Column name not found: {}", columnName));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Result<T> cast(Result<?> result, Class<T> type) {
+    // cannot use result.map() as we want the exception to be thrown
+    if (result.isFailure() || type.isInstance(result.getValue())) {
+      return (Result<T>) result;
+    }
+    throw new ClassCastException(Messages.format(
+        "Result queried with type '{}' but was '{}'", type.getName(), result.getValue().getClass().getName()));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("ColumnarResults[rows={}, columns={}]", rowCount, columns);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The kind of value in a column.
+   */
+  private enum ValueKind {
+    DOUBLE(Double.class),
+    DOUBLE_SCENARIOS(DoubleScenarioArray.class),
+    CURRENCY_AMOUNT(CurrencyAmount.class),
+    CURRENCY_SCENARIOS(CurrencyScenarioArray.class),
+    MULTI_CURRENCY_AMOUNT(MultiCurrencyAmount.class),
+    MULTI_CURRENCY_SCENARIOS(MultiCurrencyScenarioArray.class),
+    OBJECT(Object.class);
+
+    private static final ValueKind[] KINDS = values();
+
+    private final Class<?> type;
+
+    private ValueKind(Class<?> type) {
+      this.type = type;
+    }
+
+    // finds the kind of a value, OBJECT if the value is not numeric
+    private static ValueKind of(Object value) {
+      for (ValueKind kind : KINDS) {
+        if (kind.type == value.getClass()) {
+          // an array with no currencies cannot be recreated with the correct number of scenarios
+          if (kind == MULTI_CURRENCY_SCENARIOS && ((MultiCurrencyScenarioArray) value).getCurrencies().isEmpty()) {
+            return OBJECT;
+          }
+          return kind;
+        }
+      }
+      return OBJECT;
+    }
+
+    // the number of scenarios in a value
+    private static int scenarioCount(Object value) {
+      if (value instanceof ScenarioArray) {
+        return ((ScenarioArray<?>) value).getScenarioCount();
+      }
+      return 1;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The data of a single column.
+   * <p>
+   * A primitive column has either the values or the currency values, plus the failures.
+   * Any other column has only the cells.
+   */
+  private static final class ColumnData {
+    /**
+     * The kind of value.
+     */
+    private final ValueKind kind;
+    /**
+     * The number of scenarios, zero for an object column.
+     */
+    private final int scenarioCount;
+    /**
+     * The cells of an object column, null for a primitive column.
+     */
+    private final Result<?>[] cells;
+    /**
+     * The values of a column of doubles, null otherwise.
+     */
+    private final double[] values;
+    /**
+     * The values of a column of currency amounts, keyed by currency, null otherwise.
+     */
+    private final ImmutableMap<Currency, double[]> currencyValues;
+    /**
+     * The rows that have an amount in each currency, for a column of currency amounts, null otherwise.
+     */
+    private final ImmutableMap<Currency, BitSet> currencyRows;
+    /**
+     * The failures of a primitive column, keyed by row index.
+     */
+    private final ImmutableMap<Integer, Result<?>> failures;
+
+    private ColumnData(
+        ValueKind kind,
+        int scenarioCount,
+        Result<?>[] cells,
+        double[] values,
+        ImmutableMap<Currency, double[]> currencyValues,
+        ImmutableMap<Currency, BitSet> currencyRows,
+        ImmutableMap<Integer, Result<?>> failures) {
+
+      this.kind = kind;
+      this.scenarioCount = scenarioCount;
+      this.cells = cells;
+      this.values = values;
+      this.currencyValues = currencyValues;
+      this.currencyRows = currencyRows;
+      this.failures = failures;
+    }
+
+    //-------------------------------------------------------------------------
+    // checks if the result of a row is a success
+    private boolean isSuccess(int row) {
+      if (cells != null) {
+        return cells[row].isSuccess();
+      }
+      return !failures.containsKey(row);
+    }
+
+    // gets the result of a row, creating it if necessary
+    private Result<?> get(int row) {
+      if (cells != null) {
+        return cells[row];
+      }
+      Result<?> failure = failures.get(row);
+      if (failure != null) {
+        return failure;
+      }
+      int offset = row * scenarioCount;
+      switch (kind) {
+        case DOUBLE:
+          return Result.success(values[offset]);
+        case DOUBLE_SCENARIOS:
+          return Result.success(DoubleScenarioArray.of(scenarioValues(values, offset)));
+        case CURRENCY_AMOUNT: {
+          Currency currency = rowCurrencies(row).get(0);
+          return Result.success(CurrencyAmount.of(currency, currencyValues.get(currency)[offset]));
+        }
+        case CURRENCY_SCENARIOS: {
+          Currency currency = rowCurrencies(row).get(0);
+          return Result.success(
+              CurrencyScenarioArray.of(currency, scenarioValues(currencyValues.get(currency), offset)));
+        }
+        case MULTI_CURRENCY_AMOUNT: {
+          List<CurrencyAmount> amounts = new ArrayList<>();
+          for (Currency currency : rowCurrencies(row)) {
+            amounts.add(CurrencyAmount.of(currency, currencyValues.get(currency)[offset]));
+          }
+          return Result.success(MultiCurrencyAmount.of(amounts));
+        }
+        case MULTI_CURRENCY_SCENARIOS: {
+          Map<Currency, DoubleArray> amounts = new HashMap<>();
+          for (Currency currency : rowCurrencies(row)) {
+            amounts.put(currency, scenarioValues(currencyValues.get(currency), offset));
+          }
+          return Result.success(MultiCurrencyScenarioArray.of(amounts));
+        }
+        default:
+          throw new IllegalStateException("Unexpected kind: " + kind);
+      }
+    }
+
+    // the currencies that a row has an amount in
+    private List<Currency> rowCurrencies(int row) {
+      List<Currency> currencies = new ArrayList<>();
+      currencyRows.forEach((currency, rows) -> {
+        if (rows.get(row)) {
+          currencies.add(currency);
+        }
+      });
+      return currencies;
+    }
+
+    // copies the values of the scenarios of a row
+    private DoubleArray scenarioValues(double[] array, int offset) {
+      return DoubleArray.ofUnsafe(Arrays.copyOfRange(array, offset, offset + scenarioCount));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Mutable builder of the data of a single column, populated one row at a time.
+   * <p>
+   * The kind of value is determined by the first successful result, at which point the arrays are created.
+   * If a later result has a different kind or number of scenarios, the values stored so far are
+   * converted back to results and the column is stored as an array of results.
+   */
+  static final class ColumnBuilder {
+    /**
+     * The number of rows.
+     */
+    private final int rowCount;
+    /**
+     * The rows that have a successful result, for a primitive column.
+     */
+    private final BitSet successRows = new BitSet();
+    /**
+     * The failures of a primitive column, keyed by row index.
+     */
+    private final Map<Integer, Result<?>> failures = new HashMap<>();
+    /**
+     * The kind of value, null until the first successful result.
+     */
+    private ValueKind kind;
+    /**
+     * The number of scenarios, zero until the first successful result and for an object column.
+     */
+    private int scenarioCount;
+    /**
+     * The size of each array of values, the number of rows multiplied by the number of scenarios.
+     */
+    private int arraySize;
+    /**
+     * The cells of an object column, null for a primitive column.
+     */
+    private Result<?>[] cells;
+    /**
+     * The values of a column of doubles, null otherwise.
+     */
+    private double[] values;
+    /**
+     * The values of a column of currency amounts, keyed by currency, null otherwise.
+     */
+    private SortedMap<Currency, double[]> currencyValues;
+    /**
+     * The rows that have an amount in each currency, for a column of currency amounts, null otherwise.
+     */
+    private SortedMap<Currency, BitSet> currencyRows;
+
+    ColumnBuilder(int rowCount) {
+      this.rowCount = rowCount;
+    }
+
+    //-------------------------------------------------------------------------
+    // sets the result of a row, which must not already be set
+    void put(int row, Result<?> result) {
+      if (isSet(row)) {
+        throw new IllegalArgumentException(Messages.format("Result has already been set for row {}", row));
+      }
+      if (kind == ValueKind.OBJECT) {
+        cells[row] = result;
+        return;
+      }
+      if (result.isFailure()) {
+        failures.put(row, result);
+        return;
+      }
+      Object value = result.getValue();
+      ValueKind valueKind = ValueKind.of(value);
+      int valueScenarioCount = ValueKind.scenarioCount(value);
+      if (kind == null && valueKind != ValueKind.OBJECT && valueScenarioCount > 0) {
+        start(valueKind, valueScenarioCount);
+      } else if (kind != valueKind || scenarioCount != valueScenarioCount) {
+        toObject();
+        cells[row] = result;
+        return;
+      }
+      store(row, value);
+      successRows.set(row);
+    }
+
+    // finds the first row that has not been set, -1 if every row has been set
+    int missingRow() {
+      for (int row = 0; row < rowCount; row++) {
+        if (!isSet(row)) {
+          return row;
+        }
+      }
+      return -1;
+    }
+
+    // checks if the result of a row has been set
+    private boolean isSet(int row) {
+      if (kind == ValueKind.OBJECT) {
+        return cells[row] != null;
+      }
+      return successRows.get(row) || failures.containsKey(row);
+    }
+
+    // starts a primitive column, creating the arrays
+    private void start(ValueKind kind, int scenarioCount) {
+      this.kind = kind;
+      this.scenarioCount = scenarioCount;
+      try {
+        this.arraySize = Math.multiplyExact(rowCount, scenarioCount);
+      } catch (ArithmeticException ex) {
+        throw new IllegalArgumentException(Messages.format(
+            "Column is too large to store in primitive form, {} rows with {} scenarios exceeds the maximum array size",
+            rowCount,
+            scenarioCount), ex);
+      }
+      if (kind == ValueKind.DOUBLE || kind == ValueKind.DOUBLE_SCENARIOS) {
+        values = new double[arraySize];
+      } else {
+        currencyValues = new TreeMap<>();
+        currencyRows = new TreeMap<>();
+      }
+    }
+
+    // stores the value of a row in a primitive column
+    private void store(int row, Object value) {
+      int offset = row * scenarioCount;
+      switch (kind) {
+        case DOUBLE:
+          values[offset] = (Double) value;
+          break;
+        case DOUBLE_SCENARIOS:
+          ((DoubleScenarioArray) value).getValues().copyInto(values, offset);
+          break;
+        case CURRENCY_AMOUNT: {
+          CurrencyAmount amount = (CurrencyAmount) value;
+          currencyValues(amount.getCurrency(), row)[offset] = amount.getAmount();
+          break;
+        }
+        case CURRENCY_SCENARIOS: {
+          CurrencyScenarioArray array = (CurrencyScenarioArray) value;
+          array.getAmounts().getValues().copyInto(currencyValues(array.getCurrency(), row), offset);
+          break;
+        }
+        case MULTI_CURRENCY_AMOUNT:
+          for (CurrencyAmount amount : ((MultiCurrencyAmount) value).getAmounts()) {
+            currencyValues(amount.getCurrency(), row)[offset] = amount.getAmount();
+          }
+          break;
+        case MULTI_CURRENCY_SCENARIOS: {
+          MultiCurrencyScenarioArray array = (MultiCurrencyScenarioArray) value;
+          for (Currency currency : array.getCurrencies()) {
+            array.getValues(currency).copyInto(currencyValues(currency, row), offset);
+          }
+          break;
+        }
+        default:
+          throw new IllegalStateException("Unexpected kind: " + kind);
+      }
+    }
+
+    // finds or creates the values of a currency, recording that the row has an amount in the currency
+    private double[] currencyValues(Currency currency, int row) {
+      currencyRows.computeIfAbsent(currency, ccy -> new BitSet()).set(row);
+      return currencyValues.computeIfAbsent(currency, ccy -> new double[arraySize]);
+    }
+
+    // converts to an object column, recreating the results of the rows stored so far
+    private void toObject() {
+      Result<?>[] objectCells = new Result<?>[rowCount];
+      if (kind != null) {
+        ColumnData data = buildPrimitive();
+        for (int row = successRows.nextSetBit(0); row >= 0; row = successRows.nextSetBit(row + 1)) {
+          objectCells[row] = data.get(row);
+        }
+      }
+      failures.forEach((row, failure) -> objectCells[row] = failure);
+      kind = ValueKind.OBJECT;
+      scenarioCount = 0;
+      cells = objectCells;
+      values = null;
+      currencyValues = null;
+      currencyRows = null;
+      successRows.clear();
+      failures.clear();
+    }
+
+    //-------------------------------------------------------------------------
+    // builds the data of the column, a column with no successful results is an object column
+    private ColumnData build() {
+      if (kind == null) {
+        toObject();
+      }
+      if (kind == ValueKind.OBJECT) {
+        return new ColumnData(ValueKind.OBJECT, 0, cells, null, null, null, ImmutableMap.of());
+      }
+      return buildPrimitive();
+    }
+
+    // builds the data of a primitive column
+    private ColumnData buildPrimitive() {
+      return new ColumnData(
+          kind,
+          scenarioCount,
+          null,
+          values,
+          currencyValues == null ? null : ImmutableMap.copyOf(currencyValues),
+          currencyRows == null ? null : ImmutableMap.copyOf(currencyRows),
+          ImmutableMap.copyOf(failures));
+    }
+  }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.calc.ColumnarResults.ColumnBuilder;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Builder for {@link ColumnarResults}, populated one cell at a time.
+ * <p>
+ * Each result is stored in columnar form as soon as it is set, thus the numeric values are copied
+ * into the primitive arrays and the result itself can be discarded. This allows the results of a large
+ * calculation to be collected as they are calculated, without first holding every result in memory.
+ * <p>
+ * The cells may be set in any order, but each cell must be set exactly once before the results are built.
+ * The columnar results are identical to those created from the equivalent {@link Results}.
+ * <p>
+ * This builder is mutable and not thread-safe. It cannot be used once the results have been built.
+ */
+public final class ColumnarResultsBuilder {
+
+  /**
+   * The column headers.
+   */
+  private final ImmutableList<ColumnHeader> columns;
+  /**
+   * The number of rows.
+   */
+  private final int rowCount;
+  /**
+   * The builder of each column.
+   */
+  private final ColumnBuilder[] columnBuilders;
+  /**
+   * Whether the results have been built.
+   */
+  private boolean built;
+
+  /**
+   * Creates an instance.
+   *
+   * @param columns  the names of each column
+   * @param rowCount  the number of rows
+   */
+  ColumnarResultsBuilder(List<ColumnHeader> columns, int rowCount) {
+    this.columns = ImmutableList.copyOf(columns);
+    this.rowCount = ArgChecker.notNegative(rowCount, "rowCount");
+    this.columnBuilders = new ColumnBuilder[columns.size()];
+    for (int i = 0; i < columnBuilders.length; i++) {
+      columnBuilders[i] = new ColumnBuilder(rowCount);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Sets the result of a cell.
+   *
+   * @param rowIndex  the index of the row containing the results for a target
+   * @param columnIndex  the index of the column
+   * @param result  the result of the calculation
+   * @return this, for chaining
+   * @throws IllegalArgumentException if the row or column index is invalid, if the result has already
+   *  been set, or if a numeric column is too large to be stored in primitive form
+   */
+  public ColumnarResultsBuilder put(int rowIndex, int columnIndex, Result<?> result) {
+    checkNotBuilt();
+    ArgChecker.inRange(rowIndex, 0, rowCount, "rowIndex");
+    ArgChecker.inRange(columnIndex, 0, columnBuilders.length, "columnIndex");
+    ArgChecker.notNull(result, "result");
+    columnBuilders[columnIndex].put(rowIndex, result);
+    return this;
+  }
+
+  /**
+   * Builds the columnar results.
+   *
+   * @return the columnar results
+   * @throws IllegalStateException if the result of any cell has not been set
+   */
+  public ColumnarResults build() {
+    checkNotBuilt();
+    for (int i = 0; i < columnBuilders.length; i++) {
+      int missingRow = columnBuilders[i].missingRow();
+      if (missingRow >= 0) {
+        throw new IllegalStateException(
+            Messages.format("Result has not been set for row {} and column {}", missingRow, i));
+      }
+    }
+    built = true;
+    return new ColumnarResults(columns, columnBuilders, rowCount);
+  }
+
+  // checks that the results have not been built, as the built results share the arrays
+  private void checkNotBuilt() {
+    if (built) {
+      throw new IllegalStateException("Builder cannot be used once the results have been built");
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("ColumnarResultsBuilder[rows={}, columns={}]", rowCount, columns);
+  }
+
+}
@@ -10,6 +10,7 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
@@ -38,6 +39,7 @@ import com.opengamma.strata.data.ObservableId;
 import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
 import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.data.scenario.ScenarioMarketDataViews;
 
 /**
  * Market data that has been built.
@@ -73,6 +75,11 @@ public final class BuiltScenarioMarketData
    */
   @PropertyDefinition(validate = "notNull", builderType = "Map<? extends MarketDataId<?>, Failure>")
   private final ImmutableMap<MarketDataId<?>, Failure> timeSeriesFailures;
+  /**
+   * The cache of views.
+   * This is not a property, and the views are not serialized.
+   */
+  private final ScenarioMarketDataViews views = ScenarioMarketDataViews.create();  // not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -171,6 +178,11 @@ public final class BuiltScenarioMarketData
     return underlying.getTimeSeries(id);
   }
 
+  @Override
+  public <T> T view(Class<T> type, Object lookup, Function<? super ScenarioMarketData, ? extends T> viewFactory) {
+    return views.view(this, type, lookup, viewFactory);
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   /**
    * The meta-bean for {@code BuiltScenarioMarketData}.
@@ -0,0 +1,300 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.ObservableId;
+
+/**
+ * A time-series provider that reads from a memory-mapped file.
+ * <p>
+ * Loading large numbers of time-series, such as the fixings of many indices, onto the heap is slow
+ * and uses a lot of memory. This provider instead maps a compact binary file into memory, such that
+ * a time-series is only read when requested, and only the part of the file holding that time-series
+ * is touched. The range of dates that is read can be further restricted using
+ * {@link #withDateRange(LocalDate, LocalDate)}.
+ * <p>
+ * The file is written using {@link #write(Map, Path)}. For example, to convert fixings in CSV format:
+ * <pre>
+ *  MappedTimeSeriesProvider.write(FixingSeriesCsvLoader.load(resources), file);
+ * </pre>
+ * <p>
+ * Each time-series is keyed by the standard identifier, field name and observable source of the
+ * identifier, thus {@code IndexQuoteId} and {@code QuoteId} instances that refer to the same
+ * observable share the time-series.
+ * <p>
+ * The format consists of a header, an index and the data. The index holds the key, the number of
+ * points and the position of the data for each time-series. The data for each time-series is the
+ * dates as epoch-days, followed by the values. All numbers are big-endian.
+ * <p>
+ * This class is immutable and thread-safe.
+ * The memory mapping is released when this instance is garbage collected.
+ */
+public final class MappedTimeSeriesProvider implements TimeSeriesProvider {
+
+  /**
+   * The header, identifying the format and version.
+   */
+  private static final int HEADER = 0x4d545331;
+
+  /**
+   * The mapped file.
+   */
+  private final ByteBuffer buffer;
+  /**
+   * The index, keyed by the identifier key.
+   */
+  private final ImmutableMap<String, Entry> index;
+  /**
+   * The first epoch-day to read, inclusive.
+   */
+  private final long startEpochDay;
+  /**
+   * The last epoch-day to read, exclusive.
+   */
+  private final long endEpochDay;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance by memory-mapping the specified file.
+   * <p>
+   * The file must have been written by {@link #write(Map, Path)}.
+   * The index is read immediately, but no time-series data is read until requested.
+   *
+   * @param file  the file to map
+   * @return the provider
+   * @throws UncheckedIOException if an IO error occurs
+   * @throws IllegalArgumentException if the file is invalid
+   */
+  public static MappedTimeSeriesProvider of(Path file) {
+    ArgChecker.notNull(file, "file");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Time-series file is too large to map: " + file);
+      }
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return new MappedTimeSeriesProvider(buffer, readIndex(buffer, file), Long.MIN_VALUE, Long.MAX_VALUE);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // reads the index
+  private static ImmutableMap<String, Entry> readIndex(ByteBuffer buffer, Path file) {
+    try {
+      if (buffer.getInt(0) != HEADER) {
+        throw new IllegalArgumentException("Invalid time-series file, header not recognized: " + file);
+      }
+      int seriesCount = buffer.getInt(4);
+      ImmutableMap.Builder<String, Entry> builder = ImmutableMap.builder();
+      int position = 8;
+      for (int i = 0; i < seriesCount; i++) {
+        byte[] keyBytes = new byte[buffer.getShort(position) & 0xFFFF];
+        ByteBuffer keyBuffer = buffer.duplicate();
+        keyBuffer.position(position + 2);
+        keyBuffer.get(keyBytes);
+        position += 2 + keyBytes.length;
+        int size = buffer.getInt(position);
+        int dataPosition = buffer.getInt(position + 4);
+        position += 8;
+        if (size < 0 || dataPosition < 0 || dataPosition + 12L * size > buffer.capacity()) {
+          throw new IllegalArgumentException("Invalid time-series file, index is corrupt: " + file);
+        }
+        builder.put(new String(keyBytes, StandardCharsets.UTF_8), new Entry(size, dataPosition));
+      }
+      return builder.build();
+    } catch (IndexOutOfBoundsException ex) {
+      throw new IllegalArgumentException("Invalid time-series file, index is truncated: " + file, ex);
+    }
+  }
+
+  // creates an instance
+  private MappedTimeSeriesProvider(
+      ByteBuffer buffer,
+      ImmutableMap<String, Entry> index,
+      long startEpochDay,
+      long endEpochDay) {
+
+    this.buffer = buffer;
+    this.index = index;
+    this.startEpochDay = startEpochDay;
+    this.endEpochDay = endEpochDay;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes a file that can be memory-mapped by this provider.
+   *
+   * @param timeSeries  the time-series to write, keyed by identifier
+   * @param file  the file to write
+   * @throws UncheckedIOException if an IO error occurs
+   * @throws IllegalArgumentException if two identifiers have the same key
+   */
+  public static void write(Map<? extends ObservableId, LocalDateDoubleTimeSeries> timeSeries, Path file) {
+    ArgChecker.notNull(timeSeries, "timeSeries");
+    ArgChecker.notNull(file, "file");
+    // the keys, in the order they will be written, checking for duplicates
+    ImmutableMap.Builder<String, LocalDateDoubleTimeSeries> keyedBuilder = ImmutableMap.builder();
+    timeSeries.forEach((id, series) -> keyedBuilder.put(key(id), series));
+    ImmutableMap<String, LocalDateDoubleTimeSeries> keyed;
+    try {
+      keyed = keyedBuilder.build();
+    } catch (IllegalArgumentException ex) {
+      throw new IllegalArgumentException("Unable to write time-series, identifiers must have distinct keys", ex);
+    }
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+      write(keyed, out);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  // writes the header, index and data
+  private static void write(ImmutableMap<String, LocalDateDoubleTimeSeries> keyed, OutputStream out)
+      throws IOException {
+
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(HEADER);
+    data.writeInt(keyed.size());
+    // the data follows the index
+    long dataPosition = 8;
+    for (String key : keyed.keySet()) {
+      dataPosition += 2 + key.getBytes(StandardCharsets.UTF_8).length + 8;
+    }
+    for (Map.Entry<String, LocalDateDoubleTimeSeries> entry : keyed.entrySet()) {
+      byte[] keyBytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+      ArgChecker.isTrue(keyBytes.length <= 0xFFFF, "Identifier too long: {}", entry.getKey());
+      data.writeShort(keyBytes.length);
+      data.write(keyBytes);
+      data.writeInt(entry.getValue().size());
+      data.writeInt(Math.toIntExact(dataPosition));
+      dataPosition += 12L * entry.getValue().size();
+    }
+    ArgChecker.isTrue(dataPosition <= Integer.MAX_VALUE, "Time-series too large to write to a single file");
+    for (LocalDateDoubleTimeSeries series : keyed.values()) {
+      LocalDate[] dates = series.dates().toArray(LocalDate[]::new);
+      double[] values = series.values().toArray();
+      for (LocalDate date : dates) {
+        data.writeInt(Math.toIntExact(date.toEpochDay()));
+      }
+      for (double value : values) {
+        data.writeDouble(value);
+      }
+    }
+    data.flush();
+  }
+
+  // the key of the identifier
+  private static String key(ObservableId id) {
+    return id.getStandardId() + " " + id.getFieldName() + " " + id.getObservableSource();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a provider that only reads time-series points within the specified range of dates.
+   * <p>
+   * Only the part of the file containing the dates is read. This is typically used to restrict
+   * the time-series to the dates needed by a valuation, such as those before the valuation date.
+   *
+   * @param startInclusive  the start date, inclusive
+   * @param endExclusive  the end date, exclusive
+   * @return the provider, restricted to the range of dates
+   */
+  public MappedTimeSeriesProvider withDateRange(LocalDate startInclusive, LocalDate endExclusive) {
+    ArgChecker.inOrderOrEqual(startInclusive, endExclusive, "startInclusive", "endExclusive");
+    return new MappedTimeSeriesProvider(buffer, index, startInclusive.toEpochDay(), endExclusive.toEpochDay());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Result<LocalDateDoubleTimeSeries> provideTimeSeries(ObservableId identifier) {
+    Entry entry = index.get(key(identifier));
+    if (entry == null) {
+      return Result.failure(
+          FailureReason.MISSING_DATA,
+          "No time-series found in mapped file for '{}'",
+          identifier);
+    }
+    // find the range to read using a binary search on the dates
+    int datesPosition = entry.dataPosition;
+    int valuesPosition = datesPosition + 4 * entry.size;
+    int start = findPosition(datesPosition, entry.size, startEpochDay);
+    int end = findPosition(datesPosition, entry.size, endEpochDay);
+    // bulk read the epoch-days and values, avoiding the creation of a date for each point
+    int[] epochDays = new int[end - start];
+    double[] values = new double[end - start];
+    ByteBuffer data = buffer.duplicate();
+    data.position(datesPosition + 4 * start);
+    data.asIntBuffer().get(epochDays);
+    data.position(valuesPosition + 8 * start);
+    data.asDoubleBuffer().get(values);
+    return Result.success(LocalDateDoubleTimeSeries.builder().putAll(epochDays, values).build());
+  }
+
+  // finds the index of the first date that is equal to or after the epoch-day
+  private int findPosition(int datesPosition, int size, long epochDay) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (buffer.getInt(datesPosition + 4 * mid) < epochDay) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of time-series in the file.
+   *
+   * @return the number of time-series
+   */
+  public int getTimeSeriesCount() {
+    return index.size();
+  }
+
+  @Override
+  public String toString() {
+    return Messages.format("MappedTimeSeriesProvider[{} time-series]", index.size());
+  }
+
+  //-------------------------------------------------------------------------
+  // an entry in the index
+  private static final class Entry {
+    // the number of points
+    private final int size;
+    // the position of the dates, which are followed by the values
+    private final int dataPosition;
+
+    private Entry(int size, int dataPosition) {
+      this.size = size;
+      this.dataPosition = dataPosition;
+    }
+  }
+
+}
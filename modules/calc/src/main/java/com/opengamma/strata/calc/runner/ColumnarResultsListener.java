@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.List;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.ColumnarResults;
+import com.opengamma.strata.calc.ColumnarResultsBuilder;
+
+/**
+ * Calculation listener that receives the results of individual calculations and builds a set of
+ * {@link ColumnarResults}.
+ * <p>
+ * Each result is stored in columnar form as it is received, rather than being retained until the
+ * calculations are complete. This reduces the peak memory of a calculation with a large number of
+ * targets and scenarios, as the numeric results are held only once, in primitive arrays.
+ */
+public final class ColumnarResultsListener extends AggregatingCalculationListener<ColumnarResults> {
+
+  /** The builder that is populated with the results as they arrive. */
+  private ColumnarResultsBuilder builder;
+
+  /**
+   * Creates a new instance.
+   */
+  public ColumnarResultsListener() {
+  }
+
+  @Override
+  public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+    List<ColumnHeader> headers = columns.stream()
+        .map(Column::toHeader)
+        .collect(toImmutableList());
+    builder = ColumnarResults.builder(headers, targets.size());
+  }
+
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult result) {
+    builder.put(result.getRowIndex(), result.getColumnIndex(), result.getResult());
+  }
+
+  @Override
+  protected ColumnarResults createAggregateResult() {
+    return builder.build();
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+
+/**
+ * Test {@link ColumnarResultsBuilder}.
+ */
+@Test
+public class ColumnarResultsBuilderTest {
+
+  private static final ColumnHeader HEADER1 = ColumnHeader.of(ColumnName.of("A"), TestingMeasures.PRESENT_VALUE);
+  private static final ColumnHeader HEADER2 = ColumnHeader.of(ColumnName.of("B"), TestingMeasures.PRESENT_VALUE);
+  private static final Result<Object> FAILURE = Result.failure(FailureReason.CALCULATION_FAILED, "Failed");
+
+  //-------------------------------------------------------------------------
+  public void test_anyOrder() {
+    ColumnarResults test = ColumnarResults.builder(ImmutableList.of(HEADER1, HEADER2), 3)
+        .put(2, 1, Result.success(CurrencyAmount.of(USD, 3)))
+        .put(1, 0, FAILURE)
+        .put(0, 1, Result.success(CurrencyAmount.of(GBP, 1)))
+        .put(2, 0, Result.success(3d))
+        .put(1, 1, Result.success(CurrencyAmount.of(GBP, 2)))
+        .put(0, 0, Result.success(1d))
+        .build();
+    ColumnarResults expected = ColumnarResults.of(
+        ImmutableList.of(HEADER1, HEADER2),
+        ImmutableList.of(
+            Result.success(1d), Result.success(CurrencyAmount.of(GBP, 1)),
+            FAILURE, Result.success(CurrencyAmount.of(GBP, 2)),
+            Result.success(3d), Result.success(CurrencyAmount.of(USD, 3))));
+    assertTrue(test.isPrimitive(0));
+    assertTrue(test.isPrimitive(1));
+    assertEquals(test.getValues(0), DoubleArray.of(1, 0, 3));
+    assertEquals(test.getValues(1, GBP), DoubleArray.of(1, 2, 0));
+    assertEquals(test.toResults(), expected.toResults());
+  }
+
+  public void test_mixedKinds() {
+    Result<?> scenarios = Result.success(DoubleScenarioArray.of(DoubleArray.of(1, 2)));
+    ColumnarResults test = ColumnarResults.builder(ImmutableList.of(HEADER1, HEADER2), 3)
+        .put(0, 0, FAILURE)
+        .put(1, 0, Result.success(2d))
+        .put(2, 0, Result.success("C"))
+        .put(0, 1, scenarios)
+        .put(1, 1, Result.success(DoubleScenarioArray.of(DoubleArray.of(1, 2, 3))))
+        .put(2, 1, FAILURE)
+        .build();
+    assertFalse(test.isPrimitive(0));
+    assertFalse(test.isPrimitive(1));
+    assertEquals(test.get(0, 0), FAILURE);
+    assertEquals(test.get(1, 0), Result.success(2d));
+    assertEquals(test.get(2, 0), Result.success("C"));
+    assertEquals(test.get(0, 1), scenarios);
+    assertEquals(test.get(2, 1), FAILURE);
+  }
+
+  public void test_allFailures() {
+    ColumnarResults test = ColumnarResults.builder(ImmutableList.of(HEADER1), 2)
+        .put(1, 0, FAILURE)
+        .put(0, 0, FAILURE)
+        .build();
+    assertFalse(test.isPrimitive(0));
+    assertEquals(test.get(0, 0), FAILURE);
+  }
+
+  public void test_empty() {
+    ColumnarResults test = ColumnarResults.builder(ImmutableList.of(HEADER1), 0).build();
+    assertEquals(test.getRowCount(), 0);
+    assertEquals(test.getColumnCount(), 1);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_invalid() {
+    ColumnarResultsBuilder builder = ColumnarResults.builder(ImmutableList.of(HEADER1), 2);
+    assertThrowsIllegalArg(() -> builder.put(2, 0, FAILURE));
+    assertThrowsIllegalArg(() -> builder.put(0, 1, FAILURE));
+    assertThrowsIllegalArg(() -> builder.put(0, 0, null));
+    assertThrowsIllegalArg(() -> ColumnarResults.builder(ImmutableList.of(HEADER1), -1));
+    builder.put(0, 0, Result.success(1d));
+    assertThrows(() -> builder.put(0, 0, FAILURE), IllegalArgumentException.class, "Result has already been set.*");
+    assertThrows(() -> builder.build(), IllegalStateException.class, "Result has not been set for row 1 and column 0");
+    builder.put(1, 0, Result.success(2d));
+    assertEquals(builder.build().getValues(0), DoubleArray.of(1, 2));
+    assertThrows(() -> builder.put(1, 0, FAILURE), IllegalStateException.class);
+    assertThrows(() -> builder.build(), IllegalStateException.class);
+  }
+
+  public void test_tooLarge() {
+    ColumnarResultsBuilder builder = ColumnarResults.builder(ImmutableList.of(HEADER1), Integer.MAX_VALUE / 2 + 1);
+    assertThrows(
+        () -> builder.put(0, 0, Result.success(DoubleScenarioArray.of(DoubleArray.of(1, 2)))),
+        IllegalArgumentException.class,
+        "Column is too large to store in primitive form.*");
+  }
+
+}
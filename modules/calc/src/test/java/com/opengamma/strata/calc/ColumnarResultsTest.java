@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+
+/**
+ * Test {@link ColumnarResults}.
+ */
+@Test
+public class ColumnarResultsTest {
+
+  private static final ColumnName NAME_A = ColumnName.of("A");
+  private static final ColumnName NAME_B = ColumnName.of("B");
+  private static final ColumnHeader HEADER1 = ColumnHeader.of(NAME_A, TestingMeasures.PRESENT_VALUE);
+  private static final ColumnHeader HEADER2 = ColumnHeader.of(NAME_B, TestingMeasures.PRESENT_VALUE);
+  private static final Result<Object> FAILURE = Result.failure(FailureReason.CALCULATION_FAILED, "Failed");
+
+  //-------------------------------------------------------------------------
+  public void test_empty() {
+    ColumnarResults test = ColumnarResults.of(ImmutableList.of(), ImmutableList.of());
+    assertEquals(test.getColumns(), ImmutableList.of());
+    assertEquals(test.getRowCount(), 0);
+    assertEquals(test.getColumnCount(), 0);
+    assertEquals(test.toResults(), Results.of(ImmutableList.of(), ImmutableList.of()));
+    assertThrows(() -> test.get(0, 0), IllegalArgumentException.class, "Row index must be greater than or.*");
+    assertThrows(() -> test.get(0, NAME_A), IllegalArgumentException.class, "Column name not found.*");
+  }
+
+  public void test_doubles() {
+    ColumnarResults test = ColumnarResults.of(
+        ImmutableList.of(HEADER1, HEADER2),
+        ImmutableList.of(
+            Result.success(1d), Result.success(DoubleScenarioArray.of(DoubleArray.of(1, 2, 3))),
+            FAILURE, FAILURE,
+            Result.success(3d), Result.success(DoubleScenarioArray.of(DoubleArray.of(7, 8, 9)))));
+    assertEquals(test.getRowCount(), 3);
+    assertEquals(test.getColumnCount(), 2);
+    assertEquals(test.get(0, 0), Result.success(1d));
+    assertEquals(test.get(0, NAME_B), Result.success(DoubleScenarioArray.of(DoubleArray.of(1, 2, 3))));
+    assertEquals(test.get(1, 0), FAILURE);
+    assertEquals(test.get(2, 1, DoubleScenarioArray.class).getValue().getValues(), DoubleArray.of(7, 8, 9));
+    assertEquals(test.get(2, NAME_A, Double.class).getValue(), 3d);
+    assertTrue(test.isSuccess(0, 0));
+    assertFalse(test.isSuccess(1, 1));
+    assertTrue(test.isPrimitive(0));
+    assertTrue(test.isPrimitive(1));
+    assertFalse(test.hasCurrencies(0));
+    assertEquals(test.getScenarioCount(0), 1);
+    assertEquals(test.getScenarioCount(1), 3);
+    assertEquals(test.getValues(0), DoubleArray.of(1, 0, 3));
+    assertEquals(test.getValues(1), DoubleArray.of(1, 2, 3, 0, 0, 0, 7, 8, 9));
+    assertThrowsIllegalArg(() -> test.getCurrencies(0));
+    assertThrowsIllegalArg(() -> test.getValues(0, GBP));
+    assertThrows(() -> test.get(0, 0, String.class), ClassCastException.class,
+        "Result queried with type 'java.lang.String' but was 'java.lang.Double'");
+  }
+
+  public void test_currencyAmounts() {
+    ColumnarResults test = ColumnarResults.of(
+        ImmutableList.of(HEADER1, HEADER2),
+        ImmutableList.of(
+            Result.success(CurrencyAmount.of(GBP, 1)),
+            Result.success(CurrencyScenarioArray.of(USD, DoubleArray.of(1, 2))),
+            Result.success(CurrencyAmount.of(EUR, 2)),
+            FAILURE,
+            Result.success(CurrencyAmount.of(GBP, 3)),
+            Result.success(CurrencyScenarioArray.of(USD, DoubleArray.of(5, 6)))));
+    assertEquals(test.get(0, 0), Result.success(CurrencyAmount.of(GBP, 1)));
+    assertEquals(test.get(1, 0), Result.success(CurrencyAmount.of(EUR, 2)));
+    assertEquals(test.get(1, 1), FAILURE);
+    assertEquals(test.get(2, 1), Result.success(CurrencyScenarioArray.of(USD, DoubleArray.of(5, 6))));
+    assertTrue(test.hasCurrencies(0));
+    assertEquals(test.getCurrencies(0), ImmutableSet.of(EUR, GBP));
+    assertEquals(test.getValues(0, GBP), DoubleArray.of(1, 0, 3));
+    assertEquals(test.getValues(0, EUR), DoubleArray.of(0, 2, 0));
+    assertEquals(test.getCurrencies(1), ImmutableSet.of(USD));
+    assertEquals(test.getScenarioCount(1), 2);
+    assertEquals(test.getValues(1, USD), DoubleArray.of(1, 2, 0, 0, 5, 6));
+    assertThrowsIllegalArg(() -> test.getValues(0));
+    assertThrowsIllegalArg(() -> test.getValues(0, USD));
+  }
+
+  public void test_multiCurrencyAmounts() {
+    MultiCurrencyAmount amount1 = MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 1), CurrencyAmount.of(USD, 0));
+    MultiCurrencyAmount amount2 = MultiCurrencyAmount.of(CurrencyAmount.of(EUR, 2));
+    MultiCurrencyScenarioArray array1 = MultiCurrencyScenarioArray.of(amount1, amount2);
+    MultiCurrencyScenarioArray array2 = MultiCurrencyScenarioArray.of(amount2, amount2);
+    ColumnarResults test = ColumnarResults.of(
+        ImmutableList.of(HEADER1, HEADER2),
+        ImmutableList.of(
+            Result.success(amount1), Result.success(array1),
+            Result.success(amount2), Result.success(array2)));
+    assertEquals(test.get(0, 0), Result.success(amount1));
+    assertEquals(test.get(1, 0), Result.success(amount2));
+    assertEquals(test.get(0, 1), Result.success(array1));
+    assertEquals(test.get(1, 1), Result.success(array2));
+    assertEquals(test.getCurrencies(0), ImmutableSet.of(EUR, GBP, USD));
+    assertEquals(test.getValues(0, GBP), DoubleArray.of(1, 0));
+    assertEquals(test.getValues(1, EUR), DoubleArray.of(0, 2, 2, 2));
+  }
+
+  public void test_objectColumns() {
+    ColumnarResults test = ColumnarResults.of(
+        ImmutableList.of(HEADER1, HEADER2),
+        ImmutableList.of(
+            Result.success("A"), Result.success(DoubleScenarioArray.of(DoubleArray.of(1, 2))),
+            FAILURE, Result.success(DoubleScenarioArray.of(DoubleArray.of(1, 2, 3)))));
+    assertEquals(test.get(0, 0), Result.success("A"));
+    assertEquals(test.get(1, 0), FAILURE);
+    assertEquals(test.get(1, 1), Result.success(DoubleScenarioArray.of(DoubleArray.of(1, 2, 3))));
+    assertFalse(test.isPrimitive(0));
+    assertFalse(test.isPrimitive(1));
+    assertFalse(test.hasCurrencies(0));
+    assertThrowsIllegalArg(() -> test.getScenarioCount(0));
+    assertThrowsIllegalArg(() -> test.getValues(1));
+  }
+
+  public void test_allFailures() {
+    ColumnarResults test = ColumnarResults.of(ImmutableList.of(HEADER1), ImmutableList.of(FAILURE, FAILURE));
+    assertFalse(test.isPrimitive(0));
+    assertFalse(test.isSuccess(1, 0));
+    assertEquals(test.get(1, 0), FAILURE);
+  }
+
+  public void test_invalidIndex() {
+    ColumnarResults test = ColumnarResults.of(ImmutableList.of(HEADER1), ImmutableList.of(Result.success(1d)));
+    assertThrows(() -> test.get(-1, 0), IllegalArgumentException.class, "Row index must be greater than or.*");
+    assertThrows(() -> test.get(1, 0), IllegalArgumentException.class, "Row index must be greater than or.*");
+    assertThrows(() -> test.get(0, -1), IllegalArgumentException.class, "Column index must be greater than or.*");
+    assertThrows(() -> test.get(0, 1), IllegalArgumentException.class, "Column index must be greater than or.*");
+    assertThrows(() -> test.isPrimitive(1), IllegalArgumentException.class, "Column index must be greater than or.*");
+    assertThrowsIllegalArg(
+        () -> ColumnarResults.of(ImmutableList.of(HEADER1, HEADER2), ImmutableList.of(Result.success(1d))));
+  }
+
+  public void test_toResults() {
+    Results results = results(10, 5);
+    ColumnarResults test = ColumnarResults.of(results);
+    assertEquals(test.getColumns(), results.getColumns());
+    assertEquals(test.toResults(), results);
+  }
+
+  //-------------------------------------------------------------------------
+  // results with a currency scenario array column and a failure in every tenth row
+  private static Results results(int rowCount, int scenarioCount) {
+    List<Result<?>> cells = new ArrayList<>();
+    for (int i = 0; i < rowCount; i++) {
+      int row = i;
+      cells.add(i % 10 == 9 ?
+          FAILURE :
+          Result.success(CurrencyScenarioArray.of(GBP, DoubleArray.of(scenarioCount, j -> row + j))));
+      cells.add(Result.success(MultiCurrencyAmount.of(USD, i)));
+    }
+    return Results.of(ImmutableList.of(HEADER1, HEADER2), cells);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() {
+    long start, end;
+    int nbRows = 100_000;
+    int nbScenarios = 100;
+    int nbRep = 5;
+    Results results = results(nbRows, nbScenarios);
+
+    for (int looprep = 0; looprep < nbRep; looprep++) {
+      start = System.currentTimeMillis();
+      double total = 0;
+      for (int i = 0; i < nbRows; i++) {
+        Result<?> result = results.get(i, 0);
+        if (result.isSuccess()) {
+          DoubleArray values = ((CurrencyScenarioArray) result.getValue()).getAmounts().getValues();
+          for (int j = 0; j < nbScenarios; j++) {
+            total += values.get(j);
+          }
+        }
+      }
+      end = System.currentTimeMillis();
+      System.out.println("Aggregate " + nbRows + " rows from results: " + (end - start) + " ms, total " + total);
+
+      start = System.currentTimeMillis();
+      ColumnarResults test = ColumnarResults.of(results);
+      end = System.currentTimeMillis();
+      System.out.println("Convert " + nbRows + " rows: " + (end - start) + " ms");
+
+      start = System.currentTimeMillis();
+      double columnTotal = 0;
+      double[] values = test.getValues(0, GBP).toArrayUnsafe();
+      for (double value : values) {
+        columnTotal += value;
+      }
+      end = System.currentTimeMillis();
+      System.out.println("Aggregate " + nbRows + " rows from columns: " + (end - start) + " ms, total " + columnTotal);
+    }
+  }
+
+}
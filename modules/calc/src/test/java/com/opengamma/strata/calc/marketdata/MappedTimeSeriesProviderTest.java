@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.marketdata;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.data.ObservableSource;
+
+/**
+ * Test {@link MappedTimeSeriesProvider}.
+ */
+@Test
+public class MappedTimeSeriesProviderTest {
+
+  private static final TestObservableId ID1 = TestObservableId.of("1");
+  private static final TestObservableId ID2 = TestObservableId.of("2");
+  private static final TestObservableId ID3 = TestObservableId.of("3");
+  private static final TestObservableId ID1_SOURCE = TestObservableId.of("1", ObservableSource.of("Other"));
+  private static final LocalDateDoubleTimeSeries SERIES1 = LocalDateDoubleTimeSeries.builder()
+      .put(date(2017, 1, 3), 1d)
+      .put(date(2017, 1, 4), 2d)
+      .put(date(2017, 1, 5), 3d)
+      .put(date(2017, 1, 9), 4d)
+      .build();
+  private static final LocalDateDoubleTimeSeries SERIES2 = LocalDateDoubleTimeSeries.builder()
+      .put(date(1960, 6, 30), 0.5d)
+      .put(date(2050, 6, 30), 1.5d)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_writeRead() throws IOException {
+    Path file = tempFile();
+    MappedTimeSeriesProvider.write(
+        ImmutableMap.of(ID1, SERIES1, ID2, SERIES2, ID3, LocalDateDoubleTimeSeries.empty()), file);
+    MappedTimeSeriesProvider test = MappedTimeSeriesProvider.of(file);
+    assertEquals(test.getTimeSeriesCount(), 3);
+    assertEquals(test.provideTimeSeries(ID1), Result.success(SERIES1));
+    assertEquals(test.provideTimeSeries(ID2), Result.success(SERIES2));
+    assertEquals(test.provideTimeSeries(ID3), Result.success(LocalDateDoubleTimeSeries.empty()));
+    assertEquals(test.toString(), "MappedTimeSeriesProvider[3 time-series]");
+  }
+
+  public void test_provideTimeSeries_notFound() throws IOException {
+    Path file = tempFile();
+    MappedTimeSeriesProvider.write(ImmutableMap.of(ID1, SERIES1), file);
+    MappedTimeSeriesProvider test = MappedTimeSeriesProvider.of(file);
+    Result<LocalDateDoubleTimeSeries> result = test.provideTimeSeries(ID1_SOURCE);
+    assertEquals(result.isFailure(), true);
+    assertEquals(result.getFailure().getReason(), FailureReason.MISSING_DATA);
+  }
+
+  public void test_withDateRange() throws IOException {
+    Path file = tempFile();
+    MappedTimeSeriesProvider.write(ImmutableMap.of(ID1, SERIES1, ID2, SERIES2), file);
+    MappedTimeSeriesProvider base = MappedTimeSeriesProvider.of(file);
+    MappedTimeSeriesProvider test = base.withDateRange(date(2017, 1, 4), date(2017, 1, 9));
+    LocalDateDoubleTimeSeries expected = LocalDateDoubleTimeSeries.builder()
+        .put(date(2017, 1, 4), 2d)
+        .put(date(2017, 1, 5), 3d)
+        .build();
+    assertEquals(test.provideTimeSeries(ID1), Result.success(expected));
+    assertEquals(test.provideTimeSeries(ID2), Result.success(LocalDateDoubleTimeSeries.empty()));
+    MappedTimeSeriesProvider test2 = base.withDateRange(date(2000, 1, 1), date(2100, 1, 1));
+    assertEquals(test2.provideTimeSeries(ID1), Result.success(SERIES1));
+    assertEquals(
+        test2.provideTimeSeries(ID2),
+        Result.success(LocalDateDoubleTimeSeries.builder().put(date(2050, 6, 30), 1.5d).build()));
+    assertEquals(base.provideTimeSeries(ID1), Result.success(SERIES1));
+    assertThrowsIllegalArg(() -> base.withDateRange(date(2017, 1, 9), date(2017, 1, 4)));
+  }
+
+  public void test_of_invalidFile() throws IOException {
+    Path file = tempFile();
+    Files.write(file, new byte[] {1, 2, 3, 4, 0, 0, 0, 0});
+    assertThrowsIllegalArg(() -> MappedTimeSeriesProvider.of(file));
+    Files.write(file, new byte[] {0x4d, 0x54, 0x53, 0x31, 0, 0, 0, 1});
+    assertThrowsIllegalArg(() -> MappedTimeSeriesProvider.of(file));
+  }
+
+  public void test_of_missingFile() throws IOException {
+    Path file = tempFile();
+    Files.delete(file);
+    assertThrows(() -> MappedTimeSeriesProvider.of(file), UncheckedIOException.class);
+  }
+
+  //-------------------------------------------------------------------------
+  // creates a temporary file
+  private static Path tempFile() throws IOException {
+    File file = File.createTempFile("MappedTimeSeriesProviderTest", ".bin");
+    file.deleteOnExit();
+    return file.toPath();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() throws IOException {
+    int nbSeries = 2000;
+    int nbPoints = 5000;
+    Map<TestObservableId, LocalDateDoubleTimeSeries> map = new HashMap<>();
+    for (int i = 0; i < nbSeries; i++) {
+      LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+      for (int j = 0; j < nbPoints; j++) {
+        builder.put(date(2000, 1, 1).plusDays(j), i + j);
+      }
+      map.put(TestObservableId.of("P" + i), builder.build());
+    }
+    Path file = tempFile();
+    MappedTimeSeriesProvider.write(map, file);
+    TimeSeriesProvider heap = id -> Result.success(map.get(id));
+    LocalDate start = date(2013, 1, 1);
+    LocalDate end = date(2013, 4, 1);
+    for (int looprep = 0; looprep < 5; looprep++) {
+      long total = 0;
+      long startTime = System.currentTimeMillis();
+      MappedTimeSeriesProvider mapped = MappedTimeSeriesProvider.of(file);
+      for (int i = 0; i < nbSeries; i++) {
+        total += mapped.provideTimeSeries(TestObservableId.of("P" + i)).getValue().size();
+      }
+      long endTime = System.currentTimeMillis();
+      System.out.println(nbSeries + " time-series mapped and read: " + (endTime - startTime) + " ms");
+      startTime = System.currentTimeMillis();
+      for (int i = 0; i < nbSeries; i++) {
+        total += heap.provideTimeSeries(TestObservableId.of("P" + i)).getValue().subSeries(start, end).size();
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println(nbSeries + " time-series range from heap: " + (endTime - startTime) + " ms");
+      startTime = System.currentTimeMillis();
+      MappedTimeSeriesProvider range = mapped.withDateRange(start, end);
+      for (int i = 0; i < nbSeries; i++) {
+        total += range.provideTimeSeries(TestObservableId.of("P" + i)).getValue().size();
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println(nbSeries + " time-series range from mapped: " + (endTime - startTime) + " ms");
+      System.out.println("Total: " + total);
+    }
+  }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnarResults;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Test {@link ColumnarResultsListener}.
+ */
+@Test
+public class ColumnarResultsListenerTest {
+
+  private static final CalculationTarget TARGET1 = new CalculationTarget() {};
+  private static final CalculationTarget TARGET2 = new CalculationTarget() {};
+  private static final Column COLUMN1 = Column.of(TestingMeasures.PRESENT_VALUE);
+  private static final Column COLUMN2 = Column.of(TestingMeasures.PAR_RATE);
+  private static final Result<Object> FAILURE = Result.failure(FailureReason.CALCULATION_FAILED, "Failed");
+
+  //-------------------------------------------------------------------------
+  public void test_results() {
+    ColumnarResultsListener test = new ColumnarResultsListener();
+    test.calculationsStarted(ImmutableList.of(TARGET1, TARGET2), ImmutableList.of(COLUMN1, COLUMN2));
+    test.resultReceived(TARGET2, CalculationResult.of(1, 1, FAILURE));
+    test.resultReceived(TARGET1, CalculationResult.of(0, 0, Result.success(CurrencyAmount.of(GBP, 1))));
+    test.resultReceived(TARGET2, CalculationResult.of(1, 0, Result.success(CurrencyAmount.of(GBP, 2))));
+    test.resultReceived(TARGET1, CalculationResult.of(0, 1, Result.success(0.5d)));
+    test.calculationsComplete();
+
+    ColumnarResults results = test.result();
+    assertTrue(test.getFuture().isDone());
+    assertEquals(results.getColumns(), ImmutableList.of(COLUMN1.toHeader(), COLUMN2.toHeader()));
+    assertEquals(results.getRowCount(), 2);
+    assertEquals(results.getValues(0, GBP), DoubleArray.of(1, 2));
+    assertEquals(results.getValues(1), DoubleArray.of(0.5, 0));
+    assertEquals(results.toResults(), Results.of(
+        ImmutableList.of(COLUMN1.toHeader(), COLUMN2.toHeader()),
+        ImmutableList.of(
+            Result.success(CurrencyAmount.of(GBP, 1)), Result.success(0.5d),
+            Result.success(CurrencyAmount.of(GBP, 2)), FAILURE)));
+  }
+
+}
@@ -147,7 +147,7 @@ public final class CsvFile {
   private static CsvFile create(List<String> lines, boolean headerRow, char separator) {
     if (headerRow) {
       for (int i = 0; i < lines.size(); i++) {
-        ImmutableList<String> headers = parseLine(lines.get(i), i + 1, separator);
+        ImmutableList<String> headers = CsvTokenizer.parseLine(lines.get(i), i + 1, separator);
         if (!headers.isEmpty()) {
           ImmutableMap<String, Integer> searchHeaders = buildSearchHeaders(headers);
           return parseAll(lines, i + 1, separator, headers, searchHeaders);
@@ -198,67 +198,15 @@ public final class CsvFile {
     
     ImmutableList.Builder<CsvRow> rows = ImmutableList.builder();
     for (int i = lineIndex; i < lines.size(); i++) {
-      ImmutableList<String> fields = parseLine(lines.get(i), i + 1, separator);
-      if (!fields.isEmpty()) {
-        rows.add(new CsvRow(headers, searchHeaders, i + 1, fields));
+      String line = lines.get(i);
+      int[] bounds = CsvTokenizer.tokenize(line, i + 1, separator);
+      if (bounds != null) {
+        rows.add(new CsvRow(headers, searchHeaders, i + 1, line, bounds));
       }
     }
     return new CsvFile(headers, rows.build());
   }
 
-  // parse a single line
-  static ImmutableList<String> parseLine(String line, int lineNumber, char separator) {
-    if (line.length() == 0 || line.startsWith("#") || line.startsWith(";")) {
-      return ImmutableList.of();
-    }
-    ImmutableList.Builder<String> builder = ImmutableList.builder();
-    int start = 0;
-    String terminated = line + separator;
-    int nextSeparator = terminated.indexOf(separator, start);
-    while (nextSeparator >= 0) {
-      String possible = terminated.substring(start, nextSeparator).trim();
-      // handle convention where ="xxx" means xxx
-      if (possible.startsWith("=\"")) {
-        start++;
-        possible = possible.substring(1);
-      }
-      // handle quoting where "xxx""yyy" means xxx"yyy
-      if (possible.startsWith("\"")) {
-        while (true) {
-          if (possible.substring(1).replace("\"\"", "").endsWith("\"")) {
-            possible = possible.substring(1, possible.length() - 1).replace("\"\"", "\"");
-            break;
-          } else {
-            nextSeparator = terminated.indexOf(separator, nextSeparator + 1);
-            if (nextSeparator < 0) {
-              throw new IllegalArgumentException("Mismatched quotes in CSV on line " + lineNumber);
-            }
-            possible = terminated.substring(start, nextSeparator).trim();
-          }
-        }
-      }
-      builder.add(possible);
-      start = nextSeparator + 1;
-      nextSeparator = terminated.indexOf(separator, start);
-    }
-    ImmutableList<String> fields = builder.build();
-    if (!hasContent(fields)) {
-      return ImmutableList.of();
-    }
-    return fields;
-  }
-
-  // determines whether there is any content on a line
-  // this handles lines that contain separators but nothing else
-  private static boolean hasContent(ImmutableList<String> fields) {
-    for (String field : fields) {
-      if (!field.trim().isEmpty()) {
-        return true;
-      }
-    }
-    return false;
-  }
-
   // build the search headers
   static ImmutableMap<String, Integer> buildSearchHeaders(ImmutableList<String> headers) {
     // need to allow duplicate headers and only store the first instance
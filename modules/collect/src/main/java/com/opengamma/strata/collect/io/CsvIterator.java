@@ -173,7 +173,7 @@ public final class CsvIterator implements AutoCloseable, PeekingIterator<CsvRow>
       String line = breader.readLine();
       int lineNumber = 1;
       while (line != null) {
-        ImmutableList<String> headers = CsvFile.parseLine(line, lineNumber, separator);
+        ImmutableList<String> headers = CsvTokenizer.parseLine(line, lineNumber, separator);
         if (!headers.isEmpty()) {
           return new CsvIterator(breader, separator, headers, CsvFile.buildSearchHeaders(headers), lineNumber);
         }
@@ -292,9 +292,9 @@ public final class CsvIterator implements AutoCloseable, PeekingIterator<CsvRow>
       String line = null;
       while ((line = Unchecked.wrap(() -> reader.readLine())) != null) {
         currentLineNumber++;
-        ImmutableList<String> fields = CsvFile.parseLine(line, currentLineNumber, separator);
-        if (!fields.isEmpty()) {
-          nextRow = new CsvRow(headers, searchHeaders, currentLineNumber, fields);
+        int[] bounds = CsvTokenizer.tokenize(line, currentLineNumber, separator);
+        if (bounds != null) {
+          nextRow = new CsvRow(headers, searchHeaders, currentLineNumber, line, bounds);
           return true;
         }
       }
@@ -20,6 +20,10 @@ import com.google.common.collect.ImmutableMap;
  * Represents a single row in a CSV file, accessed via {@link CsvFile}.
  * Each row object provides access to the data in the row by field index.
  * If the CSV file has headers, the headers can also be used to lookup the fields.
+ * <p>
+ * When parsed from a file, the row holds the line and the position of each field within it.
+ * Each field is only converted to a string when first accessed, and numeric fields
+ * can be parsed directly from the line using {@link #getDouble(String)} and {@link #getInt(String)}.
  */
 public final class CsvRow {
 
@@ -32,9 +36,19 @@ public final class CsvRow {
    */
   private final ImmutableMap<String, Integer> searchHeaders;
   /**
-   * The fields in the row.
+   * The line that the fields are parsed from, null if the fields were not parsed from a line.
+   */
+  private final String line;
+  /**
+   * The start and end index of each field in the line, null if the fields were not parsed from a line.
+   * A negative start index indicates that escaped quotes must be removed, see {@link CsvTokenizer}.
    */
-  private final ImmutableList<String> fields;
+  private final int[] bounds;
+  /**
+   * The fields in the row, materialized from the line when first accessed.
+   * Fields are strings, thus the unsynchronized caching is safe.
+   */
+  private final String[] values;
   /**
    * The line number in the source file.
    */
@@ -47,9 +61,11 @@ public final class CsvRow {
    * See {@link CsvFile}.
    * 
    * @param headers  the headers
-   * @param fields  the fields
+   * @param line  the line, null if not parsed from a line
+   * @param bounds  the start and end index of each field in the line, null if not parsed from a line
+   * @param values  the fields, null elements are materialized from the line
    */
-  private CsvRow(ImmutableList<String> headers, int lineNumber, ImmutableList<String> fields) {
+  private CsvRow(ImmutableList<String> headers, int lineNumber, String line, int[] bounds, String[] values) {
     this.headers = headers;
     // need to allow duplicate headers and only store the first instance
     Map<String, Integer> searchHeaders = new HashMap<>();
@@ -59,7 +75,9 @@ public final class CsvRow {
     }
     this.searchHeaders = ImmutableMap.copyOf(searchHeaders);
     this.lineNumber = lineNumber;
-    this.fields = fields;
+    this.line = line;
+    this.bounds = bounds;
+    this.values = values;
   }
 
   /**
@@ -80,7 +98,34 @@ public final class CsvRow {
     this.headers = headers;
     this.searchHeaders = searchHeaders;
     this.lineNumber = lineNumber;
-    this.fields = fields;
+    this.line = null;
+    this.bounds = null;
+    this.values = fields.toArray(new String[fields.size()]);
+  }
+
+  /**
+   * Creates an instance, specifying the headers and the tokenized line.
+   * <p>
+   * See {@link CsvTokenizer}.
+   * 
+   * @param headers  the headers
+   * @param searchHeaders  the search headers
+   * @param line  the line
+   * @param bounds  the start and end index of each field in the line
+   */
+  CsvRow(
+      ImmutableList<String> headers,
+      ImmutableMap<String, Integer> searchHeaders,
+      int lineNumber,
+      String line,
+      int[] bounds) {
+
+    this.headers = headers;
+    this.searchHeaders = searchHeaders;
+    this.lineNumber = lineNumber;
+    this.line = line;
+    this.bounds = bounds;
+    this.values = new String[bounds.length / 2];
   }
 
   //------------------------------------------------------------------------
@@ -110,7 +155,10 @@ public final class CsvRow {
    * @return the fields
    */
   public ImmutableList<String> fields() {
-    return fields;
+    for (int i = 0; i < values.length; i++) {
+      field(i);
+    }
+    return ImmutableList.copyOf(values);
   }
 
   /**
@@ -121,7 +169,7 @@ public final class CsvRow {
    * @return the number of fields
    */
   public int fieldCount() {
-    return Math.max(fields.size(), headers.size());
+    return Math.max(values.length, headers.size());
   }
 
   /**
@@ -132,10 +180,15 @@ public final class CsvRow {
    * @throws IndexOutOfBoundsException if the field index is invalid
    */
   public String field(int index) {
-    if (index >= fields.size() && index < headers.size()) {
+    if (index >= values.length && index < headers.size()) {
       return "";
     }
-    return fields.get(index);
+    String value = values[index];
+    if (value == null) {
+      value = CsvTokenizer.field(line, bounds[index * 2], bounds[index * 2 + 1]);
+      values[index] = value;
+    }
+    return value;
   }
 
   /**
@@ -236,6 +289,67 @@ public final class CsvRow {
     }
   }
 
+  /**
+   * Gets a single field value from the row by header, parsed as a {@code double}.
+   * <p>
+   * This returns the value of the first column where the header matches the specified header.
+   * The value is parsed as per {@link Double#parseDouble(String)}, but simple decimal numbers
+   * are parsed directly without creating a string.
+   *
+   * @param header  the column header
+   * @return the parsed field value
+   * @throws IllegalArgumentException if the header is not found, if the value in the field is empty
+   *  or if the value cannot be parsed
+   */
+  public double getDouble(String header) {
+    int index = valueIndex(header);
+    if (values[index] != null) {
+      return Double.parseDouble(values[index]);
+    }
+    return CsvTokenizer.parseDouble(line, bounds[index * 2], bounds[index * 2 + 1]);
+  }
+
+  /**
+   * Gets a single field value from the row by header, parsed as an {@code int}.
+   * <p>
+   * This returns the value of the first column where the header matches the specified header.
+   * The value is parsed as per {@link Integer#parseInt(String)}, but simple integers
+   * are parsed directly without creating a string.
+   *
+   * @param header  the column header
+   * @return the parsed field value
+   * @throws IllegalArgumentException if the header is not found, if the value in the field is empty
+   *  or if the value cannot be parsed
+   */
+  public int getInt(String header) {
+    int index = valueIndex(header);
+    if (values[index] != null) {
+      return Integer.parseInt(values[index]);
+    }
+    return CsvTokenizer.parseInt(line, bounds[index * 2], bounds[index * 2 + 1]);
+  }
+
+  // finds the index of the field for the header, throwing an exception if the header is not found or the value is empty
+  private int valueIndex(String header) {
+    Integer index = searchHeaders.get(header.toLowerCase(Locale.ENGLISH));
+    if (index == null) {
+      throw new IllegalArgumentException("Header not found: '" + header + "'");
+    }
+    if (index >= values.length || isEmpty(index)) {
+      throw new IllegalArgumentException("No value was found for field: '" + header + "'");
+    }
+    return index;
+  }
+
+  // checks if the field is empty without materializing it
+  private boolean isEmpty(int index) {
+    if (values[index] != null) {
+      return values[index].isEmpty();
+    }
+    int start = bounds[index * 2];
+    return (start < 0 ? ~start : start) == bounds[index * 2 + 1];
+  }
+
   /**
    * Gets a single value from the row by header pattern.
    * <p>
@@ -282,7 +396,7 @@ public final class CsvRow {
    * @return the sub row
    */
   public CsvRow subRow(int startInclusive) {
-    return subRow(startInclusive, fields.size());
+    return subRow(startInclusive, values.length);
   }
 
   /**
@@ -293,10 +407,13 @@ public final class CsvRow {
    * @return the sub row
    */
   public CsvRow subRow(int startInclusive, int endExclusive) {
+    ImmutableList<String> fields = fields().subList(startInclusive, endExclusive);
     return new CsvRow(
         headers.subList(Math.min(startInclusive, headers.size()), Math.min(endExclusive, headers.size())),
         lineNumber,
-        fields.subList(startInclusive, endExclusive));
+        null,
+        null,
+        fields.toArray(new String[fields.size()]));
   }
 
   //-------------------------------------------------------------------------
@@ -315,7 +432,7 @@ public final class CsvRow {
     }
     if (obj instanceof CsvRow) {
       CsvRow other = (CsvRow) obj;
-      return headers.equals(other.headers) && fields.equals(other.fields);
+      return headers.equals(other.headers) && fields().equals(other.fields());
     }
     return false;
   }
@@ -327,7 +444,7 @@ public final class CsvRow {
    */
   @Override
   public int hashCode() {
-    return headers.hashCode() ^ fields.hashCode();
+    return headers.hashCode() ^ fields().hashCode();
   }
 
   /**
@@ -337,7 +454,7 @@ public final class CsvRow {
    */
   @Override
   public String toString() {
-    return "CsvRow" + fields.toString();
+    return "CsvRow" + fields().toString();
   }
 
 }
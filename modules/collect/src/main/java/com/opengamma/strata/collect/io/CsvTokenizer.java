@@ -0,0 +1,257 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import java.util.Arrays;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Tokenizer for lines in CSV format.
+ * <p>
+ * A line is tokenized in a single pass into the start and end index of each field within the line.
+ * No strings are created during tokenization, allowing fields to be materialized only when accessed.
+ * A field that is quoted and contains an escaped quote is marked by storing the start index
+ * as its bitwise complement, {@code ~start}, as the escaped quotes must be removed.
+ * <p>
+ * The rules are as follows:
+ * <ul>
+ * <li>a line that is empty, or starts with '#' or ';', has no fields
+ * <li>a line where every field is blank has no fields
+ * <li>each field is trimmed
+ * <li>a field of the form {@code ="xxx"} is treated as {@code "xxx"}
+ * <li>a field that starts with a quote continues until the matching quote, such that
+ *  {@code "xxx""yyy"} means {@code xxx"yyy} and the separator may appear within the quotes
+ * </ul>
+ */
+final class CsvTokenizer {
+
+  /**
+   * Exact powers of ten.
+   */
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+  /**
+   * The maximum number of significant digits that can be converted exactly.
+   */
+  private static final int MAX_EXACT_DIGITS = 15;
+
+  /**
+   * Restricted constructor.
+   */
+  private CsvTokenizer() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tokenizes a single line.
+   * <p>
+   * The result contains two elements for each field, the start and end index.
+   *
+   * @param line  the line
+   * @param lineNumber  the line number, used in error messages
+   * @param separator  the separator
+   * @return the start and end index of each field, null if the line has no fields
+   * @throws IllegalArgumentException if the quotes do not match
+   */
+  static int[] tokenize(String line, int lineNumber, char separator) {
+    int length = line.length();
+    if (length == 0 || line.charAt(0) == '#' || line.charAt(0) == ';') {
+      return null;
+    }
+    int[] bounds = new int[16];
+    int size = 0;
+    boolean hasContent = false;
+    int start = 0;
+    while (true) {
+      int nextSeparator = line.indexOf(separator, start);
+      int fieldStart = trimStart(line, start, nextSeparator < 0 ? length : nextSeparator);
+      int fieldEnd = trimEnd(line, fieldStart, nextSeparator < 0 ? length : nextSeparator);
+      // handle convention where ="xxx" means xxx
+      if (fieldEnd - fieldStart >= 2 && line.charAt(fieldStart) == '=' && line.charAt(fieldStart + 1) == '"') {
+        fieldStart++;
+      }
+      if (fieldStart < fieldEnd && line.charAt(fieldStart) == '"') {
+        // handle quoting where "xxx""yyy" means xxx"yyy
+        while (!isClosingQuote(line, fieldStart, fieldEnd)) {
+          if (nextSeparator < 0) {
+            throw new IllegalArgumentException("Mismatched quotes in CSV on line " + lineNumber);
+          }
+          nextSeparator = line.indexOf(separator, nextSeparator + 1);
+          fieldEnd = trimEnd(line, fieldStart, nextSeparator < 0 ? length : nextSeparator);
+        }
+        fieldStart++;
+        fieldEnd--;
+        hasContent |= trimStart(line, fieldStart, fieldEnd) < fieldEnd;
+        if (line.lastIndexOf('"', fieldEnd - 1) >= fieldStart) {
+          fieldStart = ~fieldStart;
+        }
+      } else {
+        hasContent |= fieldStart < fieldEnd;
+      }
+      if (size == bounds.length) {
+        bounds = Arrays.copyOf(bounds, size * 2);
+      }
+      bounds[size++] = fieldStart;
+      bounds[size++] = fieldEnd;
+      if (nextSeparator < 0) {
+        return hasContent ? Arrays.copyOf(bounds, size) : null;
+      }
+      start = nextSeparator + 1;
+    }
+  }
+
+  /**
+   * Parses a single line into a list of fields.
+   *
+   * @param line  the line
+   * @param lineNumber  the line number, used in error messages
+   * @param separator  the separator
+   * @return the fields, empty if the line has no fields
+   * @throws IllegalArgumentException if the quotes do not match
+   */
+  static ImmutableList<String> parseLine(String line, int lineNumber, char separator) {
+    int[] bounds = tokenize(line, lineNumber, separator);
+    if (bounds == null) {
+      return ImmutableList.of();
+    }
+    String[] fields = new String[bounds.length / 2];
+    for (int i = 0; i < fields.length; i++) {
+      fields[i] = field(line, bounds[i * 2], bounds[i * 2 + 1]);
+    }
+    return ImmutableList.copyOf(fields);
+  }
+
+  // finds the first non-whitespace character
+  private static int trimStart(String line, int start, int end) {
+    int index = start;
+    while (index < end && line.charAt(index) <= ' ') {
+      index++;
+    }
+    return index;
+  }
+
+  // finds the end of the non-whitespace characters
+  private static int trimEnd(String line, int start, int end) {
+    int index = end;
+    while (index > start && line.charAt(index - 1) <= ' ') {
+      index--;
+    }
+    return index;
+  }
+
+  // checks if the quoted text ends with an unescaped quote, which occurs if the final run of quotes is odd
+  private static boolean isClosingQuote(String line, int openingQuote, int end) {
+    int index = end;
+    while (index > openingQuote + 1 && line.charAt(index - 1) == '"') {
+      index--;
+    }
+    return ((end - index) & 1) == 1;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Materializes a field.
+   *
+   * @param line  the line
+   * @param start  the start index, as returned by {@link #tokenize(String, int, char)}
+   * @param end  the end index
+   * @return the field
+   */
+  static String field(String line, int start, int end) {
+    if (start >= 0) {
+      return line.substring(start, end);
+    }
+    return line.substring(~start, end).replace("\"\"", "\"");
+  }
+
+  /**
+   * Parses a field as a {@code double}.
+   * <p>
+   * Simple decimal numbers, such as '-123.456', are parsed directly from the line.
+   * Other numbers are parsed using {@link Double#parseDouble(String)}.
+   *
+   * @param line  the line
+   * @param start  the start index, as returned by {@link #tokenize(String, int, char)}
+   * @param end  the end index
+   * @return the parsed value
+   * @throws NumberFormatException if the field cannot be parsed
+   */
+  static double parseDouble(String line, int start, int end) {
+    if (start >= 0 && start < end) {
+      int index = start;
+      boolean negative = line.charAt(index) == '-';
+      if (negative || line.charAt(index) == '+') {
+        index++;
+      }
+      long mantissa = 0;
+      int digitCount = 0;
+      int significantDigits = 0;
+      int scale = 0;
+      boolean decimalPoint = false;
+      boolean valid = true;
+      for (; valid && index < end; index++) {
+        char ch = line.charAt(index);
+        if (ch >= '0' && ch <= '9') {
+          mantissa = mantissa * 10 + (ch - '0');
+          digitCount++;
+          significantDigits += (mantissa != 0 ? 1 : 0);
+          scale += (decimalPoint ? 1 : 0);
+          valid = significantDigits <= MAX_EXACT_DIGITS && scale < POWERS_OF_TEN.length;
+        } else if (ch == '.' && !decimalPoint) {
+          decimalPoint = true;
+        } else {
+          valid = false;
+        }
+      }
+      if (valid && digitCount > 0) {
+        // the mantissa and power of ten are exact, thus the division is correctly rounded
+        double value = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+      }
+    }
+    return Double.parseDouble(field(line, start, end));
+  }
+
+  /**
+   * Parses a field as an {@code int}.
+   * <p>
+   * Simple integers, such as '-123', are parsed directly from the line.
+   * Other numbers are parsed using {@link Integer#parseInt(String)}.
+   *
+   * @param line  the line
+   * @param start  the start index, as returned by {@link #tokenize(String, int, char)}
+   * @param end  the end index
+   * @return the parsed value
+   * @throws NumberFormatException if the field cannot be parsed
+   */
+  static int parseInt(String line, int start, int end) {
+    if (start >= 0 && start < end && end - start <= 10) {
+      int index = start;
+      boolean negative = line.charAt(index) == '-';
+      if (negative || line.charAt(index) == '+') {
+        index++;
+      }
+      // up to 9 digits cannot overflow
+      if (index < end && end - index <= 9) {
+        int value = 0;
+        for (; index < end; index++) {
+          char ch = line.charAt(index);
+          if (ch < '0' || ch > '9') {
+            break;
+          }
+          value = value * 10 + (ch - '0');
+        }
+        if (index == end) {
+          return negative ? -value : value;
+        }
+      }
+    }
+    return Integer.parseInt(field(line, start, end));
+  }
+
+}
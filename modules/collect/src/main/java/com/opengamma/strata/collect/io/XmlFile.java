@@ -9,6 +9,8 @@ import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamConstants;
@@ -101,6 +103,71 @@ public final class XmlFile {
     });
   }
 
+  /**
+   * Parses the specified source as an XML file, streaming selected elements to a consumer.
+   * <p>
+   * This parses the specified byte source expecting an XML file format.
+   * Unlike {@link #of(ByteSource, String)}, the whole file is not held in memory.
+   * Instead, each element whose name matches the selector is parsed to an in-memory
+   * DOM-like structure and passed to the consumer, before parsing continues.
+   * The consumer is invoked in the order the elements appear in the file.
+   * Elements that are not selected are not retained, thus memory use is proportional
+   * to the largest selected element rather than the size of the file.
+   * <p>
+   * A selected element is parsed as a whole, including any selected elements nested within it.
+   * <p>
+   * This supports capturing attribute references, such as an id/href pair.
+   * The map passed to the consumer contains the references found within the selected element.
+   * 
+   * @param source  the XML source data
+   * @param selector  the predicate that selects the elements to parse, by name
+   * @param refAttrName  the attribute name that should be parsed as a reference
+   * @param consumer  the consumer of each selected element and its map of references
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file cannot be parsed
+   */
+  public static void parseElements(
+      ByteSource source,
+      Predicate<String> selector,
+      String refAttrName,
+      BiConsumer<XmlElement, Map<String, XmlElement>> consumer) {
+
+    ArgChecker.notNull(source, "source");
+    ArgChecker.notNull(selector, "selector");
+    ArgChecker.notNull(refAttrName, "refAttrName");
+    ArgChecker.notNull(consumer, "consumer");
+    Unchecked.wrap(() -> {
+      try (InputStream in = source.openBufferedStream()) {
+        XMLStreamReader xmlReader = xmlInputFactory().createXMLStreamReader(in);
+        try {
+          parseElements(xmlReader, selector, refAttrName, consumer);
+        } finally {
+          xmlReader.close();
+        }
+      }
+    });
+  }
+
+  // parses each selected element in turn, skipping the rest of the file
+  private static void parseElements(
+      XMLStreamReader reader,
+      Predicate<String> selector,
+      String refAttr,
+      BiConsumer<XmlElement, Map<String, XmlElement>> consumer) {
+
+    try {
+      while (reader.hasNext()) {
+        if (reader.next() == XMLStreamConstants.START_ELEMENT && selector.test(reader.getLocalName())) {
+          HashMap<String, XmlElement> refs = new HashMap<>();
+          XmlElement element = parse(reader, refAttr, refs);
+          consumer.accept(element, refs);
+        }
+      }
+    } catch (XMLStreamException ex) {
+      throw new IllegalArgumentException(ex);
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Parses the tree from the StAX stream reader, capturing references.
@@ -123,6 +123,20 @@ public interface LocalDateDoubleTimeSeries {
    */
   public abstract OptionalDouble get(LocalDate date);
 
+  /**
+   * Gets the value associated with the specified date, expressed as an epoch-day.
+   * <p>
+   * This is equivalent to {@link #get(LocalDate)} using {@link LocalDate#ofEpochDay(long)}.
+   * Time-series that store the dates as epoch-days avoid creating a {@code LocalDate}.
+   *
+   * @param epochDay  the date to get the value for, as an epoch-day
+   * @return the value associated with the date, optional empty if the date is not present
+   * @see LocalDate#toEpochDay()
+   */
+  public default OptionalDouble get(long epochDay) {
+    return get(LocalDate.ofEpochDay(epochDay));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Get the earliest date contained in this time-series.
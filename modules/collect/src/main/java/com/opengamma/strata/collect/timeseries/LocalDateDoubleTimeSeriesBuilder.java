@@ -9,15 +9,14 @@ import static com.opengamma.strata.collect.timeseries.DenseLocalDateDoubleTimeSe
 import static com.opengamma.strata.collect.timeseries.DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation.SKIP_WEEKENDS;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoField;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.OptionalDouble;
-import java.util.SortedMap;
-import java.util.TreeMap;
 import java.util.function.DoubleBinaryOperator;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import com.opengamma.strata.collect.ArgChecker;
@@ -29,6 +28,9 @@ import com.opengamma.strata.collect.ArgChecker;
  * Entries can be added to the builder in any order.
  * If a date is duplicated it will overwrite an earlier entry.
  * <p>
+ * The entries are held in primitive arrays, avoiding boxing.
+ * Adding entries in date order is most efficient, as sorting is only performed when necessary.
+ * <p>
  * Use {@link LocalDateDoubleTimeSeries#builder()} to create an instance.
  */
 public final class LocalDateDoubleTimeSeriesBuilder {
@@ -39,9 +41,27 @@ public final class LocalDateDoubleTimeSeriesBuilder {
   private static final double DENSITY_THRESHOLD = 0.7;
 
   /**
-   * The entries for the time-series.
+   * The initial size of the arrays.
    */
-  private final SortedMap<LocalDate, Double> entries = new TreeMap<>();
+  private static final int INITIAL_CAPACITY = 16;
+
+  /**
+   * The dates of the entries, as epoch-days.
+   */
+  private int[] epochDays = new int[INITIAL_CAPACITY];
+  /**
+   * The values of the entries.
+   * The date for each value is at the matching array index.
+   */
+  private double[] values = new double[INITIAL_CAPACITY];
+  /**
+   * The number of entries.
+   */
+  private int size;
+  /**
+   * Whether the entries are sorted by date, without duplicates.
+   */
+  private boolean sorted = true;
 
   /**
    * Keep track of whether we have weekends in the data.
@@ -61,13 +81,17 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * Creates an instance.
    * <p>
    * Use {@link LocalDateDoubleTimeSeries#toBuilder()}.
+   * The arrays must be sorted without duplicates, and are assigned without cloning.
    * 
-   * @param dates  the dates to initialize with
+   * @param epochDays  the dates to initialize with, as epoch-days
    * @param values  the values to initialize with
    */
-  LocalDateDoubleTimeSeriesBuilder(LocalDate[] dates, double[] values) {
-    for (int i = 0; i < dates.length; i++) {
-      put(dates[i], values[i]);
+  LocalDateDoubleTimeSeriesBuilder(int[] epochDays, double[] values) {
+    this.epochDays = epochDays;
+    this.values = values;
+    this.size = epochDays.length;
+    for (int epochDay : epochDays) {
+      containsWeekends |= isWeekend(epochDay);
     }
   }
 
@@ -94,8 +118,9 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * @return the value associated with the date, optional empty if the date is not present
    */
   public OptionalDouble get(LocalDate date) {
-    Double value = entries.get(date);
-    return (value != null ? OptionalDouble.of(value) : OptionalDouble.empty());
+    sort();
+    int position = findPosition(date);
+    return (position >= 0 ? OptionalDouble.of(values[position]) : OptionalDouble.empty());
   }
 
   //-------------------------------------------------------------------------
@@ -109,10 +134,7 @@ public final class LocalDateDoubleTimeSeriesBuilder {
   public LocalDateDoubleTimeSeriesBuilder put(LocalDate date, double value) {
     ArgChecker.notNull(date, "date");
     ArgChecker.isFalse(Double.isNaN(value), "NaN is not allowed as a value");
-    entries.put(date, value);
-    if (!containsWeekends && date.get(ChronoField.DAY_OF_WEEK) > 5) {
-      containsWeekends = true;
-    }
+    append(SparseLocalDateDoubleTimeSeries.toEpochDay(date), value);
     return this;
   }
 
@@ -142,7 +164,13 @@ public final class LocalDateDoubleTimeSeriesBuilder {
   public LocalDateDoubleTimeSeriesBuilder merge(LocalDate date, double value, DoubleBinaryOperator operator) {
     ArgChecker.notNull(date, "date");
     ArgChecker.notNull(operator, "operator");
-    entries.merge(date, value, (a, b) -> operator.applyAsDouble(a, b));
+    sort();
+    int position = findPosition(date);
+    if (position >= 0) {
+      values[position] = operator.applyAsDouble(values[position], value);
+    } else {
+      insert(-position - 1, SparseLocalDateDoubleTimeSeries.toEpochDay(date), value);
+    }
     return this;
   }
 
@@ -157,8 +185,7 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    */
   public LocalDateDoubleTimeSeriesBuilder merge(LocalDateDoublePoint point, DoubleBinaryOperator operator) {
     ArgChecker.notNull(point, "point");
-    entries.merge(point.getDate(), point.getValue(), (a, b) -> operator.applyAsDouble(a, b));
-    return this;
+    return merge(point.getDate(), point.getValue(), operator);
   }
 
   //-------------------------------------------------------------------------
@@ -211,6 +238,34 @@ public final class LocalDateDoubleTimeSeriesBuilder {
     return this;
   }
 
+  /**
+   * Puts all the specified dates, expressed as epoch-days, and values into this builder.
+   * <p>
+   * The two arrays must be the same size.
+   * No {@code LocalDate} is created and no value is boxed, thus this is suited to
+   * loading long histories, such as decades of daily fixings.
+   * If the dates are in ascending order, the entries are appended without sorting.
+   * <p>
+   * The date-value pairs are added one by one.
+   * If a date is duplicated it will overwrite an earlier entry.
+   *
+   * @param epochDays  the dates to be added, as epoch-days
+   * @param values  the values to be added
+   * @return this builder
+   * @see LocalDate#toEpochDay()
+   */
+  public LocalDateDoubleTimeSeriesBuilder putAll(int[] epochDays, double[] values) {
+    ArgChecker.notNull(epochDays, "epochDays");
+    ArgChecker.notNull(values, "values");
+    ArgChecker.isTrue(epochDays.length == values.length,
+        "Arrays are of different sizes - dates: {}, values: {}", epochDays.length, values.length);
+    ensureCapacity(size + epochDays.length);
+    for (int i = 0; i < epochDays.length; i++) {
+      append(epochDays[i], values[i]);
+    }
+    return this;
+  }
+
   /**
    * Puts all the specified points into this builder.
    * <p>
@@ -245,14 +300,20 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    * <p>
    * The points are added one by one.
    * If a date is duplicated it will overwrite an earlier entry.
+   * Putting the contents of this builder into itself has no effect.
    *
    * @param other  the other builder
    * @return this builder
    */
   public LocalDateDoubleTimeSeriesBuilder putAll(LocalDateDoubleTimeSeriesBuilder other) {
     ArgChecker.notNull(other, "other");
-    entries.putAll(other.entries);
-    containsWeekends = containsWeekends || other.containsWeekends;
+    if (other == this) {
+      return this;
+    }
+    other.sort();
+    for (int i = 0; i < other.size; i++) {
+      append(other.epochDays[i], other.values[i]);
+    }
     return this;
   }
 
@@ -278,7 +339,8 @@ public final class LocalDateDoubleTimeSeriesBuilder {
    */
   public LocalDateDoubleTimeSeries build() {
 
-    if (entries.isEmpty()) {
+    sort();
+    if (size == 0) {
       return LocalDateDoubleTimeSeries.empty();
     }
 
@@ -291,20 +353,21 @@ public final class LocalDateDoubleTimeSeriesBuilder {
 
   private LocalDateDoubleTimeSeries createDenseSeries() {
     return DenseLocalDateDoubleTimeSeries.of(
-        entries.firstKey(),
-        entries.lastKey(),
+        LocalDate.ofEpochDay(epochDays[0]),
+        LocalDate.ofEpochDay(epochDays[size - 1]),
         streamEntries(),
         determineCalculation());
   }
 
   private SparseLocalDateDoubleTimeSeries createSparseSeries() {
-    return SparseLocalDateDoubleTimeSeries.of(entries.keySet(), entries.values());
+    // copy the arrays, as the builder may continue to be used
+    return SparseLocalDateDoubleTimeSeries.createUnsafe(
+        Arrays.copyOf(epochDays, size), Arrays.copyOf(values, size), 0, size);
   }
 
   private Stream<LocalDateDoublePoint> streamEntries() {
-    return entries.entrySet()
-        .stream()
-        .map(e -> LocalDateDoublePoint.of(e.getKey(), e.getValue()));
+    return IntStream.range(0, size)
+        .mapToObj(i -> LocalDateDoublePoint.of(LocalDate.ofEpochDay(epochDays[i]), values[i]));
   }
 
   private DenseLocalDateDoubleTimeSeries.DenseTimeSeriesCalculation determineCalculation() {
@@ -313,8 +376,90 @@ public final class LocalDateDoubleTimeSeriesBuilder {
 
   private double density() {
     // We can use the calculators to work out range size
-    double rangeSize = determineCalculation().calculatePosition(entries.firstKey(), entries.lastKey()) + 1;
-    return entries.size() / rangeSize;
+    double rangeSize = determineCalculation().calculatePosition(
+        LocalDate.ofEpochDay(epochDays[0]), LocalDate.ofEpochDay(epochDays[size - 1])) + 1;
+    return size / rangeSize;
+  }
+
+  //-------------------------------------------------------------------------
+  // adds an entry at the end of the arrays, only sorting later if necessary
+  private void append(int epochDay, double value) {
+    if (sorted && size > 0) {
+      int latest = epochDays[size - 1];
+      if (epochDay == latest) {
+        values[size - 1] = value;
+        return;
+      }
+      sorted = epochDay > latest;
+    }
+    insert(size, epochDay, value);
+  }
+
+  // inserts an entry at the specified position
+  private void insert(int position, int epochDay, double value) {
+    if (size == epochDays.length) {
+      ensureCapacity(Math.max(INITIAL_CAPACITY, size * 2));
+    }
+    System.arraycopy(epochDays, position, epochDays, position + 1, size - position);
+    System.arraycopy(values, position, values, position + 1, size - position);
+    epochDays[position] = epochDay;
+    values[position] = value;
+    size++;
+    containsWeekends |= isWeekend(epochDay);
+  }
+
+  // grows the arrays if necessary to hold the specified number of entries
+  private void ensureCapacity(int capacity) {
+    if (capacity > epochDays.length) {
+      epochDays = Arrays.copyOf(epochDays, capacity);
+      values = Arrays.copyOf(values, capacity);
+    }
+  }
+
+  // sorts the entries by date, where a later entry for a date overwrites an earlier one
+  private void sort() {
+    if (sorted) {
+      return;
+    }
+    // the key is the epoch-day in the high bits and the index in the low bits
+    // as such, entries for the same date remain in the order they were added
+    long[] keys = new long[size];
+    for (int i = 0; i < size; i++) {
+      keys[i] = (((long) epochDays[i]) << 32) | i;
+    }
+    Arrays.sort(keys);
+    int[] sortedEpochDays = new int[epochDays.length];
+    double[] sortedValues = new double[values.length];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      int epochDay = (int) (keys[i] >> 32);
+      if (i + 1 < size && (int) (keys[i + 1] >> 32) == epochDay) {
+        continue;
+      }
+      sortedEpochDays[count] = epochDay;
+      sortedValues[count] = values[(int) keys[i]];
+      count++;
+    }
+    epochDays = sortedEpochDays;
+    values = sortedValues;
+    size = count;
+    sorted = true;
+  }
+
+  // finds the position of the date in the sorted arrays, or (-(insertion point) - 1) if not found
+  private int findPosition(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    if (epochDay < Integer.MIN_VALUE) {
+      return -1;
+    } else if (epochDay > Integer.MAX_VALUE) {
+      return -size - 1;
+    }
+    return Arrays.binarySearch(epochDays, 0, size, (int) epochDay);
+  }
+
+  // checks if the epoch-day is a Saturday or Sunday, where 1970-01-01 was a Thursday
+  private static boolean isWeekend(int epochDay) {
+    return Math.floorMod(epochDay + 3L, 7) >= 5;
   }
 
 }
@@ -9,6 +9,7 @@ import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.OptionalDouble;
@@ -34,7 +35,6 @@ import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
-import com.google.common.primitives.Doubles;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.function.ObjDoublePredicate;
@@ -48,30 +48,46 @@ import com.opengamma.strata.collect.function.ObjDoublePredicate;
  * If more or less continuous data is being used then {@link DenseLocalDateDoubleTimeSeries}
  * is likely to be a better choice for the data.
  * <p>
- * This implementation uses arrays internally.
+ * This implementation uses arrays internally, with the dates stored as epoch-days.
+ * The arrays may be shared between instances, such that a sub-series is a view
+ * of a range within the arrays of the original series rather than a copy.
  */
 @BeanDefinition(builderScope = "private", metaScope = "package")
 final class SparseLocalDateDoubleTimeSeries
     implements ImmutableBean, Serializable, LocalDateDoubleTimeSeries {
 
+  /**
+   * The serialization version id.
+   * This is not the generated default, as version 1 serialized the dates as an array of {@code LocalDate}.
+   */
+  private static final long serialVersionUID = 2L;
   /**
    * An empty time-series.
    */
   static final LocalDateDoubleTimeSeries EMPTY =
-      new SparseLocalDateDoubleTimeSeries(new LocalDate[0], new double[0]);
+      createUnsafe(new int[0], new double[0], 0, 0);
 
   /**
-   * The dates in the series.
+   * The dates in the series, stored as epoch-days.
    * The dates are ordered from earliest to latest.
+   * The property is exposed as an array of {@code LocalDate}, thus the bean form is unaffected by the storage.
    */
-  @PropertyDefinition(get = "manual", validate = "notNull")
-  private final LocalDate[] dates;
+  @PropertyDefinition(get = "manual", validate = "notNull", type = "LocalDate[]")
+  private final int[] dates;
   /**
    * The values in the series.
    * The date for each value is at the matching array index.
    */
   @PropertyDefinition(get = "manual", validate = "notNull")
   private final double[] values;
+  /**
+   * The index of the first point in the arrays.
+   */
+  private final int offset;  // not a property
+  /**
+   * The number of points, starting from the offset.
+   */
+  private final int size;  // not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -86,35 +102,55 @@ final class SparseLocalDateDoubleTimeSeries
   static SparseLocalDateDoubleTimeSeries of(Collection<LocalDate> dates, Collection<Double> values) {
     ArgChecker.noNulls(dates, "dates");
     ArgChecker.noNulls(values, "values");
-    LocalDate[] datesArray = dates.toArray(new LocalDate[dates.size()]);
-    double[] valuesArray = Doubles.toArray(values);
-    validate(datesArray, valuesArray);
-    return createUnsafe(datesArray, valuesArray);
+    ArgChecker.isTrue(dates.size() == values.size(),
+        "Arrays are of different sizes - dates: {}, values: {}", dates.size(), values.size());
+    int[] epochDaysArray = new int[dates.size()];
+    double[] valuesArray = new double[values.size()];
+    Iterator<LocalDate> itDate = dates.iterator();
+    Iterator<Double> itValue = values.iterator();
+    for (int i = 0; i < epochDaysArray.length; i++) {
+      epochDaysArray[i] = toEpochDay(itDate.next());
+      valuesArray[i] = itValue.next();
+    }
+    validate(epochDaysArray, valuesArray);
+    return createUnsafe(epochDaysArray, valuesArray, 0, epochDaysArray.length);
   }
 
   // creates time-series by directly assigning the input arrays
   // must only be called when safe to do so
-  private static SparseLocalDateDoubleTimeSeries createUnsafe(LocalDate[] dates, double[] values) {
-    return new SparseLocalDateDoubleTimeSeries(dates, values, true);
+  static SparseLocalDateDoubleTimeSeries createUnsafe(int[] epochDays, double[] values, int offset, int size) {
+    return new SparseLocalDateDoubleTimeSeries(epochDays, values, offset, size);
   }
 
   // validates the arrays are same length and in order
-  private static void validate(LocalDate[] dates, double[] values) {
-    ArgChecker.isTrue(dates.length == values.length,
-        "Arrays are of different sizes - dates: {}, values: {}", dates.length, values.length);
-    LocalDate maxDate = LocalDate.MIN;
-    for (LocalDate date : dates) {
-      ArgChecker.isTrue(date.isAfter(maxDate),
-          "Dates must be in ascending order but: {} is not after: {}", date, maxDate);
-      maxDate = date;
+  private static void validate(int[] epochDays, double[] values) {
+    ArgChecker.isTrue(epochDays.length == values.length,
+        "Arrays are of different sizes - dates: {}, values: {}", epochDays.length, values.length);
+    for (int i = 1; i < epochDays.length; i++) {
+      if (epochDays[i] <= epochDays[i - 1]) {
+        throw new IllegalArgumentException(Messages.format(
+            "Dates must be in ascending order but: {} is not after: {}",
+            LocalDate.ofEpochDay(epochDays[i]),
+            LocalDate.ofEpochDay(epochDays[i - 1])));
+      }
+    }
+  }
+
+  // converts the date to an epoch-day, which is within the range of an int for all sensible dates
+  static int toEpochDay(LocalDate date) {
+    long epochDay = date.toEpochDay();
+    if (epochDay < Integer.MIN_VALUE || epochDay > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Date is outside the range supported by a time-series: " + date);
     }
+    return (int) epochDay;
   }
 
   //-------------------------------------------------------------------------
   /**
    * Creates an instance, validating the supplied arrays.
    * <p>
-   * The arrays are cloned as this constructor is called from Joda-Beans.
+   * The dates are converted to epoch-days and the values are cloned,
+   * as this constructor is called from Joda-Beans.
    *
    * @param dates  the dates
    * @param values  the values
@@ -123,24 +159,40 @@ final class SparseLocalDateDoubleTimeSeries
   private SparseLocalDateDoubleTimeSeries(LocalDate[] dates, double[] values) {
     ArgChecker.noNulls(dates, "dates");
     ArgChecker.notNull(values, "values");
-    validate(dates, values);
-    this.dates = dates.clone();
+    int[] epochDays = new int[dates.length];
+    for (int i = 0; i < dates.length; i++) {
+      epochDays[i] = toEpochDay(dates[i]);
+    }
+    validate(epochDays, values);
+    this.dates = epochDays;
     this.values = values.clone();
+    this.offset = 0;
+    this.size = epochDays.length;
   }
 
   /**
-   * Creates an instance without validating the supplied arrays.
+   * Creates an instance without validating or cloning the supplied arrays.
    *
-   * @param dates  the dates
+   * @param epochDays  the dates, as epoch-days
    * @param values  the values
-   * @param trusted  flag to distinguish constructor
+   * @param offset  the index of the first point
+   * @param size  the number of points
    */
-  private SparseLocalDateDoubleTimeSeries(LocalDate[] dates, double[] values, boolean trusted) {
+  private SparseLocalDateDoubleTimeSeries(int[] epochDays, double[] values, int offset, int size) {
     // constructor exists to avoid clones where possible
-    // because Joda-Beans owns the main constructor, this one has a weird flag
     // use createUnsafe() instead of calling this directly
-    this.dates = dates;
+    this.dates = epochDays;
     this.values = values;
+    this.offset = offset;
+    this.size = size;
+  }
+
+  // avoid serializing the whole of the shared arrays
+  private Object writeReplace() {
+    if (offset == 0 && size == dates.length) {
+      return this;
+    }
+    return createUnsafe(getEpochDays(), getValues(), 0, size);
   }
 
   //-----------------------------------------------------------------------
@@ -150,7 +202,16 @@ final class SparseLocalDateDoubleTimeSeries
    * @return the value of the property, not null
    */
   private LocalDate[] getDates() {
-    return dates.clone();
+    LocalDate[] result = new LocalDate[size];
+    for (int i = 0; i < size; i++) {
+      result[i] = LocalDate.ofEpochDay(dates[offset + i]);
+    }
+    return result;
+  }
+
+  // gets the dates in the series as epoch-days
+  private int[] getEpochDays() {
+    return Arrays.copyOfRange(dates, offset, offset + size);
   }
 
   /**
@@ -159,42 +220,77 @@ final class SparseLocalDateDoubleTimeSeries
    * @return the value of the property, not null
    */
   private double[] getValues() {
-    return values.clone();
+    return Arrays.copyOfRange(values, offset, offset + size);
   }
 
   //-------------------------------------------------------------------------
   @Override
   public int size() {
-    return dates.length;
+    return size;
   }
 
   @Override
   public boolean isEmpty() {
-    return dates.length == 0;
+    return size == 0;
   }
 
   @Override
   public boolean containsDate(LocalDate date) {
-    return (findDatePosition(date) >= 0);
+    return (findDatePosition(date.toEpochDay()) >= 0);
   }
 
   @Override
   public OptionalDouble get(LocalDate date) {
-    int position = findDatePosition(date);
+    return get(date.toEpochDay());
+  }
+
+  @Override
+  public OptionalDouble get(long epochDay) {
+    int position = findDatePosition(epochDay);
     return (position >= 0 ? OptionalDouble.of(values[position]) : OptionalDouble.empty());
   }
 
-  private int findDatePosition(LocalDate date) {
-    return Arrays.binarySearch(dates, date);
+  // binary search, returning the array index, or (-(insertion point) - 1) if not found
+  private int findDatePosition(long epochDay) {
+    int low = offset;
+    int high = offset + size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int midEpochDay = dates[mid];
+      if (midEpochDay < epochDay) {
+        low = mid + 1;
+      } else if (midEpochDay > epochDay) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
   }
 
   //-------------------------------------------------------------------------
+  @Override
+  public LocalDate getEarliestDate() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest date, time-series is empty");
+    }
+    return LocalDate.ofEpochDay(dates[offset]);
+  }
+
+  @Override
+  public double getEarliestValue() {
+    if (isEmpty()) {
+      throw new NoSuchElementException("Unable to return earliest value, time-series is empty");
+    }
+    return values[offset];
+  }
+
   @Override
   public LocalDate getLatestDate() {
     if (isEmpty()) {
       throw new NoSuchElementException("Unable to return latest, time-series is empty");
     }
-    return dates[dates.length - 1];
+    return LocalDate.ofEpochDay(dates[offset + size - 1]);
   }
 
   @Override
@@ -202,7 +298,7 @@ final class SparseLocalDateDoubleTimeSeries
     if (isEmpty()) {
       throw new NoSuchElementException("Unable to return latest, time-series is empty");
     }
-    return values[values.length - 1];
+    return values[offset + size - 1];
   }
 
   //-------------------------------------------------------------------------
@@ -219,14 +315,12 @@ final class SparseLocalDateDoubleTimeSeries
       return EMPTY;
     }
     // where in the array would start/end be (whether or not it's actually in the series)
-    int startPos = Arrays.binarySearch(dates, startInclusive);
+    int startPos = findDatePosition(startInclusive.toEpochDay());
     startPos = startPos >= 0 ? startPos : -startPos - 1;
-    int endPos = Arrays.binarySearch(dates, endExclusive);
+    int endPos = findDatePosition(endExclusive.toEpochDay());
     endPos = endPos >= 0 ? endPos : -endPos - 1;
-    // create sub-series
-    LocalDate[] timesArray = Arrays.copyOfRange(dates, startPos, endPos);
-    double[] valuesArray = Arrays.copyOfRange(values, startPos, endPos);
-    return createUnsafe(timesArray, valuesArray);
+    // create sub-series, sharing the arrays
+    return createUnsafe(dates, values, startPos, endPos - startPos);
   }
 
   @Override
@@ -234,12 +328,10 @@ final class SparseLocalDateDoubleTimeSeries
     ArgChecker.notNegative(numPoints, "numPoints");
     if (numPoints == 0) {
       return EMPTY;
-    } else if (numPoints >= size()) {
+    } else if (numPoints >= size) {
       return this;
     }
-    LocalDate[] datesArray = Arrays.copyOfRange(dates, 0, numPoints);
-    double[] valuesArray = Arrays.copyOfRange(values, 0, numPoints);
-    return createUnsafe(datesArray, valuesArray);
+    return createUnsafe(dates, values, offset, numPoints);
   }
 
   @Override
@@ -247,75 +339,86 @@ final class SparseLocalDateDoubleTimeSeries
     ArgChecker.notNegative(numPoints, "numPoints");
     if (numPoints == 0) {
       return EMPTY;
-    } else if (numPoints >= size()) {
+    } else if (numPoints >= size) {
       return this;
     }
-    LocalDate[] datesArray = Arrays.copyOfRange(dates, size() - numPoints, size());
-    double[] valuesArray = Arrays.copyOfRange(values, size() - numPoints, size());
-    return createUnsafe(datesArray, valuesArray);
+    return createUnsafe(dates, values, offset + size - numPoints, numPoints);
   }
 
   //-------------------------------------------------------------------------
   @Override
   public Stream<LocalDateDoublePoint> stream() {
-    return IntStream.range(0, size()).mapToObj(i -> LocalDateDoublePoint.of(dates[i], values[i]));
+    return IntStream.range(offset, offset + size)
+        .mapToObj(i -> LocalDateDoublePoint.of(LocalDate.ofEpochDay(dates[i]), values[i]));
   }
 
   @Override
   public Stream<LocalDate> dates() {
-    return Stream.of(dates);
+    return IntStream.range(offset, offset + size).mapToObj(i -> LocalDate.ofEpochDay(dates[i]));
   }
 
   @Override
   public DoubleStream values() {
-    return DoubleStream.of(values);
+    return Arrays.stream(values, offset, offset + size);
   }
 
   //-------------------------------------------------------------------------
   @Override
   public void forEach(ObjDoubleConsumer<LocalDate> action) {
     ArgChecker.notNull(action, "action");
-    for (int i = 0; i < size(); i++) {
-      action.accept(dates[i], values[i]);
+    for (int i = offset; i < offset + size; i++) {
+      action.accept(LocalDate.ofEpochDay(dates[i]), values[i]);
     }
   }
 
   @Override
   public LocalDateDoubleTimeSeries mapDates(Function<? super LocalDate, ? extends LocalDate> mapper) {
     ArgChecker.notNull(mapper, "mapper");
-    LocalDate[] dates = Arrays.stream(this.dates).map(mapper).toArray(size -> new LocalDate[size]);
-    // Check the dates are still in ascending order after the mapping
-    Arrays.stream(dates).reduce(this::checkAscending);
-    return createUnsafe(dates, values);
+    int[] resEpochDays = new int[size];
+    LocalDate previous = null;
+    for (int i = 0; i < size; i++) {
+      LocalDate date = mapper.apply(LocalDate.ofEpochDay(dates[offset + i]));
+      // Check the dates are still in ascending order after the mapping
+      if (previous != null) {
+        checkAscending(previous, date);
+      }
+      resEpochDays[i] = toEpochDay(date);
+      previous = date;
+    }
+    return createUnsafe(resEpochDays, getValues(), 0, size);
   }
 
   @Override
   public LocalDateDoubleTimeSeries mapValues(DoubleUnaryOperator mapper) {
     ArgChecker.notNull(mapper, "mapper");
-    return createUnsafe(dates, DoubleStream.of(values).map(mapper).toArray());
+    double[] resValues = new double[size];
+    for (int i = 0; i < size; i++) {
+      resValues[i] = mapper.applyAsDouble(values[offset + i]);
+    }
+    return createUnsafe(getEpochDays(), resValues, 0, size);
   }
 
   @Override
   public LocalDateDoubleTimeSeries filter(ObjDoublePredicate<LocalDate> predicate) {
     ArgChecker.notNull(predicate, "predicate");
     // build up result in arrays keeping track of count of retained dates
-    LocalDate[] resDates = new LocalDate[size()];
-    double[] resValues = new double[size()];
+    int[] resEpochDays = new int[size];
+    double[] resValues = new double[size];
     int resCount = 0;
-    for (int i = 0; i < size(); i++) {
-      if (predicate.test(dates[i], values[i])) {
-        resDates[resCount] = dates[i];
+    for (int i = offset; i < offset + size; i++) {
+      if (predicate.test(LocalDate.ofEpochDay(dates[i]), values[i])) {
+        resEpochDays[resCount] = dates[i];
         resValues[resCount] = values[i];
         resCount++;
       }
     }
-    return createUnsafe(Arrays.copyOf(resDates, resCount), Arrays.copyOf(resValues, resCount));
+    return createUnsafe(resEpochDays, resValues, 0, resCount);
   }
 
   //-------------------------------------------------------------------------
   @Override
   public LocalDateDoubleTimeSeriesBuilder toBuilder() {
-    return new LocalDateDoubleTimeSeriesBuilder(dates, values);
+    return new LocalDateDoubleTimeSeriesBuilder(getEpochDays(), getValues());
   }
 
   //-------------------------------------------------------------------------
@@ -335,7 +438,16 @@ final class SparseLocalDateDoubleTimeSeries
     }
     if (obj instanceof SparseLocalDateDoubleTimeSeries) {
       SparseLocalDateDoubleTimeSeries other = (SparseLocalDateDoubleTimeSeries) obj;
-      return Arrays.equals(dates, other.dates) && Arrays.equals(values, other.values);
+      if (size != other.size) {
+        return false;
+      }
+      for (int i = 0; i < size; i++) {
+        if (dates[offset + i] != other.dates[other.offset + i] ||
+            Double.doubleToLongBits(values[offset + i]) != Double.doubleToLongBits(other.values[other.offset + i])) {
+          return false;
+        }
+      }
+      return true;
     }
     return false;
   }
@@ -347,7 +459,12 @@ final class SparseLocalDateDoubleTimeSeries
    */
   @Override
   public int hashCode() {
-    return 31 * Arrays.hashCode(dates) + Arrays.hashCode(values);
+    int hash = 1;
+    for (int i = offset; i < offset + size; i++) {
+      hash = hash * 31 + dates[i];
+      hash = hash * 31 + Double.hashCode(values[i]);
+    }
+    return hash;
   }
 
   /**
@@ -369,18 +486,16 @@ final class SparseLocalDateDoubleTimeSeries
    *
    * @param earlier  the date that should be earlier
    * @param later  the date that should be later
-   * @return the later date if it is after the earlier date, otherwise throw an exception
    * @throws IllegalArgumentException if the dates are not in ascending order
    */
-  private LocalDate checkAscending(LocalDate earlier, LocalDate later) {
-    if (earlier.isBefore(later)) {
-      return later;
+  private void checkAscending(LocalDate earlier, LocalDate later) {
+    if (!earlier.isBefore(later)) {
+      throw new IllegalArgumentException(
+          Messages.format(
+              "Dates must be in ascending order after calling mapDates but {} and {} are not",
+              earlier,
+              later));
     }
-    throw new IllegalArgumentException(
-        Messages.format(
-            "Dates must be in ascending order after calling mapDates but {} and {} are not",
-            earlier,
-            later));
   }
 
   //------------------------- AUTOGENERATED START -------------------------
@@ -396,11 +511,6 @@ final class SparseLocalDateDoubleTimeSeries
     MetaBean.register(SparseLocalDateDoubleTimeSeries.Meta.INSTANCE);
   }
 
-  /**
-   * The serialization version id.
-   */
-  private static final long serialVersionUID = 1L;
-
   @Override
   public SparseLocalDateDoubleTimeSeries.Meta metaBean() {
     return SparseLocalDateDoubleTimeSeries.Meta.INSTANCE;
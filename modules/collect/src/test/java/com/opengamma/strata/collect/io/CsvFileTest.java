@@ -387,6 +387,26 @@ public class CsvFileTest {
     assertThrowsIllegalArg(() -> CsvFile.of(headers, rows));
   }
 
+  public void test_of_numeric() {
+    CsvFile csvFile = CsvFile.of(CharSource.wrap("a,b,c\n1.25,-12,\n\"2\", +3.5e2 ,x"), true);
+    assertEquals(csvFile.row(0).getDouble("a"), 1.25d);
+    assertEquals(csvFile.row(0).getDouble("b"), -12d);
+    assertEquals(csvFile.row(0).getInt("b"), -12);
+    assertThrowsIllegalArg(() -> csvFile.row(0).getDouble("c"));
+    assertThrowsIllegalArg(() -> csvFile.row(0).getInt("a"));
+    assertThrowsIllegalArg(() -> csvFile.row(0).getDouble("d"));
+    assertEquals(csvFile.row(1).getDouble("a"), 2d);
+    assertEquals(csvFile.row(1).getInt("a"), 2);
+    assertEquals(csvFile.row(1).getDouble("b"), 350d);
+    assertThrowsIllegalArg(() -> csvFile.row(1).getDouble("c"));
+    assertThrowsIllegalArg(() -> csvFile.row(1).getInt("c"));
+    CsvFile csvFileShort = CsvFile.of(CharSource.wrap(CSV6), true);
+    assertThrowsIllegalArg(() -> csvFileShort.row(0).getDouble("b"));
+    CsvFile csvFileLists = CsvFile.of(ImmutableList.of("a", "b"), ImmutableList.of(ImmutableList.of("1.5", "2")));
+    assertEquals(csvFileLists.row(0).getDouble("a"), 1.5d);
+    assertEquals(csvFileLists.row(0).getInt("b"), 2);
+  }
+
   //-------------------------------------------------------------------------
   public void test_of_empty_no_header_reader() {
     CsvFile csvFile = CsvFile.of(new StringReader(""), false, ',');
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.CharSource;
+
+/**
+ * Test {@link CsvTokenizer}.
+ */
+@Test
+public class CsvTokenizerTest {
+
+  //-------------------------------------------------------------------------
+  @DataProvider(name = "lines")
+  public static Object[][] data_lines() {
+    return new Object[][] {
+        {"a,b", ImmutableList.of("a", "b")},
+        {" a , b ", ImmutableList.of("a", "b")},
+        {"a,,b,", ImmutableList.of("a", "", "b", "")},
+        {"\"a,b\",c", ImmutableList.of("a,b", "c")},
+        {"\" a \",c", ImmutableList.of(" a ", "c")},
+        {"\"a\"\"b\",c", ImmutableList.of("a\"b", "c")},
+        {"\"\"\"\",c", ImmutableList.of("\"", "c")},
+        {"\"\",c", ImmutableList.of("", "c")},
+        {"=\"a,b\",c", ImmutableList.of("a,b", "c")},
+        {"=a,b", ImmutableList.of("=a", "b")},
+        {",\" \"", ImmutableList.of()},
+        {", ,", ImmutableList.of()},
+        {"", ImmutableList.of()},
+        {"#a,b", ImmutableList.of()},
+        {";a,b", ImmutableList.of()},
+    };
+  }
+
+  @Test(dataProvider = "lines")
+  public void test_parseLine(String line, ImmutableList<String> expected) {
+    assertEquals(CsvTokenizer.parseLine(line, 1, ','), expected);
+  }
+
+  public void test_parseLine_mismatchedQuotes() {
+    assertThrowsIllegalArg(() -> CsvTokenizer.parseLine("\"a,b", 1, ','), "Mismatched quotes in CSV on line 1");
+    assertThrowsIllegalArg(() -> CsvTokenizer.parseLine("a,\"", 1, ','));
+  }
+
+  public void test_tokenize() {
+    String line = "ab, \"c\"\"d\" ,\"e\"";
+    int[] bounds = CsvTokenizer.tokenize(line, 1, ',');
+    assertEquals(bounds.length, 6);
+    assertEquals(bounds[0], 0);
+    assertEquals(bounds[1], 2);
+    assertEquals(bounds[2], ~5);
+    assertEquals(bounds[3], 9);
+    assertEquals(bounds[4], 13);
+    assertEquals(bounds[5], 14);
+    assertEquals(CsvTokenizer.field(line, bounds[2], bounds[3]), "c\"d");
+    assertEquals(CsvTokenizer.field(line, bounds[4], bounds[5]), "e");
+  }
+
+  //-------------------------------------------------------------------------
+  @DataProvider(name = "doubles")
+  public static Object[][] data_doubles() {
+    return new Object[][] {
+        {"0"},
+        {"-0"},
+        {"+7"},
+        {"1.5"},
+        {"-123.456"},
+        {".5"},
+        {"5."},
+        {"0.1"},
+        {"00012.3400"},
+        {"123456789012345"},
+        {"1234567890123456789"},
+        {"0.0000000000000000000001234"},
+        {"3.141592653589793"},
+        {"1e5"},
+        {"-2.5E-3"},
+        {"NaN"},
+        {"Infinity"},
+    };
+  }
+
+  @Test(dataProvider = "doubles")
+  public void test_parseDouble(String text) {
+    assertEquals(CsvTokenizer.parseDouble(text, 0, text.length()), Double.parseDouble(text));
+    String line = "x, " + text + " ,y";
+    int[] bounds = CsvTokenizer.tokenize(line, 1, ',');
+    assertEquals(CsvTokenizer.parseDouble(line, bounds[2], bounds[3]), Double.parseDouble(text));
+  }
+
+  public void test_parseDouble_invalid() {
+    for (String text : new String[] {"", ".", "-", "-.", "1.2.3", "abc", "1,5"}) {
+      assertThrows(() -> CsvTokenizer.parseDouble(text, 0, text.length()), NumberFormatException.class);
+    }
+  }
+
+  public void test_parseInt() {
+    for (String text : new String[] {"0", "-0", "+5", "123456789", "1234567890", "2147483647", "-2147483648"}) {
+      assertEquals(CsvTokenizer.parseInt(text, 0, text.length()), Integer.parseInt(text));
+    }
+    for (String text : new String[] {"", "-", "1a", "2147483648", "1.0"}) {
+      assertThrows(() -> CsvTokenizer.parseInt(text, 0, text.length()), NumberFormatException.class);
+    }
+  }
+
+  public void coverage() {
+    coverPrivateConstructor(CsvTokenizer.class);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() {
+    int nbRows = 1000000;
+    StringBuilder buf = new StringBuilder("Symbology,Ticker,Field Name,Value,Date\n");
+    for (int i = 0; i < nbRows; i++) {
+      buf.append("OG-Ticker,TICKER").append(i % 1000).append(",MarketValue,").append(i * 0.0001d)
+          .append(",2017-06-").append(10 + i % 20).append('\n');
+    }
+    CharSource source = CharSource.wrap(buf.toString());
+    for (int looprep = 0; looprep < 5; looprep++) {
+      double total = 0;
+      long startTime = System.currentTimeMillis();
+      try (CsvIterator csv = CsvIterator.of(source, true)) {
+        while (csv.hasNext()) {
+          CsvRow row = csv.next();
+          total += row.fields().size();
+        }
+      }
+      long endTime = System.currentTimeMillis();
+      System.out.println(nbRows + " rows with all fields materialized: " + (endTime - startTime) + " ms");
+      startTime = System.currentTimeMillis();
+      try (CsvIterator csv = CsvIterator.of(source, true)) {
+        while (csv.hasNext()) {
+          CsvRow row = csv.next();
+          total += Double.parseDouble(row.getField("Value")) + row.getField("Ticker").length();
+        }
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println(nbRows + " rows with value parsed from string: " + (endTime - startTime) + " ms");
+      startTime = System.currentTimeMillis();
+      try (CsvIterator csv = CsvIterator.of(source, true)) {
+        while (csv.hasNext()) {
+          CsvRow row = csv.next();
+          total += row.getDouble("Value") + row.getField("Ticker").length();
+        }
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println(nbRows + " rows with value parsed directly: " + (endTime - startTime) + " ms");
+      System.out.println("Total: " + total);
+    }
+  }
+
+}
@@ -13,6 +13,7 @@ import static org.testng.Assert.assertFalse;
 import java.io.File;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -130,6 +131,44 @@ public class XmlFileTest {
     assertThrows(() -> XmlFile.of(source, "key"), UncheckedIOException.class);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_parseElements() {
+    ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
+    List<XmlElement> elements = new ArrayList<>();
+    List<Map<String, XmlElement>> refs = new ArrayList<>();
+    XmlFile.parseElements(source, "leaf2"::equals, "key", (el, elRefs) -> {
+      elements.add(el);
+      refs.add(elRefs);
+    });
+    assertEquals(elements, ImmutableList.of(LEAF2A, LEAF2B));
+    assertEquals(refs, ImmutableList.of(ImmutableMap.of(), ImmutableMap.of()));
+  }
+
+  public void test_parseElements_nested() {
+    ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
+    List<XmlElement> elements = new ArrayList<>();
+    List<Map<String, XmlElement>> refs = new ArrayList<>();
+    XmlFile.parseElements(source, name -> !name.equals("base"), "key", (el, elRefs) -> {
+      elements.add(el);
+      refs.add(elRefs);
+    });
+    XmlElement expected = XmlElement.ofChildren("test", ATTR_MAP, CHILD_LIST_MULTI);
+    assertEquals(elements, ImmutableList.of(expected));
+    assertEquals(refs, ImmutableList.of(ImmutableMap.of("value", expected)));
+  }
+
+  public void test_parseElements_mismatchedTags() {
+    ByteSource source = ByteSource.wrap(SAMPLE_MISMATCHED_TAGS.getBytes(StandardCharsets.UTF_8));
+    assertThrowsIllegalArg(() -> XmlFile.parseElements(source, "test"::equals, "key", (el, refs) -> {}));
+  }
+
+  public void test_parseElements_ioException() {
+    ByteSource source = Files.asByteSource(new File("/oh-dear-no-such-file"));
+    assertThrows(
+        () -> XmlFile.parseElements(source, "test"::equals, "key", (el, refs) -> {}),
+        UncheckedIOException.class);
+  }
+
   //-------------------------------------------------------------------------
   public void test_equalsHashCodeToString() {
     ByteSource source = ByteSource.wrap(SAMPLE.getBytes(StandardCharsets.UTF_8));
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.collect.timeseries;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.Assert.assertEquals;
 
 import java.time.LocalDate;
@@ -49,6 +50,26 @@ public class LocalDateDoubleTimeSeriesBuilderTest {
     assertEquals(test.get(date(2013, 1, 1)), OptionalDouble.of(5d));
   }
 
+  public void test_merge_unsorted() {
+    LocalDateDoubleTimeSeriesBuilder test = LocalDateDoubleTimeSeries.builder()
+        .put(date(2014, 1, 1), 14)
+        .put(date(2012, 1, 1), 12)
+        .put(date(2014, 1, 1), 24);
+    test.merge(date(2013, 1, 1), 13d, Double::sum);
+    test.merge(date(2014, 1, 1), 1d, Double::sum);
+    test.merge(date(2011, 1, 1), 11d, Double::sum);
+    test.merge(date(2015, 1, 1), 15d, Double::sum);
+
+    LocalDateDoubleTimeSeries expected = LocalDateDoubleTimeSeries.builder()
+        .put(date(2011, 1, 1), 11)
+        .put(date(2012, 1, 1), 12)
+        .put(date(2013, 1, 1), 13)
+        .put(date(2014, 1, 1), 25)
+        .put(date(2015, 1, 1), 15)
+        .build();
+    assertEquals(test.build(), expected);
+  }
+
   public void test_merge_point() {
     LocalDateDoubleTimeSeriesBuilder test = LocalDateDoubleTimeSeries.builder();
     test.put(date(2013, 1, 1), 2d);
@@ -84,6 +105,37 @@ public class LocalDateDoubleTimeSeriesBuilderTest {
     test.putAll(Arrays.asList(date(2014, 1, 1)), Doubles.asList(2d, 3d));
   }
 
+  public void test_putAll_epochDays() {
+    int[] epochDays = {(int) date(2013, 1, 1).toEpochDay(), (int) date(2014, 1, 1).toEpochDay()};
+    double[] values = new double[] {2d, 3d};
+    LocalDateDoubleTimeSeriesBuilder test = LocalDateDoubleTimeSeries.builder();
+    test.put(date(2012, 1, 1), 1d);
+    test.putAll(epochDays, values);
+
+    assertEquals(test.get(date(2012, 1, 1)), OptionalDouble.of(1d));
+    assertEquals(test.get(date(2013, 1, 1)), OptionalDouble.of(2d));
+    assertEquals(test.get(date(2014, 1, 1)), OptionalDouble.of(3d));
+    assertEquals(test.build(), LocalDateDoubleTimeSeries.builder()
+        .putAll(Arrays.asList(date(2012, 1, 1), date(2013, 1, 1), date(2014, 1, 1)), new double[] {1d, 2d, 3d})
+        .build());
+  }
+
+  public void test_putAll_epochDays_unsorted() {
+    int[] epochDays = {
+        (int) date(2014, 1, 1).toEpochDay(), (int) date(2013, 1, 1).toEpochDay(), (int) date(2014, 1, 1).toEpochDay()};
+    double[] values = new double[] {2d, 3d, 4d};
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.builder().putAll(epochDays, values).build();
+
+    assertEquals(test.size(), 2);
+    assertEquals(test.get(date(2013, 1, 1)), OptionalDouble.of(3d));
+    assertEquals(test.get(date(2014, 1, 1)), OptionalDouble.of(4d));
+  }
+
+  public void test_putAll_epochDays_mismatch() {
+    LocalDateDoubleTimeSeriesBuilder test = LocalDateDoubleTimeSeries.builder();
+    assertThrowsIllegalArg(() -> test.putAll(new int[] {1}, new double[] {2d, 3d}));
+  }
+
   //-------------------------------------------------------------------------
   public void test_putAll_stream() {
     Collection<LocalDate> dates = Arrays.asList(date(2013, 1, 1), date(2014, 1, 1));
@@ -141,6 +193,49 @@ public class LocalDateDoubleTimeSeriesBuilderTest {
     assertEquals(test.get(date(2014, 1, 1)), OptionalDouble.of(14d));
   }
 
+  public void test_duplicatesGetOverwritten_unsorted() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int i = 0; i < 100; i++) {
+      // descending dates, each added twice
+      builder.put(date(2014, 1, 1).minusDays(i % 50), i);
+    }
+    LocalDateDoubleTimeSeries test = builder.build();
+
+    assertEquals(test.size(), 50);
+    assertEquals(test.getEarliestDate(), date(2014, 1, 1).minusDays(49));
+    assertEquals(test.getLatestDate(), date(2014, 1, 1));
+    for (int i = 50; i < 100; i++) {
+      assertEquals(test.get(date(2014, 1, 1).minusDays(i % 50)), OptionalDouble.of(i));
+    }
+  }
+
+  public void test_putAll_builderSelf() {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder()
+        .put(date(2013, 1, 1), 13)
+        .put(date(2012, 1, 1), 12);
+    LocalDateDoubleTimeSeries test = builder.putAll(builder).build();
+
+    assertEquals(test.size(), 2);
+    assertEquals(test.get(date(2012, 1, 1)), OptionalDouble.of(12d));
+    assertEquals(test.get(date(2013, 1, 1)), OptionalDouble.of(13d));
+  }
+
+  public void test_putAll_builderOverwrites() {
+    LocalDateDoubleTimeSeriesBuilder other = LocalDateDoubleTimeSeries.builder()
+        .put(date(2013, 1, 1), 23)
+        .put(date(2011, 1, 1), 21);
+    LocalDateDoubleTimeSeries test = LocalDateDoubleTimeSeries.builder()
+        .put(date(2012, 1, 1), 12)
+        .put(date(2013, 1, 1), 13)
+        .putAll(other)
+        .build();
+
+    assertEquals(test.size(), 3);
+    assertEquals(test.get(date(2011, 1, 1)), OptionalDouble.of(21d));
+    assertEquals(test.get(date(2012, 1, 1)), OptionalDouble.of(12d));
+    assertEquals(test.get(date(2013, 1, 1)), OptionalDouble.of(23d));
+  }
+
   public void test_useBuilderToAlterSeries() {
     LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder()
         .put(date(2014, 1, 1), 14)
@@ -25,6 +25,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
+import org.joda.beans.ser.JodaBeanSer;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
@@ -627,6 +628,79 @@ public class SparseLocalDateDoubleTimeSeriesTest {
     assertThat(extreme.get(DATE_2014_01_01)).hasValue(14);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_views() {
+    LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
+    LocalDateDoubleTimeSeries sub = base.subSeries(DATE_2011_01_01, DATE_2014_01_01);
+    LocalDateDoubleTimeSeries head = sub.headSeries(2);
+    LocalDateDoubleTimeSeries tail = sub.tailSeries(2);
+    LocalDateDoubleTimeSeries expectedSub = LocalDateDoubleTimeSeries.builder()
+        .putAll(dates(DATE_2011_01_01, DATE_2012_01_01, DATE_2013_01_01), values(11, 12, 13))
+        .build();
+    assertEquals(sub, expectedSub);
+    assertEquals(sub.hashCode(), expectedSub.hashCode());
+    assertEquals(sub.toString(), expectedSub.toString());
+    assertEquals(sub.getEarliestDate(), DATE_2011_01_01);
+    assertEquals(sub.getEarliestValue(), 11d);
+    assertEquals(sub.getLatestDate(), DATE_2013_01_01);
+    assertEquals(sub.getLatestValue(), 13d);
+    assertEquals(sub.get(DATE_2010_01_01), OptionalDouble.empty());
+    assertEquals(sub.get(DATE_2014_01_01), OptionalDouble.empty());
+    assertEquals(sub.dates().collect(toList()), dates(DATE_2011_01_01, DATE_2012_01_01, DATE_2013_01_01));
+    assertEquals(sub.values().boxed().collect(toList()), values(11, 12, 13));
+    assertEquals(head, LocalDateDoubleTimeSeries.builder()
+        .putAll(dates(DATE_2011_01_01, DATE_2012_01_01), values(11, 12)).build());
+    assertEquals(tail, LocalDateDoubleTimeSeries.builder()
+        .putAll(dates(DATE_2012_01_01, DATE_2013_01_01), values(12, 13)).build());
+    assertEquals(tail.mapValues(v -> v * 2), LocalDateDoubleTimeSeries.builder()
+        .putAll(dates(DATE_2012_01_01, DATE_2013_01_01), values(24, 26)).build());
+    assertEquals(tail.filter((d, v) -> v > 12), SparseLocalDateDoubleTimeSeries.of(dates(DATE_2013_01_01), values(13)));
+    assertEquals(tail.toBuilder().build(), tail);
+    assertEquals(
+        sub.subSeries(DATE_2012_01_01, DATE_2012_06_01),
+        SparseLocalDateDoubleTimeSeries.of(dates(DATE_2012_01_01), values(12)));
+    TestHelper.assertSerialization(sub);
+  }
+
+  public void test_subSeries_beanProperties() {
+    LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
+    LocalDateDoubleTimeSeries sub = base.subSeries(DATE_2011_01_01, DATE_2013_06_01);
+    assertEquals((LocalDate[]) ((Bean) sub).property("dates").get(),
+        new LocalDate[] {DATE_2011_01_01, DATE_2012_01_01, DATE_2013_01_01});
+    assertEquals((double[]) ((Bean) sub).property("values").get(), new double[] {11, 12, 13});
+  }
+
+  public void test_subSeries_extremeDates() {
+    LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
+    assertEquals(base.subSeries(LocalDate.MIN, LocalDate.MAX), base);
+    assertEquals(base.get(LocalDate.MAX), OptionalDouble.empty());
+    assertEquals(base.containsDate(LocalDate.MIN), false);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_get_epochDay() {
+    LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
+    LocalDateDoubleTimeSeries sub = base.subSeries(DATE_2011_01_01, DATE_2013_06_01);
+    assertEquals(base.get(DATE_2010_01_01.toEpochDay()), OptionalDouble.of(10d));
+    assertEquals(base.get(DATE_2014_01_01.toEpochDay()), OptionalDouble.of(14d));
+    assertEquals(base.get(DATE_2010_01_01.toEpochDay() + 1), OptionalDouble.empty());
+    assertEquals(sub.get(DATE_2012_01_01.toEpochDay()), OptionalDouble.of(12d));
+    assertEquals(sub.get(DATE_2010_01_01.toEpochDay()), OptionalDouble.empty());
+    assertEquals(sub.get(DATE_2014_01_01.toEpochDay()), OptionalDouble.empty());
+    assertEquals(sub.get(Long.MIN_VALUE), OptionalDouble.empty());
+    assertEquals(sub.get(Long.MAX_VALUE), OptionalDouble.empty());
+  }
+
+  public void test_jodaSerialization() {
+    LocalDateDoubleTimeSeries base = LocalDateDoubleTimeSeries.builder().putAll(DATES_2010_14, VALUES_10_14).build();
+    LocalDateDoubleTimeSeries sub = base.subSeries(DATE_2011_01_01, DATE_2013_06_01);
+    String json = JodaBeanSer.COMPACT.jsonWriter().write((Bean) sub);
+    assertThat(json).contains("\"dates\"", "\"2011-01-01\"", "\"2013-01-01\"").doesNotContain("2010-01-01");
+    assertEquals(JodaBeanSer.COMPACT.jsonReader().read(json), sub);
+    String xml = JodaBeanSer.COMPACT.xmlWriter().write((Bean) base);
+    assertEquals(JodaBeanSer.COMPACT.xmlReader().read(xml), base);
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     List<LocalDate> dates = ImmutableList.of(DATE_2011_01_01, DATE_2011_06_01);
@@ -639,6 +713,41 @@ public class SparseLocalDateDoubleTimeSeriesTest {
     coverBeanEquals(test, test2);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() {
+    int nbTest = 100000;
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    LocalDate date = DATE_2010_01_01;
+    for (int i = 0; i < 5000; i++) {
+      builder.put(date, i);
+      date = date.plusDays(3);
+    }
+    LocalDateDoubleTimeSeries series = builder.build();
+    LocalDate start = DATE_2010_01_01;
+    for (int looprep = 0; looprep < 5; looprep++) {
+      double total = 0;
+      long startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        LocalDate lookup = start.plusDays(looptest % 15000);
+        total += series.get(lookup).orElse(0d);
+      }
+      long endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " lookups: " + (endTime - startTime) + " ms");
+      startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        LocalDate from = start.plusDays(looptest % 7500);
+        total += series.subSeries(from, from.plusDays(7500)).size();
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " sub-series: " + (endTime - startTime) + " ms");
+      System.out.println("Total: " + total);
+    }
+  }
+
   //-------------------------------------------------------------------------
   private static LocalDate date(int year, int month, int day) {
     return LocalDate.of(year, month, day);
@@ -6,8 +6,13 @@
 package com.opengamma.strata.data.scenario;
 
 import java.io.Serializable;
+import java.util.Optional;
 
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.FxRateId;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
 import com.opengamma.strata.data.ObservableSource;
 
@@ -41,6 +46,22 @@ class DefaultScenarioFxRateProvider
     return marketData.getScenarioCount();
   }
 
+  @Override
+  public DoubleArray fxRates(Currency baseCurrency, Currency counterCurrency) {
+    if (baseCurrency.equals(counterCurrency)) {
+      return DoubleArray.filled(getScenarioCount(), 1d);
+    }
+    // the direct pair takes priority, see MarketDataFxRateProvider
+    // if available, read the rates from the box rather than resolving each scenario
+    Optional<MarketDataBox<FxRate>> box = marketData.findValue(FxRateId.of(baseCurrency, counterCurrency, source));
+    if (box.isPresent()) {
+      MarketDataBox<FxRate> rates = box.get();
+      return DoubleArray.of(getScenarioCount(), i -> rates.getValue(i).fxRate(baseCurrency, counterCurrency));
+    }
+    // otherwise triangulation is required, which is resolved separately for each scenario
+    return DoubleArray.of(getScenarioCount(), i -> fxRateProvider(i).fxRate(baseCurrency, counterCurrency));
+  }
+
   @Override
   public FxRateProvider fxRateProvider(int scenarioIndex) {
     return MarketDataFxRateProvider.of(marketData.scenario(scenarioIndex), source);
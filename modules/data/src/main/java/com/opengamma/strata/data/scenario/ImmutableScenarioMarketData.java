@@ -14,6 +14,7 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
@@ -74,6 +75,11 @@ public final class ImmutableScenarioMarketData
    */
   @PropertyDefinition(validate = "notNull", builderType = "Map<? extends ObservableId, LocalDateDoubleTimeSeries>")
   private final ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> timeSeries;
+  /**
+   * The cache of views.
+   * This is not a property, and the views are not serialized.
+   */
+  private final ScenarioMarketDataViews views = ScenarioMarketDataViews.create();  // not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -269,6 +275,11 @@ public final class ImmutableScenarioMarketData
     }
   }
 
+  @Override
+  public <T> T view(Class<T> type, Object lookup, Function<? super ScenarioMarketData, ? extends T> viewFactory) {
+    return views.view(this, type, lookup, viewFactory);
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   /**
    * The meta-bean for {@code ImmutableScenarioMarketData}.
@@ -194,11 +194,10 @@ public final class MultiCurrencyScenarioArray
     double[] singleCurrencyValues = new double[size];
     for (Map.Entry<Currency, DoubleArray> entry : amounts.getValues().entrySet()) {
       Currency currency = entry.getKey();
-      DoubleArray currencyValues = entry.getValue();
-
+      double[] currencyValues = entry.getValue().toArrayUnsafe();
+      double[] fxRates = fxRateProvider.fxRates(currency, reportingCurrency).toArrayUnsafe();
       for (int i = 0; i < size; i++) {
-        double convertedValue = currencyValues.get(i) * fxRateProvider.fxRate(currency, reportingCurrency, i);
-        singleCurrencyValues[i] += convertedValue;
+        singleCurrencyValues[i] += currencyValues[i] * fxRates[i];
       }
     }
     return CurrencyScenarioArray.of(reportingCurrency, DoubleArray.ofUnsafe(singleCurrencyValues));
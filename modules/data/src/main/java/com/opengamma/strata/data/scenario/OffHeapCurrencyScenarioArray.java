@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * A currency-convertible scenario array for a single currency, stored off-heap.
+ * <p>
+ * This is the off-heap equivalent of {@link CurrencyScenarioArray}.
+ * Instances are created by, and have the lifetime of, an {@link OffHeapScenarioStore}.
+ * Once the store is closed, attempting to access the values throws {@link IllegalStateException}.
+ * <p>
+ * Currency conversion creates the converted array in the same store.
+ * <p>
+ * This class is immutable and thread-safe while the store is open.
+ * It is not serializable, use {@link #toCurrencyScenarioArray()} to obtain a heap-based copy.
+ * Equality is based on identity, as the values may not be available.
+ */
+public final class OffHeapCurrencyScenarioArray
+    implements ScenarioArray<CurrencyAmount>, ScenarioFxConvertible<OffHeapCurrencyScenarioArray> {
+
+  /**
+   * The currency.
+   */
+  private final Currency currency;
+  /**
+   * The values.
+   */
+  private final OffHeapDoubles values;
+
+  // creates an instance
+  OffHeapCurrencyScenarioArray(Currency currency, OffHeapDoubles values) {
+    this.currency = currency;
+    this.values = values;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the currency.
+   *
+   * @return the currency
+   */
+  public Currency getCurrency() {
+    return currency;
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return values.size();
+  }
+
+  @Override
+  public CurrencyAmount get(int scenarioIndex) {
+    return CurrencyAmount.of(currency, values.get(scenarioIndex));
+  }
+
+  /**
+   * Gets the amount of a single scenario, without creating a {@code CurrencyAmount}.
+   *
+   * @param scenarioIndex  the index of the scenario
+   * @return the amount
+   * @throws IndexOutOfBoundsException if the index is invalid
+   * @throws IllegalStateException if the store is closed
+   */
+  public double getValue(int scenarioIndex) {
+    return values.get(scenarioIndex);
+  }
+
+  /**
+   * Gets the amounts, copied onto the heap.
+   *
+   * @return the amounts
+   * @throws IllegalStateException if the store is closed
+   */
+  public DoubleArray getValues() {
+    return values.toDoubleArray();
+  }
+
+  @Override
+  public Stream<CurrencyAmount> stream() {
+    return IntStream.range(0, values.size()).mapToObj(this::get);
+  }
+
+  @Override
+  public OffHeapCurrencyScenarioArray convertedTo(Currency reportingCurrency, ScenarioFxRateProvider fxRateProvider) {
+    if (currency.equals(reportingCurrency)) {
+      return this;
+    }
+    int size = values.size();
+    if (fxRateProvider.getScenarioCount() != size) {
+      throw new IllegalArgumentException(Messages.format(
+          "Expected {} FX rates but received {}", size, fxRateProvider.getScenarioCount()));
+    }
+    double[] converted = values.toArray();
+    double[] fxRates = fxRateProvider.fxRates(currency, reportingCurrency).toArrayUnsafe();
+    for (int i = 0; i < size; i++) {
+      converted[i] *= fxRates[i];
+    }
+    return new OffHeapCurrencyScenarioArray(reportingCurrency, values.getStore().allocate(converted));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a heap-based copy of this array.
+   *
+   * @return the heap-based array
+   * @throws IllegalStateException if the store is closed
+   */
+  public CurrencyScenarioArray toCurrencyScenarioArray() {
+    return CurrencyScenarioArray.of(currency, getValues());
+  }
+
+  @Override
+  public String toString() {
+    return "OffHeapCurrencyScenarioArray[currency=" + currency + ", scenarioCount=" + values.size() + "]";
+  }
+
+}
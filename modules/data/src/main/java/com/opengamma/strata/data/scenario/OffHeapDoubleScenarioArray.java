@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * A scenario array holding one {@code double} value for each scenario, stored off-heap.
+ * <p>
+ * This is the off-heap equivalent of {@link DoubleScenarioArray}.
+ * Instances are created by, and have the lifetime of, an {@link OffHeapScenarioStore}.
+ * Once the store is closed, attempting to access the values throws {@link IllegalStateException}.
+ * <p>
+ * This class is immutable and thread-safe while the store is open.
+ * It is not serializable, use {@link #toDoubleScenarioArray()} to obtain a heap-based copy.
+ * Equality is based on identity, as the values may not be available.
+ */
+public final class OffHeapDoubleScenarioArray implements ScenarioArray<Double> {
+
+  /**
+   * The values.
+   */
+  private final OffHeapDoubles values;
+
+  // creates an instance
+  OffHeapDoubleScenarioArray(OffHeapDoubles values) {
+    this.values = values;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getScenarioCount() {
+    return values.size();
+  }
+
+  @Override
+  public Double get(int scenarioIndex) {
+    return values.get(scenarioIndex);
+  }
+
+  /**
+   * Gets the value of a single scenario, without boxing.
+   *
+   * @param scenarioIndex  the index of the scenario
+   * @return the value
+   * @throws IndexOutOfBoundsException if the index is invalid
+   * @throws IllegalStateException if the store is closed
+   */
+  public double getValue(int scenarioIndex) {
+    return values.get(scenarioIndex);
+  }
+
+  /**
+   * Gets the values, copied onto the heap.
+   *
+   * @return the values
+   * @throws IllegalStateException if the store is closed
+   */
+  public DoubleArray getValues() {
+    return values.toDoubleArray();
+  }
+
+  @Override
+  public Stream<Double> stream() {
+    return IntStream.range(0, values.size()).mapToObj(values::get);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a heap-based copy of this array.
+   *
+   * @return the heap-based array
+   * @throws IllegalStateException if the store is closed
+   */
+  public DoubleScenarioArray toDoubleScenarioArray() {
+    return DoubleScenarioArray.of(getValues());
+  }
+
+  @Override
+  public String toString() {
+    return "OffHeapDoubleScenarioArray[scenarioCount=" + values.size() + "]";
+  }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.nio.DoubleBuffer;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * A region of doubles held in an off-heap store.
+ * <p>
+ * The region refers to the store and chunk, rather than to the buffer itself,
+ * allowing the memory to be released when the store is closed.
+ */
+final class OffHeapDoubles {
+
+  /**
+   * The store.
+   */
+  private final OffHeapScenarioStore store;
+  /**
+   * The index of the chunk.
+   */
+  private final int chunk;
+  /**
+   * The offset within the chunk.
+   */
+  private final int offset;
+  /**
+   * The number of values.
+   */
+  private final int size;
+
+  // creates an instance
+  OffHeapDoubles(OffHeapScenarioStore store, int chunk, int offset, int size) {
+    this.store = store;
+    this.chunk = chunk;
+    this.offset = offset;
+    this.size = size;
+  }
+
+  //-------------------------------------------------------------------------
+  // gets the store
+  OffHeapScenarioStore getStore() {
+    return store;
+  }
+
+  // gets the chunk index
+  int getChunk() {
+    return chunk;
+  }
+
+  // gets the offset within the chunk
+  int getOffset() {
+    return offset;
+  }
+
+  // gets the number of values
+  int size() {
+    return size;
+  }
+
+  // gets a single value
+  double get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index invalid: " + index);
+    }
+    return store.chunk(chunk).get(offset + index);
+  }
+
+  // copies the values onto the heap
+  double[] toArray() {
+    double[] values = new double[size];
+    if (size > 0) {
+      DoubleBuffer buffer = store.chunk(chunk).duplicate();
+      buffer.position(offset);
+      buffer.get(values);
+    }
+    return values;
+  }
+
+  // copies the values onto the heap
+  DoubleArray toDoubleArray() {
+    return DoubleArray.ofUnsafe(toArray());
+  }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.google.common.collect.ImmutableSortedMap;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * A currency-convertible scenario array for multiple currencies, stored off-heap.
+ * <p>
+ * This is the off-heap equivalent of {@link MultiCurrencyScenarioArray}.
+ * Instances are created by, and have the lifetime of, an {@link OffHeapScenarioStore}.
+ * Once the store is closed, attempting to access the values throws {@link IllegalStateException}.
+ * <p>
+ * Currency conversion creates the converted array in the same store.
+ * <p>
+ * This class is immutable and thread-safe while the store is open.
+ * It is not serializable, use {@link #toMultiCurrencyScenarioArray()} to obtain a heap-based copy.
+ * Equality is based on identity, as the values may not be available.
+ */
+public final class OffHeapMultiCurrencyScenarioArray
+    implements ScenarioArray<MultiCurrencyAmount>, ScenarioFxConvertible<OffHeapCurrencyScenarioArray> {
+
+  /**
+   * The store, used to allocate converted values.
+   * This is held separately from the values as there may be no currencies.
+   */
+  private final OffHeapScenarioStore store;
+  /**
+   * The number of scenarios.
+   */
+  private final int scenarioCount;
+  /**
+   * The values, keyed by currency.
+   */
+  private final ImmutableSortedMap<Currency, OffHeapDoubles> values;
+
+  // creates an instance
+  OffHeapMultiCurrencyScenarioArray(
+      OffHeapScenarioStore store,
+      int scenarioCount,
+      Map<Currency, OffHeapDoubles> values) {
+
+    this.store = store;
+    this.scenarioCount = scenarioCount;
+    this.values = ImmutableSortedMap.copyOf(values);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the currencies for which this array contains values.
+   *
+   * @return the currencies
+   */
+  public Set<Currency> getCurrencies() {
+    return values.keySet();
+  }
+
+  /**
+   * Gets the values for the specified currency, copied onto the heap.
+   *
+   * @param currency  the currency for which values are required
+   * @return the values for the specified currency
+   * @throws IllegalArgumentException if there are no values for the currency
+   * @throws IllegalStateException if the store is closed
+   */
+  public DoubleArray getValues(Currency currency) {
+    OffHeapDoubles currencyValues = values.get(currency);
+    if (currencyValues == null) {
+      throw new IllegalArgumentException("No values available for " + currency);
+    }
+    return currencyValues.toDoubleArray();
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return scenarioCount;
+  }
+
+  /**
+   * Returns a {@link MultiCurrencyAmount} at the specified index.
+   * <p>
+   * This method is not very efficient for large sizes as a new object must be created at each index.
+   * Consider using {@link #getValues(Currency)} instead.
+   *
+   * @param scenarioIndex  the index of the scenario
+   * @return a multi currency amount containing the currency values at the specified index
+   * @throws IndexOutOfBoundsException if the index is invalid
+   * @throws IllegalStateException if the store is closed
+   */
+  @Override
+  public MultiCurrencyAmount get(int scenarioIndex) {
+    if (scenarioIndex < 0 || scenarioIndex >= scenarioCount) {
+      throw new IndexOutOfBoundsException("Index invalid: " + scenarioIndex);
+    }
+    CurrencyAmount[] amounts = new CurrencyAmount[values.size()];
+    int i = 0;
+    for (Entry<Currency, OffHeapDoubles> entry : values.entrySet()) {
+      amounts[i++] = CurrencyAmount.of(entry.getKey(), entry.getValue().get(scenarioIndex));
+    }
+    return MultiCurrencyAmount.of(amounts);
+  }
+
+  @Override
+  public Stream<MultiCurrencyAmount> stream() {
+    return IntStream.range(0, scenarioCount).mapToObj(this::get);
+  }
+
+  @Override
+  public OffHeapCurrencyScenarioArray convertedTo(Currency reportingCurrency, ScenarioFxRateProvider fxRateProvider) {
+    if (fxRateProvider.getScenarioCount() != scenarioCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Expected {} FX rates but received {}", scenarioCount, fxRateProvider.getScenarioCount()));
+    }
+    double[] converted = new double[scenarioCount];
+    for (Entry<Currency, OffHeapDoubles> entry : values.entrySet()) {
+      double[] currencyValues = entry.getValue().toArray();
+      double[] fxRates = fxRateProvider.fxRates(entry.getKey(), reportingCurrency).toArrayUnsafe();
+      for (int i = 0; i < scenarioCount; i++) {
+        converted[i] += currencyValues[i] * fxRates[i];
+      }
+    }
+    return new OffHeapCurrencyScenarioArray(reportingCurrency, store.allocate(converted));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a heap-based copy of this array.
+   *
+   * @return the heap-based array
+   * @throws IllegalStateException if the store is closed
+   */
+  public MultiCurrencyScenarioArray toMultiCurrencyScenarioArray() {
+    if (values.isEmpty()) {
+      return MultiCurrencyScenarioArray.of(scenarioCount, i -> MultiCurrencyAmount.empty());
+    }
+    Map<Currency, DoubleArray> heapValues = new TreeMap<>();
+    for (Entry<Currency, OffHeapDoubles> entry : values.entrySet()) {
+      heapValues.put(entry.getKey(), entry.getValue().toDoubleArray());
+    }
+    return MultiCurrencyScenarioArray.of(heapValues);
+  }
+
+  @Override
+  public String toString() {
+    return "OffHeapMultiCurrencyScenarioArray[currencies=" + values.keySet() +
+        ", scenarioCount=" + scenarioCount + "]";
+  }
+
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * A store of scenario arrays held outside the Java heap.
+ * <p>
+ * Scenario arrays with a large number of scenarios, across a large portfolio, can occupy a large part
+ * of the heap, with the result that garbage collection dominates. This store holds the values of
+ * the arrays it creates in direct memory, leaving only small objects on the heap.
+ * <p>
+ * Memory is allocated in chunks, with each array occupying a contiguous region of a chunk.
+ * Arrays larger than the chunk size are given a chunk of their own.
+ * <p>
+ * The store has an explicit lifecycle. Once the arrays are no longer needed, such as when the
+ * results of a set of calculations have been reported or aggregated, the store must be closed.
+ * Closing the store discards all references to its memory, allowing the memory to be released
+ * by the garbage collector irrespective of whether the arrays are still referenced.
+ * Any attempt to access the values of an array after the store is closed results in an exception.
+ * The arrays should be converted to the standard heap-based arrays if they are needed beyond
+ * the lifetime of the store.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class OffHeapScenarioStore implements AutoCloseable {
+
+  /**
+   * The default chunk size, in doubles, equal to 8MB.
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+  /**
+   * The maximum chunk size, in doubles, limited by the maximum size of a buffer.
+   */
+  private static final int MAX_CHUNK_SIZE = Integer.MAX_VALUE / Double.BYTES;
+
+  /**
+   * The size of each chunk, in doubles.
+   */
+  private final int chunkSize;
+  /**
+   * The chunks, null once the store is closed.
+   * The array is replaced, rather than altered, when a chunk is added.
+   */
+  private volatile DoubleBuffer[] chunks = new DoubleBuffer[0];
+  /**
+   * The index of the chunk being filled, -1 if none.
+   */
+  private int currentChunk = -1;
+  /**
+   * The number of doubles used in the chunk being filled.
+   */
+  private int currentUsed;
+  /**
+   * The number of bytes allocated.
+   */
+  private long allocatedBytes;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty store using the default chunk size.
+   *
+   * @return the store
+   */
+  public static OffHeapScenarioStore create() {
+    return new OffHeapScenarioStore(DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Creates an empty store using the specified chunk size.
+   * <p>
+   * The chunk size is the number of doubles in each block of direct memory.
+   *
+   * @param chunkSize  the number of doubles in each chunk
+   * @return the store
+   */
+  public static OffHeapScenarioStore of(int chunkSize) {
+    return new OffHeapScenarioStore(chunkSize);
+  }
+
+  // restricted constructor
+  private OffHeapScenarioStore(int chunkSize) {
+    this.chunkSize = ArgChecker.inRangeInclusive(chunkSize, 1, MAX_CHUNK_SIZE, "chunkSize");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an array of doubles held in this store.
+   *
+   * @param values  the values, one for each scenario
+   * @return the off-heap array
+   * @throws IllegalArgumentException if there are too many values to hold in a single buffer
+   * @throws IllegalStateException if the store is closed
+   */
+  public OffHeapDoubleScenarioArray doubleArray(DoubleArray values) {
+    return new OffHeapDoubleScenarioArray(allocate(values));
+  }
+
+  /**
+   * Creates an array of currency amounts held in this store.
+   *
+   * @param currency  the currency of the values
+   * @param values  the values, one for each scenario
+   * @return the off-heap array
+   * @throws IllegalArgumentException if there are too many values to hold in a single buffer
+   * @throws IllegalStateException if the store is closed
+   */
+  public OffHeapCurrencyScenarioArray currencyArray(Currency currency, DoubleArray values) {
+    return new OffHeapCurrencyScenarioArray(currency, allocate(values));
+  }
+
+  /**
+   * Creates an array of multiple currency amounts held in this store.
+   * <p>
+   * The values of each currency must have the same size.
+   *
+   * @param scenarioCount  the number of scenarios
+   * @param values  the values of each currency, one for each scenario
+   * @return the off-heap array
+   * @throws IllegalArgumentException if the values do not match the scenario count,
+   *  or there are too many values to hold in a single buffer
+   * @throws IllegalStateException if the store is closed
+   */
+  public OffHeapMultiCurrencyScenarioArray multiCurrencyArray(int scenarioCount, Map<Currency, DoubleArray> values) {
+    ArgChecker.notNegative(scenarioCount, "scenarioCount");
+    Map<Currency, OffHeapDoubles> allocated = new TreeMap<>();
+    for (Entry<Currency, DoubleArray> entry : values.entrySet()) {
+      ArgChecker.isTrue(
+          entry.getValue().size() == scenarioCount,
+          "Expected {} values for {} but found {}",
+          scenarioCount,
+          entry.getKey(),
+          entry.getValue().size());
+      allocated.put(entry.getKey(), allocate(entry.getValue()));
+    }
+    return new OffHeapMultiCurrencyScenarioArray(this, scenarioCount, allocated);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Copies an array of doubles into this store.
+   *
+   * @param array  the heap-based array
+   * @return the off-heap array
+   * @throws IllegalStateException if the store is closed
+   */
+  public OffHeapDoubleScenarioArray copyOf(DoubleScenarioArray array) {
+    return doubleArray(array.getValues());
+  }
+
+  /**
+   * Copies an array of currency amounts into this store.
+   *
+   * @param array  the heap-based array
+   * @return the off-heap array
+   * @throws IllegalStateException if the store is closed
+   */
+  public OffHeapCurrencyScenarioArray copyOf(CurrencyScenarioArray array) {
+    return currencyArray(array.getCurrency(), array.getAmounts().getValues());
+  }
+
+  /**
+   * Copies an array of multiple currency amounts into this store.
+   *
+   * @param array  the heap-based array
+   * @return the off-heap array
+   * @throws IllegalStateException if the store is closed
+   */
+  public OffHeapMultiCurrencyScenarioArray copyOf(MultiCurrencyScenarioArray array) {
+    return multiCurrencyArray(array.getScenarioCount(), array.getAmounts().getValues());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of bytes of direct memory allocated by this store.
+   * <p>
+   * This is zero once the store is closed.
+   *
+   * @return the number of bytes allocated
+   */
+  public synchronized long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  /**
+   * Checks if the store is closed.
+   *
+   * @return true if closed
+   */
+  public boolean isClosed() {
+    return chunks == null;
+  }
+
+  /**
+   * Closes the store, releasing its memory.
+   * <p>
+   * Once closed, the values of the arrays created by this store cannot be accessed.
+   * The memory is released by the garbage collector, even if the arrays are still referenced.
+   * Closing a closed store has no effect.
+   */
+  @Override
+  public synchronized void close() {
+    chunks = null;
+    currentChunk = -1;
+    currentUsed = 0;
+    allocatedBytes = 0;
+  }
+
+  @Override
+  public String toString() {
+    return "OffHeapScenarioStore[allocatedBytes=" + getAllocatedBytes() + (isClosed() ? ", closed" : "") + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  // allocates a region and copies the values into it
+  OffHeapDoubles allocate(DoubleArray values) {
+    return allocate(values.toArrayUnsafe());
+  }
+
+  // allocates a region and copies the values into it
+  OffHeapDoubles allocate(double[] values) {
+    OffHeapDoubles region = reserve(values.length);
+    if (values.length > 0) {
+      // absolute positioning is not available for bulk puts, thus a duplicate is used
+      DoubleBuffer buffer = chunk(region.getChunk()).duplicate();
+      buffer.position(region.getOffset());
+      buffer.put(values);
+    }
+    return region;
+  }
+
+  // reserves a region of the specified size
+  private synchronized OffHeapDoubles reserve(int size) {
+    DoubleBuffer[] current = checkOpen();
+    if (size > MAX_CHUNK_SIZE) {
+      throw new IllegalArgumentException(Messages.format(
+          "Cannot store {} values off-heap, the maximum size of a single buffer is {} values", size, MAX_CHUNK_SIZE));
+    }
+    if (size > chunkSize) {
+      int chunk = addChunk(current, size);
+      return new OffHeapDoubles(this, chunk, 0, size);
+    }
+    if (currentChunk < 0 || currentUsed + size > chunkSize) {
+      currentChunk = addChunk(current, chunkSize);
+      currentUsed = 0;
+    }
+    OffHeapDoubles region = new OffHeapDoubles(this, currentChunk, currentUsed, size);
+    currentUsed += size;
+    return region;
+  }
+
+  // adds a chunk, returning its index
+  private int addChunk(DoubleBuffer[] current, int size) {
+    DoubleBuffer buffer = ByteBuffer.allocateDirect(Math.multiplyExact(size, Double.BYTES))
+        .order(ByteOrder.nativeOrder())
+        .asDoubleBuffer();
+    DoubleBuffer[] grown = Arrays.copyOf(current, current.length + 1);
+    grown[current.length] = buffer;
+    chunks = grown;
+    allocatedBytes += (long) size * Double.BYTES;
+    return current.length;
+  }
+
+  // obtains the chunk, throwing an exception if closed
+  DoubleBuffer chunk(int index) {
+    return checkOpen()[index];
+  }
+
+  // checks the store is open, returning the chunks
+  private DoubleBuffer[] checkOpen() {
+    DoubleBuffer[] current = chunks;
+    if (current == null) {
+      throw new IllegalStateException("Off-heap scenario store has been closed");
+    }
+    return current;
+  }
+
+}
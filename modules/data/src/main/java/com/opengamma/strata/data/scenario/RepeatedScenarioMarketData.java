@@ -11,6 +11,7 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -55,6 +56,11 @@ final class RepeatedScenarioMarketData
    */
   @PropertyDefinition(validate = "notNull")
   private final MarketData underlying;
+  /**
+   * The cache of views.
+   * This is not a property, and the views are not serialized.
+   */
+  private final ScenarioMarketDataViews views = ScenarioMarketDataViews.create();  // not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -127,6 +133,11 @@ final class RepeatedScenarioMarketData
     return underlying.getTimeSeries(id);
   }
 
+  @Override
+  public <T> T view(Class<T> type, Object lookup, Function<? super ScenarioMarketData, ? extends T> viewFactory) {
+    return views.view(this, type, lookup, viewFactory);
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   /**
    * The meta-bean for {@code RepeatedScenarioMarketData}.
@@ -9,6 +9,7 @@ import java.time.LocalDate;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -154,6 +155,34 @@ public interface ScenarioMarketData {
     return SingleScenarioMarketData.of(this, scenarioIndex);
   }
 
+  /**
+   * Returns a view of this market data, creating it if necessary.
+   * <p>
+   * Calculation functions typically obtain a filtered view of the market data using a lookup,
+   * such as the rates view, once for each calculation target. The view in turn creates and caches
+   * the market data of each scenario. This method allows an implementation to cache the view,
+   * such that the view and its scenarios are created once and shared by all the calculations
+   * using this market data.
+   * <p>
+   * The view is keyed by the type and the lookup. The factory must create the view from the
+   * market data passed to it, and must be consistent for equal lookups.
+   * <p>
+   * The default implementation creates a new view on each call.
+   *
+   * @param <T>  the type of the view
+   * @param type  the type of the view
+   * @param lookup  the lookup used to create the view
+   * @param viewFactory  the factory used to create the view from this market data
+   * @return the view
+   */
+  public default <T> T view(
+      Class<T> type,
+      Object lookup,
+      Function<? super ScenarioMarketData, ? extends T> viewFactory) {
+
+    return viewFactory.apply(this);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Checks if this market data contains a value for the specified identifier.
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.io.Serializable;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.tuple.Pair;
+
+/**
+ * A cache of the views of a single set of scenario market data.
+ * <p>
+ * This is used by implementations of {@link ScenarioMarketData} to implement
+ * {@link ScenarioMarketData#view(Class, Object, Function)}.
+ * Each view is created on first request, and is then shared by all callers.
+ * Views are keyed by the type of the view and the lookup, thus two equal lookups share the same view.
+ * <p>
+ * The cache is bounded, retaining the most recently used views, and each view is softly referenced.
+ * As such, the cache does not prevent views from being garbage collected when memory is low,
+ * even though the market data that owns it is still in use. A view that has been removed is
+ * created again when next requested.
+ * <p>
+ * The cache is intended to be held in a field of the market data that owns it, and must only be used
+ * with that market data. The views are not serialized, with a deserialized cache being empty.
+ * <p>
+ * This class is thread-safe, however a view may be created more than once if requested concurrently.
+ * Only one of the views created is retained and returned.
+ */
+public final class ScenarioMarketDataViews implements Serializable {
+
+  /**
+   * The default maximum number of views.
+   */
+  public static final int DEFAULT_MAX_SIZE = 16;
+  /**
+   * Serialization version.
+   */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The maximum number of views.
+   */
+  private final int maxSize;
+  /**
+   * The views, keyed by type and lookup, in least recently used order, guarded by itself.
+   */
+  private final transient Map<Pair<Class<?>, Object>, SoftReference<Object>> views;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty cache with the default maximum size.
+   *
+   * @return the empty cache
+   */
+  public static ScenarioMarketDataViews create() {
+    return new ScenarioMarketDataViews(DEFAULT_MAX_SIZE);
+  }
+
+  /**
+   * Creates an empty cache with the specified maximum size.
+   * <p>
+   * When the cache is full, the least recently used view is removed.
+   *
+   * @param maxSize  the maximum number of views
+   * @return the empty cache
+   */
+  public static ScenarioMarketDataViews create(int maxSize) {
+    ArgChecker.notNegativeOrZero(maxSize, "maxSize");
+    return new ScenarioMarketDataViews(maxSize);
+  }
+
+  // restricted constructor
+  private ScenarioMarketDataViews(int maxSize) {
+    this.maxSize = maxSize;
+    this.views = new LinkedHashMap<Pair<Class<?>, Object>, SoftReference<Object>>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Pair<Class<?>, Object>, SoftReference<Object>> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  // the views are not serialized, thus create an empty cache
+  private Object readResolve() {
+    return new ScenarioMarketDataViews(maxSize);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the view of the market data, creating it if necessary.
+   * <p>
+   * The view factory is not invoked while holding any lock, thus it may itself request other views.
+   *
+   * @param <T>  the type of the view
+   * @param marketData  the market data that owns this cache
+   * @param type  the type of the view
+   * @param lookup  the lookup used to create the view
+   * @param viewFactory  the factory used to create the view from the market data
+   * @return the view
+   */
+  public <T> T view(
+      ScenarioMarketData marketData,
+      Class<T> type,
+      Object lookup,
+      Function<? super ScenarioMarketData, ? extends T> viewFactory) {
+
+    ArgChecker.notNull(lookup, "lookup");
+    Pair<Class<?>, Object> key = Pair.<Class<?>, Object>of(type, lookup);
+    Object view = find(key);
+    if (view == null) {
+      // the factory is invoked outside the lock as view creation may request other views
+      T created = ArgChecker.notNull(viewFactory.apply(marketData), "view");
+      synchronized (views) {
+        view = find(key);
+        if (view == null) {
+          views.put(key, new SoftReference<>(created));
+          view = created;
+        }
+      }
+    }
+    return type.cast(view);
+  }
+
+  // finds a view, null if not cached or garbage collected
+  private Object find(Pair<Class<?>, Object> key) {
+    synchronized (views) {
+      SoftReference<Object> ref = views.get(key);
+      return ref != null ? ref.get() : null;
+    }
+  }
+
+  /**
+   * Returns the number of views in the cache.
+   * <p>
+   * This includes any views that have been garbage collected but not yet removed.
+   *
+   * @return the number of views
+   */
+  public int size() {
+    synchronized (views) {
+      return views.size();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return Messages.format("ScenarioMarketDataViews[size={}]", size());
+  }
+
+}
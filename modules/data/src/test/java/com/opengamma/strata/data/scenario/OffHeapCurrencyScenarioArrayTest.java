@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link OffHeapCurrencyScenarioArray}.
+ */
+@Test
+public class OffHeapCurrencyScenarioArrayTest {
+
+  private static final DoubleArray VALUES = DoubleArray.of(1, 2, 3);
+  private static final ScenarioFxRateProvider FX_RATES =
+      new TestScenarioFxRateProvider(FxRateScenarioArray.of(GBP, USD, DoubleArray.of(1.61, 1.62, 1.63)));
+
+  //-------------------------------------------------------------------------
+  public void test_values() {
+    OffHeapScenarioStore store = OffHeapScenarioStore.create();
+    OffHeapCurrencyScenarioArray test = store.currencyArray(GBP, VALUES);
+    assertThat(test.getCurrency()).isEqualTo(GBP);
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    assertThat(test.get(1)).isEqualTo(CurrencyAmount.of(GBP, 2));
+    assertThat(test.getValue(2)).isEqualTo(3d);
+    assertThat(test.getValues()).isEqualTo(VALUES);
+    assertThat(test.stream().collect(toImmutableList()))
+        .containsExactly(CurrencyAmount.of(GBP, 1), CurrencyAmount.of(GBP, 2), CurrencyAmount.of(GBP, 3));
+    assertThat(test.toCurrencyScenarioArray()).isEqualTo(CurrencyScenarioArray.of(GBP, VALUES));
+    assertThat(test.toString()).isEqualTo("OffHeapCurrencyScenarioArray[currency=GBP, scenarioCount=3]");
+    assertThrows(() -> test.get(3), IndexOutOfBoundsException.class);
+    store.close();
+    assertThrows(() -> test.get(0), IllegalStateException.class);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_convertedTo() {
+    OffHeapScenarioStore store = OffHeapScenarioStore.create();
+    OffHeapCurrencyScenarioArray test = store.currencyArray(GBP, VALUES);
+    OffHeapCurrencyScenarioArray converted = test.convertedTo(USD, FX_RATES);
+    assertThat(converted.getCurrency()).isEqualTo(USD);
+    assertThat(converted.getValues().equalWithTolerance(DoubleArray.of(1.61, 2 * 1.62, 3 * 1.63), 1e-12)).isTrue();
+    assertThat(converted.toCurrencyScenarioArray())
+        .isEqualTo(CurrencyScenarioArray.of(GBP, VALUES).convertedTo(USD, FX_RATES));
+    assertThat(test.convertedTo(GBP, FX_RATES)).isSameAs(test);
+    store.close();
+    assertThrows(() -> converted.getValue(0), IllegalStateException.class);
+  }
+
+  public void test_convertedTo_invalid() {
+    OffHeapScenarioStore store = OffHeapScenarioStore.create();
+    OffHeapCurrencyScenarioArray test = store.currencyArray(GBP, DoubleArray.of(1, 2));
+    assertThrows(() -> test.convertedTo(USD, FX_RATES), IllegalArgumentException.class);
+    OffHeapCurrencyScenarioArray test2 = store.currencyArray(EUR, VALUES);
+    assertThrows(() -> test2.convertedTo(USD, FX_RATES), IllegalArgumentException.class);
+  }
+
+}
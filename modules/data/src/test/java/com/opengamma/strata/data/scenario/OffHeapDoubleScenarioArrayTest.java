@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link OffHeapDoubleScenarioArray}.
+ */
+@Test
+public class OffHeapDoubleScenarioArrayTest {
+
+  private static final DoubleArray VALUES = DoubleArray.of(1, 2, 3);
+
+  //-------------------------------------------------------------------------
+  public void test_values() {
+    OffHeapScenarioStore store = OffHeapScenarioStore.create();
+    OffHeapDoubleScenarioArray test = store.doubleArray(VALUES);
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    assertThat(test.get(0)).isEqualTo(1d);
+    assertThat(test.get(2)).isEqualTo(3d);
+    assertThat(test.getValue(1)).isEqualTo(2d);
+    assertThat(test.getValues()).isEqualTo(VALUES);
+    assertThat(test.stream().collect(toImmutableList())).containsExactly(1d, 2d, 3d);
+    assertThat(test.toDoubleScenarioArray()).isEqualTo(DoubleScenarioArray.of(VALUES));
+    assertThat(test.toString()).isEqualTo("OffHeapDoubleScenarioArray[scenarioCount=3]");
+    assertThrows(() -> test.get(-1), IndexOutOfBoundsException.class);
+    assertThrows(() -> test.get(3), IndexOutOfBoundsException.class);
+    store.close();
+    assertThrows(() -> test.getValue(0), IllegalStateException.class);
+    assertThrows(() -> test.toDoubleScenarioArray(), IllegalStateException.class);
+  }
+
+}
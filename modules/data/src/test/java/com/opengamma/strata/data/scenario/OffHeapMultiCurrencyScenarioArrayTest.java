@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link OffHeapMultiCurrencyScenarioArray}.
+ */
+@Test
+public class OffHeapMultiCurrencyScenarioArrayTest {
+
+  private static final DoubleArray GBP_VALUES = DoubleArray.of(1, 2, 3);
+  private static final DoubleArray USD_VALUES = DoubleArray.of(4, 5, 6);
+  private static final MultiCurrencyScenarioArray HEAP_ARRAY =
+      MultiCurrencyScenarioArray.of(ImmutableMap.of(USD, USD_VALUES, GBP, GBP_VALUES));
+  private static final ScenarioFxRateProvider FX_RATES =
+      new TestScenarioFxRateProvider(FxRateScenarioArray.of(GBP, USD, DoubleArray.of(1.61, 1.62, 1.63)));
+
+  //-------------------------------------------------------------------------
+  public void test_values() {
+    OffHeapScenarioStore store = OffHeapScenarioStore.create();
+    OffHeapMultiCurrencyScenarioArray test = store.copyOf(HEAP_ARRAY);
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    assertThat(test.getCurrencies()).containsExactly(GBP, USD);
+    assertThat(test.getValues(GBP)).isEqualTo(GBP_VALUES);
+    assertThat(test.getValues(USD)).isEqualTo(USD_VALUES);
+    assertThrowsIllegalArg(() -> test.getValues(EUR));
+    assertThat(test.get(1)).isEqualTo(MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 2), CurrencyAmount.of(USD, 5)));
+    assertThat(test.stream().collect(toImmutableList())).isEqualTo(HEAP_ARRAY.stream().collect(toImmutableList()));
+    assertThat(test.toMultiCurrencyScenarioArray()).isEqualTo(HEAP_ARRAY);
+    assertThat(test.toString()).isEqualTo("OffHeapMultiCurrencyScenarioArray[currencies=[GBP, USD], scenarioCount=3]");
+    assertThrows(() -> test.get(3), IndexOutOfBoundsException.class);
+    store.close();
+    assertThrows(() -> test.get(0), IllegalStateException.class);
+  }
+
+  public void test_noCurrencies() {
+    OffHeapScenarioStore store = OffHeapScenarioStore.create();
+    OffHeapMultiCurrencyScenarioArray test = store.multiCurrencyArray(2, ImmutableMap.of());
+    assertThat(test.getScenarioCount()).isEqualTo(2);
+    assertThat(test.getCurrencies()).isEmpty();
+    assertThat(test.get(0)).isEqualTo(MultiCurrencyAmount.empty());
+    assertThat(test.toMultiCurrencyScenarioArray().getScenarioCount()).isEqualTo(2);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_convertedTo() {
+    OffHeapScenarioStore store = OffHeapScenarioStore.create();
+    OffHeapMultiCurrencyScenarioArray test = store.copyOf(HEAP_ARRAY);
+    OffHeapCurrencyScenarioArray converted = test.convertedTo(USD, FX_RATES);
+    assertThat(converted.getCurrency()).isEqualTo(USD);
+    assertThat(converted.getValues().equalWithTolerance(
+        HEAP_ARRAY.convertedTo(USD, FX_RATES).getAmounts().getValues(), 1e-12)).isTrue();
+    assertThrowsIllegalArg(() -> store.copyOf(MultiCurrencyScenarioArray.of(
+        ImmutableMap.of(GBP, DoubleArray.of(1, 2)))).convertedTo(USD, FX_RATES));
+    store.close();
+    assertThrows(() -> test.convertedTo(USD, FX_RATES), IllegalStateException.class);
+  }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link OffHeapScenarioStore}.
+ */
+@Test
+public class OffHeapScenarioStoreTest {
+
+  private static final DoubleArray VALUES = DoubleArray.of(1, 2, 3);
+
+  //-------------------------------------------------------------------------
+  public void test_create() {
+    try (OffHeapScenarioStore test = OffHeapScenarioStore.create()) {
+      assertThat(test.getAllocatedBytes()).isEqualTo(0);
+      assertThat(test.isClosed()).isFalse();
+      OffHeapDoubleScenarioArray array = test.doubleArray(VALUES);
+      assertThat(array.getValues()).isEqualTo(VALUES);
+      assertThat(test.getAllocatedBytes()).isEqualTo(OffHeapScenarioStore.DEFAULT_CHUNK_SIZE * 8L);
+    }
+  }
+
+  public void test_chunks() {
+    OffHeapScenarioStore test = OffHeapScenarioStore.of(4);
+    OffHeapDoubleScenarioArray array1 = test.doubleArray(VALUES);
+    assertThat(test.getAllocatedBytes()).isEqualTo(32);
+    OffHeapDoubleScenarioArray array2 = test.doubleArray(DoubleArray.of(4));
+    assertThat(test.getAllocatedBytes()).isEqualTo(32);
+    OffHeapDoubleScenarioArray array3 = test.doubleArray(DoubleArray.of(5, 6));
+    assertThat(test.getAllocatedBytes()).isEqualTo(64);
+    OffHeapDoubleScenarioArray array4 = test.doubleArray(DoubleArray.of(7, 8, 9, 10, 11));
+    assertThat(test.getAllocatedBytes()).isEqualTo(104);
+    OffHeapDoubleScenarioArray array5 = test.doubleArray(DoubleArray.of(12));
+    OffHeapDoubleScenarioArray empty = test.doubleArray(DoubleArray.EMPTY);
+    assertThat(test.getAllocatedBytes()).isEqualTo(104);
+    assertThat(array1.getValues()).isEqualTo(VALUES);
+    assertThat(array2.getValues()).isEqualTo(DoubleArray.of(4));
+    assertThat(array3.getValues()).isEqualTo(DoubleArray.of(5, 6));
+    assertThat(array4.getValues()).isEqualTo(DoubleArray.of(7, 8, 9, 10, 11));
+    assertThat(array5.getValues()).isEqualTo(DoubleArray.of(12));
+    assertThat(empty.getValues()).isEqualTo(DoubleArray.EMPTY);
+  }
+
+  public void test_copyOf() {
+    OffHeapScenarioStore test = OffHeapScenarioStore.create();
+    DoubleScenarioArray doubles = DoubleScenarioArray.of(VALUES);
+    assertThat(test.copyOf(doubles).toDoubleScenarioArray()).isEqualTo(doubles);
+    CurrencyScenarioArray amounts = CurrencyScenarioArray.of(GBP, VALUES);
+    assertThat(test.copyOf(amounts).toCurrencyScenarioArray()).isEqualTo(amounts);
+    MultiCurrencyScenarioArray multiAmounts =
+        MultiCurrencyScenarioArray.of(ImmutableMap.of(GBP, VALUES, USD, DoubleArray.of(4, 5, 6)));
+    assertThat(test.copyOf(multiAmounts).toMultiCurrencyScenarioArray()).isEqualTo(multiAmounts);
+  }
+
+  public void test_close() {
+    OffHeapScenarioStore test = OffHeapScenarioStore.create();
+    OffHeapDoubleScenarioArray array = test.doubleArray(VALUES);
+    test.close();
+    assertThat(test.isClosed()).isTrue();
+    assertThat(test.getAllocatedBytes()).isEqualTo(0);
+    assertThat(test.toString()).isEqualTo("OffHeapScenarioStore[allocatedBytes=0, closed]");
+    assertThat(array.getScenarioCount()).isEqualTo(3);
+    assertThrows(() -> array.get(0), IllegalStateException.class);
+    assertThrows(() -> array.getValues(), IllegalStateException.class);
+    assertThrows(() -> test.doubleArray(VALUES), IllegalStateException.class);
+    test.close();
+    assertThat(test.isClosed()).isTrue();
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> OffHeapScenarioStore.of(0));
+    OffHeapScenarioStore test = OffHeapScenarioStore.create();
+    assertThrowsIllegalArg(() -> test.multiCurrencyArray(2, ImmutableMap.of(GBP, VALUES)));
+    assertThrowsIllegalArg(() -> test.multiCurrencyArray(-1, ImmutableMap.of()));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() {
+    long start, end;
+    int nbRep = 5;
+    int nbArrays = 2_000;
+    int nbScenarios = 50_000;
+
+    for (int looprep = 0; looprep < nbRep; looprep++) {
+      List<CurrencyScenarioArray> heapArrays = new ArrayList<>();
+      long gcStart = gcTime();
+      start = System.currentTimeMillis();
+      for (int i = 0; i < nbArrays; i++) {
+        int index = i;
+        heapArrays.add(CurrencyScenarioArray.of(GBP, DoubleArray.of(nbScenarios, j -> index + j)));
+        if (i % 100 == 0) {
+          System.gc();
+        }
+      }
+      end = System.currentTimeMillis();
+      System.out.println("Heap: " + nbArrays + " arrays x " + nbScenarios + " scenarios in " + (end - start) +
+          " ms, GC " + (gcTime() - gcStart) + " ms, size " + heapArrays.size());
+      heapArrays = null;
+      System.gc();
+
+      try (OffHeapScenarioStore store = OffHeapScenarioStore.create()) {
+        List<OffHeapCurrencyScenarioArray> offHeapArrays = new ArrayList<>();
+        gcStart = gcTime();
+        start = System.currentTimeMillis();
+        for (int i = 0; i < nbArrays; i++) {
+          int index = i;
+          offHeapArrays.add(store.currencyArray(GBP, DoubleArray.of(nbScenarios, j -> index + j)));
+          if (i % 100 == 0) {
+            System.gc();
+          }
+        }
+        end = System.currentTimeMillis();
+        System.out.println("Off-heap: " + nbArrays + " arrays x " + nbScenarios + " scenarios in " + (end - start) +
+            " ms, GC " + (gcTime() - gcStart) + " ms, size " + offHeapArrays.size());
+      }
+      System.gc();
+    }
+  }
+
+  // the total time spent in garbage collection
+  private static long gcTime() {
+    long total = 0;
+    for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+      total += Math.max(bean.getCollectionTime(), 0);
+    }
+    return total;
+  }
+
+}
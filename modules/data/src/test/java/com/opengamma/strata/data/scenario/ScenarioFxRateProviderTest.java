@@ -12,8 +12,10 @@ import java.time.LocalDate;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.FxRateId;
 import com.opengamma.strata.data.ObservableSource;
 
@@ -39,6 +41,32 @@ public class ScenarioFxRateProviderTest {
     assertThat(fxRateProvider.fxRate(Currency.GBP, Currency.USD, 0)).isEqualTo(1.4d);
   }
 
+  public void fxRates() {
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(LocalDate.of(2011, 3, 8))
+        .addScenarioValue(
+            FxRateId.of(Currency.GBP, Currency.USD),
+            ImmutableList.of(FxRate.of(Currency.GBP, Currency.USD, 1.4d), FxRate.of(Currency.GBP, Currency.USD, 1.5d)))
+        .addValue(FxRateId.of(Currency.EUR, Currency.USD), FxRate.of(Currency.EUR, Currency.USD, 1.1d))
+        .build();
+    ScenarioFxRateProvider test = ScenarioFxRateProvider.of(marketData);
+    assertThat(test.fxRates(Currency.GBP, Currency.USD)).isEqualTo(DoubleArray.of(1.4d, 1.5d));
+    assertThat(test.fxRates(Currency.USD, Currency.GBP)).isEqualTo(DoubleArray.of(1d / 1.4d, 1d / 1.5d));
+    assertThat(test.fxRates(Currency.EUR, Currency.USD)).isEqualTo(DoubleArray.of(1.1d, 1.1d));
+    assertThat(test.fxRates(Currency.GBP, Currency.GBP)).isEqualTo(DoubleArray.of(1d, 1d));
+    // triangulated
+    DoubleArray rates = test.fxRates(Currency.GBP, Currency.EUR);
+    for (int i = 0; i < 2; i++) {
+      assertThat(rates.get(i)).isEqualTo(test.fxRate(Currency.GBP, Currency.EUR, i));
+    }
+  }
+
+  public void fxRates_default() {
+    ScenarioFxRateProvider test = new TestScenarioFxRateProvider(FxRateScenarioArray.of(
+        Currency.GBP, Currency.USD, DoubleArray.of(1.4d, 1.5d)));
+    assertThat(test.fxRates(Currency.GBP, Currency.USD)).isEqualTo(DoubleArray.of(1.4d, 1.5d));
+    assertThat(test.fxRates(Currency.GBP, Currency.GBP)).isEqualTo(DoubleArray.of(1d, 1d));
+  }
+
   public void specifySource() {
     ObservableSource testSource = ObservableSource.of("test");
     ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(LocalDate.of(2011, 3, 8))
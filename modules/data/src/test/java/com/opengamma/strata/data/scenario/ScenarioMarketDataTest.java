@@ -13,11 +13,13 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.testng.annotations.Test;
@@ -169,6 +171,8 @@ public class ScenarioMarketDataTest {
     assertThrows(() -> test.getValue(ID2), MarketDataNotFoundException.class);
     assertThat(test.findValue(ID1)).hasValue(BOX1);
     assertThat(test.findValue(ID2)).isEmpty();
+    Object view = test.view(Object.class, "A", md -> new Object());
+    assertThat(test.view(Object.class, "A", md -> new Object())).isNotSameAs(view);
   }
 
   //-------------------------------------------------------------------------
@@ -186,6 +190,31 @@ public class ScenarioMarketDataTest {
     assertThat(list.get(1)).isEqualTo(BOX1.getValue(1));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_view() {
+    Map<MarketDataId<?>, MarketDataBox<?>> dataMap = ImmutableMap.of(ID1, BOX1);
+    ScenarioMarketData test = ScenarioMarketData.of(2, VAL_DATE, dataMap, ImmutableMap.of());
+    List<ScenarioMarketData> created = new ArrayList<>();
+    Function<ScenarioMarketData, Object> factory = md -> {
+      created.add(md);
+      return new Object();
+    };
+    Object view = test.view(Object.class, "A", factory);
+    assertThat(test.view(Object.class, "A", factory)).isSameAs(view);
+    assertThat(test.view(Object.class, "B", factory)).isNotSameAs(view);
+    assertThat(created).containsExactly(test, test);
+
+    // an equal set of market data does not share the views
+    ScenarioMarketData other = ScenarioMarketData.of(2, VAL_DATE, dataMap, ImmutableMap.of());
+    assertThat(other.view(Object.class, "A", factory)).isNotSameAs(view);
+  }
+
+  public void test_view_repeated() {
+    ScenarioMarketData test = ScenarioMarketData.of(3, MarketData.of(VAL_DATE, ImmutableMap.of(ID1, VAL1)));
+    Object view = test.view(Object.class, "A", md -> new Object());
+    assertThat(test.view(Object.class, "A", md -> new Object())).isSameAs(view);
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     Map<MarketDataId<?>, MarketDataBox<?>> dataMap = ImmutableMap.of(ID1, BOX1);
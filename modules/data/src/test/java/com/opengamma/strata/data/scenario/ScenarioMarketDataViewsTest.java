@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Test {@link ScenarioMarketDataViews}.
+ */
+@Test
+public class ScenarioMarketDataViewsTest {
+
+  private static final ScenarioMarketData MARKET_DATA =
+      ScenarioMarketData.of(2, date(2015, 6, 30), ImmutableMap.of(), ImmutableMap.of());
+
+  //-------------------------------------------------------------------------
+  public void test_view() {
+    ScenarioMarketDataViews test = ScenarioMarketDataViews.create();
+    assertThat(test.size()).isEqualTo(0);
+    String view = test.view(MARKET_DATA, String.class, "A", md -> "View");
+    assertThat(view).isEqualTo("View");
+    assertThat(test.view(MARKET_DATA, String.class, "A", md -> "Other")).isSameAs(view);
+    assertThat(test.view(MARKET_DATA, String.class, "B", md -> "Other")).isEqualTo("Other");
+    assertThat(test.view(MARKET_DATA, Object.class, "A", md -> 1)).isEqualTo(1);
+    assertThat(test.size()).isEqualTo(3);
+    assertThat(test.toString()).isEqualTo("ScenarioMarketDataViews[size=3]");
+  }
+
+  public void test_view_nested() {
+    ScenarioMarketDataViews test = ScenarioMarketDataViews.create();
+    String view = test.view(MARKET_DATA, String.class, "A",
+        md -> "Outer" + test.view(md, String.class, "B", md2 -> "Inner"));
+    assertThat(view).isEqualTo("OuterInner");
+    assertThat(test.view(MARKET_DATA, String.class, "B", md -> "Other")).isEqualTo("Inner");
+  }
+
+  public void test_view_leastRecentlyUsed() {
+    ScenarioMarketDataViews test = ScenarioMarketDataViews.create(2);
+    String viewA = test.view(MARKET_DATA, String.class, "A", md -> "A");
+    test.view(MARKET_DATA, String.class, "B", md -> "B");
+    assertThat(test.view(MARKET_DATA, String.class, "A", md -> "Other")).isSameAs(viewA);
+    test.view(MARKET_DATA, String.class, "C", md -> "C");
+    assertThat(test.size()).isEqualTo(2);
+    assertThat(test.view(MARKET_DATA, String.class, "A", md -> "Other")).isSameAs(viewA);
+    assertThat(test.view(MARKET_DATA, String.class, "B", md -> "Other")).isEqualTo("Other");
+  }
+
+  public void test_serialization() {
+    ScenarioMarketDataViews test = ScenarioMarketDataViews.create();
+    test.view(MARKET_DATA, String.class, "A", md -> "View");
+    ScenarioMarketDataViews deserialized = roundTrip(test);
+    assertThat(deserialized.size()).isEqualTo(0);
+    assertThat(deserialized.view(MARKET_DATA, String.class, "A", md -> "Other")).isEqualTo("Other");
+  }
+
+  public void test_serialization_owner() {
+    ScenarioMarketData marketData = ScenarioMarketData.of(2, date(2015, 6, 30), ImmutableMap.of(), ImmutableMap.of());
+    marketData.view(String.class, "A", md -> "View");
+    ScenarioMarketData deserialized = roundTrip(marketData);
+    assertThat(deserialized).isEqualTo(marketData);
+    assertThat(deserialized.view(String.class, "A", md -> "Other")).isEqualTo("Other");
+  }
+
+  public void test_view_invalid() {
+    ScenarioMarketDataViews test = ScenarioMarketDataViews.create();
+    assertThrowsIllegalArg(() -> test.view(MARKET_DATA, String.class, null, md -> "View"));
+    assertThrowsIllegalArg(() -> test.view(MARKET_DATA, String.class, "A", md -> null));
+    assertThat(test.size()).isEqualTo(0);
+    assertThrowsIllegalArg(() -> ScenarioMarketDataViews.create(0));
+  }
+
+  //-------------------------------------------------------------------------
+  @SuppressWarnings("unchecked")
+  private static <T> T roundTrip(T obj) {
+    try {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+        oos.writeObject(obj);
+      }
+      try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+        return (T) ois.readObject();
+      }
+    } catch (IOException | ClassNotFoundException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.loader.csv;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.CharSource;
+import com.opengamma.strata.collect.io.CsvIterator;
+import com.opengamma.strata.collect.result.FailureItem;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.ValueWithFailures;
+
+/**
+ * Parses the rows of a CSV file in batches, in parallel.
+ * <p>
+ * The rows are read sequentially into batches, and each batch is parsed on the common fork-join pool.
+ * The parsed batches are passed to the consumer on the calling thread in the order of the rows.
+ * At most one batch per thread in the pool, plus one, is held in memory at any time,
+ * thus memory use is bounded by the batch size rather than the size of the file.
+ */
+final class CsvBatchParser {
+
+  /**
+   * Restricted constructor.
+   */
+  private CsvBatchParser() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Parses a CSV file in batches.
+   * <p>
+   * A unit is the set of rows parsed together, typically a single row, read by the unit reader.
+   * Failures to read the file are captured in a batch after the batches read before the failure.
+   *
+   * @param <R>  the type of the unit of rows
+   * @param <T>  the type of the parsed value
+   * @param charSource  the CSV character source
+   * @param requiredHeader  the header that the file must contain
+   * @param batchSize  the number of units in each batch
+   * @param unitReader  the reader of the next unit of rows
+   * @param parser  the parser, which must be thread-safe and capture row-level failures in the result
+   * @param consumer  the consumer of the parsed batches
+   */
+  static <R, T> void parse(
+      CharSource charSource,
+      String requiredHeader,
+      int batchSize,
+      Function<CsvIterator, R> unitReader,
+      Function<List<R>, ValueWithFailures<List<T>>> parser,
+      Consumer<ValueWithFailures<List<T>>> consumer) {
+
+    CsvIterator csv;
+    try {
+      csv = CsvIterator.of(charSource, true);
+    } catch (RuntimeException ex) {
+      consumer.accept(ValueWithFailures.of(ImmutableList.of(), readFailure(charSource, ex)));
+      return;
+    }
+    try {
+      if (!csv.headers().contains(requiredHeader)) {
+        FailureItem failure = FailureItem.of(
+            FailureReason.PARSING, "CSV file does not contain '{}' header: {}", requiredHeader, charSource);
+        consumer.accept(ValueWithFailures.of(ImmutableList.of(), failure));
+        return;
+      }
+      parse(csv, batchSize, unitReader, parser, consumer)
+          .ifPresent(ex -> consumer.accept(ValueWithFailures.of(ImmutableList.of(), readFailure(charSource, ex))));
+    } finally {
+      csv.close();
+    }
+  }
+
+  // parses the rows, returning the exception if the file could not be read
+  private static <R, T> Optional<RuntimeException> parse(
+      CsvIterator csv,
+      int batchSize,
+      Function<CsvIterator, R> unitReader,
+      Function<List<R>, ValueWithFailures<List<T>>> parser,
+      Consumer<ValueWithFailures<List<T>>> consumer) {
+
+    int maxInFlight = ForkJoinPool.commonPool().getParallelism() + 1;
+    Deque<CompletableFuture<ValueWithFailures<List<T>>>> inFlight = new ArrayDeque<>();
+    RuntimeException readException = null;
+    while (true) {
+      List<R> batch;
+      try {
+        batch = nextBatch(csv, batchSize, unitReader);
+      } catch (RuntimeException ex) {
+        readException = ex;
+        break;
+      }
+      if (batch.isEmpty()) {
+        break;
+      }
+      inFlight.addLast(CompletableFuture.supplyAsync(() -> parser.apply(batch)));
+      if (inFlight.size() >= maxInFlight) {
+        consumer.accept(inFlight.removeFirst().join());
+      }
+    }
+    while (!inFlight.isEmpty()) {
+      consumer.accept(inFlight.removeFirst().join());
+    }
+    return Optional.ofNullable(readException);
+  }
+
+  // the failure when the file cannot be read
+  private static FailureItem readFailure(CharSource charSource, RuntimeException ex) {
+    return FailureItem.of(
+        FailureReason.PARSING, ex, "CSV file could not be parsed: {}: {}", ex.getMessage(), charSource);
+  }
+
+  // reads the next batch of units
+  private static <R> List<R> nextBatch(CsvIterator csv, int batchSize, Function<CsvIterator, R> unitReader) {
+    List<R> batch = new ArrayList<>(batchSize);
+    while (batch.size() < batchSize && csv.hasNext()) {
+      batch.add(unitReader.apply(csv));
+    }
+    return batch;
+  }
+
+}
@@ -119,11 +119,10 @@ public final class FixingSeriesCsvLoader {
       for (CsvRow row : csv.rows()) {
         String referenceStr = row.getField(REFERENCE_FIELD);
         String dateStr = row.getField(DATE_FIELD);
-        String valueStr = row.getField(VALUE_FIELD);
 
         Index index = LoaderUtils.findIndex(referenceStr);
         ObservableId id = IndexQuoteId.of(index);
-        double value = Double.parseDouble(valueStr);
+        double value = row.getDouble(VALUE_FIELD);
         LocalDate date;
         if (index instanceof PriceIndex) {
           try {
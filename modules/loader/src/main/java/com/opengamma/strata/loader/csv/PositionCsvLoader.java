@@ -13,6 +13,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.CharSource;
@@ -295,6 +296,49 @@ public final class PositionCsvLoader {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Parses one or more CSV format position files in batches, passing each batch to the consumer.
+   * <p>
+   * This is intended for large files, where holding all the positions in memory is undesirable.
+   * The rows of each file are read in batches and the batches are parsed in parallel.
+   * Each batch is passed to the consumer as it becomes available, in the order of the rows in the files.
+   * The consumer is invoked on the calling thread and a batch may be empty if no position was parsed.
+   * Memory use is bounded by the batch size and the number of threads in the common fork-join pool.
+   * <p>
+   * A type is specified to filter the positions, as per {@link #parse(Collection, Class)}.
+   * As the rows are parsed in parallel, the resolver must be thread-safe.
+   * <p>
+   * CSV files sometimes contain a Unicode Byte Order Mark.
+   * Callers are responsible for handling this, such as by using {@link UnicodeBom}.
+   * 
+   * @param <T>  the position type
+   * @param charSources  the CSV character sources
+   * @param positionType  the position type to return
+   * @param batchSize  the number of positions in each batch, which must be positive
+   * @param consumer  the consumer of the batches of loaded positions, all errors are captured in the batches
+   */
+  public <T extends Position> void parseInBatches(
+      Collection<CharSource> charSources,
+      Class<T> positionType,
+      int batchSize,
+      Consumer<ValueWithFailures<List<T>>> consumer) {
+
+    ArgChecker.notNull(charSources, "charSources");
+    ArgChecker.notNull(positionType, "positionType");
+    ArgChecker.notNegativeOrZero(batchSize, "batchSize");
+    ArgChecker.notNull(consumer, "consumer");
+    for (CharSource charSource : charSources) {
+      CsvBatchParser.parse(
+          charSource,
+          TYPE_FIELD,
+          batchSize,
+          CsvIterator::next,
+          batch -> parseBatch(batch, positionType),
+          consumer);
+    }
+  }
+
   // loads a single CSV file, filtering by position type
   private <T extends Position> ValueWithFailures<List<T>> parseFile(CharSource charSource, Class<T> positionType) {
     try (CsvIterator csv = CsvIterator.of(charSource, true)) {
@@ -314,60 +358,85 @@ public final class PositionCsvLoader {
   private <T extends Position> ValueWithFailures<List<T>> parseFile(CsvIterator csv, Class<T> posType) {
     List<T> positions = new ArrayList<>();
     List<FailureItem> failures = new ArrayList<>();
-    int line = 2;
     for (CsvRow row : (Iterable<CsvRow>) () -> csv) {
-      try {
-        PositionInfo info = parsePositionInfo(row);
-        Optional<String> typeRawOpt = row.findValue(TYPE_FIELD);
-        if (typeRawOpt.isPresent()) {
-          // type specified
-          String type = typeRawOpt.get().toUpperCase(Locale.ENGLISH);
-          switch (type.toUpperCase(Locale.ENGLISH)) {
-            case "SEC":
-            case "SECURITY":
-              if (posType == SecurityPosition.class || posType == Position.class) {
-                positions.add(posType.cast(SecurityCsvLoader.parseSimple(row, info, resolver)));
-              }
-              break;
-            case "FUT":
-            case "FUTURE":
-              if (posType == EtdPosition.class || posType == EtdFuturePosition.class || posType == Position.class) {
-                positions.add(posType.cast((Position) resolver.parseEtdFuturePosition(row, info)));
-              } else if (posType == SecurityPosition.class) {
-                positions.add(posType.cast(resolver.parseEtdFutureSecurityPosition(row, info)));
-              }
-              break;
-            case "OPT":
-            case "OPTION":
-              if (posType == EtdPosition.class || posType == EtdOptionPosition.class || posType == Position.class) {
-                positions.add(posType.cast(resolver.parseEtdOptionPosition(row, info)));
-              } else if (posType == SecurityPosition.class) {
-                positions.add(posType.cast(resolver.parseEtdOptionSecurityPosition(row, info)));
-              }
-              break;
-            default:
-              failures.add(FailureItem.of(
-                  FailureReason.PARSING, "CSV file position type '{}' is not known at line {}", typeRawOpt.get(), line));
-              break;
-          }
-        } else {
-          // infer type
-          if (posType == SecurityPosition.class) {
-            positions.add(posType.cast(SecurityCsvLoader.parsePositionLightweight(row, info, resolver)));
-          } else {
-            Position position = SecurityCsvLoader.parsePosition(row, info, resolver);
-            if (posType.isInstance(position)) {
-              positions.add(posType.cast(position));
+      parsePosition(row, posType, positions, failures);
+    }
+    return ValueWithFailures.of(positions, failures);
+  }
+
+  // parses a batch of positions
+  private <T extends Position> ValueWithFailures<List<T>> parseBatch(List<CsvRow> batch, Class<T> posType) {
+    List<T> positions = new ArrayList<>(batch.size());
+    List<FailureItem> failures = new ArrayList<>();
+    for (CsvRow row : batch) {
+      parsePosition(row, posType, positions, failures);
+    }
+    return ValueWithFailures.of(positions, failures);
+  }
+
+  // parses a single position
+  private <T extends Position> void parsePosition(
+      CsvRow row,
+      Class<T> posType,
+      List<T> positions,
+      List<FailureItem> failures) {
+
+    try {
+      PositionInfo info = parsePositionInfo(row);
+      Optional<String> typeRawOpt = row.findValue(TYPE_FIELD);
+      if (typeRawOpt.isPresent()) {
+        // type specified
+        String type = typeRawOpt.get().toUpperCase(Locale.ENGLISH);
+        switch (type.toUpperCase(Locale.ENGLISH)) {
+          case "SEC":
+          case "SECURITY":
+            if (posType == SecurityPosition.class || posType == Position.class) {
+              positions.add(posType.cast(SecurityCsvLoader.parseSimple(row, info, resolver)));
+            }
+            break;
+          case "FUT":
+          case "FUTURE":
+            if (posType == EtdPosition.class || posType == EtdFuturePosition.class || posType == Position.class) {
+              positions.add(posType.cast((Position) resolver.parseEtdFuturePosition(row, info)));
+            } else if (posType == SecurityPosition.class) {
+              positions.add(posType.cast(resolver.parseEtdFutureSecurityPosition(row, info)));
+            }
+            break;
+          case "OPT":
+          case "OPTION":
+            if (posType == EtdPosition.class || posType == EtdOptionPosition.class || posType == Position.class) {
+              positions.add(posType.cast(resolver.parseEtdOptionPosition(row, info)));
+            } else if (posType == SecurityPosition.class) {
+              positions.add(posType.cast(resolver.parseEtdOptionSecurityPosition(row, info)));
             }
+            break;
+          default:
+            failures.add(FailureItem.of(
+                FailureReason.PARSING,
+                "CSV file position type '{}' is not known at line {}",
+                typeRawOpt.get(),
+                row.lineNumber()));
+            break;
+        }
+      } else {
+        // infer type
+        if (posType == SecurityPosition.class) {
+          positions.add(posType.cast(SecurityCsvLoader.parsePositionLightweight(row, info, resolver)));
+        } else {
+          Position position = SecurityCsvLoader.parsePosition(row, info, resolver);
+          if (posType.isInstance(position)) {
+            positions.add(posType.cast(position));
           }
         }
-      } catch (RuntimeException ex) {
-        failures.add(FailureItem.of(
-            FailureReason.PARSING, ex, "CSV file position could not be parsed at line {}: {}", line, ex.getMessage()));
       }
-      line++;
+    } catch (RuntimeException ex) {
+      failures.add(FailureItem.of(
+          FailureReason.PARSING,
+          ex,
+          "CSV file position could not be parsed at line {}: {}",
+          row.lineNumber(),
+          ex.getMessage()));
     }
-    return ValueWithFailures.of(positions, failures);
   }
 
   // parse the position info
@@ -14,6 +14,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Consumer;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.CharSource;
@@ -372,6 +373,50 @@ public final class TradeCsvLoader {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Parses one or more CSV format trade files in batches, passing each batch to the consumer.
+   * <p>
+   * This is intended for large files, where holding all the trades in memory is undesirable.
+   * The rows of each file are read in batches and the batches are parsed in parallel.
+   * Each batch is passed to the consumer as it becomes available, in the order of the rows in the files.
+   * The consumer is invoked on the calling thread and a batch may be empty if no trade was parsed.
+   * Memory use is bounded by the batch size and the number of threads in the common fork-join pool.
+   * <p>
+   * A type is specified to filter the trades.
+   * Trades that do not match the type are silently dropped.
+   * As the rows are parsed in parallel, the resolver must be thread-safe.
+   * <p>
+   * CSV files sometimes contain a Unicode Byte Order Mark.
+   * Callers are responsible for handling this, such as by using {@link UnicodeBom}.
+   * 
+   * @param <T>  the trade type
+   * @param charSources  the CSV character sources
+   * @param tradeType  the trade type to return
+   * @param batchSize  the number of trades in each batch, which must be positive
+   * @param consumer  the consumer of the batches of loaded trades, all errors are captured in the batches
+   */
+  public <T extends Trade> void parseInBatches(
+      Collection<CharSource> charSources,
+      Class<T> tradeType,
+      int batchSize,
+      Consumer<ValueWithFailures<List<T>>> consumer) {
+
+    ArgChecker.notNull(charSources, "charSources");
+    ArgChecker.notNull(tradeType, "tradeType");
+    ArgChecker.notNegativeOrZero(batchSize, "batchSize");
+    ArgChecker.notNull(consumer, "consumer");
+    for (CharSource charSource : charSources) {
+      CsvBatchParser.parse(
+          charSource,
+          TYPE_FIELD,
+          batchSize,
+          csv -> nextTradeRows(csv, tradeType),
+          batch -> parseBatch(batch, tradeType),
+          consumer);
+    }
+  }
+
   // loads a single CSV file, filtering by trade type
   private <T extends Trade> ValueWithFailures<List<T>> parseFile(CharSource charSource, Class<T> tradeType) {
     try (CsvIterator csv = CsvIterator.of(charSource, true)) {
@@ -392,60 +437,95 @@ public final class TradeCsvLoader {
     List<T> trades = new ArrayList<>();
     List<FailureItem> failures = new ArrayList<>();
     while (csv.hasNext()) {
-      CsvRow row = csv.next();
-      try {
-        String typeRaw = row.getField(TYPE_FIELD);
-        TradeInfo info = parseTradeInfo(row);
-        switch (typeRaw.toUpperCase(Locale.ENGLISH)) {
-          case "FRA":
-            if (tradeType == FraTrade.class || tradeType == Trade.class) {
-              trades.add(tradeType.cast(FraTradeCsvLoader.parse(row, info, resolver)));
-            }
-            break;
-          case "SECURITY":
-            if (tradeType == SecurityTrade.class || tradeType == Trade.class) {
-              trades.add(tradeType.cast(SecurityCsvLoader.parseTrade(row, info, resolver)));
-            }
-            break;
-          case "SWAP":
-            if (tradeType == SwapTrade.class || tradeType == Trade.class) {
-              List<CsvRow> variableRows = new ArrayList<>();
-              while (csv.hasNext() && csv.peek().getField(TYPE_FIELD).toUpperCase(Locale.ENGLISH).equals("VARIABLE")) {
-                variableRows.add(csv.next());
-              }
-              trades.add(tradeType.cast(SwapTradeCsvLoader.parse(row, variableRows, info, resolver)));
-            }
-            break;
-          case "TERMDEPOSIT":
-          case "TERM DEPOSIT":
-            if (tradeType == TermDepositTrade.class || tradeType == Trade.class) {
-              trades.add(tradeType.cast(TermDepositTradeCsvLoader.parse(row, info, resolver)));
-            }
-            break;
-          case "VARIABLE":
-            failures.add(FailureItem.of(
-                FailureReason.PARSING,
-                "CSV file contained a 'Variable' type at line {} that was not preceeded by a 'Swap'",
-                row.lineNumber()));
-            break;
-          case "FX":
-          case "FXSINGLE":
-          case "FX SINGLE":
-            trades.add(tradeType.cast(FxSingleTradeCsvLoader.parse(row, info, resolver)));
-            break;
-          default:
-            failures.add(FailureItem.of(
-                FailureReason.PARSING, "CSV file trade type '{}' is not known at line {}", typeRaw, row.lineNumber()));
-            break;
-        }
-      } catch (RuntimeException ex) {
-        failures.add(FailureItem.of(
-            FailureReason.PARSING, ex, "CSV file trade could not be parsed at line {}: " + ex.getMessage(), row.lineNumber()));
-      }
+      parseTrade(nextTradeRows(csv, tradeType), tradeType, trades, failures);
     }
     return ValueWithFailures.of(trades, failures);
   }
 
+  // parses a batch of trades
+  private <T extends Trade> ValueWithFailures<List<T>> parseBatch(List<List<CsvRow>> batch, Class<T> tradeType) {
+    List<T> trades = new ArrayList<>(batch.size());
+    List<FailureItem> failures = new ArrayList<>();
+    for (List<CsvRow> rows : batch) {
+      parseTrade(rows, tradeType, trades, failures);
+    }
+    return ValueWithFailures.of(trades, failures);
+  }
+
+  // reads the rows of the next trade, a swap may be followed by 'Variable' rows
+  private static List<CsvRow> nextTradeRows(CsvIterator csv, Class<?> tradeType) {
+    CsvRow row = csv.next();
+    if ((tradeType != SwapTrade.class && tradeType != Trade.class) ||
+        !row.getField(TYPE_FIELD).toUpperCase(Locale.ENGLISH).equals("SWAP")) {
+      return ImmutableList.of(row);
+    }
+    List<CsvRow> rows = new ArrayList<>();
+    rows.add(row);
+    while (csv.hasNext() && csv.peek().getField(TYPE_FIELD).toUpperCase(Locale.ENGLISH).equals("VARIABLE")) {
+      rows.add(csv.next());
+    }
+    return rows;
+  }
+
+  // parses a single trade, which may consist of more than one row
+  private <T extends Trade> void parseTrade(
+      List<CsvRow> rows,
+      Class<T> tradeType,
+      List<T> trades,
+      List<FailureItem> failures) {
+
+    CsvRow row = rows.get(0);
+    try {
+      String typeRaw = row.getField(TYPE_FIELD);
+      TradeInfo info = parseTradeInfo(row);
+      switch (typeRaw.toUpperCase(Locale.ENGLISH)) {
+        case "FRA":
+          if (tradeType == FraTrade.class || tradeType == Trade.class) {
+            trades.add(tradeType.cast(FraTradeCsvLoader.parse(row, info, resolver)));
+          }
+          break;
+        case "SECURITY":
+          if (tradeType == SecurityTrade.class || tradeType == Trade.class) {
+            trades.add(tradeType.cast(SecurityCsvLoader.parseTrade(row, info, resolver)));
+          }
+          break;
+        case "SWAP":
+          if (tradeType == SwapTrade.class || tradeType == Trade.class) {
+            List<CsvRow> variableRows = rows.subList(1, rows.size());
+            trades.add(tradeType.cast(SwapTradeCsvLoader.parse(row, variableRows, info, resolver)));
+          }
+          break;
+        case "TERMDEPOSIT":
+        case "TERM DEPOSIT":
+          if (tradeType == TermDepositTrade.class || tradeType == Trade.class) {
+            trades.add(tradeType.cast(TermDepositTradeCsvLoader.parse(row, info, resolver)));
+          }
+          break;
+        case "VARIABLE":
+          failures.add(FailureItem.of(
+              FailureReason.PARSING,
+              "CSV file contained a 'Variable' type at line {} that was not preceeded by a 'Swap'",
+              row.lineNumber()));
+          break;
+        case "FX":
+        case "FXSINGLE":
+        case "FX SINGLE":
+          trades.add(tradeType.cast(FxSingleTradeCsvLoader.parse(row, info, resolver)));
+          break;
+        default:
+          failures.add(FailureItem.of(
+              FailureReason.PARSING, "CSV file trade type '{}' is not known at line {}", typeRaw, row.lineNumber()));
+          break;
+      }
+    } catch (RuntimeException ex) {
+      failures.add(FailureItem.of(
+          FailureReason.PARSING,
+          ex,
+          "CSV file trade could not be parsed at line {}: " + ex.getMessage(),
+          row.lineNumber()));
+    }
+  }
+
   // parse the trade info
   private TradeInfo parseTradeInfo(CsvRow row) {
     TradeInfoBuilder infoBuilder = TradeInfo.builder();
@@ -13,6 +13,7 @@ import java.time.Period;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -218,6 +219,34 @@ public final class FpmlDocument {
     this.refData = refData;
   }
 
+  // creates an instance with additional references
+  private FpmlDocument(FpmlDocument base, Map<String, XmlElement> references) {
+    this.fpmlRoot = base.fpmlRoot;
+    this.references = ImmutableMap.copyOf(references);
+    this.parties = base.parties;
+    this.ourPartyHrefIds = base.ourPartyHrefIds;
+    this.tradeInfoParser = base.tradeInfoParser;
+    this.refData = base.refData;
+  }
+
+  /**
+   * Returns a copy of this document with additional references.
+   * <p>
+   * This is used when streaming, where the references within each trade are only known
+   * once the trade has been parsed. The additional references take priority.
+   * 
+   * @param additionalReferences  the additional map of id/href to referenced element
+   * @return the document with the additional references
+   */
+  FpmlDocument withAdditionalReferences(Map<String, XmlElement> additionalReferences) {
+    if (additionalReferences.isEmpty()) {
+      return this;
+    }
+    Map<String, XmlElement> combined = new HashMap<>(references);
+    combined.putAll(additionalReferences);
+    return new FpmlDocument(this, combined);
+  }
+
   // parse all the root-level party elements
   private static ImmutableListMultimap<String, String> parseParties(XmlElement root) {
     ListMultimap<String, String> parties = ArrayListMultimap.create();
@@ -7,11 +7,18 @@ package com.opengamma.strata.loader.fpml;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -34,6 +41,7 @@ import com.opengamma.strata.product.Trade;
 public final class FpmlDocumentParser {
   // Notes: Streaming trades directly from the file is difficult due to the
   // need to parse the party element at the root, which is after the trades
+  // The streaming mode therefore reads the file twice, once for the parties and once for the trades
 
   /**
    * The lookup of trade parsers.
@@ -194,6 +202,69 @@ public final class FpmlDocumentParser {
     return parseTrades(root, xmlFile.getReferences());
   }
 
+  /**
+   * Parses FpML from the specified source, streaming the trades to the consumer.
+   * <p>
+   * This parses the specified byte source which must be an XML document.
+   * Unlike {@link #parseTrades(ByteSource)}, the whole document is not held in memory.
+   * Instead, the source is read twice. The first pass parses the {@code <party>} elements.
+   * The second pass parses each {@code <trade>} element in turn, and the trade parsers
+   * are invoked on the common fork-join pool. The trades are passed to the consumer on the
+   * calling thread in the order of the document. At most one trade per thread in the pool,
+   * plus one, is held in memory at any time, thus memory use is proportional to the largest
+   * trade rather than the size of the document.
+   * <p>
+   * The {@code <party>} and {@code <trade>} elements are found at any depth in the document,
+   * thus the FpML document may be embedded in a non-FpML wrapper.
+   * References are resolved against the parties and the elements within the same trade.
+   * 
+   * @param source  the source of the FpML XML document, which must be readable twice
+   * @param consumer  the consumer of the parsed trades
+   * @throws RuntimeException if a parse error occurred
+   */
+  public void parseTrades(ByteSource source, Consumer<? super Trade> consumer) {
+    FpmlDocument document = parseParties(source);
+    int maxInFlight = ForkJoinPool.commonPool().getParallelism() + 1;
+    Deque<CompletableFuture<Trade>> inFlight = new ArrayDeque<>();
+    XmlFile.parseElements(source, "trade"::equals, FpmlDocument.ID, (tradeEl, tradeRefs) -> {
+      FpmlDocument tradeDocument = document.withAdditionalReferences(tradeRefs);
+      inFlight.addLast(CompletableFuture.supplyAsync(() -> parseTrade(tradeDocument, tradeEl)));
+      if (inFlight.size() >= maxInFlight) {
+        consumer.accept(join(inFlight.removeFirst()));
+      }
+    });
+    while (!inFlight.isEmpty()) {
+      consumer.accept(join(inFlight.removeFirst()));
+    }
+  }
+
+  // parses the party elements, creating a document without trades
+  private FpmlDocument parseParties(ByteSource source) {
+    List<XmlElement> partyEls = new ArrayList<>();
+    Map<String, XmlElement> references = new HashMap<>();
+    XmlFile.parseElements(source, "party"::equals, FpmlDocument.ID, (partyEl, partyRefs) -> {
+      partyEls.add(partyEl);
+      references.putAll(partyRefs);
+    });
+    if (partyEls.isEmpty()) {
+      throw new FpmlParseException("Unable to find FpML party element");
+    }
+    XmlElement fpmlRoot = XmlElement.ofChildren("FpML", partyEls);
+    return new FpmlDocument(fpmlRoot, references, ourPartySelector, tradeInfoParser, refData);
+  }
+
+  // waits for the trade to be parsed, exposing the underlying exception
+  private static Trade join(CompletableFuture<Trade> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
   // intelligently finds the FpML root element
   private static XmlElement findFpmlRoot(XmlElement root) {
     XmlElement fpmlRoot = getFpmlRoot(root);
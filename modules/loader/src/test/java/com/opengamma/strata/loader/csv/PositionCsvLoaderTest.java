@@ -6,10 +6,12 @@
 package com.opengamma.strata.loader.csv;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.joda.beans.test.BeanAssert.assertBeanEquals;
 import static org.testng.Assert.assertEquals;
 
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.testng.annotations.Test;
@@ -300,6 +302,38 @@ public class PositionCsvLoaderTest {
     assertBeanEquals(expected9, filtered.get(8));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_parseInBatches() {
+    PositionCsvLoader test = PositionCsvLoader.standard();
+    ValueWithFailures<List<SecurityPosition>> expected = test.parseLightweight(ImmutableList.of(FILE.getCharSource()));
+    for (int batchSize : new int[] {1, 4, 1000}) {
+      List<ValueWithFailures<List<SecurityPosition>>> batches = new ArrayList<>();
+      test.parseInBatches(ImmutableList.of(FILE.getCharSource()), SecurityPosition.class, batchSize, batches::add);
+      List<SecurityPosition> positions =
+          batches.stream().flatMap(b -> b.getValue().stream()).collect(toImmutableList());
+      List<FailureItem> failures =
+          batches.stream().flatMap(b -> b.getFailures().stream()).collect(toImmutableList());
+      assertEquals(positions, expected.getValue());
+      assertEquals(failures.size(), expected.getFailures().size());
+    }
+  }
+
+  public void test_parseInBatches_failures() {
+    PositionCsvLoader test = PositionCsvLoader.standard();
+    List<FailureItem> failures = new ArrayList<>();
+    test.parseInBatches(
+        ImmutableList.of(CharSource.wrap("Id"), CharSource.wrap("Strata Position Type\nSEC\nFoo")),
+        Position.class,
+        1,
+        b -> failures.addAll(b.getFailures()));
+    assertEquals(failures.size(), 3);
+    assertEquals(
+        failures.get(0).getMessage().contains("CSV file does not contain 'Strata Position Type' header"), true);
+    assertEquals(failures.get(1).getMessage().startsWith("CSV file position could not be parsed at line 2"), true);
+    assertEquals(failures.get(2).getMessage(), "CSV file position type 'Foo' is not known at line 3");
+    assertThrowsIllegalArg(() -> test.parseInBatches(ImmutableList.of(), Position.class, 0, b -> {}));
+  }
+
   //-------------------------------------------------------------------------
   public void test_load_invalidNoHeader() {
     PositionCsvLoader test = PositionCsvLoader.standard();
@@ -15,6 +15,7 @@ import static com.opengamma.strata.basics.date.HolidayCalendarIds.EUTA;
 import static com.opengamma.strata.basics.date.HolidayCalendarIds.GBLO;
 import static com.opengamma.strata.basics.date.HolidayCalendarIds.USNY;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static com.opengamma.strata.product.common.BuySell.BUY;
@@ -28,6 +29,7 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Period;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -1367,6 +1369,47 @@ public class TradeCsvLoaderTest {
     assertEquals(failure.getMessage(), "CSV file trade could not be parsed at line 2: Header not found: 'Notional'");
   }
 
+  //-------------------------------------------------------------------------
+  public void test_parseInBatches() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    ValueWithFailures<List<Trade>> expected = test.parse(ImmutableList.of(FILE.getCharSource()));
+    for (int batchSize : new int[] {1, 3, 1000}) {
+      List<ValueWithFailures<List<Trade>>> batches = new ArrayList<>();
+      test.parseInBatches(ImmutableList.of(FILE.getCharSource()), Trade.class, batchSize, batches::add);
+      List<Trade> trades = batches.stream().flatMap(b -> b.getValue().stream()).collect(toImmutableList());
+      assertEquals(trades, expected.getValue());
+      assertEquals(batches.stream().allMatch(b -> b.getFailures().isEmpty()), true);
+      assertEquals(batches.stream().allMatch(b -> b.getValue().size() <= batchSize), true);
+    }
+  }
+
+  public void test_parseInBatches_filtered() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<FraTrade> trades = new ArrayList<>();
+    test.parseInBatches(ImmutableList.of(FILE.getCharSource()), FraTrade.class, 2, b -> trades.addAll(b.getValue()));
+    assertEquals(trades, test.parse(ImmutableList.of(FILE.getCharSource()), FraTrade.class).getValue());
+  }
+
+  public void test_parseInBatches_failures() {
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    List<FailureItem> failures = new ArrayList<>();
+    test.parseInBatches(
+        ImmutableList.of(
+            CharSource.wrap(""),
+            CharSource.wrap("Id"),
+            CharSource.wrap("Strata Trade Type,Buy Sell\nFoo,Buy\nFra,Buy")),
+        Trade.class,
+        1,
+        b -> failures.addAll(b.getFailures()));
+    assertEquals(failures.size(), 4);
+    assertEquals(failures.get(0).getMessage().contains("CSV file could not be parsed"), true);
+    assertEquals(failures.get(1).getMessage().contains("CSV file does not contain 'Strata Trade Type' header"), true);
+    assertEquals(failures.get(2).getMessage(), "CSV file trade type 'Foo' is not known at line 2");
+    assertEquals(
+        failures.get(3).getMessage(), "CSV file trade could not be parsed at line 3: Header not found: 'Notional'");
+    assertThrowsIllegalArg(() -> test.parseInBatches(ImmutableList.of(), Trade.class, 0, b -> {}));
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     coverPrivateConstructor(FraTradeCsvLoader.class);
@@ -1376,4 +1419,36 @@ public class TradeCsvLoaderTest {
     coverPrivateConstructor(FullSwapTradeCsvLoader.class);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() throws Exception {
+    int nbCopies = 20000;
+    List<String> lines = FILE.getCharSource().readLines();
+    StringBuilder buf = new StringBuilder(lines.get(0)).append('\n');
+    for (int i = 0; i < nbCopies; i++) {
+      for (String line : lines.subList(1, lines.size())) {
+        buf.append(line).append('\n');
+      }
+    }
+    CharSource source = CharSource.wrap(buf.toString());
+    TradeCsvLoader test = TradeCsvLoader.standard();
+    for (int looprep = 0; looprep < 5; looprep++) {
+      long total = 0;
+      long startTime = System.currentTimeMillis();
+      total += test.parse(ImmutableList.of(source)).getValue().size();
+      long endTime = System.currentTimeMillis();
+      System.out.println(nbCopies + " copies of trade file parsed: " + (endTime - startTime) + " ms");
+      AtomicInteger count = new AtomicInteger();
+      startTime = System.currentTimeMillis();
+      test.parseInBatches(ImmutableList.of(source), Trade.class, 1000, b -> count.addAndGet(b.getValue().size()));
+      endTime = System.currentTimeMillis();
+      total += count.get();
+      System.out.println(nbCopies + " copies of trade file parsed in batches: " + (endTime - startTime) + " ms");
+      System.out.println("Total: " + total);
+    }
+  }
+
 }
@@ -47,11 +47,14 @@ import static com.opengamma.strata.product.common.PayReceive.RECEIVE;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.fail;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Period;
 import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
@@ -1464,6 +1467,75 @@ public class FpmlDocumentParserTest {
     assertEquals(trades.size(), 1);
   }
 
+  @Test(dataProvider = "parse")
+  public void parse_streaming(String location) {
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.matching("Party2"));
+    List<Trade> trades = new ArrayList<>();
+    parser.parseTrades(resource, trades::add);
+    assertEquals(trades, parser.parseTrades(resource));
+  }
+
+  //-------------------------------------------------------------------------
+  public void streaming_twoTradesTwoParties() {
+    String location = "classpath:com/opengamma/strata/loader/fpml/bullet-payment-weird.xml";
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    FpmlPartySelector selector = FpmlPartySelector.matchingRegex(Pattern.compile("Party1[ab]"));
+    FpmlDocumentParser parser = FpmlDocumentParser.of(selector);
+    List<Trade> trades = new ArrayList<>();
+    parser.parseTrades(resource, trades::add);
+    assertEquals(trades.size(), 2);
+    assertEquals(trades, parser.parseTrades(resource));
+  }
+
+  public void streaming_references() {
+    String location = "classpath:com/opengamma/strata/loader/fpml/ird-ex01-vanilla-swap.xml";
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.matching("Party1"));
+    List<Trade> trades = new ArrayList<>();
+    parser.parseTrades(resource, trades::add);
+    assertEquals(trades, parser.parseTrades(resource));
+  }
+
+  public void streaming_wrapper() {
+    String location = "classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra-wrapper-clearing-status.xml";
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    List<Trade> trades = new ArrayList<>();
+    FpmlDocumentParser.of(FpmlPartySelector.matching("Party2")).parseTrades(resource, trades::add);
+    assertFra(trades, false);
+  }
+
+  public void streaming_notFpml() {
+    String location = "classpath:com/opengamma/strata/loader/fpml/not-fpml.xml";
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.any());
+    assertThrows(
+        () -> parser.parseTrades(resource, trade -> fail()),
+        FpmlParseException.class,
+        "Unable to find FpML party element.*");
+  }
+
+  public void streaming_badSelector() {
+    String location = "classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra.xml";
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    FpmlDocumentParser parser = FpmlDocumentParser.of(allParties -> ImmutableList.of("rubbish"));
+    assertThrows(
+        () -> parser.parseTrades(resource, trade -> fail()),
+        FpmlParseException.class,
+        "Selector returned an ID .*");
+  }
+
+  public void streaming_unknownProduct() {
+    String location = "classpath:com/opengamma/strata/loader/fpml/ird-ex08-fra.xml";
+    ByteSource resource = ResourceLocator.of(location).getByteSource();
+    FpmlDocumentParser parser = FpmlDocumentParser.of(
+        FpmlPartySelector.any(), FpmlTradeInfoParserPlugin.standard(), ImmutableMap.of());
+    assertThrows(
+        () -> parser.parseTrades(resource, trade -> fail()),
+        FpmlParseException.class,
+        "Unknown product type.*");
+  }
+
   //-------------------------------------------------------------------------
   public void noTrades() {
     XmlElement rootEl = XmlElement.ofChildren("dataDocument", ImmutableList.of());
@@ -1649,4 +1721,39 @@ public class FpmlDocumentParserTest {
     }
   }
 
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() throws IOException {
+    String location = "classpath:com/opengamma/strata/loader/fpml/ird-ex01-vanilla-swap.xml";
+    String xml = ResourceLocator.of(location).getCharSource().read();
+    int tradeStart = xml.indexOf("<trade>");
+    int tradeEnd = xml.indexOf("</trade>") + "</trade>".length();
+    int nbTrades = 20000;
+    StringBuilder buf = new StringBuilder(xml.substring(0, tradeStart));
+    for (int i = 0; i < nbTrades; i++) {
+      buf.append(xml, tradeStart, tradeEnd);
+    }
+    buf.append(xml.substring(tradeEnd));
+    ByteSource resource = ByteSource.wrap(buf.toString().getBytes(StandardCharsets.UTF_8));
+    FpmlDocumentParser parser = FpmlDocumentParser.of(FpmlPartySelector.matching("Party1"));
+    for (int looprep = 0; looprep < 5; looprep++) {
+      long total = 0;
+      long startTime = System.currentTimeMillis();
+      total += parser.parseTrades(resource).size();
+      long endTime = System.currentTimeMillis();
+      System.out.println(nbTrades + " trades parsed from document: " + (endTime - startTime) + " ms");
+      startTime = System.currentTimeMillis();
+      List<Trade> trades = new ArrayList<>();
+      parser.parseTrades(resource, trades::add);
+      total += trades.size();
+      endTime = System.currentTimeMillis();
+      System.out.println(nbTrades + " trades parsed streaming: " + (endTime - startTime) + " ms");
+      System.out.println("Total: " + total);
+    }
+  }
+
 }
@@ -98,7 +98,7 @@ public final class InterpolatedNodalCurve
   /**
    * The bound interpolator.
    */
-  private final transient BoundCurveInterpolator boundInterpolator;  // derived and cached, not a property
+  private transient volatile BoundCurveInterpolator boundInterpolator;  // derived and cached lazily, not a property
   /**
    * The parameter metadata.
    */
@@ -202,6 +202,22 @@ public final class InterpolatedNodalCurve
         .collect(toImmutableList());
   }
 
+  // creates a curve with different y-values, sharing the validated state of the base curve
+  // the interpolator is bound on first use, thus a perturbed curve that is never queried is cheap to create
+  private InterpolatedNodalCurve(InterpolatedNodalCurve base, DoubleArray yValues) {
+    JodaBeanUtils.notNull(yValues, "values");
+    if (base.xValues.size() != yValues.size()) {
+      throw new IllegalArgumentException("Length of x-values and y-values must match");
+    }
+    this.metadata = base.metadata;
+    this.xValues = base.xValues;
+    this.yValues = yValues;
+    this.interpolator = base.interpolator;
+    this.extrapolatorLeft = base.extrapolatorLeft;
+    this.extrapolatorRight = base.extrapolatorRight;
+    this.parameterMetadata = base.parameterMetadata;
+  }
+
   @ImmutableDefaults
   private static void applyDefaults(Builder builder) {
     builder.extrapolatorLeft = CurveExtrapolators.FLAT;
@@ -233,24 +249,35 @@ public final class InterpolatedNodalCurve
   public InterpolatedNodalCurve withPerturbation(ParameterPerturbation perturbation) {
     int size = yValues.size();
     DoubleArray perturbedValues = DoubleArray.of(
-        size, i -> perturbation.perturbParameter(i, yValues.get(i), getParameterMetadata(i)));
+        size, i -> perturbation.perturbParameter(i, yValues.get(i), parameterMetadata.get(i)));
     return withYValues(perturbedValues);
   }
 
   //-------------------------------------------------------------------------
   @Override
   public double yValue(double x) {
-    return boundInterpolator.interpolate(x);
+    return boundInterpolator().interpolate(x);
   }
 
   @Override
   public UnitParameterSensitivity yValueParameterSensitivity(double x) {
-    return createParameterSensitivity(boundInterpolator.parameterSensitivity(x));
+    return createParameterSensitivity(boundInterpolator().parameterSensitivity(x));
   }
 
   @Override
   public double firstDerivative(double x) {
-    return boundInterpolator.firstDerivative(x);
+    return boundInterpolator().firstDerivative(x);
+  }
+
+  // the bound interpolator, binding on first use
+  // a race may bind more than once, which is harmless as the result is equivalent
+  private BoundCurveInterpolator boundInterpolator() {
+    BoundCurveInterpolator bound = boundInterpolator;
+    if (bound == null) {
+      bound = interpolator.bind(xValues, yValues, extrapolatorLeft, extrapolatorRight);
+      boundInterpolator = bound;
+    }
+    return bound;
   }
 
   //-------------------------------------------------------------------------
@@ -261,7 +288,7 @@ public final class InterpolatedNodalCurve
 
   @Override
   public InterpolatedNodalCurve withYValues(DoubleArray yValues) {
-    return new InterpolatedNodalCurve(metadata, xValues, yValues, interpolator, extrapolatorLeft, extrapolatorRight);
+    return new InterpolatedNodalCurve(this, yValues);
   }
 
   @Override
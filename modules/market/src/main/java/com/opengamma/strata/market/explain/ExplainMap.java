@@ -11,6 +11,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
@@ -19,6 +20,7 @@ import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaBean;
 import org.joda.beans.MetaProperty;
 import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableConstructor;
 import org.joda.beans.gen.PropertyDefinition;
 import org.joda.beans.impl.direct.DirectMetaBean;
 import org.joda.beans.impl.direct.DirectMetaProperty;
@@ -27,11 +29,16 @@ import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 import org.joda.convert.StringConvert;
 
 import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.ArgChecker;
 
 /**
  * A map of explanatory values.
  * <p>
  * This is a loosely defined data structure that allows an explanation of a calculation to be represented.
+ * <p>
+ * An explanation can be expensive to build, as it contains every intermediate value of the calculation.
+ * A lazy map, created using {@link #lazy(Supplier)}, builds the explanation the first time it is read.
+ * This allows an explanation to be requested for many trades, with only those that are examined being built.
  */
 @BeanDefinition(builderScope = "private")
 public final class ExplainMap
@@ -40,8 +47,12 @@ public final class ExplainMap
   /**
    * The map of explanatory values.
    */
-  @PropertyDefinition(validate = "notNull")
+  @PropertyDefinition(validate = "notNull", get = "manual")
   private final ImmutableMap<ExplainKey<?>, Object> map;
+  /**
+   * The explanation of a lazy map, null if the map is not lazy.
+   */
+  private final transient LazyExplanation lazy;  // not a property
 
   /**
    * Creates an instance from a populated map.
@@ -53,6 +64,28 @@ public final class ExplainMap
     return new ExplainMap(map);
   }
 
+  /**
+   * Creates an instance that builds the map the first time it is read.
+   * <p>
+   * The supplier is invoked when the map is first read, with the result being retained.
+   * The supplier should capture only the inputs of the calculation, such as the resolved trade and
+   * the market data, with the explanation only being built if it is needed.
+   * The supplier is discarded once the map has been built, releasing the inputs.
+   * <p>
+   * The supplier is invoked at most once, even if it fails.
+   * If it throws an exception, the exception is retained and the same exception is thrown
+   * each time the map is read, including by {@code equals}, {@code hashCode} and {@code toString}.
+   * As such, any failure is reported when the explanation is read, not when the lazy map is created.
+   * Callers that require a failure to be reported as part of the calculation must use an eager map.
+   * 
+   * @param supplier  the supplier of the explanatory map
+   * @return the explanatory map
+   */
+  public static ExplainMap lazy(Supplier<ExplainMap> supplier) {
+    ArgChecker.notNull(supplier, "supplier");
+    return new ExplainMap(supplier);
+  }
+
   /**
    * Returns a builder for creating the map.
    * 
@@ -62,6 +95,48 @@ public final class ExplainMap
     return new ExplainMapBuilder();
   }
 
+  @ImmutableConstructor
+  private ExplainMap(Map<ExplainKey<?>, Object> map) {
+    JodaBeanUtils.notNull(map, "map");
+    this.map = ImmutableMap.copyOf(map);
+    this.lazy = null;
+  }
+
+  // creates a lazy instance
+  private ExplainMap(Supplier<ExplainMap> supplier) {
+    this.map = null;
+    this.lazy = new LazyExplanation(supplier);
+  }
+
+  // resolves a lazy instance to an eager one when serializing
+  private Object writeReplace() {
+    return map != null ? this : new ExplainMap(getMap());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the map of explanatory values.
+   * <p>
+   * If this is a lazy map, the map is built the first time this method is called.
+   * 
+   * @return the map of explanatory values
+   * @throws RuntimeException if this is a lazy map and building the map failed
+   */
+  public ImmutableMap<ExplainKey<?>, Object> getMap() {
+    return map != null ? map : lazy.get();
+  }
+
+  /**
+   * Checks if the map has been built.
+   * <p>
+   * This returns false for a lazy map that has not yet been read, or that failed to build, and true otherwise.
+   * 
+   * @return true if the map has been built
+   */
+  public boolean isBuilt() {
+    return map != null || lazy.isBuilt();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Gets a value by key.
@@ -72,7 +147,7 @@ public final class ExplainMap
    */
   @SuppressWarnings("unchecked")
   public <R> Optional<R> get(ExplainKey<R> key) {
-    return (Optional<R>) Optional.ofNullable(map.get(key));
+    return (Optional<R>) Optional.ofNullable(getMap().get(key));
   }
 
   //-------------------------------------------------------------------------
@@ -95,7 +170,8 @@ public final class ExplainMap
   private void explanationString(StringBuilder buf, String indent) {
     buf.append("{").append(System.lineSeparator());
     String entryIndent = indent + "  ";
-    for (Entry<ExplainKey<?>, Object> entry : map.entrySet()) {
+    ImmutableMap<ExplainKey<?>, Object> entries = getMap();
+    for (Entry<ExplainKey<?>, Object> entry : entries.entrySet()) {
       buf.append(entryIndent).append(entry.getKey()).append(" = ");
       if (entry.getValue() instanceof List) {
         // list
@@ -112,7 +188,7 @@ public final class ExplainMap
       }
       buf.append(',').append(System.lineSeparator());
     }
-    if (!map.entrySet().isEmpty()) {
+    if (!entries.isEmpty()) {
       buf.deleteCharAt(buf.lastIndexOf(","));
     }
     buf.append(indent).append("}");
@@ -132,45 +208,7 @@ public final class ExplainMap
     }
   }
 
-  //------------------------- AUTOGENERATED START -------------------------
-  /**
-   * The meta-bean for {@code ExplainMap}.
-   * @return the meta-bean, not null
-   */
-  public static ExplainMap.Meta meta() {
-    return ExplainMap.Meta.INSTANCE;
-  }
-
-  static {
-    MetaBean.register(ExplainMap.Meta.INSTANCE);
-  }
-
-  /**
-   * The serialization version id.
-   */
-  private static final long serialVersionUID = 1L;
-
-  private ExplainMap(
-      Map<ExplainKey<?>, Object> map) {
-    JodaBeanUtils.notNull(map, "map");
-    this.map = ImmutableMap.copyOf(map);
-  }
-
-  @Override
-  public ExplainMap.Meta metaBean() {
-    return ExplainMap.Meta.INSTANCE;
-  }
-
-  //-----------------------------------------------------------------------
-  /**
-   * Gets the map of explanatory values.
-   * @return the value of the property, not null
-   */
-  public ImmutableMap<ExplainKey<?>, Object> getMap() {
-    return map;
-  }
-
-  //-----------------------------------------------------------------------
+  //-------------------------------------------------------------------------
   @Override
   public boolean equals(Object obj) {
     if (obj == this) {
@@ -178,7 +216,7 @@ public final class ExplainMap
     }
     if (obj != null && obj.getClass() == this.getClass()) {
       ExplainMap other = (ExplainMap) obj;
-      return JodaBeanUtils.equal(map, other.map);
+      return JodaBeanUtils.equal(getMap(), other.getMap());
     }
     return false;
   }
@@ -186,7 +224,7 @@ public final class ExplainMap
   @Override
   public int hashCode() {
     int hash = getClass().hashCode();
-    hash = hash * 31 + JodaBeanUtils.hashCode(map);
+    hash = hash * 31 + JodaBeanUtils.hashCode(getMap());
     return hash;
   }
 
@@ -194,11 +232,78 @@ public final class ExplainMap
   public String toString() {
     StringBuilder buf = new StringBuilder(64);
     buf.append("ExplainMap{");
-    buf.append("map").append('=').append(JodaBeanUtils.toString(map));
+    buf.append("map").append('=').append(JodaBeanUtils.toString(getMap()));
     buf.append('}');
     return buf.toString();
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * The explanation of a lazy map.
+   * <p>
+   * The supplier is invoked once, under a lock private to this class.
+   * The resulting map, or the exception thrown by the supplier, is retained.
+   */
+  private static final class LazyExplanation {
+    private final Object lock = new Object();
+    private Supplier<ExplainMap> supplier;  // guarded by lock, null once invoked
+    private volatile ImmutableMap<ExplainKey<?>, Object> map;
+    private volatile RuntimeException failure;
+
+    private LazyExplanation(Supplier<ExplainMap> supplier) {
+      this.supplier = supplier;
+    }
+
+    // gets the map, building it on first use
+    private ImmutableMap<ExplainKey<?>, Object> get() {
+      ImmutableMap<ExplainKey<?>, Object> result = map;
+      if (result != null) {
+        return result;
+      }
+      synchronized (lock) {
+        if (map == null && failure == null) {
+          try {
+            map = supplier.get().getMap();
+          } catch (RuntimeException ex) {
+            failure = ex;
+          }
+          supplier = null;
+        }
+      }
+      if (failure != null) {
+        throw failure;
+      }
+      return map;
+    }
+
+    private boolean isBuilt() {
+      return map != null;
+    }
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code ExplainMap}.
+   * @return the meta-bean, not null
+   */
+  public static ExplainMap.Meta meta() {
+    return ExplainMap.Meta.INSTANCE;
+  }
+
+  static {
+    MetaBean.register(ExplainMap.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public ExplainMap.Meta metaBean() {
+    return ExplainMap.Meta.INSTANCE;
+  }
+
   //-----------------------------------------------------------------------
   /**
    * The meta-bean for {@code ExplainMap}.
@@ -158,6 +158,28 @@ public class InterpolatedNodalCurveTest {
     assertThrowsIllegalArg(() -> base.withYValues(DoubleArray.of(4d, 6d)));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_withPerturbation() {
+    InterpolatedNodalCurve base = InterpolatedNodalCurve.of(METADATA_ENTRIES, XVALUES, YVALUES, INTERPOLATOR);
+    List<ParameterMetadata> perturbedMetadata = new ArrayList<>();
+    InterpolatedNodalCurve test = base.withPerturbation((index, value, meta) -> {
+      perturbedMetadata.add(meta);
+      return value - 2d;
+    });
+    InterpolatedNodalCurve expected =
+        InterpolatedNodalCurve.of(METADATA_ENTRIES, XVALUES, YVALUES_BUMPED, INTERPOLATOR);
+    assertThat(perturbedMetadata).isEqualTo(METADATA_ENTRIES.getParameterMetadata().get());
+    assertThat(test).isEqualTo(expected);
+    assertThat(test.getXValues()).isSameAs(base.getXValues());
+    assertThat(test.getMetadata()).isSameAs(base.getMetadata());
+    assertThat(test.yValue(1.5d)).isEqualTo(expected.yValue(1.5d));
+    assertThat(test.yValue(10d)).isEqualTo(expected.yValue(10d));
+    assertThat(test.firstDerivative(1.5d)).isEqualTo(expected.firstDerivative(1.5d));
+    assertThat(test.yValueParameterSensitivity(1.5d)).isEqualTo(expected.yValueParameterSensitivity(1.5d));
+    assertThat(test.createParameterSensitivity(Currency.GBP, DoubleArray.of(2d, 3d, 4d)))
+        .isEqualTo(expected.createParameterSensitivity(Currency.GBP, DoubleArray.of(2d, 3d, 4d)));
+  }
+
   //-------------------------------------------------------------------------
   public void test_withValuesXy() {
     InterpolatedNodalCurve base = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
@@ -256,4 +278,40 @@ public class InterpolatedNodalCurveTest {
     assertSerialization(test);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() {
+    long start, end;
+    int nbScenarios = 2000;
+    int nbCurves = 20;
+    int nbNodes = 30;
+    int nbRep = 5;
+    DoubleArray xValues = DoubleArray.of(nbNodes, i -> 0.25d * (i + 1));
+    DoubleArray yValues = DoubleArray.of(nbNodes, i -> 0.01d + 0.001d * i);
+    InterpolatedNodalCurve base = InterpolatedNodalCurve.of(
+        METADATA, xValues, yValues, CurveInterpolators.NATURAL_SPLINE);
+
+    for (int looprep = 0; looprep < nbRep; looprep++) {
+      start = System.currentTimeMillis();
+      List<InterpolatedNodalCurve> curves = new ArrayList<>();
+      for (int i = 0; i < nbScenarios * nbCurves; i++) {
+        double shift = i * 1e-7;
+        curves.add(base.withPerturbation((index, value, meta) -> value + shift));
+      }
+      end = System.currentTimeMillis();
+      System.out.println("Perturb " + curves.size() + " curves: " + (end - start) + " ms");
+
+      start = System.currentTimeMillis();
+      double total = 0;
+      for (InterpolatedNodalCurve curve : curves) {
+        total += curve.yValue(2.1d);
+      }
+      end = System.currentTimeMillis();
+      System.out.println("Query " + curves.size() + " curves: " + (end - start) + " ms, total " + total);
+    }
+  }
+
 }
@@ -12,6 +12,9 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -20,6 +23,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.testng.annotations.Test;
 
@@ -51,6 +55,69 @@ public class ExplainMapTest {
     assertEquals(test.get(ExplainKey.ACCRUAL_DAY_COUNT), Optional.empty());
   }
 
+  //-------------------------------------------------------------------------
+  public void test_lazy() {
+    Map<ExplainKey<?>, Object> map = new HashMap<>();
+    map.put(ExplainKey.START_DATE, DATE1);
+    map.put(ExplainKey.PRESENT_VALUE, AMOUNT1);
+    AtomicInteger count = new AtomicInteger();
+    ExplainMap test = ExplainMap.lazy(() -> {
+      count.incrementAndGet();
+      return ExplainMap.of(map);
+    });
+    assertEquals(count.get(), 0);
+    assertFalse(test.isBuilt());
+    assertEquals(test.get(ExplainKey.START_DATE), Optional.of(DATE1));
+    assertEquals(test.getMap(), map);
+    assertEquals(test, ExplainMap.of(map));
+    assertEquals(test.hashCode(), ExplainMap.of(map).hashCode());
+    assertEquals(test.explanationString(), ExplainMap.of(map).explanationString());
+    assertEquals(test.toString(), ExplainMap.of(map).toString());
+    assertEquals(count.get(), 1);
+    assertTrue(test.isBuilt());
+    assertTrue(ExplainMap.of(map).isBuilt());
+  }
+
+  public void test_lazy_nested() {
+    ExplainMap child = ExplainMap.lazy(() -> ExplainMap.builder().put(ExplainKey.INDEX_VALUE, 1.2).build());
+    ExplainMap test = ExplainMap.of(ImmutableMap.of(ExplainKey.LEGS, ImmutableList.of(child)));
+    assertFalse(child.isBuilt());
+    assertEquals(test.explanationString(), "ExplainMap {" + EOL +
+        "  Legs = [{" + EOL +
+        "    IndexValue = 1.2" + EOL +
+        "  }]" + EOL +
+        "}" + EOL);
+    assertTrue(child.isBuilt());
+  }
+
+  public void test_lazy_failure() {
+    AtomicInteger count = new AtomicInteger();
+    IllegalStateException failure = new IllegalStateException("Pricing failed");
+    ExplainMap test = ExplainMap.lazy(() -> {
+      count.incrementAndGet();
+      throw failure;
+    });
+    assertEquals(count.get(), 0);
+    assertThrows(() -> test.getMap(), IllegalStateException.class, "Pricing failed");
+    assertThrows(() -> test.get(ExplainKey.START_DATE), IllegalStateException.class);
+    assertThrows(() -> test.equals(ExplainMap.of(ImmutableMap.of())), IllegalStateException.class);
+    assertThrows(() -> test.hashCode(), IllegalStateException.class);
+    assertThrows(() -> test.toString(), IllegalStateException.class);
+    assertThrows(() -> test.explanationString(), IllegalStateException.class);
+    try {
+      test.getMap();
+    } catch (IllegalStateException ex) {
+      assertSame(ex, failure);
+    }
+    assertEquals(count.get(), 1);
+    assertFalse(test.isBuilt());
+  }
+
+  public void test_lazy_serialization() {
+    ExplainMap test = ExplainMap.lazy(() -> ExplainMap.of(ImmutableMap.of(ExplainKey.START_DATE, DATE1)));
+    assertSerialization(test);
+  }
+
   //-------------------------------------------------------------------------
   public void test_builder_simple() {
     ExplainMapBuilder builder = ExplainMap.builder();
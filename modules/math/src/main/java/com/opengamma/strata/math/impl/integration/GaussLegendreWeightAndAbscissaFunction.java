@@ -6,10 +6,8 @@
 package com.opengamma.strata.math.impl.integration;
 
 import com.opengamma.strata.collect.ArgChecker;
-import com.opengamma.strata.collect.tuple.Pair;
-import com.opengamma.strata.math.impl.function.DoubleFunction1D;
+import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.math.impl.function.special.LegendrePolynomialFunction;
-import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
 
 /**
  * Class that generates weights and abscissas for Gauss-Legendre quadrature.
@@ -21,13 +19,22 @@ import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
  * $$
  * where $x_i$ is the $i^{th}$ root of the orthogonal polynomial and $L_i'$ is
  * the first derivative of the $i^{th}$ polynomial. The orthogonal polynomial
- * is generated by
- * {@link LegendrePolynomialFunction}.
+ * is the same as that generated by {@link LegendrePolynomialFunction}.
+ * <p>
+ * The roots are found by Newton-Raphson iteration, starting from an asymptotic approximation of each root.
+ * The polynomial and its derivative are evaluated directly using the three-term recurrence relation,
+ * which is accurate for a large number of points.
  */
 public class GaussLegendreWeightAndAbscissaFunction implements QuadratureWeightAndAbscissaFunction {
 
-  private static final LegendrePolynomialFunction LEGENDRE = new LegendrePolynomialFunction();
-  private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder(1e-15);
+  /**
+   * The tolerance of the Newton-Raphson iteration on the change in the root.
+   */
+  private static final double TOLERANCE = 1e-15;
+  /**
+   * The maximum number of Newton-Raphson iterations for each root.
+   */
+  private static final int MAX_ITERATIONS = 100;
 
   /**
    * {@inheritDoc}
@@ -38,15 +45,21 @@ public class GaussLegendreWeightAndAbscissaFunction implements QuadratureWeightA
     int mid = (n + 1) / 2;
     double[] x = new double[n];
     double[] w = new double[n];
-    Pair<DoubleFunction1D, DoubleFunction1D>[] polynomials = LEGENDRE.getPolynomialsAndFirstDerivative(n);
-    Pair<DoubleFunction1D, DoubleFunction1D> pair = polynomials[n];
-    DoubleFunction1D function = pair.getFirst();
-    DoubleFunction1D derivative = pair.getSecond();
     for (int i = 0; i < mid; i++) {
-      double root = ROOT_FINDER.getRoot(function, derivative, getInitialRootGuess(i, n));
+      double root = getInitialRootGuess(i, n);
+      double dp = derivative(n, root);
+      int iteration = 0;
+      double delta;
+      do {
+        if (iteration++ == MAX_ITERATIONS) {
+          throw new MathException("Could not find root " + i + " of Legendre polynomial of degree " + n);
+        }
+        delta = value(n, root) / dp;
+        root -= delta;
+        dp = derivative(n, root);
+      } while (Math.abs(delta) > TOLERANCE);
       x[i] = -root;
       x[n - i - 1] = root;
-      double dp = derivative.applyAsDouble(root);
       w[i] = 2 / ((1 - root * root) * dp * dp);
       w[n - i - 1] = w[i];
     }
@@ -57,4 +70,21 @@ public class GaussLegendreWeightAndAbscissaFunction implements QuadratureWeightA
     return Math.cos(Math.PI * (i + 0.75) / (n + 0.5));
   }
 
+  // the value of the Legendre polynomial of degree n, using the recurrence relation
+  private static double value(int n, double x) {
+    double p0 = 1;
+    double p1 = x;
+    for (int j = 2; j <= n; j++) {
+      double p2 = ((2 * j - 1) * x * p1 - (j - 1) * p0) / j;
+      p0 = p1;
+      p1 = p2;
+    }
+    return n == 0 ? p0 : p1;
+  }
+
+  // the first derivative of the Legendre polynomial of degree n, where x is not -1 or 1
+  private static double derivative(int n, double x) {
+    return n * (x * value(n, x) - value(n - 1, x)) / (x * x - 1);
+  }
+
 }
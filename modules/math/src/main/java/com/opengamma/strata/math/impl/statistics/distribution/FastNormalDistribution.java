@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.statistics.distribution;
+
+/**
+ * Primitive functions for the standard normal distribution.
+ * <p>
+ * The cumulative distribution function is computed with the rational approximation of Hart (1968),
+ * as presented in G. West, "Better approximations to cumulative normal functions", Wilmott Magazine (2005),
+ * in the center and with the continued fraction of the Mills ratio in the tails.
+ * The relative accuracy is of the order of 1.0E-12 wherever the tail probability is a normal double,
+ * which is for absolute values up to about 37.5. Beyond that the tail probability is subnormal,
+ * with correspondingly reduced precision, until it underflows to zero at about 38.6.
+ * <p>
+ * The methods take and return primitive doubles and do not allocate.
+ * This makes them suitable for the inner loops of formulas applied to arrays,
+ * where {@link NormalDistribution} would box each argument.
+ */
+public final class FastNormalDistribution {
+
+  /** 1 / sqrt(2 pi). */
+  private static final double INV_SQRT_2PI = 1d / Math.sqrt(2d * Math.PI);
+  /** sqrt(2 pi). */
+  private static final double SQRT_2PI = Math.sqrt(2d * Math.PI);
+  /** The absolute value above which exp(-x^2/2), and thus the tail probability, underflows to zero. */
+  private static final double CUTOFF = 38.6d;
+  /** The absolute value above which the continued fraction is used. */
+  private static final double SWITCH = 4d;
+  /** The number of terms of the continued fraction. */
+  private static final int FRACTION_TERMS = 24;
+
+  // restricted constructor
+  private FastNormalDistribution() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the cumulative distribution function of the standard normal distribution.
+   * 
+   * @param x  the value
+   * @return the probability that a standard normal variable is below x
+   */
+  public static double cdf(double x) {
+    double xAbs = Math.abs(x);
+    double tail;
+    if (xAbs > CUTOFF) {
+      tail = 0d;
+    } else {
+      double exponential = Math.exp(-0.5 * xAbs * xAbs);
+      if (xAbs < SWITCH) {
+        double numerator = 3.52624965998911E-02 * xAbs + 0.700383064443688;
+        numerator = numerator * xAbs + 6.37396220353165;
+        numerator = numerator * xAbs + 33.912866078383;
+        numerator = numerator * xAbs + 112.079291497871;
+        numerator = numerator * xAbs + 221.213596169931;
+        numerator = numerator * xAbs + 220.206867912376;
+        double denominator = 8.83883476483184E-02 * xAbs + 1.75566716318264;
+        denominator = denominator * xAbs + 16.064177579207;
+        denominator = denominator * xAbs + 86.7807322029461;
+        denominator = denominator * xAbs + 296.564248779674;
+        denominator = denominator * xAbs + 637.333633378831;
+        denominator = denominator * xAbs + 793.826512519948;
+        denominator = denominator * xAbs + 440.413735824752;
+        tail = exponential * numerator / denominator;
+      } else {
+        tail = exponential * tailMillsRatio(xAbs) / SQRT_2PI;
+      }
+    }
+    return x > 0d ? 1d - tail : tail;
+  }
+
+  /**
+   * Computes the Mills ratio of the standard normal distribution.
+   * <p>
+   * The Mills ratio is {@code (1 - cdf(x)) / pdf(x)}. It is computed without underflow for large positive x,
+   * where both the numerator and the denominator are below the smallest double.
+   * 
+   * @param x  the value
+   * @return the Mills ratio at x
+   */
+  public static double millsRatio(double x) {
+    if (x < SWITCH) {
+      return cdf(-x) / pdf(x);
+    }
+    return tailMillsRatio(x);
+  }
+
+  /**
+   * Computes the probability density function of the standard normal distribution.
+   * 
+   * @param x  the value
+   * @return the density at x
+   */
+  public static double pdf(double x) {
+    return INV_SQRT_2PI * Math.exp(-0.5 * x * x);
+  }
+
+  //-------------------------------------------------------------------------
+  // the continued fraction of the Mills ratio, for large positive values
+  private static double tailMillsRatio(double x) {
+    double fraction = x;
+    for (int k = FRACTION_TERMS; k > 0; k--) {
+      fraction = x + k / fraction;
+    }
+    return 1d / fraction;
+  }
+
+}
@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.math.impl.integration;
 
+import static org.testng.Assert.assertEquals;
+
 import org.testng.annotations.Test;
 
 /**
@@ -33,6 +35,25 @@ public class GaussLegendreWeightAndAbscissaFunctionTest extends WeightAndAbsciss
     assertResults(F.generate(5), X5, W5);
   }
 
+  @Test
+  public void test_largeNumberOfPoints() {
+    // the quadrature integrates polynomials of degree 2n - 1 exactly
+    for (int n : new int[] {11, 16, 20, 32, 64, 100}) {
+      GaussianQuadratureData data = F.generate(n);
+      double[] x = data.getAbscissas();
+      double[] w = data.getWeights();
+      double sum = 0;
+      double moment = 0;
+      for (int i = 0; i < n; i++) {
+        sum += w[i];
+        moment += w[i] * Math.pow(x[i], 2 * n - 2);
+        assertEquals(x[i], -x[n - 1 - i], 1e-15);
+      }
+      assertEquals(sum, 2, 1e-13);
+      assertEquals(moment, 2d / (2 * n - 1), 1e-13);
+    }
+  }
+
   @Override
   protected QuadratureWeightAndAbscissaFunction getFunction() {
     return F;
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.statistics.distribution;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.TestHelper;
+
+/**
+ * Test {@link FastNormalDistribution}.
+ */
+@Test
+public class FastNormalDistributionTest {
+
+  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
+  private static final double TOLERANCE = 1.0E-14;
+
+  public void test_cdf() {
+    for (int i = 0; i <= 1000; i++) {
+      double x = -10d + 0.02 * i;
+      double expected = NORMAL.getCDF(x);
+      assertEquals(FastNormalDistribution.cdf(x), expected, TOLERANCE);
+    }
+  }
+
+  public void test_cdf_tail() {
+    for (int i = 0; i <= 60; i++) {
+      double x = -38d + 0.5 * i;
+      double expected = NORMAL.getCDF(x);
+      assertEquals(FastNormalDistribution.cdf(x), expected, expected * 1.0E-12);
+    }
+    // subnormal tail probabilities, up to the underflow of the density
+    for (int i = 0; i <= 10; i++) {
+      double x = -37.5 - 0.1 * i;
+      assertEquals(FastNormalDistribution.cdf(x), NORMAL.getCDF(x), NORMAL.getCDF(x) * 1.0E-4);
+    }
+    assertEquals(FastNormalDistribution.cdf(-38.4), 6.4E-323);
+    assertEquals(FastNormalDistribution.cdf(-40d), 0d);
+    assertEquals(FastNormalDistribution.cdf(40d), 1d);
+    assertEquals(FastNormalDistribution.cdf(0d), 0.5, TOLERANCE);
+  }
+
+  public void test_pdf() {
+    for (int i = 0; i <= 100; i++) {
+      double x = -10d + 0.2 * i;
+      assertEquals(FastNormalDistribution.pdf(x), NORMAL.getPDF(x), TOLERANCE);
+    }
+  }
+
+  public void test_millsRatio() {
+    for (int i = 0; i <= 60; i++) {
+      double x = -5d + 0.5 * i;
+      double expected = NORMAL.getCDF(-x) / NORMAL.getPDF(x);
+      assertEquals(FastNormalDistribution.millsRatio(x), expected, expected * 1.0E-12);
+    }
+    // beyond the underflow of the density, the ratio tends to 1/x
+    assertEquals(FastNormalDistribution.millsRatio(1.0E3), 1.0E-3, 1.0E-9);
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    TestHelper.coverPrivateConstructor(FastNormalDistribution.class);
+  }
+
+}
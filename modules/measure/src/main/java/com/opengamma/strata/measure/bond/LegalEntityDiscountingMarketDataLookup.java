@@ -222,12 +222,17 @@ public interface LegalEntityDiscountingMarketDataLookup extends CalculationParam
    * <p>
    * This method returns an instance that binds the lookup to the market data.
    * The input is {@link ScenarioMarketData}, which contains market data for all scenarios.
+   * <p>
+   * The view may be cached by the market data, allowing it to be shared by all calculations using the same market data.
    * 
    * @param marketData  the complete set of market data for all scenarios
    * @return the filtered market data
    */
   public default LegalEntityDiscountingScenarioMarketData marketDataView(ScenarioMarketData marketData) {
-    return DefaultLegalEntityDiscountingScenarioMarketData.of(this, marketData);
+    return marketData.view(
+        LegalEntityDiscountingScenarioMarketData.class,
+        this,
+        md -> DefaultLegalEntityDiscountingScenarioMarketData.of(this, md));
   }
 
   /**
@@ -110,12 +110,12 @@ final class FraMeasureCalculations {
         i -> explainPresentValue(trade, marketData.scenario(i).ratesProvider()));
   }
 
-  // explain present value for one scenario
+  // explain present value for one scenario, built lazily as it is expensive and often not examined
   ExplainMap explainPresentValue(
       ResolvedFraTrade trade,
       RatesProvider ratesProvider) {
 
-    return tradePricer.explainPresentValue(trade, ratesProvider);
+    return ExplainMap.lazy(() -> tradePricer.explainPresentValue(trade, ratesProvider));
   }
 
   //-------------------------------------------------------------------------
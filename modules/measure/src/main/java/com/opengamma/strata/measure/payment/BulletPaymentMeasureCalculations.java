@@ -93,12 +93,12 @@ final class BulletPaymentMeasureCalculations {
         i -> explainPresentValue(trade, marketData.scenario(i).ratesProvider()));
   }
 
-  // explain present value for one scenario
+  // explain present value for one scenario, built lazily as it is expensive and often not examined
   ExplainMap explainPresentValue(
       ResolvedBulletPaymentTrade trade,
       RatesProvider ratesProvider) {
 
-    return tradePricer.explainPresentValue(trade, ratesProvider);
+    return ExplainMap.lazy(() -> tradePricer.explainPresentValue(trade, ratesProvider));
   }
 
   //-------------------------------------------------------------------------
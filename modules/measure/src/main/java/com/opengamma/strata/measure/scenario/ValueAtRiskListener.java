@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.scenario;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.runner.AggregatingCalculationListener;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureItem;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.OffHeapCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.OffHeapMultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
+import com.opengamma.strata.math.impl.statistics.descriptive.QuantileCalculationMethod;
+import com.opengamma.strata.math.impl.statistics.descriptive.QuantileResult;
+
+/**
+ * Calculation listener that aggregates scenario values into books as they are received,
+ * producing the value at risk and expected shortfall of the portfolio.
+ * <p>
+ * The listener uses a single column of the calculations, which must contain a scenario value for
+ * each target, such as the profit and loss in each historical scenario. The value must be a
+ * {@link CurrencyScenarioArray} or {@link MultiCurrencyScenarioArray}, or the off-heap equivalents.
+ * <p>
+ * As each result is received, it is converted to the reporting currency using the FX rates of each scenario
+ * and added to the running total of its book. The result is then discarded. Thus memory use depends
+ * on the number of books and scenarios, not the number of targets.
+ * Failed results, and results of an unsupported type, are excluded from the totals and recorded as failures.
+ * <p>
+ * When the calculations are complete, the quantile calculation method is used to determine the value at risk
+ * and expected shortfall of the portfolio, as well as the standalone, component and marginal figures of each book.
+ * The tail of the distribution used is {@code 1 - level}, thus a level of 0.99 means the worst 1% of scenarios.
+ * <p>
+ * A listener instance must only be used for a single set of calculations.
+ */
+public final class ValueAtRiskListener extends AggregatingCalculationListener<ValueAtRiskResult> {
+
+  /**
+   * The index of the column containing the scenario values.
+   */
+  private final int columnIndex;
+  /**
+   * The function that determines the book of each target.
+   */
+  private final Function<? super CalculationTarget, String> bookFunction;
+  /**
+   * The reporting currency.
+   */
+  private final Currency reportingCurrency;
+  /**
+   * The FX rates of each scenario.
+   */
+  private final ScenarioFxRateProvider fxRateProvider;
+  /**
+   * The quantile calculation method.
+   */
+  private final QuantileCalculationMethod method;
+  /**
+   * The confidence level.
+   */
+  private final double level;
+  /**
+   * The FX rates to the reporting currency, keyed by currency.
+   */
+  private final Map<Currency, DoubleArray> fxRates = new HashMap<>();
+  /**
+   * The total value of each book in each scenario, keyed by book.
+   */
+  private final SortedMap<String, double[]> bookTotals = new TreeMap<>();
+  /**
+   * The failures.
+   */
+  private final List<FailureItem> failures = new ArrayList<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a listener.
+   * <p>
+   * The FX rate provider must have the same number of scenarios as the calculations.
+   *
+   * @param columnIndex  the index of the column containing the scenario values
+   * @param bookFunction  the function that determines the book of each target
+   * @param reportingCurrency  the reporting currency
+   * @param fxRateProvider  the FX rates of each scenario
+   * @param method  the quantile calculation method
+   * @param level  the confidence level, such as 0.99, greater than zero and less than one
+   * @return the listener
+   */
+  public static ValueAtRiskListener of(
+      int columnIndex,
+      Function<? super CalculationTarget, String> bookFunction,
+      Currency reportingCurrency,
+      ScenarioFxRateProvider fxRateProvider,
+      QuantileCalculationMethod method,
+      double level) {
+
+    return new ValueAtRiskListener(columnIndex, bookFunction, reportingCurrency, fxRateProvider, method, level);
+  }
+
+  // restricted constructor
+  private ValueAtRiskListener(
+      int columnIndex,
+      Function<? super CalculationTarget, String> bookFunction,
+      Currency reportingCurrency,
+      ScenarioFxRateProvider fxRateProvider,
+      QuantileCalculationMethod method,
+      double level) {
+
+    this.columnIndex = ArgChecker.notNegative(columnIndex, "columnIndex");
+    this.bookFunction = ArgChecker.notNull(bookFunction, "bookFunction");
+    this.reportingCurrency = ArgChecker.notNull(reportingCurrency, "reportingCurrency");
+    this.fxRateProvider = ArgChecker.notNull(fxRateProvider, "fxRateProvider");
+    this.method = ArgChecker.notNull(method, "method");
+    this.level = ArgChecker.inRangeExclusive(level, 0d, 1d, "level");
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+    ArgChecker.isTrue(
+        columnIndex < columns.size(),
+        "Column index {} is invalid for {} columns",
+        columnIndex,
+        columns.size());
+  }
+
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult result) {
+    if (result.getColumnIndex() != columnIndex) {
+      return;
+    }
+    Result<?> cell = result.getResult();
+    if (cell.isFailure()) {
+      failures.addAll(cell.getFailure().getItems());
+      return;
+    }
+    Object value = cell.getValue();
+    if (value instanceof CurrencyScenarioArray) {
+      CurrencyScenarioArray array = (CurrencyScenarioArray) value;
+      if (checkScenarioCount(result, array.getScenarioCount())) {
+        add(bookTotal(target), array.getCurrency(), array.getAmounts().getValues());
+      }
+    } else if (value instanceof MultiCurrencyScenarioArray) {
+      MultiCurrencyScenarioArray array = (MultiCurrencyScenarioArray) value;
+      if (checkScenarioCount(result, array.getScenarioCount())) {
+        double[] total = bookTotal(target);
+        for (Currency currency : array.getCurrencies()) {
+          add(total, currency, array.getValues(currency));
+        }
+      }
+    } else if (value instanceof OffHeapCurrencyScenarioArray) {
+      OffHeapCurrencyScenarioArray array = (OffHeapCurrencyScenarioArray) value;
+      if (checkScenarioCount(result, array.getScenarioCount())) {
+        add(bookTotal(target), array.getCurrency(), array.getValues());
+      }
+    } else if (value instanceof OffHeapMultiCurrencyScenarioArray) {
+      OffHeapMultiCurrencyScenarioArray array = (OffHeapMultiCurrencyScenarioArray) value;
+      if (checkScenarioCount(result, array.getScenarioCount())) {
+        double[] total = bookTotal(target);
+        for (Currency currency : array.getCurrencies()) {
+          add(total, currency, array.getValues(currency));
+        }
+      }
+    } else {
+      failures.add(FailureItem.of(
+          FailureReason.INVALID,
+          "Value at risk requires a currency scenario array but row {} was {}",
+          result.getRowIndex(),
+          value.getClass().getSimpleName()));
+    }
+  }
+
+  // checks the number of scenarios matches the FX rates, recording a failure if not
+  private boolean checkScenarioCount(CalculationResult result, int scenarioCount) {
+    if (scenarioCount == fxRateProvider.getScenarioCount()) {
+      return true;
+    }
+    failures.add(FailureItem.of(
+        FailureReason.INVALID,
+        "Value at risk requires {} scenarios but row {} had {}",
+        fxRateProvider.getScenarioCount(),
+        result.getRowIndex(),
+        scenarioCount));
+    return false;
+  }
+
+  // the running total of the book of the target
+  private double[] bookTotal(CalculationTarget target) {
+    String book = ArgChecker.notNull(bookFunction.apply(target), "book");
+    return bookTotals.computeIfAbsent(book, b -> new double[fxRateProvider.getScenarioCount()]);
+  }
+
+  // adds the values to the total, converting to the reporting currency
+  private void add(double[] total, Currency currency, DoubleArray values) {
+    DoubleArray rates = fxRates.computeIfAbsent(currency, ccy -> fxRateProvider.fxRates(ccy, reportingCurrency));
+    for (int i = 0; i < total.length; i++) {
+      total[i] += values.get(i) * rates.get(i);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  protected ValueAtRiskResult createAggregateResult() {
+    double tail = 1d - level;
+    DoubleArray portfolioValues = DoubleArray.filled(fxRateProvider.getScenarioCount());
+    for (double[] total : bookTotals.values()) {
+      portfolioValues = portfolioValues.plus(DoubleArray.ofUnsafe(total));
+    }
+    QuantileResult portfolioQuantile = method.quantileResultWithExtrapolationFromUnsorted(tail, portfolioValues);
+    QuantileResult portfolioShortfall = method.expectedShortfallResultFromUnsorted(tail, portfolioValues);
+    double portfolioVar = -portfolioQuantile.getValue();
+
+    Map<String, CurrencyScenarioArray> bookValues = new LinkedHashMap<>();
+    Map<String, CurrencyAmount> bookVar = new LinkedHashMap<>();
+    Map<String, CurrencyAmount> componentVar = new LinkedHashMap<>();
+    Map<String, CurrencyAmount> componentShortfall = new LinkedHashMap<>();
+    Map<String, CurrencyAmount> marginalVar = new LinkedHashMap<>();
+    for (Entry<String, double[]> entry : bookTotals.entrySet()) {
+      String book = entry.getKey();
+      DoubleArray values = DoubleArray.ofUnsafe(entry.getValue());
+      double excludingBookVar = -method.quantileWithExtrapolationFromUnsorted(tail, portfolioValues.minus(values));
+      bookValues.put(book, CurrencyScenarioArray.of(reportingCurrency, values));
+      bookVar.put(book, amount(-method.quantileWithExtrapolationFromUnsorted(tail, values)));
+      componentVar.put(book, amount(-contribution(portfolioQuantile, values)));
+      componentShortfall.put(book, amount(-contribution(portfolioShortfall, values)));
+      marginalVar.put(book, amount(portfolioVar - excludingBookVar));
+    }
+    return ValueAtRiskResult.of(
+        CurrencyScenarioArray.of(reportingCurrency, portfolioValues),
+        amount(portfolioVar),
+        amount(-portfolioShortfall.getValue()),
+        bookValues,
+        bookVar,
+        componentVar,
+        componentShortfall,
+        marginalVar,
+        failures);
+  }
+
+  // the contribution of the values to the quantile, using the scenarios and weights of the quantile
+  private static double contribution(QuantileResult quantile, DoubleArray values) {
+    int[] indices = quantile.getIndices();
+    DoubleArray weights = quantile.getWeights();
+    double contribution = 0d;
+    for (int i = 0; i < indices.length; i++) {
+      contribution += weights.get(i) * values.get(indices[i]);
+    }
+    return contribution;
+  }
+
+  private CurrencyAmount amount(double amount) {
+    return CurrencyAmount.of(reportingCurrency, amount);
+  }
+
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.scenario;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.Map;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.result.FailureItem;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+
+/**
+ * The value at risk and expected shortfall of a portfolio, with the contribution of each book.
+ * <p>
+ * This is produced by {@link ValueAtRiskListener}.
+ * The value at risk and expected shortfall are expressed as positive amounts for a loss.
+ * <p>
+ * The component contribution of a book is its share of the portfolio figure, based on the scenarios
+ * used to determine the portfolio figure. The component contributions sum to the portfolio figure.
+ * The marginal contribution of a book is the reduction in the portfolio value at risk if the book were removed.
+ */
+@BeanDefinition(style = "light")
+public final class ValueAtRiskResult
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The value of the portfolio in each scenario, in the reporting currency.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final CurrencyScenarioArray portfolioValues;
+  /**
+   * The value at risk of the portfolio.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final CurrencyAmount valueAtRisk;
+  /**
+   * The expected shortfall of the portfolio.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final CurrencyAmount expectedShortfall;
+  /**
+   * The value of each book in each scenario, in the reporting currency, keyed by book.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableMap<String, CurrencyScenarioArray> bookValues;
+  /**
+   * The standalone value at risk of each book, keyed by book.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableMap<String, CurrencyAmount> bookValueAtRisk;
+  /**
+   * The component contribution of each book to the value at risk of the portfolio, keyed by book.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableMap<String, CurrencyAmount> componentValueAtRisk;
+  /**
+   * The component contribution of each book to the expected shortfall of the portfolio, keyed by book.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableMap<String, CurrencyAmount> componentExpectedShortfall;
+  /**
+   * The marginal contribution of each book to the value at risk of the portfolio, keyed by book.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableMap<String, CurrencyAmount> marginalValueAtRisk;
+  /**
+   * The failures of the calculations that were excluded from the portfolio.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<FailureItem> failures;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param portfolioValues  the value of the portfolio in each scenario
+   * @param valueAtRisk  the value at risk of the portfolio
+   * @param expectedShortfall  the expected shortfall of the portfolio
+   * @param bookValues  the value of each book in each scenario
+   * @param bookValueAtRisk  the standalone value at risk of each book
+   * @param componentValueAtRisk  the component contribution of each book to the value at risk
+   * @param componentExpectedShortfall  the component contribution of each book to the expected shortfall
+   * @param marginalValueAtRisk  the marginal contribution of each book to the value at risk
+   * @param failures  the failures of the calculations that were excluded
+   * @return the result
+   */
+  public static ValueAtRiskResult of(
+      CurrencyScenarioArray portfolioValues,
+      CurrencyAmount valueAtRisk,
+      CurrencyAmount expectedShortfall,
+      Map<String, CurrencyScenarioArray> bookValues,
+      Map<String, CurrencyAmount> bookValueAtRisk,
+      Map<String, CurrencyAmount> componentValueAtRisk,
+      Map<String, CurrencyAmount> componentExpectedShortfall,
+      Map<String, CurrencyAmount> marginalValueAtRisk,
+      List<FailureItem> failures) {
+
+    return new ValueAtRiskResult(
+        portfolioValues,
+        valueAtRisk,
+        expectedShortfall,
+        bookValues,
+        bookValueAtRisk,
+        componentValueAtRisk,
+        componentExpectedShortfall,
+        marginalValueAtRisk,
+        failures);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code ValueAtRiskResult}.
+   */
+  private static final TypedMetaBean<ValueAtRiskResult> META_BEAN =
+      LightMetaBean.of(
+          ValueAtRiskResult.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "portfolioValues",
+              "valueAtRisk",
+              "expectedShortfall",
+              "bookValues",
+              "bookValueAtRisk",
+              "componentValueAtRisk",
+              "componentExpectedShortfall",
+              "marginalValueAtRisk",
+              "failures"},
+          null,
+          null,
+          null,
+          ImmutableMap.of(),
+          ImmutableMap.of(),
+          ImmutableMap.of(),
+          ImmutableMap.of(),
+          ImmutableMap.of(),
+          ImmutableList.of());
+
+  /**
+   * The meta-bean for {@code ValueAtRiskResult}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<ValueAtRiskResult> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private ValueAtRiskResult(
+      CurrencyScenarioArray portfolioValues,
+      CurrencyAmount valueAtRisk,
+      CurrencyAmount expectedShortfall,
+      Map<String, CurrencyScenarioArray> bookValues,
+      Map<String, CurrencyAmount> bookValueAtRisk,
+      Map<String, CurrencyAmount> componentValueAtRisk,
+      Map<String, CurrencyAmount> componentExpectedShortfall,
+      Map<String, CurrencyAmount> marginalValueAtRisk,
+      List<FailureItem> failures) {
+    JodaBeanUtils.notNull(portfolioValues, "portfolioValues");
+    JodaBeanUtils.notNull(valueAtRisk, "valueAtRisk");
+    JodaBeanUtils.notNull(expectedShortfall, "expectedShortfall");
+    JodaBeanUtils.notNull(bookValues, "bookValues");
+    JodaBeanUtils.notNull(bookValueAtRisk, "bookValueAtRisk");
+    JodaBeanUtils.notNull(componentValueAtRisk, "componentValueAtRisk");
+    JodaBeanUtils.notNull(componentExpectedShortfall, "componentExpectedShortfall");
+    JodaBeanUtils.notNull(marginalValueAtRisk, "marginalValueAtRisk");
+    JodaBeanUtils.notNull(failures, "failures");
+    this.portfolioValues = portfolioValues;
+    this.valueAtRisk = valueAtRisk;
+    this.expectedShortfall = expectedShortfall;
+    this.bookValues = ImmutableMap.copyOf(bookValues);
+    this.bookValueAtRisk = ImmutableMap.copyOf(bookValueAtRisk);
+    this.componentValueAtRisk = ImmutableMap.copyOf(componentValueAtRisk);
+    this.componentExpectedShortfall = ImmutableMap.copyOf(componentExpectedShortfall);
+    this.marginalValueAtRisk = ImmutableMap.copyOf(marginalValueAtRisk);
+    this.failures = ImmutableList.copyOf(failures);
+  }
+
+  @Override
+  public TypedMetaBean<ValueAtRiskResult> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the value of the portfolio in each scenario, in the reporting currency.
+   * @return the value of the property, not null
+   */
+  public CurrencyScenarioArray getPortfolioValues() {
+    return portfolioValues;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the value at risk of the portfolio.
+   * @return the value of the property, not null
+   */
+  public CurrencyAmount getValueAtRisk() {
+    return valueAtRisk;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the expected shortfall of the portfolio.
+   * @return the value of the property, not null
+   */
+  public CurrencyAmount getExpectedShortfall() {
+    return expectedShortfall;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the value of each book in each scenario, in the reporting currency, keyed by book.
+   * @return the value of the property, not null
+   */
+  public ImmutableMap<String, CurrencyScenarioArray> getBookValues() {
+    return bookValues;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the standalone value at risk of each book, keyed by book.
+   * @return the value of the property, not null
+   */
+  public ImmutableMap<String, CurrencyAmount> getBookValueAtRisk() {
+    return bookValueAtRisk;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the component contribution of each book to the value at risk of the portfolio, keyed by book.
+   * @return the value of the property, not null
+   */
+  public ImmutableMap<String, CurrencyAmount> getComponentValueAtRisk() {
+    return componentValueAtRisk;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the component contribution of each book to the expected shortfall of the portfolio, keyed by book.
+   * @return the value of the property, not null
+   */
+  public ImmutableMap<String, CurrencyAmount> getComponentExpectedShortfall() {
+    return componentExpectedShortfall;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the marginal contribution of each book to the value at risk of the portfolio, keyed by book.
+   * @return the value of the property, not null
+   */
+  public ImmutableMap<String, CurrencyAmount> getMarginalValueAtRisk() {
+    return marginalValueAtRisk;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the failures of the calculations that were excluded from the portfolio.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<FailureItem> getFailures() {
+    return failures;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      ValueAtRiskResult other = (ValueAtRiskResult) obj;
+      return JodaBeanUtils.equal(portfolioValues, other.portfolioValues) &&
+          JodaBeanUtils.equal(valueAtRisk, other.valueAtRisk) &&
+          JodaBeanUtils.equal(expectedShortfall, other.expectedShortfall) &&
+          JodaBeanUtils.equal(bookValues, other.bookValues) &&
+          JodaBeanUtils.equal(bookValueAtRisk, other.bookValueAtRisk) &&
+          JodaBeanUtils.equal(componentValueAtRisk, other.componentValueAtRisk) &&
+          JodaBeanUtils.equal(componentExpectedShortfall, other.componentExpectedShortfall) &&
+          JodaBeanUtils.equal(marginalValueAtRisk, other.marginalValueAtRisk) &&
+          JodaBeanUtils.equal(failures, other.failures);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(portfolioValues);
+    hash = hash * 31 + JodaBeanUtils.hashCode(valueAtRisk);
+    hash = hash * 31 + JodaBeanUtils.hashCode(expectedShortfall);
+    hash = hash * 31 + JodaBeanUtils.hashCode(bookValues);
+    hash = hash * 31 + JodaBeanUtils.hashCode(bookValueAtRisk);
+    hash = hash * 31 + JodaBeanUtils.hashCode(componentValueAtRisk);
+    hash = hash * 31 + JodaBeanUtils.hashCode(componentExpectedShortfall);
+    hash = hash * 31 + JodaBeanUtils.hashCode(marginalValueAtRisk);
+    hash = hash * 31 + JodaBeanUtils.hashCode(failures);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(320);
+    buf.append("ValueAtRiskResult{");
+    buf.append("portfolioValues").append('=').append(JodaBeanUtils.toString(portfolioValues)).append(',').append(' ');
+    buf.append("valueAtRisk").append('=').append(JodaBeanUtils.toString(valueAtRisk)).append(',').append(' ');
+    buf.append("expectedShortfall").append('=').append(JodaBeanUtils.toString(expectedShortfall)).append(',').append(' ');
+    buf.append("bookValues").append('=').append(JodaBeanUtils.toString(bookValues)).append(',').append(' ');
+    buf.append("bookValueAtRisk").append('=').append(JodaBeanUtils.toString(bookValueAtRisk)).append(',').append(' ');
+    buf.append("componentValueAtRisk").append('=').append(JodaBeanUtils.toString(componentValueAtRisk)).append(',').append(' ');
+    buf.append("componentExpectedShortfall").append('=').append(JodaBeanUtils.toString(componentExpectedShortfall)).append(',').append(' ');
+    buf.append("marginalValueAtRisk").append('=').append(JodaBeanUtils.toString(marginalValueAtRisk)).append(',').append(' ');
+    buf.append("failures").append('=').append(JodaBeanUtils.toString(failures));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -0,0 +1,10 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * Aggregation of scenario results across a portfolio.
+ */
+package com.opengamma.strata.measure.scenario;
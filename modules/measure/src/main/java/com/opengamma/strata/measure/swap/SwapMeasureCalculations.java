@@ -126,12 +126,12 @@ final class SwapMeasureCalculations {
         i -> explainPresentValue(trade, marketData.scenario(i).ratesProvider()));
   }
 
-  // explain present value for one scenario
+  // explain present value for one scenario, built lazily as it is expensive and often not examined
   ExplainMap explainPresentValue(
       ResolvedSwapTrade trade,
       RatesProvider ratesProvider) {
 
-    return tradePricer.explainPresentValue(trade, ratesProvider);
+    return ExplainMap.lazy(() -> tradePricer.explainPresentValue(trade, ratesProvider));
   }
 
   //-------------------------------------------------------------------------
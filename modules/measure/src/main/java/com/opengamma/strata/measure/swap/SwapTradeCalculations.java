@@ -93,6 +93,8 @@ public class SwapTradeCalculations {
    * This provides a breakdown of how
    * {@linkplain #presentValue(ResolvedSwapTrade, RatesMarketDataLookup, ScenarioMarketData) present value}
    * was calculated, typically used for debugging and validation.
+   * <p>
+   * The explanation is only built when it is first read, see {@link ExplainMap#lazy(java.util.function.Supplier)}.
    * 
    * @param trade  the trade
    * @param lookup  the lookup used to query the market data
@@ -113,6 +115,8 @@ public class SwapTradeCalculations {
    * This provides a breakdown of how
    * {@linkplain #presentValue(ResolvedSwapTrade, RatesMarketDataLookup, ScenarioMarketData) present value}
    * was calculated, typically used for debugging and validation.
+   * <p>
+   * The explanation is only built when it is first read, see {@link ExplainMap#lazy(java.util.function.Supplier)}.
    * 
    * @param trade  the trade
    * @param ratesProvider  the market data
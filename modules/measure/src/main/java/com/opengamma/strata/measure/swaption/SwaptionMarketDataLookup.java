@@ -120,12 +120,17 @@ public interface SwaptionMarketDataLookup extends CalculationParameter {
    * <p>
    * This method returns an instance that binds the lookup to the market data.
    * The input is {@link ScenarioMarketData}, which contains market data for all scenarios.
+   * <p>
+   * The view may be cached by the market data, allowing it to be shared by all calculations using the same market data.
    * 
    * @param marketData  the complete set of market data for all scenarios
    * @return the filtered market data
    */
   public default SwaptionScenarioMarketData marketDataView(ScenarioMarketData marketData) {
-    return DefaultSwaptionScenarioMarketData.of(this, marketData);
+    return marketData.view(
+        SwaptionScenarioMarketData.class,
+        this,
+        md -> DefaultSwaptionScenarioMarketData.of(this, md));
   }
 
   /**
@@ -10,6 +10,7 @@ import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -38,7 +39,7 @@ public class BondFutureOptionMarketDataLookupTest {
   private static final BondFutureVolatilitiesId VOL_ID1 = BondFutureVolatilitiesId.of("ID1");
   private static final BondFutureVolatilities MOCK_VOLS = mock(BondFutureVolatilities.class);
   private static final MarketData MOCK_MARKET_DATA = mock(MarketData.class);
-  private static final ScenarioMarketData MOCK_CALC_MARKET_DATA = mock(ScenarioMarketData.class);
+  private static final ScenarioMarketData MOCK_CALC_MARKET_DATA = mock(ScenarioMarketData.class, CALLS_REAL_METHODS);
   private static final SecurityId SEC_OG1 = SecurityId.of("OG", "1");
   private static final SecurityId SEC_OG2 = SecurityId.of("OG", "2");
   private static final SecurityId SEC_OG3 = SecurityId.of("OG", "3");
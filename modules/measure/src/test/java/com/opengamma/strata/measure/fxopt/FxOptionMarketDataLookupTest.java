@@ -13,6 +13,7 @@ import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -41,7 +42,7 @@ public class FxOptionMarketDataLookupTest {
   private static final FxOptionVolatilitiesId VOL_ID1 = FxOptionVolatilitiesId.of("EURUSD1");
   private static final FxOptionVolatilities MOCK_VOLS = mock(FxOptionVolatilities.class);
   private static final MarketData MOCK_MARKET_DATA = mock(MarketData.class);
-  private static final ScenarioMarketData MOCK_CALC_MARKET_DATA = mock(ScenarioMarketData.class);
+  private static final ScenarioMarketData MOCK_CALC_MARKET_DATA = mock(ScenarioMarketData.class, CALLS_REAL_METHODS);
   private static final CurrencyPair EUR_USD = CurrencyPair.of(EUR, USD);
   private static final CurrencyPair GBP_USD = CurrencyPair.of(GBP, USD);
   private static final CurrencyPair EUR_GBP = CurrencyPair.of(EUR, GBP);
@@ -20,10 +20,15 @@ import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -44,6 +49,7 @@ import com.opengamma.strata.data.MarketDataFxRateProvider;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.MarketDataNotFoundException;
 import com.opengamma.strata.data.ObservableSource;
+import com.opengamma.strata.data.scenario.MarketDataBox;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.curve.ConstantCurve;
 import com.opengamma.strata.market.curve.Curve;
@@ -69,7 +75,7 @@ public class RatesMarketDataLookupTest {
   private static final CurveId CURVE_ID_FWD = CurveId.of("Group", "USD-L3M");
   private static final ObservableSource OBS_SOURCE = ObservableSource.of("Vendor");
   private static final MarketData MOCK_MARKET_DATA = mock(MarketData.class);
-  private static final ScenarioMarketData MOCK_CALC_MARKET_DATA = mock(ScenarioMarketData.class);
+  private static final ScenarioMarketData MOCK_CALC_MARKET_DATA = mock(ScenarioMarketData.class, CALLS_REAL_METHODS);
 
   //-------------------------------------------------------------------------
   public void test_of_map() {
@@ -152,6 +158,19 @@ public class RatesMarketDataLookupTest {
     assertEquals(scenario.getValuationDate(), valDate);
   }
 
+  public void test_marketDataView_shared() {
+    RatesMarketDataLookup test = RatesMarketDataLookup.of(ImmutableMap.of(USD, CURVE_ID_DSC), ImmutableMap.of());
+    Curve curve = ConstantCurve.of(Curves.discountFactors(CURVE_ID_DSC.getCurveName(), ACT_360), 0.99);
+    ScenarioMarketData md = ScenarioMarketData.of(
+        2, date(2015, 6, 30), ImmutableMap.of(CURVE_ID_DSC, MarketDataBox.ofSingleValue(curve)), ImmutableMap.of());
+    RatesScenarioMarketData view = test.marketDataView(md);
+    assertSame(test.marketDataView(md), view);
+    RatesMarketDataLookup equalLookup = RatesMarketDataLookup.of(ImmutableMap.of(USD, CURVE_ID_DSC), ImmutableMap.of());
+    assertSame(equalLookup.marketDataView(md), view);
+    assertSame(view.scenario(1), test.marketDataView(md).scenario(1));
+    assertNotSame(RatesMarketDataLookup.of(ImmutableMap.of(), ImmutableMap.of()).marketDataView(md), view);
+  }
+
   public void test_ratesProvider() {
     ImmutableMap<Currency, CurveId> discounts = ImmutableMap.of(USD, CURVE_ID_DSC);
     ImmutableMap<Index, CurveId> forwards =
@@ -248,4 +267,53 @@ public class RatesMarketDataLookupTest {
     assertSerialization(test.ratesProvider(md));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() {
+    long start, end;
+    int nbRep = 5;
+    int nbTrades = 10_000;
+    int nbScenarios = 250;
+    RatesMarketDataLookup lookup = RatesMarketDataLookup.of(ImmutableMap.of(USD, CURVE_ID_DSC), ImmutableMap.of());
+    List<Curve> curves = new ArrayList<>();
+    for (int i = 0; i < nbScenarios; i++) {
+      curves.add(ConstantCurve.of(Curves.discountFactors(CURVE_ID_DSC.getCurveName(), ACT_360), 0.99 - i * 1e-4));
+    }
+    ScenarioMarketData md = ScenarioMarketData.of(
+        nbScenarios,
+        date(2015, 6, 30),
+        ImmutableMap.of(CURVE_ID_DSC, MarketDataBox.ofScenarioValues(curves)),
+        ImmutableMap.of());
+    LocalDate date = date(2016, 6, 30);
+
+    for (int looprep = 0; looprep < nbRep; looprep++) {
+      double total = 0d;
+      start = System.currentTimeMillis();
+      for (int i = 0; i < nbTrades; i++) {
+        RatesScenarioMarketData view = DefaultRatesScenarioMarketData.of(lookup, md);
+        for (int j = 0; j < nbScenarios; j++) {
+          total += view.scenario(j).ratesProvider().discountFactor(USD, date);
+        }
+      }
+      end = System.currentTimeMillis();
+      System.out.println("View per trade: " + nbTrades + " trades x " + nbScenarios + " scenarios in " +
+          (end - start) + " ms, total " + total);
+
+      total = 0d;
+      start = System.currentTimeMillis();
+      for (int i = 0; i < nbTrades; i++) {
+        RatesScenarioMarketData view = lookup.marketDataView(md);
+        for (int j = 0; j < nbScenarios; j++) {
+          total += view.scenario(j).ratesProvider().discountFactor(USD, date);
+        }
+      }
+      end = System.currentTimeMillis();
+      System.out.println("Shared view: " + nbTrades + " trades x " + nbScenarios + " scenarios in " +
+          (end - start) + " ms, total " + total);
+    }
+  }
+
 }
@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.scenario;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.OffHeapScenarioStore;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
+import com.opengamma.strata.math.impl.statistics.descriptive.IndexAboveQuantileMethod;
+import com.opengamma.strata.math.impl.statistics.descriptive.QuantileCalculationMethod;
+import com.opengamma.strata.measure.Measures;
+
+/**
+ * Test {@link ValueAtRiskListener}.
+ */
+@Test
+public class ValueAtRiskListenerTest {
+
+  private static final double TOLERANCE = 1e-8;
+  private static final int SCENARIO_COUNT = 20;
+  private static final double LEVEL = 0.9;
+  private static final QuantileCalculationMethod METHOD = IndexAboveQuantileMethod.DEFAULT;
+  private static final ScenarioFxRateProvider FX_RATES = new TestFxRateProvider();
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measures.PRESENT_VALUE),
+      Column.of(Measures.PRESENT_VALUE, "Scenario PV"));
+
+  //-------------------------------------------------------------------------
+  public void test_aggregation() {
+    List<TestTarget> targets = targets(30);
+    List<CalculationResult> results = results(targets);
+    ValueAtRiskResult test = run(targets, results);
+
+    // the portfolio and book values are the sum of the converted values
+    double[] portfolio = new double[SCENARIO_COUNT];
+    double[] book0 = new double[SCENARIO_COUNT];
+    for (int i = 0; i < targets.size(); i++) {
+      double[] converted = converted(results.get(i * 2 + 1).getResult().getValue());
+      for (int j = 0; j < SCENARIO_COUNT; j++) {
+        portfolio[j] += converted[j];
+        book0[j] += (targets.get(i).book.equals("Book0") ? converted[j] : 0d);
+      }
+    }
+    assertThat(test.getPortfolioValues().getCurrency()).isEqualTo(USD);
+    assertThat(test.getPortfolioValues().getAmounts().getValues()
+        .equalWithTolerance(DoubleArray.ofUnsafe(portfolio), TOLERANCE)).isTrue();
+    assertThat(test.getBookValues().keySet()).containsExactly("Book0", "Book1", "Book2");
+    assertThat(test.getBookValues().get("Book0").getAmounts().getValues()
+        .equalWithTolerance(DoubleArray.ofUnsafe(book0), TOLERANCE)).isTrue();
+    assertThat(test.getFailures()).isEmpty();
+
+    // the portfolio figures use the quantile method
+    DoubleArray portfolioValues = DoubleArray.ofUnsafe(portfolio);
+    double var = -METHOD.quantileWithExtrapolationFromUnsorted(1 - LEVEL, portfolioValues);
+    double es = -METHOD.expectedShortfallFromUnsorted(1 - LEVEL, portfolioValues);
+    assertThat(test.getValueAtRisk().getCurrency()).isEqualTo(USD);
+    assertThat(test.getValueAtRisk().getAmount()).isCloseTo(var, within(TOLERANCE));
+    assertThat(test.getExpectedShortfall().getAmount()).isCloseTo(es, within(TOLERANCE));
+    assertThat(test.getBookValueAtRisk().get("Book0").getAmount()).isCloseTo(
+        -METHOD.quantileWithExtrapolationFromUnsorted(1 - LEVEL, DoubleArray.ofUnsafe(book0)), within(TOLERANCE));
+
+    // the component contributions sum to the portfolio figures
+    assertThat(total(test.getComponentValueAtRisk().values())).isCloseTo(var, within(TOLERANCE));
+    assertThat(total(test.getComponentExpectedShortfall().values())).isCloseTo(es, within(TOLERANCE));
+
+    // the marginal contribution is the reduction in value at risk if the book is removed
+    double excludingBook0 = -METHOD.quantileWithExtrapolationFromUnsorted(
+        1 - LEVEL, portfolioValues.minus(DoubleArray.ofUnsafe(book0)));
+    assertThat(test.getMarginalValueAtRisk().get("Book0").getAmount())
+        .isCloseTo(var - excludingBook0, within(TOLERANCE));
+  }
+
+  public void test_offHeap() {
+    List<TestTarget> targets = targets(10);
+    List<CalculationResult> results = results(targets);
+    try (OffHeapScenarioStore store = OffHeapScenarioStore.create()) {
+      List<CalculationResult> offHeapResults = new ArrayList<>();
+      for (CalculationResult result : results) {
+        Object value = result.getResult().getValue();
+        Object offHeap = value instanceof CurrencyScenarioArray ?
+            store.copyOf((CurrencyScenarioArray) value) :
+            value instanceof MultiCurrencyScenarioArray ? store.copyOf((MultiCurrencyScenarioArray) value) : value;
+        offHeapResults.add(
+            CalculationResult.of(result.getRowIndex(), result.getColumnIndex(), Result.success(offHeap)));
+      }
+      ValueAtRiskResult test = run(targets, offHeapResults);
+      assertThat(test.getFailures()).isEmpty();
+      assertThat(test).isEqualTo(run(targets, results));
+    }
+  }
+
+  public void test_failures() {
+    List<TestTarget> targets = targets(3);
+    List<CalculationResult> results = new ArrayList<>(results(targets));
+    results.set(1, CalculationResult.of(0, 1, Result.failure(FailureReason.CALCULATION_FAILED, "Failed")));
+    results.set(3, CalculationResult.of(1, 1, Result.success(CurrencyAmount.of(GBP, 1))));
+    results.set(5, CalculationResult.of(2, 1, Result.success(CurrencyScenarioArray.of(GBP, DoubleArray.of(1, 2)))));
+    ValueAtRiskResult test = run(targets, results);
+    assertThat(test.getFailures()).hasSize(3);
+    assertThat(test.getFailures().get(0).getReason()).isEqualTo(FailureReason.CALCULATION_FAILED);
+    assertThat(test.getFailures().get(1).getReason()).isEqualTo(FailureReason.INVALID);
+    assertThat(test.getFailures().get(2).getReason()).isEqualTo(FailureReason.INVALID);
+    assertThat(test.getBookValues()).isEmpty();
+    assertThat(test.getPortfolioValues().getAmounts().getValues()).isEqualTo(DoubleArray.filled(SCENARIO_COUNT));
+    assertThat(test.getValueAtRisk().getAmount()).isCloseTo(0d, within(TOLERANCE));
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> ValueAtRiskListener.of(1, t -> "A", USD, FX_RATES, METHOD, 0));
+    assertThrowsIllegalArg(() -> ValueAtRiskListener.of(1, t -> "A", USD, FX_RATES, METHOD, 1));
+    assertThrowsIllegalArg(() -> ValueAtRiskListener.of(-1, t -> "A", USD, FX_RATES, METHOD, LEVEL));
+    ValueAtRiskListener test = ValueAtRiskListener.of(2, t -> "A", USD, FX_RATES, METHOD, LEVEL);
+    assertThrowsIllegalArg(() -> test.calculationsStarted(ImmutableList.of(), COLUMNS));
+  }
+
+  //-------------------------------------------------------------------------
+  private static ValueAtRiskResult run(List<TestTarget> targets, List<CalculationResult> results) {
+    ValueAtRiskListener listener =
+        ValueAtRiskListener.of(1, target -> ((TestTarget) target).book, USD, FX_RATES, METHOD, LEVEL);
+    listener.calculationsStarted(ImmutableList.copyOf(targets), COLUMNS);
+    for (CalculationResult result : results) {
+      listener.resultReceived(targets.get(result.getRowIndex()), result);
+    }
+    listener.calculationsComplete();
+    return listener.result();
+  }
+
+  private static List<TestTarget> targets(int count) {
+    List<TestTarget> targets = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      targets.add(new TestTarget("Book" + (i % 3)));
+    }
+    return targets;
+  }
+
+  // the results, in row then column order, alternating between GBP and GBP/USD values
+  private static List<CalculationResult> results(List<TestTarget> targets) {
+    List<CalculationResult> results = new ArrayList<>();
+    for (int i = 0; i < targets.size(); i++) {
+      int row = i;
+      results.add(CalculationResult.of(i, 0, Result.success(CurrencyAmount.of(GBP, i))));
+      if (i % 2 == 0) {
+        DoubleArray values = DoubleArray.of(SCENARIO_COUNT, j -> Math.sin(row + j) * 100);
+        results.add(CalculationResult.of(i, 1, Result.success(CurrencyScenarioArray.of(GBP, values))));
+      } else {
+        MultiCurrencyScenarioArray values = MultiCurrencyScenarioArray.of(
+            SCENARIO_COUNT,
+            j -> MultiCurrencyAmount.of(
+                CurrencyAmount.of(GBP, Math.cos(row * j) * 50),
+                CurrencyAmount.of(USD, j - row)));
+        results.add(CalculationResult.of(i, 1, Result.success(values)));
+      }
+    }
+    return results;
+  }
+
+  // converts the scenario values to USD
+  private static double[] converted(Object value) {
+    CurrencyScenarioArray converted = value instanceof CurrencyScenarioArray ?
+        ((CurrencyScenarioArray) value).convertedTo(USD, FX_RATES) :
+        ((MultiCurrencyScenarioArray) value).convertedTo(USD, FX_RATES);
+    return converted.getAmounts().getValues().toArray();
+  }
+
+  private static double total(Iterable<CurrencyAmount> amounts) {
+    double total = 0;
+    for (CurrencyAmount amount : amounts) {
+      total += amount.getAmount();
+    }
+    return total;
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class TestTarget implements CalculationTarget {
+    private final String book;
+
+    private TestTarget(String book) {
+      this.book = book;
+    }
+  }
+
+  private static final class TestFxRateProvider implements ScenarioFxRateProvider {
+    @Override
+    public int getScenarioCount() {
+      return SCENARIO_COUNT;
+    }
+
+    @Override
+    public FxRateProvider fxRateProvider(int scenarioIndex) {
+      return FxMatrix.of(GBP, USD, 1.5 + scenarioIndex * 0.01);
+    }
+  }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.scenario;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureItem;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+
+/**
+ * Test {@link ValueAtRiskResult}.
+ */
+@Test
+public class ValueAtRiskResultTest {
+
+  private static final CurrencyScenarioArray VALUES = CurrencyScenarioArray.of(GBP, DoubleArray.of(1, -2, 3));
+  private static final CurrencyAmount AMOUNT = CurrencyAmount.of(GBP, 2);
+  private static final FailureItem FAILURE = FailureItem.of(FailureReason.CALCULATION_FAILED, "Failed");
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    ValueAtRiskResult test = sut();
+    assertEquals(test.getPortfolioValues(), VALUES);
+    assertEquals(test.getValueAtRisk(), AMOUNT);
+    assertEquals(test.getExpectedShortfall(), AMOUNT);
+    assertEquals(test.getBookValues(), ImmutableMap.of("A", VALUES));
+    assertEquals(test.getBookValueAtRisk(), ImmutableMap.of("A", AMOUNT));
+    assertEquals(test.getComponentValueAtRisk(), ImmutableMap.of("A", AMOUNT));
+    assertEquals(test.getComponentExpectedShortfall(), ImmutableMap.of("A", AMOUNT));
+    assertEquals(test.getMarginalValueAtRisk(), ImmutableMap.of("A", AMOUNT));
+    assertEquals(test.getFailures(), ImmutableList.of(FAILURE));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    coverImmutableBean(sut());
+    coverBeanEquals(sut(), sut2());
+  }
+
+  public void test_serialization() {
+    assertSerialization(sut());
+  }
+
+  //-------------------------------------------------------------------------
+  static ValueAtRiskResult sut() {
+    return ValueAtRiskResult.of(
+        VALUES,
+        AMOUNT,
+        AMOUNT,
+        ImmutableMap.of("A", VALUES),
+        ImmutableMap.of("A", AMOUNT),
+        ImmutableMap.of("A", AMOUNT),
+        ImmutableMap.of("A", AMOUNT),
+        ImmutableMap.of("A", AMOUNT),
+        ImmutableList.of(FAILURE));
+  }
+
+  static ValueAtRiskResult sut2() {
+    CurrencyScenarioArray values = CurrencyScenarioArray.of(USD, DoubleArray.of(4, 5));
+    CurrencyAmount amount = CurrencyAmount.of(USD, 3);
+    return ValueAtRiskResult.of(
+        values,
+        amount,
+        amount,
+        ImmutableMap.of("B", values),
+        ImmutableMap.of("B", amount),
+        ImmutableMap.of("B", amount),
+        ImmutableMap.of("B", amount),
+        ImmutableMap.of("B", amount),
+        ImmutableList.of());
+  }
+
+}
@@ -6,6 +6,8 @@
 package com.opengamma.strata.measure.swap;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 import org.testng.annotations.Test;
 
@@ -86,4 +88,49 @@ public class SwapTradeCalculationsTest {
         ScenarioArray.of(ImmutableList.of(expectedPv01CalBucketed)));
   }
 
+  public void test_explainPresentValue_lazy() {
+    ScenarioMarketData md = SwapTradeCalculationFunctionTest.marketData();
+    RatesProvider provider = RATES_LOOKUP.marketDataView(md.scenario(0)).ratesProvider();
+    ExplainMap test = SwapTradeCalculations.DEFAULT.explainPresentValue(RTRADE, provider);
+    assertFalse(test.isBuilt());
+    assertEquals(test, DiscountingSwapTradePricer.DEFAULT.explainPresentValue(RTRADE, provider));
+    assertTrue(test.isBuilt());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() {
+    ScenarioMarketData md = SwapTradeCalculationFunctionTest.marketData();
+    RatesProvider provider = RATES_LOOKUP.marketDataView(md.scenario(0)).ratesProvider();
+    DiscountingSwapTradePricer pricer = DiscountingSwapTradePricer.DEFAULT;
+    int nbTrades = 10_000;
+    long start, end;
+    int nbRep = 5;
+    for (int looprep = 0; looprep < nbRep; looprep++) {
+      start = System.currentTimeMillis();
+      for (int i = 0; i < nbTrades; i++) {
+        pricer.presentValue(RTRADE, provider);
+      }
+      end = System.currentTimeMillis();
+      System.out.println("Present value: " + (end - start) + " ms");
+
+      start = System.currentTimeMillis();
+      for (int i = 0; i < nbTrades; i++) {
+        pricer.explainPresentValue(RTRADE, provider);
+      }
+      end = System.currentTimeMillis();
+      System.out.println("Eager explain present value: " + (end - start) + " ms");
+
+      start = System.currentTimeMillis();
+      for (int i = 0; i < nbTrades; i++) {
+        SwapTradeCalculations.DEFAULT.explainPresentValue(RTRADE, provider);
+      }
+      end = System.currentTimeMillis();
+      System.out.println("Lazy explain present value: " + (end - start) + " ms");
+    }
+  }
+
 }
@@ -27,6 +27,7 @@ import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.math.MathException;
+import com.opengamma.strata.math.impl.integration.GaussLegendreQuadratureIntegrator1D;
 import com.opengamma.strata.math.impl.integration.RungeKuttaIntegrator1D;
 import com.opengamma.strata.pricer.impl.option.SabrExtrapolationRightFunction;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrFormulaData;
@@ -50,7 +51,9 @@ import com.opengamma.strata.product.swap.SwapLegType;
  *  The extrapolation is done on call prices above a certain strike. See {@link SabrExtrapolationRightFunction} for
  *  more details on the extrapolation method.
  *  <p>
- *  The replication requires numerical integration. This is completed by {@link RungeKuttaIntegrator1D}.
+ *  The replication requires numerical integration. This is completed by {@link RungeKuttaIntegrator1D} or,
+ *  if a number of quadrature points is specified, by a fixed Gauss-Legendre quadrature.
+ *  The fixed quadrature requires a much smaller number of evaluations of the smile for the same accuracy.
  *  <p>
  *  The consistency between {@code RatesProvider} and {@code SabrParametersSwaptionVolatilities} is not checked in this 
  *  class, but validated only once in {@link SabrExtrapolationReplicationCmsLegPricer}.
@@ -99,6 +102,16 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
    * For expiry below that value, the forward rate is used for present value.
    */
   private static final double MIN_TIME = 1e-4;
+  /**
+   * The number of panels of the Gauss-Legendre quadrature on each side of the cut-off strike.
+   */
+  private static final int NB_PANELS = 6;
+  /**
+   * The ratio between the range still to integrate after and before each panel of the Gauss-Legendre quadrature.
+   * <p>
+   * The panels are smaller towards the lower bound, where the integrand is not smooth for a strike close to 0.
+   */
+  private static final double PANEL_RATIO = 0.25;
 
   /**
    * Pricer for the underlying swap.
@@ -116,6 +129,10 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
    * This must be greater than 0 in order to ensure that the call price converges to 0 for infinite strike.
    */
   private final double mu;
+  /**
+   * The Gauss-Legendre quadrature on each panel, null if the Runge-Kutta integrator is used.
+   */
+  private final GaussLegendreQuadratureIntegrator1D quadrature;
 
   //-------------------------------------------------------------------------
   /**
@@ -131,7 +148,31 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       double cutOffStrike,
       double mu) {
 
-    return new SabrExtrapolationReplicationCmsPeriodPricer(swapPricer, cutOffStrike, mu);
+    return new SabrExtrapolationReplicationCmsPeriodPricer(swapPricer, cutOffStrike, mu, null);
+  }
+
+  /**
+   * Obtains the pricer with a fixed Gauss-Legendre quadrature.
+   * <p>
+   * The integration range is split at the cut-off strike. Each side is split in panels, smaller towards
+   * the lower bound, which are integrated with the given number of points. 16 points provide an accuracy
+   * similar to the default Runge-Kutta integration.
+   * 
+   * @param swapPricer  the pricer for underlying swap
+   * @param cutOffStrike  the cut-off strike value
+   * @param mu  the tail thickness
+   * @param nbQuadraturePoints  the number of quadrature points on each panel
+   * @return the pricer
+   */
+  public static SabrExtrapolationReplicationCmsPeriodPricer of(
+      DiscountingSwapProductPricer swapPricer,
+      double cutOffStrike,
+      double mu,
+      int nbQuadraturePoints) {
+
+    ArgChecker.notNegativeOrZero(nbQuadraturePoints, "nbQuadraturePoints");
+    return new SabrExtrapolationReplicationCmsPeriodPricer(
+        swapPricer, cutOffStrike, mu, new GaussLegendreQuadratureIntegrator1D(nbQuadraturePoints));
   }
 
   /**
@@ -148,11 +189,13 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
   private SabrExtrapolationReplicationCmsPeriodPricer(
       DiscountingSwapProductPricer swapPricer,
       double cutOffStrike,
-      double mu) {
+      double mu,
+      GaussLegendreQuadratureIntegrator1D quadrature) {
 
     this.swapPricer = ArgChecker.notNull(swapPricer, "swapPricer");
     this.cutOffStrike = cutOffStrike;
     this.mu = ArgChecker.notNegativeOrZero(mu, "mu");
+    this.quadrature = quadrature;
   }
 
   //-------------------------------------------------------------------------
@@ -212,7 +255,7 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
         integralPart = dfPayment *
             integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
       } else {
-        integralPart = -dfPayment * integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+        integralPart = -dfPayment * integrate(integrator, integrant, -shift + ZERO_SHIFT, strikeCpn);
       }
     } catch (Exception e) {
       throw new MathException(e);
@@ -339,8 +382,8 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
         integralPart = dfPayment *
             integrateCall(integrator, integrantDelta, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
       } else {
-        integralPartPrice = -integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
-        integralPart = -dfPayment * integrator.integrate(integrantDelta, -shift, strikeCpn);
+        integralPartPrice = -integrate(integrator, integrant, -shift + ZERO_SHIFT, strikeCpn);
+        integralPart = -dfPayment * integrate(integrator, integrantDelta, -shift, strikeCpn);
       }
     } catch (Exception e) {
       throw new MathException(e);
@@ -414,7 +457,7 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
           integralPart = dfPayment *
               integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
         } else {
-          integralPart = -dfPayment * integrator.integrate(integrant, -shift + ZERO_SHIFT, strikeCpn);
+          integralPart = -dfPayment * integrate(integrator, integrant, -shift + ZERO_SHIFT, strikeCpn);
         }
       } catch (Exception e) {
         throw new RuntimeException(e);
@@ -496,7 +539,7 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       thirdPart = integrateCall(integrator, integrant, swaptionVolatilities, forward, strike, expiryTime, tenor);
     } else {
       firstPart = -kpkpp[0] * intProv.bs(strike);
-      thirdPart = -integrator.integrate(integrant, -shift + ZERO_SHIFT, strike);
+      thirdPart = -integrate(integrator, integrant, -shift + ZERO_SHIFT, strike);
     }
     double secondPart =
         intProv.k(strike) * intProv.getSabrExtrapolation().priceDerivativeStrike(strike + shift, intProv.getPutCall());
@@ -536,12 +579,12 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
         forward * Math.exp(6d * vol * Math.sqrt(expiryTime)),
         Math.max(cutOffStrike, 2d * strike));  // To ensure that the integral covers a good part of the smile
     double upper = Math.min(upper0, 1d); // To ensure that we don't miss the meaningful part
-    res = integrator.integrate(integrant, strike, upper);
+    res = integrate(integrator, integrant, strike, upper);
     double reminder = integrant.apply(upper) * upper;
     double error = reminder / res;
     int count = 0;
     while (Math.abs(error) > integrator.getRelativeTolerance() && count < MAX_COUNT) {
-      res += integrator.integrate(integrant, upper, 2d * upper);
+      res += integrate(integrator, integrant, upper, 2d * upper);
       upper *= 2d;
       reminder = integrant.apply(upper) * upper;
       error = reminder / res;
@@ -554,6 +597,35 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     return res;
   }
 
+  // integrates with the Runge-Kutta integrator or with the Gauss-Legendre quadrature
+  private double integrate(
+      RungeKuttaIntegrator1D integrator,
+      Function<Double, Double> integrant,
+      double lower,
+      double upper) {
+
+    if (quadrature == null) {
+      return integrator.integrate(integrant, lower, upper);
+    }
+    // the extrapolated smile is only twice differentiable at the cut-off
+    if (lower >= cutOffStrike || upper <= cutOffStrike) {
+      return integratePanels(integrant, lower, upper);
+    }
+    return integratePanels(integrant, lower, cutOffStrike) + integratePanels(integrant, cutOffStrike, upper);
+  }
+
+  // integrates with the Gauss-Legendre quadrature on panels of geometrically decreasing size towards the lower bound
+  private double integratePanels(Function<Double, Double> integrant, double lower, double upper) {
+    double result = 0d;
+    double panelUpper = upper;
+    for (int i = 1; i < NB_PANELS; i++) {
+      double panelLower = lower + (panelUpper - lower) * PANEL_RATIO;
+      result += quadrature.integrate(integrant, panelLower, panelUpper);
+      panelUpper = panelLower;
+    }
+    return result + quadrature.integrate(integrant, lower, panelUpper);
+  }
+
   /**
    * Explains the present value of the CMS period.
    * <p>
@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.statistics.distribution.FastNormalDistribution;
+
+/**
+ * The repository for Black formulas applied to arrays of options.
+ * <p>
+ * The methods take parallel arrays of forwards, strikes, times to expiry and volatilities and
+ * return the result for each option. They produce the same results as the corresponding methods of
+ * {@link BlackFormulaRepository}, up to the accuracy of {@link FastNormalDistribution}.
+ * <p>
+ * The loops operate on primitive arrays only, without boxing or allocation per option,
+ * which suits cap/floor legs, swaption strips and replication where the formula is called many times.
+ * The reference values returned by {@link BlackFormulaRepository} for ambiguous expressions are
+ * reproduced without logging.
+ * <p>
+ * As in {@code BlackFormulaRepository}, all prices, input/output, are <b>forward</b> prices.
+ */
+public final class BlackFormulaBatchRepository {
+
+  private static final double LARGE = 1e13;
+  private static final double SMALL = 1e-13;
+
+  // restricted constructor
+  private BlackFormulaBatchRepository() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the forward prices.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param lognormalVol  the log-normal volatilities
+   * @param isCall  true for calls, false for puts
+   * @return the forward prices
+   * @see BlackFormulaRepository#price(double, double, double, double, boolean)
+   */
+  public static double[] price(
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] lognormalVol,
+      boolean isCall) {
+
+    int nbOptions = checkInputs(forward, strike, timeToExpiry, lognormalVol);
+    int sign = isCall ? 1 : -1;
+    double[] price = new double[nbOptions];
+    for (int i = 0; i < nbOptions; i++) {
+      double f = forward[i];
+      double k = strike[i];
+      double sigmaRootT = sigmaRootT(timeToExpiry[i], lognormalVol[i]);
+      if (f > LARGE && k > LARGE) {
+        price[i] = isCall ? (f >= k ? f : 0d) : (k >= f ? k : 0d);
+        continue;
+      }
+      if (sigmaRootT < SMALL) {
+        price[i] = Math.max(sign * (f - k), 0d);
+        continue;
+      }
+      double d1;
+      double d2;
+      if (Math.abs(f - k) < SMALL || sigmaRootT > LARGE) {
+        d1 = 0.5 * sigmaRootT;
+        d2 = -0.5 * sigmaRootT;
+      } else {
+        d1 = Math.log(f / k) / sigmaRootT + 0.5 * sigmaRootT;
+        d2 = d1 - sigmaRootT;
+      }
+      double nF = FastNormalDistribution.cdf(sign * d1);
+      double nS = FastNormalDistribution.cdf(sign * d2);
+      double first = nF == 0d ? 0d : f * nF;
+      double second = nS == 0d ? 0d : k * nS;
+      price[i] = Math.max(0d, sign * (first - second));
+    }
+    return price;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the forward prices and their derivatives.
+   * <p>
+   * The result contains five arrays, each with one element per option:
+   * <ul>
+   * <li>[0] the forward price
+   * <li>[1] derivative with respect to the forward
+   * <li>[2] derivative with respect to the strike
+   * <li>[3] derivative with respect to the time to expiry
+   * <li>[4] derivative with respect to the volatility
+   * </ul>
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param lognormalVol  the log-normal volatilities
+   * @param isCall  true for calls, false for puts
+   * @return the forward prices and their derivatives
+   * @see BlackFormulaRepository#priceAdjoint(double, double, double, double, boolean)
+   */
+  public static double[][] priceAdjoint(
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] lognormalVol,
+      boolean isCall) {
+
+    int nbOptions = checkInputs(forward, strike, timeToExpiry, lognormalVol);
+    int sign = isCall ? 1 : -1;
+    double[][] result = new double[5][nbOptions];
+    double[] price = result[0];
+    double[] forwardBar = result[1];
+    double[] strikeBar = result[2];
+    double[] timeToExpiryBar = result[3];
+    double[] lognormalVolBar = result[4];
+    for (int i = 0; i < nbOptions; i++) {
+      double f = forward[i];
+      double k = strike[i];
+      double t = timeToExpiry[i];
+      double sigmaRootT = sigmaRootT(t, lognormalVol[i]);
+      if (f > LARGE && k > LARGE) {
+        price[i] = isCall ? (f >= k ? f : 0d) : (k >= f ? k : 0d);
+        continue;
+      }
+      if (sigmaRootT < SMALL) {
+        boolean isItm = (sign * (f - k)) > 0;
+        price[i] = isItm ? sign * (f - k) : 0d;
+        forwardBar[i] = isItm ? sign : 0d;
+        strikeBar[i] = isItm ? -sign : 0d;
+        continue;
+      }
+      double d1;
+      double d2;
+      if (Math.abs(f - k) < SMALL || sigmaRootT > LARGE) {
+        d1 = 0.5 * sigmaRootT;
+        d2 = -0.5 * sigmaRootT;
+      } else {
+        d2 = Math.log(f / k) / sigmaRootT - 0.5 * sigmaRootT;
+        d1 = d2 + sigmaRootT;
+      }
+      double nF = FastNormalDistribution.cdf(sign * d1);
+      double nS = FastNormalDistribution.cdf(sign * d2);
+      double first = nF == 0d ? 0d : f * nF;
+      double second = nS == 0d ? 0d : k * nS;
+      price[i] = Math.max(0d, sign * (first - second));
+      // Backward sweep, d2Bar is 0 as d2 is the optimal exercise boundary
+      forwardBar[i] = sign * nF;
+      strikeBar[i] = -sign * nS;
+      double sigmaRootTBar = FastNormalDistribution.pdf(d1) * f;
+      double rootT = Math.sqrt(t);
+      lognormalVolBar[i] = rootT * sigmaRootTBar;
+      timeToExpiryBar[i] = 0.5 / rootT * lognormalVol[i] * sigmaRootTBar;
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the forward driftless deltas.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param lognormalVol  the log-normal volatilities
+   * @param isCall  true for calls, false for puts
+   * @return the forward driftless deltas
+   * @see BlackFormulaRepository#delta(double, double, double, double, boolean)
+   */
+  public static double[] delta(
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] lognormalVol,
+      boolean isCall) {
+
+    int nbOptions = checkInputs(forward, strike, timeToExpiry, lognormalVol);
+    int sign = isCall ? 1 : -1;
+    double[] delta = new double[nbOptions];
+    for (int i = 0; i < nbOptions; i++) {
+      double f = forward[i];
+      double k = strike[i];
+      double sigmaRootT = sigmaRootT(timeToExpiry[i], lognormalVol[i]);
+      boolean bFwdStr = f > LARGE && k > LARGE;
+      if (sigmaRootT > LARGE) {
+        delta[i] = isCall ? 1d : 0d;
+        continue;
+      }
+      if (sigmaRootT < SMALL) {
+        if (Math.abs(f - k) >= SMALL && !bFwdStr) {
+          delta[i] = isCall ? (f > k ? 1d : 0d) : (f > k ? 0d : -1d);
+        } else {
+          delta[i] = isCall ? 0.5 : -0.5;
+        }
+        continue;
+      }
+      double d1 = Math.abs(f - k) < SMALL || bFwdStr ?
+          0.5 * sigmaRootT :
+          Math.log(f / k) / sigmaRootT + 0.5 * sigmaRootT;
+      delta[i] = sign * FastNormalDistribution.cdf(sign * d1);
+    }
+    return delta;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the forward vegas.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param lognormalVol  the log-normal volatilities
+   * @return the forward vegas
+   * @see BlackFormulaRepository#vega(double, double, double, double)
+   */
+  public static double[] vega(
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] lognormalVol) {
+
+    int nbOptions = checkInputs(forward, strike, timeToExpiry, lognormalVol);
+    double[] vega = new double[nbOptions];
+    for (int i = 0; i < nbOptions; i++) {
+      double f = forward[i];
+      double k = strike[i];
+      double rootT = Math.sqrt(timeToExpiry[i]);
+      double sigmaRootT = sigmaRootT(timeToExpiry[i], lognormalVol[i]);
+      boolean bFwdStr = f > LARGE && k > LARGE;
+      if (sigmaRootT > LARGE) {
+        vega[i] = 0d;
+        continue;
+      }
+      if (sigmaRootT < SMALL) {
+        if (Math.abs(f - k) >= SMALL && !bFwdStr) {
+          vega[i] = 0d;
+        } else {
+          double pdf0 = FastNormalDistribution.pdf(0d);
+          vega[i] = (rootT < SMALL && f > LARGE) ? pdf0 : f * rootT * pdf0;
+        }
+        continue;
+      }
+      double d1 = Math.abs(f - k) < SMALL || bFwdStr ?
+          0.5 * sigmaRootT :
+          Math.log(f / k) / sigmaRootT + 0.5 * sigmaRootT;
+      double nVal = FastNormalDistribution.pdf(d1);
+      vega[i] = nVal == 0d ? 0d : f * rootT * nVal;
+    }
+    return vega;
+  }
+
+  //-------------------------------------------------------------------------
+  // the volatility multiplied by the square root of time, with the reference value used for ambiguous inputs
+  private static double sigmaRootT(double timeToExpiry, double lognormalVol) {
+    double sigmaRootT = lognormalVol * Math.sqrt(timeToExpiry);
+    return Double.isNaN(sigmaRootT) ? 1d : sigmaRootT;
+  }
+
+  // checks the arrays and their values, returning the number of options
+  private static int checkInputs(double[] forward, double[] strike, double[] timeToExpiry, double[] lognormalVol) {
+    ArgChecker.notNull(forward, "forward");
+    ArgChecker.notNull(strike, "strike");
+    ArgChecker.notNull(timeToExpiry, "timeToExpiry");
+    ArgChecker.notNull(lognormalVol, "lognormalVol");
+    int nbOptions = forward.length;
+    ArgChecker.isTrue(strike.length == nbOptions, "strike and forward arrays must have the same length");
+    ArgChecker.isTrue(timeToExpiry.length == nbOptions, "timeToExpiry and forward arrays must have the same length");
+    ArgChecker.isTrue(lognormalVol.length == nbOptions, "lognormalVol and forward arrays must have the same length");
+    for (int i = 0; i < nbOptions; i++) {
+      ArgChecker.isTrue(forward[i] >= 0d, "negative/NaN forward; have {}", forward[i]);
+      ArgChecker.isTrue(strike[i] >= 0d, "negative/NaN strike; have {}", strike[i]);
+      ArgChecker.isTrue(timeToExpiry[i] >= 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry[i]);
+      ArgChecker.isTrue(lognormalVol[i] >= 0d, "negative/NaN lognormalVol; have {}", lognormalVol[i]);
+    }
+    return nbOptions;
+  }
+
+}
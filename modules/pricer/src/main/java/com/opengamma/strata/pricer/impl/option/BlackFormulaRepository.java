@@ -1188,6 +1188,9 @@ public final class BlackFormulaRepository {
   /**
    * Computes the log-normal (Black) implied volatility of an out-the-money
    * European option starting from an initial guess.
+   * <p>
+   * The implied volatility is computed by {@link ImpliedVolatilityFormulaRepository}, which does not
+   * require an initial guess. The guess is validated but otherwise ignored.
    * 
    * @param otmPrice The forward price, which is the market price divided by the numeraire,
    *   for example the zero bond p(0,T) for the T-forward measure
@@ -1228,24 +1231,7 @@ public final class BlackFormulaRepository {
       return NORMAL.getInverseCDF(0.5 * (otmPrice / forward + 1)) * 2 / Math.sqrt(timeToExpiry);
     }
 
-    boolean isCall = strike >= forward;
-
-    Function<Double, Double> priceFunc = new Function<Double, Double>() {
-      @Override
-      public Double apply(Double x) {
-        return price(forward, strike, timeToExpiry, x, isCall);
-      }
-    };
-
-    Function<Double, Double> vegaFunc = new Function<Double, Double>() {
-      @Override
-      public Double apply(Double x) {
-        return vega(forward, strike, timeToExpiry, x);
-      }
-    };
-
-    GenericImpliedVolatiltySolver solver = new GenericImpliedVolatiltySolver(priceFunc, vegaFunc);
-    return solver.impliedVolatility(otmPrice, volGuess);
+    return ImpliedVolatilityFormulaRepository.blackImpliedVolatilityOtm(otmPrice, forward, strike, timeToExpiry);
   }
 
   /**
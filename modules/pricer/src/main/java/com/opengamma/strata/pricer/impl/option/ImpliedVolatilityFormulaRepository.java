@@ -0,0 +1,299 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.statistics.distribution.FastNormalDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
+
+/**
+ * The repository for closed form and high order implied volatility formulas.
+ * <p>
+ * The Black (log-normal) implied volatility is obtained with the approach of P. Jaeckel,
+ * "Let's be rational", Wilmott Magazine (2015). The normalised Black function is inverted with third
+ * order Householder iterations on an objective function that is transformed so as to be close to linear:
+ * the inverse of the logarithm in the lower branch, the price itself around the inflection point and the
+ * logarithm of the distance to the upper bound in the upper branch. The initial guess is given by the
+ * asymptotic expansion of the lower and upper branches and by the tangent at the inflection point in between.
+ * The iterates are kept in a bracket of the root and machine precision is typically reached in two or
+ * three iterations.
+ * The normalised Black function is evaluated through the Mills ratio below the inflection point,
+ * which avoids the cancellation of the standard formula for far out-of-the-money options.
+ * <p>
+ * The normal (Bachelier) implied volatility is obtained with the rational approximation of
+ * P. Jaeckel, "Implied normal volatility", Wilmott Magazine (2017), followed by one Householder
+ * iteration which brings it to machine precision.
+ * <p>
+ * All the prices are <b>forward</b> prices, i.e. the market price divided by the numeraire.
+ */
+public final class ImpliedVolatilityFormulaRepository {
+
+  /** The normal distribution, used for its inverse. */
+  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
+  /** ln(sqrt(2 pi)). */
+  private static final double LN_SQRT_2PI = 0.5 * Math.log(2d * Math.PI);
+  /** sqrt(2 pi). */
+  private static final double SQRT_2PI = Math.sqrt(2d * Math.PI);
+  /** The relative step below which the iteration stops; the last iterate is exact given the cubic convergence. */
+  private static final double VOL_ACCURACY = 1e-9;
+  /** The maximal number of Householder iterations. */
+  private static final int MAX_ITERATIONS = 10;
+  /** Limit between the two rational approximations of the normal implied volatility. */
+  private static final double NORMAL_LIMIT = -0.001882039271;
+
+  // restricted constructor
+  private ImpliedVolatilityFormulaRepository() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the log-normal (Black) implied volatility of a European option.
+   * 
+   * @param price  the forward price of the option
+   * @param forward  the forward value of the underlying
+   * @param strike  the strike
+   * @param timeToExpiry  the time to expiry
+   * @param isCall  true for call, false for put
+   * @return the log-normal implied volatility
+   * @throws IllegalArgumentException if the price is below the intrinsic value or above the upper bound
+   */
+  public static double blackImpliedVolatility(
+      double price,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      boolean isCall) {
+
+    double intrinsic = Math.max(0d, (isCall ? 1 : -1) * (forward - strike));
+    return blackImpliedVolatilityOtm(price - intrinsic, forward, strike, timeToExpiry);
+  }
+
+  /**
+   * Computes the log-normal (Black) implied volatility of an out-of-the-money European option.
+   * <p>
+   * The price must be the price of the out-of-the-money option, i.e. a call for strike >= forward
+   * and a put otherwise. Equivalently it is the time value of the option.
+   * 
+   * @param otmPrice  the forward price of the out-of-the-money option
+   * @param forward  the forward value of the underlying
+   * @param strike  the strike
+   * @param timeToExpiry  the time to expiry
+   * @return the log-normal implied volatility
+   * @throws IllegalArgumentException if the price is negative or above the upper bound
+   */
+  public static double blackImpliedVolatilityOtm(
+      double otmPrice,
+      double forward,
+      double strike,
+      double timeToExpiry) {
+
+    ArgChecker.isTrue(otmPrice >= 0d, "negative/NaN otmPrice; have {}", otmPrice);
+    ArgChecker.isTrue(forward > 0d, "negative/NaN forward; have {}", forward);
+    ArgChecker.isTrue(strike > 0d, "negative/NaN strike; have {}", strike);
+    ArgChecker.isTrue(timeToExpiry > 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
+    ArgChecker.isFalse(Double.isInfinite(forward), "forward is Infinity");
+    ArgChecker.isFalse(Double.isInfinite(strike), "strike is Infinity");
+    ArgChecker.isFalse(Double.isInfinite(timeToExpiry), "timeToExpiry is Infinity");
+    if (otmPrice == 0d) {
+      return 0d;
+    }
+    ArgChecker.isTrue(otmPrice < Math.min(forward, strike),
+        "otmPrice of {} exceeded upper bound of {}", otmPrice, Math.min(forward, strike));
+    double rootFK = Math.sqrt(forward * strike);
+    double x = -Math.abs(Math.log(forward / strike)); // out-of-the-money call in normalised form
+    double beta = otmPrice / rootFK;
+    return normalisedBlackImpliedVolatility(beta, x) / Math.sqrt(timeToExpiry);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the normal (Bachelier) implied volatility of a European option.
+   * 
+   * @param price  the forward price of the option
+   * @param forward  the forward value of the underlying
+   * @param strike  the strike
+   * @param timeToExpiry  the time to expiry
+   * @param isCall  true for call, false for put
+   * @return the normal implied volatility
+   * @throws IllegalArgumentException if the price is below the intrinsic value
+   */
+  public static double normalImpliedVolatility(
+      double price,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      boolean isCall) {
+
+    ArgChecker.isTrue(timeToExpiry > 0d, "negative/NaN timeToExpiry; have {}", timeToExpiry);
+    double intrinsic = Math.max(0d, (isCall ? 1 : -1) * (forward - strike));
+    double timeValue = price - intrinsic;
+    ArgChecker.isTrue(timeValue >= 0d, "negative/NaN time value; have {}", timeValue);
+    if (timeValue == 0d) {
+      return 0d;
+    }
+    double distance = Math.abs(forward - strike);
+    if (distance == 0d) {
+      return timeValue * SQRT_2PI / Math.sqrt(timeToExpiry);
+    }
+    double phiTilde = -timeValue / distance;
+    double xBar;
+    if (phiTilde < NORMAL_LIMIT) {
+      double g = 1d / (phiTilde - 0.5);
+      double g2 = g * g;
+      double xiBar = (0.032114372355 - g2 * (0.016969777977 - g2 * (2.6207332461E-3 - 9.6066952861E-5 * g2))) /
+          (1d - g2 * (0.6635646938 - g2 * (0.14528712196 - 0.010472855461 * g2)));
+      xBar = g * (1d / SQRT_2PI + xiBar * g2);
+    } else {
+      double h = Math.sqrt(-Math.log(-phiTilde));
+      xBar = (9.4883409779 - h * (9.6320903635 - h * (0.58556997323 + 2.1464093351 * h))) /
+          (1d - h * (0.65174820867 + h * (1.5120247828 + 6.6437847132E-5 * h)));
+    }
+    double xBar2 = xBar * xBar;
+    double q = (FastNormalDistribution.cdf(xBar) + FastNormalDistribution.pdf(xBar) / xBar - phiTilde) /
+        FastNormalDistribution.pdf(xBar);
+    double xStar = xBar + 3d * q * xBar2 * (2d - q * xBar * (2d + xBar2)) /
+        (6d + q * xBar * (-12d + xBar * (6d * q + xBar * (-6d + q * xBar * (3d + xBar2)))));
+    return distance / (Math.abs(xStar) * Math.sqrt(timeToExpiry));
+  }
+
+  //-------------------------------------------------------------------------
+  // inverts the normalised Black function b(x, s) = beta for an out-of-the-money call (x <= 0)
+  // the result is s = sigma sqrt(T)
+  static double normalisedBlackImpliedVolatility(double beta, double x) {
+    if (x == 0d) {
+      return 2d * NORMAL.getInverseCDF(0.5 * (1d + beta));
+    }
+    double bMax = Math.exp(0.5 * x);
+    double sC = Math.sqrt(-2d * x);
+    double bC = normalisedBlack(x, sC);
+    double vegaC = normalisedVega(x / sC, 0.5 * sC);
+    double sL = sC - bC / vegaC;
+    double sU = sC + (bMax - bC) / vegaC;
+    double bL = sL > 0d ? normalisedBlack(x, sL) : 0d;
+    double bU = normalisedBlack(x, sU);
+    int branch; // -1 lower, 0 middle, 1 upper
+    double s;
+    double target;
+    if (beta < bL) {
+      branch = -1;
+      target = 1d / Math.log(beta);
+      s = Math.min(Math.max(-x / Math.sqrt(-2d * Math.log(beta)), sL * beta / bL), sL);
+    } else if (beta <= bU) {
+      branch = 0;
+      target = beta;
+      s = sC + (beta - bC) / vegaC;
+    } else {
+      branch = 1;
+      target = Math.log(bMax - beta);
+      double p = (bMax - beta) / (bMax + 1d / bMax);
+      s = Math.max(-2d * NORMAL.getInverseCDF(p), sU);
+    }
+    // the objective is monotonic in s, the root is kept in a bracket to safeguard the iteration
+    double sLow = 0d;
+    double sHigh = Double.POSITIVE_INFINITY;
+    for (int i = 0; i < MAX_ITERATIONS; i++) {
+      double h = x / s;
+      double t = 0.5 * s;
+      double h2OverS = h * h / s;
+      // derivatives of b relative to the first derivative: b'' / b' and b''' / b'
+      double g2 = h2OverS - 0.25 * s;
+      double g3 = g2 * g2 - 3d * h2OverS / s - 0.25;
+      double f;
+      double f1;
+      double f2;
+      double f3;
+      if (branch < 0) {
+        // objective 1 / ln(b(s)) - 1 / ln(beta), written with ln(b) and b' / b to avoid underflow
+        double lnB;
+        double b1OverB;
+        if (s < sC) {
+          double millsDifference =
+              FastNormalDistribution.millsRatio(-(h + t)) - FastNormalDistribution.millsRatio(t - h);
+          lnB = -0.5 * (h * h + t * t) - LN_SQRT_2PI + Math.log(millsDifference);
+          b1OverB = 1d / millsDifference;
+        } else {
+          double b = normalisedBlack(x, s);
+          lnB = Math.log(b);
+          b1OverB = normalisedVega(h, t) / b;
+        }
+        double l1 = b1OverB;
+        double l2 = b1OverB * g2 - l1 * l1;
+        double l3 = b1OverB * g3 - 3d * l1 * b1OverB * g2 + 2d * l1 * l1 * l1;
+        double lnB2 = lnB * lnB;
+        f = 1d / lnB - target;
+        f1 = -l1 / lnB2;
+        f2 = -l2 / lnB2 + 2d * l1 * l1 / (lnB2 * lnB);
+        f3 = -l3 / lnB2 + 6d * l1 * l2 / (lnB2 * lnB) - 6d * l1 * l1 * l1 / (lnB2 * lnB2);
+      } else if (branch == 0) {
+        double b1 = normalisedVega(h, t);
+        f = normalisedBlack(x, s) - target;
+        f1 = b1;
+        f2 = b1 * g2;
+        f3 = b1 * g3;
+      } else {
+        // objective ln(bMax - beta) - ln(bMax - b(s))
+        double c = normalisedBlackComplement(x, h, t);
+        double b1OverC = normalisedVega(h, t) / c;
+        f = target - Math.log(c);
+        f1 = b1OverC;
+        f2 = b1OverC * (g2 + b1OverC);
+        f3 = b1OverC * (g3 + 3d * g2 * b1OverC + 2d * b1OverC * b1OverC);
+      }
+      double nu = -f / f1;
+      if (nu > 0d) {
+        sLow = s;
+      } else if (nu < 0d) {
+        sHigh = s;
+      } else {
+        break;
+      }
+      double gamma = f2 / f1;
+      double delta = f3 / f1;
+      double step = nu * (1d + 0.5 * gamma * nu) / (1d + nu * (gamma + delta * nu / 6d));
+      if (!(Math.abs(step) < Double.MAX_VALUE)) {
+        step = nu; // Newton step if the Householder correction is not finite
+      }
+      if (Math.abs(step) <= VOL_ACCURACY * s) {
+        return s + step;
+      }
+      double sNew = s + step;
+      if (!(sNew > sLow && sNew < sHigh)) {
+        sNew = sHigh < Double.POSITIVE_INFINITY ? 0.5 * (sLow + sHigh) : 2d * s;
+      }
+      s = sNew;
+    }
+    return s;
+  }
+
+  // normalised Black price of a call, b(x, s) = exp(x/2) N(x/s + s/2) - exp(-x/2) N(x/s - s/2), x <= 0
+  static double normalisedBlack(double x, double s) {
+    if (s <= 0d) {
+      return 0d;
+    }
+    double h = x / s;
+    double t = 0.5 * s;
+    if (h + t < 0d) {
+      double millsDifference =
+          FastNormalDistribution.millsRatio(-(h + t)) - FastNormalDistribution.millsRatio(t - h);
+      return Math.exp(-0.5 * (h * h + t * t)) / SQRT_2PI * millsDifference;
+    }
+    return Math.exp(0.5 * x) * FastNormalDistribution.cdf(h + t) -
+        Math.exp(-0.5 * x) * FastNormalDistribution.cdf(h - t);
+  }
+
+  // the upper bound exp(x/2) minus the normalised Black price
+  private static double normalisedBlackComplement(double x, double h, double t) {
+    return Math.exp(0.5 * x) * FastNormalDistribution.cdf(-(h + t)) +
+        Math.exp(-0.5 * x) * FastNormalDistribution.cdf(h - t);
+  }
+
+  // the derivative of the normalised Black price with respect to s
+  private static double normalisedVega(double h, double t) {
+    return Math.exp(-0.5 * (h * h + t * t)) / SQRT_2PI;
+  }
+
+}
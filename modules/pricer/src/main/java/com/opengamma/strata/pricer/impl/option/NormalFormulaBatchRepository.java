@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.statistics.distribution.FastNormalDistribution;
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * The repository for normal model formulas applied to arrays of options.
+ * <p>
+ * The methods take parallel arrays of forwards, strikes, times to expiry and volatilities and
+ * return the result for each option. They produce the same results as the corresponding methods of
+ * {@link NormalFormulaRepository}, up to the accuracy of {@link FastNormalDistribution}.
+ * <p>
+ * The loops operate on primitive arrays only, without boxing or allocation per option.
+ * <p>
+ * Note that the 'numeraire' is a simple multiplier and is the responsibility of the caller.
+ */
+public final class NormalFormulaBatchRepository {
+
+  /**
+   * The comparison value used to determine near-zero.
+   */
+  private static final double NEAR_ZERO = 1e-16;
+
+  // restricted constructor
+  private NormalFormulaBatchRepository() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the forward prices.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param normalVol  the normal volatilities
+   * @param putCall  whether the options are puts or calls
+   * @return the forward prices
+   * @see NormalFormulaRepository#price(double, double, double, double, PutCall)
+   */
+  public static double[] price(
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] normalVol,
+      PutCall putCall) {
+
+    int nbOptions = checkInputs(forward, strike, timeToExpiry, normalVol);
+    int sign = putCall.isCall() ? 1 : -1;
+    double[] price = new double[nbOptions];
+    for (int i = 0; i < nbOptions; i++) {
+      double sigmaRootT = normalVol[i] * Math.sqrt(timeToExpiry[i]);
+      double x = sign * (forward[i] - strike[i]);
+      if (sigmaRootT < NEAR_ZERO) {
+        price[i] = x > 0 ? x : 0d;
+        continue;
+      }
+      double arg = x / sigmaRootT;
+      price[i] = x * FastNormalDistribution.cdf(arg) + sigmaRootT * FastNormalDistribution.pdf(arg);
+    }
+    return price;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the prices and their first order derivatives.
+   * <p>
+   * The result contains four arrays, each with one element per option:
+   * <ul>
+   * <li>[0] the price
+   * <li>[1] derivative with respect to the forward
+   * <li>[2] derivative with respect to the volatility
+   * <li>[3] derivative with respect to the strike
+   * </ul>
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param normalVol  the normal volatilities
+   * @param numeraire  the numeraire, common to all the options
+   * @param putCall  whether the options are puts or calls
+   * @return the prices and their derivatives
+   * @see NormalFormulaRepository#priceAdjoint(double, double, double, double, double, PutCall)
+   */
+  public static double[][] priceAdjoint(
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] normalVol,
+      double numeraire,
+      PutCall putCall) {
+
+    int nbOptions = checkInputs(forward, strike, timeToExpiry, normalVol);
+    int sign = putCall.isCall() ? 1 : -1;
+    double[][] result = new double[4][nbOptions];
+    double[] price = result[0];
+    double[] forwardDerivative = result[1];
+    double[] volatilityDerivative = result[2];
+    double[] strikeDerivative = result[3];
+    for (int i = 0; i < nbOptions; i++) {
+      double rootT = Math.sqrt(timeToExpiry[i]);
+      double sigmaRootT = normalVol[i] * rootT;
+      double x = sign * (forward[i] - strike[i]);
+      if (sigmaRootT < NEAR_ZERO) {
+        price[i] = x > 0 ? numeraire * x : 0d;
+        forwardDerivative[i] = sign * (x > 0 ? numeraire : 0d);
+        strikeDerivative[i] = -forwardDerivative[i];
+        continue;
+      }
+      double arg = x / sigmaRootT;
+      double cdf = FastNormalDistribution.cdf(arg);
+      double pdf = FastNormalDistribution.pdf(arg);
+      price[i] = numeraire * (x * cdf + sigmaRootT * pdf);
+      // Backward sweep
+      double cdfBar = numeraire * x;
+      double pdfBar = numeraire * sigmaRootT;
+      double argBar = pdf * cdfBar - pdf * arg * pdfBar;
+      forwardDerivative[i] = numeraire * sign * cdf + sign / sigmaRootT * argBar;
+      strikeDerivative[i] = -forwardDerivative[i];
+      double sigmaRootTBar = -arg / sigmaRootT * argBar + numeraire * pdf;
+      volatilityDerivative[i] = rootT * sigmaRootTBar;
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the deltas.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param normalVol  the normal volatilities
+   * @param putCall  whether the options are puts or calls
+   * @return the deltas
+   * @see NormalFormulaRepository#delta(double, double, double, double, PutCall)
+   */
+  public static double[] delta(
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] normalVol,
+      PutCall putCall) {
+
+    int nbOptions = checkInputs(forward, strike, timeToExpiry, normalVol);
+    int sign = putCall.isCall() ? 1 : -1;
+    double[] delta = new double[nbOptions];
+    for (int i = 0; i < nbOptions; i++) {
+      double sigmaRootT = normalVol[i] * Math.sqrt(timeToExpiry[i]);
+      double x = sign * (forward[i] - strike[i]);
+      if (sigmaRootT < NEAR_ZERO) {
+        // ambiguous if x and sigmaRootT are tiny, then reference number is returned
+        delta[i] = Math.abs(x) <= NEAR_ZERO ? sign * 0.5 : (x > 0 ? sign : 0d);
+        continue;
+      }
+      delta[i] = sign * FastNormalDistribution.cdf(x / sigmaRootT);
+    }
+    return delta;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the vegas.
+   * 
+   * @param forward  the forward values of the underlying
+   * @param strike  the strikes
+   * @param timeToExpiry  the times to expiry
+   * @param normalVol  the normal volatilities
+   * @return the vegas
+   * @see NormalFormulaRepository#vega(double, double, double, double, PutCall)
+   */
+  public static double[] vega(
+      double[] forward,
+      double[] strike,
+      double[] timeToExpiry,
+      double[] normalVol) {
+
+    int nbOptions = checkInputs(forward, strike, timeToExpiry, normalVol);
+    double[] vega = new double[nbOptions];
+    for (int i = 0; i < nbOptions; i++) {
+      double rootT = Math.sqrt(timeToExpiry[i]);
+      double sigmaRootT = normalVol[i] * rootT;
+      double x = forward[i] - strike[i];
+      if (sigmaRootT < NEAR_ZERO) {
+        // ambiguous if x and sigmaRootT are tiny, then reference number is returned
+        vega[i] = Math.abs(x) > NEAR_ZERO ? 0d : rootT * FastNormalDistribution.pdf(0d);
+        continue;
+      }
+      vega[i] = FastNormalDistribution.pdf(x / sigmaRootT) * rootT;
+    }
+    return vega;
+  }
+
+  //-------------------------------------------------------------------------
+  // checks the arrays, returning the number of options
+  private static int checkInputs(double[] forward, double[] strike, double[] timeToExpiry, double[] normalVol) {
+    ArgChecker.notNull(forward, "forward");
+    ArgChecker.notNull(strike, "strike");
+    ArgChecker.notNull(timeToExpiry, "timeToExpiry");
+    ArgChecker.notNull(normalVol, "normalVol");
+    int nbOptions = forward.length;
+    ArgChecker.isTrue(strike.length == nbOptions, "strike and forward arrays must have the same length");
+    ArgChecker.isTrue(timeToExpiry.length == nbOptions, "timeToExpiry and forward arrays must have the same length");
+    ArgChecker.isTrue(normalVol.length == nbOptions, "normalVol and forward arrays must have the same length");
+    return nbOptions;
+  }
+
+}
@@ -18,6 +18,7 @@ import com.opengamma.strata.math.impl.linearalgebra.SVDecompositionCommons;
 import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
 import com.opengamma.strata.math.impl.rootfinding.RidderSingleRootFinder;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrFormulaData;
+import com.opengamma.strata.pricer.impl.volatility.smile.SabrHaganFrozenSmile;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrHaganVolatilityFunctionProvider;
 import com.opengamma.strata.pricer.impl.volatility.smile.VolatilityFunctionProvider;
 import com.opengamma.strata.product.common.PutCall;
@@ -71,6 +72,10 @@ public final class SabrExtrapolationRightFunction {
    * The SABR parameter for the pricing below the cut-off strike.
    */
   private final SabrFormulaData sabrData;
+  /**
+   * The smile with the expiry dependent terms precomputed, null if the volatility provider is not Hagan's.
+   */
+  private final SabrHaganFrozenSmile frozenSmile;
   /**
    * The cut-off strike. The smile is extrapolated above that level.
    */
@@ -161,6 +166,9 @@ public final class SabrExtrapolationRightFunction {
     this.cutOffStrike = cutOffStrike;
     this.timeToExpiry = timeToExpiry;
     this.mu = mu;
+    boolean frozen = volatilityFunction instanceof SabrHaganVolatilityFunctionProvider &&
+        forward > 0d && timeToExpiry >= 0d; // otherwise the volatility provider rejects the inputs at pricing
+    this.frozenSmile = frozen ? SabrHaganFrozenSmile.of(forward, timeToExpiry, sabrData) : null;
     if (timeToExpiry > SMALL_EXPIRY) {
       parameter = computesFittingParameters();
     } else { // Implementation note: when time to expiry is very small, the price above the cut-off strike and its derivatives should be 0 (or at least very small).
@@ -183,7 +191,9 @@ public final class SabrExtrapolationRightFunction {
   public double price(double strike, PutCall putCall) {
     // Uses Hagan et al SABR function.
     if (strike <= cutOffStrike) {
-      double volatility = sabrFunction.volatility(forward, strike, timeToExpiry, sabrData);
+      double volatility = frozenSmile != null ?
+          frozenSmile.volatility(strike) :
+          sabrFunction.volatility(forward, strike, timeToExpiry, sabrData);
       return BlackFormulaRepository.price(forward, strike, timeToExpiry, volatility, putCall.isCall());
     }
     // Uses extrapolation for call.
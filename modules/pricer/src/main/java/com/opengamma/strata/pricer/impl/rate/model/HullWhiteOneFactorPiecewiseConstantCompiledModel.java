@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate.model;
+
+import java.util.Arrays;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * The Hull-White one factor model with piecewise constant volatility, compiled for a set of parameters.
+ * <p>
+ * The integrals of the squared volatility against exp(a s) and exp(2 a s), where a is the mean reversion,
+ * are accumulated over the volatility time grid when the instance is created. The values computed by
+ * {@link #alpha(double, double, double, double)} and {@link #futuresConvexityFactor(double, double, double)}
+ * are then obtained by a binary search in the grid and a fixed number of operations, instead of an integration
+ * over all the periods of the grid for each call.
+ * <p>
+ * The results are the same as the ones of {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel}
+ * up to rounding.
+ */
+public final class HullWhiteOneFactorPiecewiseConstantCompiledModel {
+
+  /**
+   * The model parameters.
+   */
+  private final HullWhiteOneFactorPiecewiseConstantParameters parameters;
+  /**
+   * The mean reversion.
+   */
+  private final double meanReversion;
+  /**
+   * The volatility times, the last time (infinity) excluded.
+   */
+  private final double[] times;
+  /**
+   * The squared volatilities, one for each period starting at a time of {@code times}.
+   */
+  private final double[] volatility2;
+  /**
+   * The value of exp(a t) for each time of {@code times}.
+   */
+  private final double[] expTimes;
+  /**
+   * The value of exp(2 a t) for each time of {@code times}.
+   */
+  private final double[] exp2Times;
+  /**
+   * The cumulative integrals of the squared volatility against exp(a s), up to each time of {@code times}.
+   * <p>
+   * The integrals are not divided by the mean reversion.
+   */
+  private final double[] cumulativeExp;
+  /**
+   * The cumulative integrals of the squared volatility against exp(2 a s), up to each time of {@code times}.
+   * <p>
+   * The integrals are not divided by the mean reversion.
+   */
+  private final double[] cumulativeExp2;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the model parameters.
+   *
+   * @param parameters  the Hull-White model parameters
+   * @return the compiled model
+   */
+  public static HullWhiteOneFactorPiecewiseConstantCompiledModel of(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters) {
+
+    return new HullWhiteOneFactorPiecewiseConstantCompiledModel(parameters);
+  }
+
+  // private constructor
+  private HullWhiteOneFactorPiecewiseConstantCompiledModel(HullWhiteOneFactorPiecewiseConstantParameters parameters) {
+    ArgChecker.notNull(parameters, "parameters");
+    this.parameters = parameters;
+    this.meanReversion = parameters.getMeanReversion();
+    // the last time represents infinity and is not required
+    int nbPeriods = parameters.getVolatility().size();
+    this.times = Arrays.copyOf(parameters.getVolatilityTime().toArrayUnsafe(), nbPeriods);
+    this.volatility2 = new double[nbPeriods];
+    this.expTimes = new double[nbPeriods];
+    this.exp2Times = new double[nbPeriods];
+    this.cumulativeExp = new double[nbPeriods];
+    this.cumulativeExp2 = new double[nbPeriods];
+    for (int i = 0; i < nbPeriods; i++) {
+      double vol = parameters.getVolatility().get(i);
+      volatility2[i] = vol * vol;
+      expTimes[i] = Math.exp(meanReversion * times[i]);
+      exp2Times[i] = expTimes[i] * expTimes[i];
+      if (i > 0) {
+        cumulativeExp[i] = cumulativeExp[i - 1] + volatility2[i - 1] * (expTimes[i] - expTimes[i - 1]);
+        cumulativeExp2[i] = cumulativeExp2[i - 1] + volatility2[i - 1] * (exp2Times[i] - exp2Times[i - 1]);
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the model parameters.
+   *
+   * @return the parameters
+   */
+  public HullWhiteOneFactorPiecewiseConstantParameters getParameters() {
+    return parameters;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the future convexity factor used in future pricing.
+   * <p>
+   * See {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel#futuresConvexityFactor}.
+   *
+   * @param t0  the first expiry time
+   * @param t1  the first reference time
+   * @param t2  the second reference time
+   * @return the factor
+   */
+  public double futuresConvexityFactor(double t0, double t1, double t2) {
+    double factor1 = Math.exp(-meanReversion * t1) - Math.exp(-meanReversion * t2);
+    double numerator = 2 * meanReversion * meanReversion * meanReversion;
+    // (exp(a s1) - exp(a s0)) * (2 - exp(-a (t2 - s1)) - exp(-a (t2 - s0)))
+    //   = 2 * (exp(a s1) - exp(a s0)) - exp(-a t2) * (exp(2 a s1) - exp(2 a s0))
+    int index = period(t0);
+    double expT0 = Math.exp(meanReversion * t0);
+    double integralExp = cumulativeExp[index] + volatility2[index] * (expT0 - expTimes[index]);
+    double integralExp2 = cumulativeExp2[index] + volatility2[index] * (expT0 * expT0 - exp2Times[index]);
+    double factor2 = 2 * integralExp - Math.exp(-meanReversion * t2) * integralExp2;
+    return Math.exp(factor1 / numerator * factor2);
+  }
+
+  /**
+   * Calculates the (zero-coupon) bond volatility divided by a bond numeraire, i.e., alpha, for a given period.
+   * <p>
+   * See {@link HullWhiteOneFactorPiecewiseConstantInterestRateModel#alpha}.
+   *
+   * @param startExpiry the start time of the expiry period
+   * @param endExpiry  the end time of the expiry period
+   * @param numeraireTime  the time to maturity for the bond numeraire
+   * @param bondMaturity the time to maturity for the bond
+   * @return the re-based bond volatility
+   */
+  public double alpha(double startExpiry, double endExpiry, double numeraireTime, double bondMaturity) {
+    double factor1 = Math.exp(-meanReversion * numeraireTime) - Math.exp(-meanReversion * bondMaturity);
+    double numerator = 2 * meanReversion * meanReversion * meanReversion;
+    int indexStart = period(startExpiry);
+    int indexEnd = period(endExpiry);
+    double exp2Start = Math.exp(2 * meanReversion * startExpiry);
+    double exp2End = Math.exp(2 * meanReversion * endExpiry);
+    double factor2;
+    if (indexStart == indexEnd) {
+      factor2 = volatility2[indexStart] * (exp2End - exp2Start);
+    } else {
+      // the full periods in between are taken from the cumulative integrals, the partial periods at each end directly
+      factor2 = volatility2[indexStart] * (exp2Times[indexStart + 1] - exp2Start) +
+          (cumulativeExp2[indexEnd] - cumulativeExp2[indexStart + 1]) +
+          volatility2[indexEnd] * (exp2End - exp2Times[indexEnd]);
+    }
+    return factor1 * Math.sqrt(factor2 / numerator);
+  }
+
+  // the period in which the time is; times[i] <= time < times[i + 1]
+  private int period(double time) {
+    int index = Arrays.binarySearch(times, time);
+    if (index < 0) {
+      index = -index - 2;
+    }
+    return Math.max(index, 0);
+  }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.volatility.smile;
+
+import static com.opengamma.strata.pricer.impl.volatility.smile.SabrHaganVolatilityFunctionProvider.ATM_EPS;
+import static com.opengamma.strata.pricer.impl.volatility.smile.SabrHaganVolatilityFunctionProvider.BETA_EPS;
+import static com.opengamma.strata.pricer.impl.volatility.smile.SabrHaganVolatilityFunctionProvider.CUTOFF_MONEYNESS;
+import static com.opengamma.strata.pricer.impl.volatility.smile.SabrHaganVolatilityFunctionProvider.MIN_VOL;
+
+import com.google.common.math.DoubleMath;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * The Hagan SABR smile for a fixed forward, time to expiry and set of SABR parameters.
+ * <p>
+ * The volatility is the one of {@link SabrHaganVolatilityFunctionProvider}. The terms of the formula
+ * which depend only on the forward, the time to expiry and the SABR parameters are computed once at creation,
+ * so that the volatility for a large number of strikes on the same smile, as required for example by
+ * the numerical integration in a replication method, is computed at a lower cost.
+ */
+public final class SabrHaganFrozenSmile {
+
+  /** The forward. */
+  private final double forward;
+  /** The time to expiry. */
+  private final double timeToExpiry;
+  /** The SABR parameters. */
+  private final SabrFormulaData data;
+  /** The strike below which the strike is taken as this value. */
+  private final double cutoff;
+  /** (1 - beta) / 2. */
+  private final double halfBeta1;
+  /** (1 - beta)^2. */
+  private final double beta1Sq;
+  /** nu / alpha. */
+  private final double nuOverAlpha;
+  /** The time to expiry term in alpha^2, with the factor depending on the beta case. */
+  private final double timeAlpha;
+  /** The time to expiry term in rho * nu * alpha, with the factor depending on the beta case. */
+  private final double timeRhoNu;
+  /** The time to expiry term in nu^2. */
+  private final double timeNu;
+  /** The at-the-money volatility. */
+  private final double volatilityAtm;
+  /** Whether beta is 0. */
+  private final boolean betaZero;
+  /** Whether beta is 1. */
+  private final boolean betaOne;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param forward  the forward value of the underlying
+   * @param timeToExpiry  the time to expiry of the option
+   * @param data  the SABR data
+   * @return the smile
+   */
+  public static SabrHaganFrozenSmile of(double forward, double timeToExpiry, SabrFormulaData data) {
+    return new SabrHaganFrozenSmile(forward, timeToExpiry, data);
+  }
+
+  // private constructor
+  private SabrHaganFrozenSmile(double forward, double timeToExpiry, SabrFormulaData data) {
+    ArgChecker.notNull(data, "data");
+    ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
+    ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
+    this.forward = forward;
+    this.timeToExpiry = timeToExpiry;
+    this.data = data;
+    double alpha = data.getAlpha();
+    double beta = data.getBeta();
+    double rho = data.getRho();
+    double nu = data.getNu();
+    this.cutoff = forward * CUTOFF_MONEYNESS;
+    double beta1 = 1 - beta;
+    this.halfBeta1 = 0.5 * beta1;
+    this.beta1Sq = beta1 * beta1;
+    this.nuOverAlpha = nu / alpha;
+    this.betaZero = DoubleMath.fuzzyEquals(beta, 0, BETA_EPS);
+    this.betaOne = DoubleMath.fuzzyEquals(beta, 1, BETA_EPS);
+    this.timeNu = timeToExpiry * nu * nu * (2 - 3 * rho * rho) / 24;
+    if (betaZero) {
+      this.timeAlpha = timeToExpiry * alpha * alpha / 24;
+      this.timeRhoNu = 0d;
+    } else if (betaOne) {
+      this.timeAlpha = 0d;
+      this.timeRhoNu = timeToExpiry * rho * alpha * nu / 4;
+    } else {
+      this.timeAlpha = timeToExpiry * beta1Sq * alpha * alpha / 24;
+      this.timeRhoNu = timeToExpiry * rho * nu * beta * alpha / 4;
+    }
+    double f1 = Math.pow(forward, beta1);
+    this.volatilityAtm = alpha *
+        (1 + timeToExpiry *
+            (beta1Sq * alpha * alpha / 24 / f1 / f1 + rho * alpha * beta * nu / 4 / f1 + nu * nu *
+                (2 - 3 * rho * rho) / 24)) /
+        f1;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the forward.
+   *
+   * @return the forward
+   */
+  public double getForward() {
+    return forward;
+  }
+
+  /**
+   * Gets the time to expiry.
+   *
+   * @return the time to expiry
+   */
+  public double getTimeToExpiry() {
+    return timeToExpiry;
+  }
+
+  /**
+   * Gets the SABR parameters.
+   *
+   * @return the SABR data
+   */
+  public SabrFormulaData getData() {
+    return data;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the volatility for a strike.
+   * <p>
+   * The result is the one of {@link SabrHaganVolatilityFunctionProvider} for the forward,
+   * time to expiry and data of this smile, up to rounding.
+   *
+   * @param strike  the strike value of the option
+   * @return the volatility
+   */
+  public double volatility(double strike) {
+    ArgChecker.isTrue(strike >= 0.0, "strike must be greater than zero");
+    double alpha = data.getAlpha();
+    if (alpha == 0.0) {
+      return 0.0;
+    }
+    double k = Math.max(strike, cutoff);
+    double rho = data.getRho();
+    double vol;
+    if (DoubleMath.fuzzyEquals(forward, k, ATM_EPS)) {
+      vol = volatilityAtm;
+    } else if (betaZero) {
+      double ln = Math.log(forward / k);
+      double fk = forward * k;
+      double zOverChi = SabrHaganVolatilityFunctionProvider.getZOverChi(rho, nuOverAlpha * Math.sqrt(fk) * ln);
+      vol = alpha * ln * zOverChi * (1 + timeAlpha / fk + timeNu) / (forward - k);
+    } else if (betaOne) {
+      double ln = Math.log(forward / k);
+      double zOverChi = SabrHaganVolatilityFunctionProvider.getZOverChi(rho, nuOverAlpha * ln);
+      vol = alpha * zOverChi * (1 + timeRhoNu + timeNu);
+    } else {
+      double ln = Math.log(forward / k);
+      double f1Sqrt = Math.pow(forward * k, halfBeta1);
+      double lnBetaSq = beta1Sq * ln * ln;
+      double zOverChi = SabrHaganVolatilityFunctionProvider.getZOverChi(rho, nuOverAlpha * f1Sqrt * ln);
+      double first = alpha / (f1Sqrt * (1 + lnBetaSq / 24 + lnBetaSq * lnBetaSq / 1920));
+      double third = 1 + timeAlpha / (f1Sqrt * f1Sqrt) + timeRhoNu / f1Sqrt + timeNu;
+      vol = first * zOverChi * third;
+    }
+    return Math.max(MIN_VOL, vol);
+  }
+
+}
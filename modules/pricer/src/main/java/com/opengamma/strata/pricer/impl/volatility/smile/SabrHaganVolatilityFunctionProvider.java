@@ -46,15 +46,15 @@ public final class SabrHaganVolatilityFunctionProvider
   private static final Logger log = LoggerFactory.getLogger(SabrHaganVolatilityFunctionProvider.class);
 
   /* internal parameters */
-  private static final double CUTOFF_MONEYNESS = 1e-12;
+  static final double CUTOFF_MONEYNESS = 1e-12;
   private static final double SMALL_Z = 1e-6;
   private static final double LARGE_NEG_Z = -1e6;
   private static final double LARGE_POS_Z = 1e8;
-  private static final double BETA_EPS = 1e-8;
+  static final double BETA_EPS = 1e-8;
   private static final double RHO_EPS = 1e-5;
   private static final double RHO_EPS_NEGATIVE = 1e-8;
-  private static final double ATM_EPS = 1e-7;
-  private static final double MIN_VOL = 1e-6; // Minimal volatility, to avoid negative volatility for extreme parameters
+  static final double ATM_EPS = 1e-7;
+  static final double MIN_VOL = 1e-6; // Minimal volatility, to avoid negative volatility for extreme parameters
 
   //-------------------------------------------------------------------------
   @Override
@@ -531,7 +531,7 @@ public final class SabrHaganVolatilityFunctionProvider
     return sigma;
   }
 
-  private double getZOverChi(double rho, double z) {
+  static double getZOverChi(double rho, double z) {
 
     // Implementation comment: To avoid numerical instability (0/0) around ATM the first order approximation is used.
     if (DoubleMath.fuzzyEquals(z, 0.0, SMALL_Z)) {
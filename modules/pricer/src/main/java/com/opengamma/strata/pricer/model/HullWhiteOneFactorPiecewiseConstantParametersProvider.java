@@ -20,6 +20,7 @@ import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaBean;
 import org.joda.beans.MetaProperty;
 import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableConstructor;
 import org.joda.beans.gen.PropertyDefinition;
 import org.joda.beans.impl.direct.DirectMetaBean;
 import org.joda.beans.impl.direct.DirectMetaProperty;
@@ -29,6 +30,7 @@ import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantCompiledModel;
 import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
 
 /**
@@ -63,6 +65,10 @@ public final class HullWhiteOneFactorPiecewiseConstantParametersProvider
    */
   @PropertyDefinition(validate = "notNull")
   private final ZonedDateTime valuationDateTime;
+  /**
+   * The model compiled for the parameters.
+   */
+  private final transient HullWhiteOneFactorPiecewiseConstantCompiledModel compiledModel;  // not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -101,6 +107,25 @@ public final class HullWhiteOneFactorPiecewiseConstantParametersProvider
     return of(parameters, dayCount, valuationDate.atTime(valuationTime).atZone(valuationZone));
   }
 
+  @ImmutableConstructor
+  private HullWhiteOneFactorPiecewiseConstantParametersProvider(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      DayCount dayCount,
+      ZonedDateTime valuationDateTime) {
+    JodaBeanUtils.notNull(parameters, "parameters");
+    JodaBeanUtils.notNull(dayCount, "dayCount");
+    JodaBeanUtils.notNull(valuationDateTime, "valuationDateTime");
+    this.parameters = parameters;
+    this.dayCount = dayCount;
+    this.valuationDateTime = valuationDateTime;
+    this.compiledModel = HullWhiteOneFactorPiecewiseConstantCompiledModel.of(parameters);
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new HullWhiteOneFactorPiecewiseConstantParametersProvider(parameters, dayCount, valuationDateTime);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the future convexity factor for the specified period at the future reference date.
@@ -114,7 +139,7 @@ public final class HullWhiteOneFactorPiecewiseConstantParametersProvider
     double referenceTime = relativeTime(referenceDate);
     double startTime = relativeTime(startDate);
     double endTime = relativeTime(endDate);
-    return MODEL.futuresConvexityFactor(parameters, referenceTime, startTime, endTime);
+    return compiledModel.futuresConvexityFactor(referenceTime, startTime, endTime);
   }
 
   /**
@@ -166,7 +191,7 @@ public final class HullWhiteOneFactorPiecewiseConstantParametersProvider
     double endTime = relativeTime(endDate);
     double numeraireTime = relativeTime(numeraireDate);
     double maturityTime = relativeTime(maturityDate);
-    return MODEL.alpha(parameters, startTime, endTime, numeraireTime, maturityTime);
+    return compiledModel.alpha(startTime, endTime, numeraireTime, maturityTime);
   }
 
   /**
@@ -220,18 +245,6 @@ public final class HullWhiteOneFactorPiecewiseConstantParametersProvider
    */
   private static final long serialVersionUID = 1L;
 
-  private HullWhiteOneFactorPiecewiseConstantParametersProvider(
-      HullWhiteOneFactorPiecewiseConstantParameters parameters,
-      DayCount dayCount,
-      ZonedDateTime valuationDateTime) {
-    JodaBeanUtils.notNull(parameters, "parameters");
-    JodaBeanUtils.notNull(dayCount, "dayCount");
-    JodaBeanUtils.notNull(valuationDateTime, "valuationDateTime");
-    this.parameters = parameters;
-    this.dayCount = dayCount;
-    this.valuationDateTime = valuationDateTime;
-  }
-
   @Override
   public HullWhiteOneFactorPiecewiseConstantParametersProvider.Meta metaBean() {
     return HullWhiteOneFactorPiecewiseConstantParametersProvider.Meta.INSTANCE;
@@ -11,9 +11,14 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.date.BusinessDayAdjustment;
 import com.opengamma.strata.basics.date.DayCount;
@@ -188,6 +193,58 @@ public final class SabrSwaptionCalibrator {
       Surface shiftSurface,
       boolean stopOnMathException) {
 
+    return calibrateWithFixedBetaAndShift(
+        definition,
+        calibrationDateTime,
+        data,
+        ratesProvider,
+        betaSurface,
+        shiftSurface,
+        stopOnMathException,
+        Optional.empty(),
+        Runnable::run);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrate SABR parameters to a set of raw swaption data, running the smile calibrations on an executor.
+   * <p>
+   * The SABR parameters are calibrated with fixed beta and fixed shift surfaces.
+   * The raw data can be (shifted) log-normal volatilities, normal volatilities or option prices
+   * <p>
+   * Each expiry/tenor smile is calibrated independently. The calibration of each smile, and each of the
+   * starting points tried for a smile, is submitted to the executor. The result does not depend on the
+   * executor used; the best starting point is selected in a fixed order.
+   * <p>
+   * If a starting point is provided, typically the SABR parameters calibrated on the previous day,
+   * its alpha, rho and nu at the expiry/tenor of each smile are used as the only starting point.
+   * If the calibration from that point throws a MathException, the standard starting points are used.
+   * 
+   * @param definition  the definition of the calibration to be performed
+   * @param calibrationDateTime  the data and time of the calibration
+   * @param data  the map of raw option data, keyed by tenor
+   * @param ratesProvider  the rate provider used to compute the swap forward rates
+   * @param betaSurface  the beta surface
+   * @param shiftSurface  the shift surface
+   * @param stopOnMathException  flag indicating if the calibration should stop on math exceptions or skip the 
+   *   expiries/tenors which throw MathException
+   * @param startingPoint  the optional SABR parameters used as starting point of the calibration
+   * @param executor  the executor used to run the calibrations
+   * @return the SABR volatility object
+   */
+  public SabrParametersSwaptionVolatilities calibrateWithFixedBetaAndShift(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      Optional<SabrParametersSwaptionVolatilities> startingPoint,
+      Executor executor) {
+
+    ArgChecker.notNull(startingPoint, "startingPoint");
+    ArgChecker.notNull(executor, "executor");
     SwaptionVolatilitiesName name = definition.getName();
     FixedIborSwapConvention convention = definition.getConvention();
     DayCount dayCount = definition.getDayCount();
@@ -197,69 +254,85 @@ public final class SabrSwaptionCalibrator {
     fixed.set(1); // Beta fixed
     BusinessDayAdjustment bda = convention.getFloatingLeg().getStartDateBusinessDayAdjustment();
     LocalDate calibrationDate = calibrationDateTime.toLocalDate();
-    // Sorted maps to obtain the surfaces nodes in standard order
-    TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityRhoTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityNuTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, SabrFormulaData>> sabrPointTmp = new TreeMap<>();
+    // Submit the smile calibrations, the results are collected in the data order
+    List<SmileCalibration> smiles = new ArrayList<>();
     for (Tenor tenor : data.getTenors()) {
       RawOptionData tenorData = data.getData(tenor);
       double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
       List<Period> expiries = tenorData.getExpiries();
       int nbExpiries = expiries.size();
       for (int loopexpiry = 0; loopexpiry < nbExpiries; loopexpiry++) {
-        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiries.get(loopexpiry));
+        Period expiry = expiries.get(loopexpiry);
+        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiry);
         if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
           continue;
         }
-        LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiries.get(loopexpiry));
+        LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiry);
         LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
         double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
         double beta = betaSurface.zValue(timeToExpiry, timeTenor);
         double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
+        Optional<DoubleArray> warmStart = startingPoint.map(sabr -> DoubleArray.of(
+            sabr.getParameters().alpha(timeToExpiry, timeTenor),
+            beta,
+            sabr.getParameters().rho(timeToExpiry, timeTenor),
+            sabr.getParameters().nu(timeToExpiry, timeTenor)));
         LocalDate endDate = effectiveDate.plus(tenor);
-        SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
-        double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
-        SabrFormulaData sabrPoint = null;
-        DoubleMatrix inverseJacobian = null;
-        boolean error = false;
-        try {
-          Pair<SabrFormulaData, DoubleMatrix> calibrationResult =
-              calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
-                  availableSmile.getFirst(), availableSmile.getSecond(), expiries.get(loopexpiry), tenorData);
-          sabrPoint = calibrationResult.getFirst();
-          inverseJacobian = calibrationResult.getSecond();
-        } catch (MathException e) {
-          error = true;
-          if (stopOnMathException) {
-            String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
-                expiries.get(loopexpiry), tenor);
-            throw new MathException(message, e);
-          }
+        CompletableFuture<Pair<SabrFormulaData, DoubleMatrix>> result = CompletableFuture
+            .supplyAsync(() -> {
+              SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
+              return swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
+            }, executor)
+            .thenCompose(forward -> calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
+                availableSmile.getFirst(), availableSmile.getSecond(), expiry, tenorData, warmStart, executor));
+        smiles.add(new SmileCalibration(expiry, tenor, timeToExpiry, timeTenor, result));
+      }
+    }
+    // Sorted maps to obtain the surfaces nodes in standard order
+    TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>();
+    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
+    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityRhoTmp = new TreeMap<>();
+    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityNuTmp = new TreeMap<>();
+    TreeMap<Double, TreeMap<Double, SabrFormulaData>> sabrPointTmp = new TreeMap<>();
+    for (SmileCalibration smile : smiles) {
+      double timeToExpiry = smile.timeToExpiry;
+      double timeTenor = smile.timeTenor;
+      SabrFormulaData sabrPoint = null;
+      DoubleMatrix inverseJacobian = null;
+      boolean error = false;
+      try {
+        Pair<SabrFormulaData, DoubleMatrix> calibrationResult = join(smile.result);
+        sabrPoint = calibrationResult.getFirst();
+        inverseJacobian = calibrationResult.getSecond();
+      } catch (MathException e) {
+        error = true;
+        if (stopOnMathException) {
+          String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
+              smile.expiry, smile.tenor);
+          throw new MathException(message, e);
         }
-        if (!error) {
-          if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
-            parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
-            sabrPointTmp.put(timeToExpiry, new TreeMap<>());
-          }
-          TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
-          TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
-          parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
-              timeToExpiry,
-              timeTenor,
-              expiries.get(loopexpiry).toString() + "x" + tenor.toString()));
-          dataSensitivityAlphaExpiryMap.put(timeTenor, inverseJacobian.row(0));
-          dataSensitivityRhoExpiryMap.put(timeTenor, inverseJacobian.row(2));
-          dataSensitivityNuExpiryMap.put(timeTenor, inverseJacobian.row(3));
-          sabrPointExpiryMap.put(timeTenor, sabrPoint);
+      }
+      if (!error) {
+        if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
+          parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
+          dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
+          dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
+          dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
+          sabrPointTmp.put(timeToExpiry, new TreeMap<>());
         }
+        TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
+        TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
+        TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
+        TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
+        TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
+        parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
+            timeToExpiry,
+            timeTenor,
+            smile.expiry.toString() + "x" + smile.tenor.toString()));
+        dataSensitivityAlphaExpiryMap.put(timeTenor, inverseJacobian.row(0));
+        dataSensitivityRhoExpiryMap.put(timeTenor, inverseJacobian.row(2));
+        dataSensitivityNuExpiryMap.put(timeTenor, inverseJacobian.row(3));
+        sabrPointExpiryMap.put(timeTenor, sabrPoint);
       }
     }
     DoubleArray timeToExpiryArray = DoubleArray.EMPTY;
@@ -319,7 +392,8 @@ public final class SabrSwaptionCalibrator {
 
   // The main part of the calibration. The calibration is done 4 times with different starting points: low and high
   // volatilities and high and low vol of vol. The best result (in term of chi^2) is returned.
-  private Pair<SabrFormulaData, DoubleMatrix> calibration(
+  // If a warm start is provided, it is used alone and the standard starting points are used only if it fails.
+  private CompletableFuture<Pair<SabrFormulaData, DoubleMatrix>> calibration(
       double forward,
       double shift,
       double beta,
@@ -330,8 +404,30 @@ public final class SabrSwaptionCalibrator {
       DoubleArray strike,
       DoubleArray data,
       Period expiry,
-      RawOptionData rawData) {
+      RawOptionData rawData,
+      Optional<DoubleArray> warmStart,
+      Executor executor) {
 
+    Function<DoubleArray, Pair<LeastSquareResultsWithTransform, DoubleArray>> calibrationFromStart =
+        startParameters -> calibrationFromStart(forward, shift, fixed, bda, calibrationDateTime, dayCount,
+            strike, data, expiry, rawData, startParameters);
+    if (!warmStart.isPresent()) {
+      return bestCalibration(standardStartingPoints(forward, shift, beta), calibrationFromStart, executor);
+    }
+    CompletableFuture<Pair<SabrFormulaData, DoubleMatrix>> warm =
+        bestCalibration(ImmutableList.of(warmStart.get()), calibrationFromStart, executor);
+    return warm
+        .handle((result, ex) -> {
+          if (ex != null && unwrap(ex) instanceof MathException) {
+            return bestCalibration(standardStartingPoints(forward, shift, beta), calibrationFromStart, executor);
+          }
+          return warm;
+        })
+        .thenCompose(Function.identity());
+  }
+
+  // The standard starting points: low and high volatilities and high and low vol of vol
+  private static List<DoubleArray> standardStartingPoints(double forward, double shift, double beta) {
     double rhoStart = -0.50 * beta + 0.50 * (1 - beta);
     // Correlation is usually positive for normal and negative for log-normal;.
     double[] alphaStart = new double[4];
@@ -344,36 +440,74 @@ public final class SabrSwaptionCalibrator {
     nuStart[1] = 0.50; // High vol of vol
     nuStart[2] = 0.10;
     nuStart[3] = 0.50;
-    double chi2 = 1.0E+12; // Large number 
-    Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult = null;
-    for (int i = 0; i < 4; i++) { // Try different starting points and take the best
-      DoubleArray startParameters = DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]);
-      Pair<LeastSquareResultsWithTransform, DoubleArray> r = null;
-      if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
-        r = calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
-            expiry, forward, strike, rawData.getStrikeType(),
-            data, startParameters, fixed, shift);
-      } else {
-        if (rawData.getDataType().equals(ValueType.PRICE)) {
-          r = calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
-              expiry, forward, strike, rawData.getStrikeType(),
-              data, startParameters, fixed, shift);
-        } else {
-          if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
-            r = calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
-                expiry, forward, strike, rawData.getStrikeType(),
-                data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
-          } else {
-            throw new IllegalArgumentException("Data type not supported");
+    List<DoubleArray> startingPoints = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      startingPoints.add(DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]));
+    }
+    return startingPoints;
+  }
+
+  // Calibrates from each starting point on the executor and combines the best result (in term of chi^2)
+  private static CompletableFuture<Pair<SabrFormulaData, DoubleMatrix>> bestCalibration(
+      List<DoubleArray> startingPoints,
+      Function<DoubleArray, Pair<LeastSquareResultsWithTransform, DoubleArray>> calibrationFromStart,
+      Executor executor) {
+
+    List<CompletableFuture<Pair<LeastSquareResultsWithTransform, DoubleArray>>> results = new ArrayList<>();
+    for (DoubleArray startParameters : startingPoints) { // Try different starting points and take the best
+      results.add(CompletableFuture.supplyAsync(() -> calibrationFromStart.apply(startParameters), executor));
+    }
+    return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[results.size()]))
+        .thenApply(done -> {
+          double chi2 = 1.0E+12; // Large number 
+          Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult = null;
+          for (CompletableFuture<Pair<LeastSquareResultsWithTransform, DoubleArray>> result : results) {
+            Pair<LeastSquareResultsWithTransform, DoubleArray> r = result.join();
+            if (r.getFirst().getChiSq() < chi2) { // Keep best calibration, first one in case of equality
+              sabrCalibrationResult = r;
+              chi2 = r.getFirst().getChiSq();
+            }
           }
-        }
-      }
-      if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
-        sabrCalibrationResult = r;
-        chi2 = r.getFirst().getChiSq();
-      }
+          return sensitivityToData(sabrCalibrationResult);
+        });
+  }
+
+  // Calibration from one starting point
+  private Pair<LeastSquareResultsWithTransform, DoubleArray> calibrationFromStart(
+      double forward,
+      double shift,
+      BitSet fixed,
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      DoubleArray strike,
+      DoubleArray data,
+      Period expiry,
+      RawOptionData rawData,
+      DoubleArray startParameters) {
+
+    if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
+      return calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
+    }
+    if (rawData.getDataType().equals(ValueType.PRICE)) {
+      return calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
     }
-    @SuppressWarnings("null")
+    if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
+      return calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
+    }
+    throw new IllegalArgumentException("Data type not supported");
+  }
+
+  // The SABR parameters and their sensitivity to the raw data
+  private static Pair<SabrFormulaData, DoubleMatrix> sensitivityToData(
+      Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult) {
+
     SabrFormulaData sabrParameters =
         SabrFormulaData.of(sabrCalibrationResult.getFirst().getModelParameters().toArrayUnsafe());
     DoubleMatrix parameterSensitivityToBlackShifted =
@@ -391,6 +525,31 @@ public final class SabrSwaptionCalibrator {
     return Pair.of(sabrParameters, parameterSensitivityToData);
   }
 
+  // waits for the result, rethrowing the original exception
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      Throwable cause = unwrap(ex);
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw ex;
+    }
+  }
+
+  // the exception thrown by the calibration, without the completion wrapper
+  private static Throwable unwrap(Throwable ex) {
+    Throwable cause = ex;
+    while (cause instanceof CompletionException && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    return cause;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calibrate SABR alpha parameters to a set of ATM swaption volatilities.
@@ -899,4 +1058,28 @@ public final class SabrSwaptionCalibrator {
     return bda.adjust(calibrationDate.plus(expiry), refData);
   }
 
+  //-------------------------------------------------------------------------
+  // the calibration of one expiry/tenor smile
+  private static final class SmileCalibration {
+    private final Period expiry;
+    private final Tenor tenor;
+    private final double timeToExpiry;
+    private final double timeTenor;
+    private final CompletableFuture<Pair<SabrFormulaData, DoubleMatrix>> result;
+
+    private SmileCalibration(
+        Period expiry,
+        Tenor tenor,
+        double timeToExpiry,
+        double timeTenor,
+        CompletableFuture<Pair<SabrFormulaData, DoubleMatrix>> result) {
+
+      this.expiry = expiry;
+      this.tenor = tenor;
+      this.timeToExpiry = timeToExpiry;
+      this.timeTenor = timeTenor;
+      this.result = result;
+    }
+  }
+
 }
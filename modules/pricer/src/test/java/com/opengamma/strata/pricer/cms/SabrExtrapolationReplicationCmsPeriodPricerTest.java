@@ -784,7 +784,76 @@ public class SabrExtrapolationReplicationCmsPeriodPricerTest {
     double integralPart = ptp * integrator.integrate(integrant.integrant(), STRIKE, 100.0);
     double pvExpected = (strikePart + integralPart) * NOTIONAL * ACC_FACTOR;
     CurrencyAmount pvComputed = PRICER.presentValue(CAPLET, RATES_PROVIDER, VOLATILITIES_SHIFT);
-    assertEquals(pvComputed.getAmount(),  pvExpected, TOLERANCE_PV);    
+    assertEquals(pvComputed.getAmount(),  pvExpected, TOLERANCE_PV);
+  }
+
+  //-------------------------------------------------------------------------
+  private static final SabrExtrapolationReplicationCmsPeriodPricer PRICER_GL =
+      SabrExtrapolationReplicationCmsPeriodPricer.of(DiscountingSwapProductPricer.DEFAULT, CUT_OFF_STRIKE, MU, 16);
+  private static final SabrExtrapolationReplicationCmsPeriodPricer PRICER_GL_64 =
+      SabrExtrapolationReplicationCmsPeriodPricer.of(DiscountingSwapProductPricer.DEFAULT, CUT_OFF_STRIKE, MU, 64);
+
+  public void test_presentValue_gaussLegendre() {
+    for (CmsPeriod period : new CmsPeriod[] {COUPON, CAPLET, FLOORLET, CAPLET_NEGATIVE, FLOORLET_NEGATIVE}) {
+      double expected = PRICER.presentValue(period, RATES_PROVIDER, VOLATILITIES_SHIFT).getAmount();
+      double computed = PRICER_GL.presentValue(period, RATES_PROVIDER, VOLATILITIES_SHIFT).getAmount();
+      assertEquals(computed, expected, TOLERANCE_PV);
+    }
+  }
+
+  public void test_presentValueSensitivity_gaussLegendre() {
+    for (CmsPeriod period : new CmsPeriod[] {COUPON, CAPLET, FLOORLET}) {
+      CurrencyParameterSensitivities expectedRates = RATES_PROVIDER.parameterSensitivity(
+          PRICER.presentValueSensitivityRates(period, RATES_PROVIDER, VOLATILITIES).build());
+      CurrencyParameterSensitivities computedRates = RATES_PROVIDER.parameterSensitivity(
+          PRICER_GL.presentValueSensitivityRates(period, RATES_PROVIDER, VOLATILITIES).build());
+      assertTrue(computedRates.equalWithTolerance(expectedRates, TOLERANCE_PV * 10d));
+      CurrencyParameterSensitivities expectedSabr = VOLATILITIES.parameterSensitivity(
+          PRICER.presentValueSensitivityModelParamsSabr(period, RATES_PROVIDER, VOLATILITIES).build());
+      CurrencyParameterSensitivities computedSabr = VOLATILITIES.parameterSensitivity(
+          PRICER_GL.presentValueSensitivityModelParamsSabr(period, RATES_PROVIDER, VOLATILITIES).build());
+      // the adaptive Runge-Kutta integration is the less accurate of the two for the SABR sensitivity
+      assertTrue(computedSabr.equalWithTolerance(expectedSabr, NOTIONAL * EPS));
+      CurrencyParameterSensitivities convergedSabr = VOLATILITIES.parameterSensitivity(
+          PRICER_GL_64.presentValueSensitivityModelParamsSabr(period, RATES_PROVIDER, VOLATILITIES).build());
+      assertTrue(computedSabr.equalWithTolerance(convergedSabr, TOLERANCE_PV));
+    }
+    for (CmsPeriod period : new CmsPeriod[] {CAPLET, FLOORLET}) {
+      double expected = PRICER.presentValueSensitivityStrike(period, RATES_PROVIDER, VOLATILITIES);
+      double computed = PRICER_GL.presentValueSensitivityStrike(period, RATES_PROVIDER, VOLATILITIES);
+      assertEquals(computed, expected, NOTIONAL * EPS);
+    }
+  }
+
+  public void test_of_gaussLegendre_invalid() {
+    assertThrowsIllegalArg(() -> SabrExtrapolationReplicationCmsPeriodPricer.of(
+        DiscountingSwapProductPricer.DEFAULT, CUT_OFF_STRIKE, MU, 0));
+  }
+
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() {
+    int nbTest = 100;
+    for (int looprep = 0; looprep < 5; looprep++) {
+      double total = 0d;
+      long startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        total += PRICER.presentValue(CAPLET, RATES_PROVIDER, VOLATILITIES).getAmount();
+        total += PRICER.presentValue(FLOORLET, RATES_PROVIDER, VOLATILITIES).getAmount();
+      }
+      long endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " x 2 CMS cap/floor, Runge-Kutta: " + (endTime - startTime) + " ms");
+      startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        total += PRICER_GL.presentValue(CAPLET, RATES_PROVIDER, VOLATILITIES).getAmount();
+        total += PRICER_GL.presentValue(FLOORLET, RATES_PROVIDER, VOLATILITIES).getAmount();
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " x 2 CMS cap/floor, Gauss-Legendre: " + (endTime - startTime) + " ms");
+      System.out.println("Total: " + total);
+    }
   }
 
   //---------------------------------------------------------------------
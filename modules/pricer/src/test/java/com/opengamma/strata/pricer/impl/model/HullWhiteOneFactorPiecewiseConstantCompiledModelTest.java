@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.model;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantCompiledModel;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Test {@link HullWhiteOneFactorPiecewiseConstantCompiledModel}.
+ */
+@Test
+public class HullWhiteOneFactorPiecewiseConstantCompiledModelTest {
+
+  private static final double MEAN_REVERSION = 0.01;
+  private static final DoubleArray VOLATILITY = DoubleArray.of(0.01, 0.011, 0.012, 0.013, 0.014);
+  private static final DoubleArray VOLATILITY_TIME = DoubleArray.of(0.5, 1.0, 2.0, 5.0);
+  private static final HullWhiteOneFactorPiecewiseConstantParameters MODEL_PARAMETERS =
+      HullWhiteOneFactorPiecewiseConstantParameters.of(MEAN_REVERSION, VOLATILITY, VOLATILITY_TIME);
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+  private static final HullWhiteOneFactorPiecewiseConstantCompiledModel COMPILED =
+      HullWhiteOneFactorPiecewiseConstantCompiledModel.of(MODEL_PARAMETERS);
+  private static final double[] TIMES = {0d, 0.1, 0.25, 0.5, 0.75, 1d, 1.5, 2d, 3d, 5d, 7.5, 10d, 30d};
+  private static final double TOLERANCE = 1.0E-13;
+
+  public void test_of() {
+    assertEquals(COMPILED.getParameters(), MODEL_PARAMETERS);
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorPiecewiseConstantCompiledModel.of(null));
+  }
+
+  public void test_alpha() {
+    for (double start : TIMES) {
+      for (double end : TIMES) {
+        if (end < start) {
+          continue;
+        }
+        for (double maturity : new double[] {end + 0.25, end + 5d, end + 30d}) {
+          double expected = MODEL.alpha(MODEL_PARAMETERS, start, end, end, maturity);
+          double computed = COMPILED.alpha(start, end, end, maturity);
+          assertEquals(computed, expected, TOLERANCE * Math.abs(expected));
+          double expectedNumeraire = MODEL.alpha(MODEL_PARAMETERS, start, end, maturity + 1d, maturity);
+          double computedNumeraire = COMPILED.alpha(start, end, maturity + 1d, maturity);
+          assertEquals(computedNumeraire, expectedNumeraire, TOLERANCE * Math.abs(expectedNumeraire));
+        }
+      }
+    }
+  }
+
+  public void test_alpha_hardCoded() {
+    assertEquals(COMPILED.alpha(0.25, 2.25, 10.0, 9.0), -0.015191631, 1.0E-8);
+    assertEquals(COMPILED.alpha(0.0, 0.0, 10.0, 9.0), 0d, 0d);
+  }
+
+  public void test_futuresConvexityFactor() {
+    for (double t0 : TIMES) {
+      double t1 = t0 + 0.005;
+      double t2 = t1 + 0.25;
+      double expected = MODEL.futuresConvexityFactor(MODEL_PARAMETERS, t0, t1, t2);
+      double computed = COMPILED.futuresConvexityFactor(t0, t1, t2);
+      assertEquals(computed, expected, TOLERANCE);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() {
+    int nbTest = 1000000;
+    double[] volatility = new double[40];
+    double[] volatilityTime = new double[39];
+    for (int i = 0; i < volatility.length; i++) {
+      volatility[i] = 0.01 + 0.0001 * i;
+    }
+    for (int i = 0; i < volatilityTime.length; i++) {
+      volatilityTime[i] = 0.25 * (i + 1);
+    }
+    HullWhiteOneFactorPiecewiseConstantParameters parameters = HullWhiteOneFactorPiecewiseConstantParameters.of(
+        MEAN_REVERSION, DoubleArray.ofUnsafe(volatility), DoubleArray.ofUnsafe(volatilityTime));
+    for (int looprep = 0; looprep < 5; looprep++) {
+      double total = 0d;
+      long startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        total += MODEL.alpha(parameters, 0d, 7.5, 7.5, 8d + looptest % 20);
+      }
+      long endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " alpha Hull-White: " + (endTime - startTime) + " ms");
+      startTime = System.currentTimeMillis();
+      HullWhiteOneFactorPiecewiseConstantCompiledModel compiled =
+          HullWhiteOneFactorPiecewiseConstantCompiledModel.of(parameters);
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        total += compiled.alpha(0d, 7.5, 7.5, 8d + looptest % 20);
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " alpha Hull-White compiled: " + (endTime - startTime) + " ms");
+      System.out.println("Total: " + total);
+    }
+  }
+
+}
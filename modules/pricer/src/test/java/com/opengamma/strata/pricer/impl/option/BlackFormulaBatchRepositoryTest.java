@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.value.ValueDerivatives;
+
+/**
+ * Test {@link BlackFormulaBatchRepository}.
+ */
+@Test
+public class BlackFormulaBatchRepositoryTest {
+
+  private static final double TOLERANCE = 1.0E-12;
+  private static final double[] FORWARDS;
+  private static final double[] STRIKES;
+  private static final double[] EXPIRIES;
+  private static final double[] VOLS;
+  static {
+    double[] strikes = {0d, 0.005, 0.02, 0.0299, 0.03, 0.0301, 0.05, 0.20, 1e14};
+    double[] expiries = {0d, 0.25, 1d, 10d};
+    double[] vols = {0d, 0.01, 0.20, 1.50};
+    int nbOptions = strikes.length * expiries.length * vols.length + 1;
+    FORWARDS = new double[nbOptions];
+    STRIKES = new double[nbOptions];
+    EXPIRIES = new double[nbOptions];
+    VOLS = new double[nbOptions];
+    int i = 0;
+    for (double strike : strikes) {
+      for (double expiry : expiries) {
+        for (double vol : vols) {
+          FORWARDS[i] = 0.03;
+          STRIKES[i] = strike;
+          EXPIRIES[i] = expiry;
+          VOLS[i] = vol;
+          i++;
+        }
+      }
+    }
+    // large forward and strike
+    FORWARDS[i] = 2e13;
+    STRIKES[i] = 1e14;
+    EXPIRIES[i] = 1d;
+    VOLS[i] = 0.2;
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_price() {
+    for (boolean isCall : new boolean[] {true, false}) {
+      double[] computed = BlackFormulaBatchRepository.price(FORWARDS, STRIKES, EXPIRIES, VOLS, isCall);
+      for (int i = 0; i < FORWARDS.length; i++) {
+        double expected = BlackFormulaRepository.price(FORWARDS[i], STRIKES[i], EXPIRIES[i], VOLS[i], isCall);
+        assertEquals(computed[i], expected, TOLERANCE * Math.max(1d, expected));
+      }
+    }
+  }
+
+  public void test_priceAdjoint() {
+    for (boolean isCall : new boolean[] {true, false}) {
+      double[][] computed = BlackFormulaBatchRepository.priceAdjoint(FORWARDS, STRIKES, EXPIRIES, VOLS, isCall);
+      assertEquals(computed.length, 5);
+      for (int i = 0; i < FORWARDS.length; i++) {
+        ValueDerivatives expected =
+            BlackFormulaRepository.priceAdjoint(FORWARDS[i], STRIKES[i], EXPIRIES[i], VOLS[i], isCall);
+        assertEquals(computed[0][i], expected.getValue(), TOLERANCE * Math.max(1d, expected.getValue()));
+        for (int j = 0; j < 4; j++) {
+          double derivative = expected.getDerivative(j);
+          assertEquals(computed[j + 1][i], derivative, TOLERANCE * Math.max(1d, Math.abs(derivative)));
+        }
+      }
+    }
+  }
+
+  public void test_delta() {
+    for (boolean isCall : new boolean[] {true, false}) {
+      double[] computed = BlackFormulaBatchRepository.delta(FORWARDS, STRIKES, EXPIRIES, VOLS, isCall);
+      for (int i = 0; i < FORWARDS.length; i++) {
+        double expected = BlackFormulaRepository.delta(FORWARDS[i], STRIKES[i], EXPIRIES[i], VOLS[i], isCall);
+        assertEquals(computed[i], expected, TOLERANCE);
+      }
+    }
+  }
+
+  public void test_vega() {
+    double[] computed = BlackFormulaBatchRepository.vega(FORWARDS, STRIKES, EXPIRIES, VOLS);
+    for (int i = 0; i < FORWARDS.length; i++) {
+      double expected = BlackFormulaRepository.vega(FORWARDS[i], STRIKES[i], EXPIRIES[i], VOLS[i]);
+      assertEquals(computed[i], expected, TOLERANCE * Math.max(1d, Math.abs(expected)));
+    }
+  }
+
+  public void test_invalid() {
+    double[] one = {1d};
+    double[] two = {1d, 1d};
+    assertThrowsIllegalArg(() -> BlackFormulaBatchRepository.price(one, two, one, one, true));
+    assertThrowsIllegalArg(() -> BlackFormulaBatchRepository.price(one, one, two, one, true));
+    assertThrowsIllegalArg(() -> BlackFormulaBatchRepository.price(one, one, one, two, true));
+    assertThrowsIllegalArg(() -> BlackFormulaBatchRepository.price(new double[] {-1d}, one, one, one, true));
+    assertThrowsIllegalArg(() -> BlackFormulaBatchRepository.vega(one, one, one, new double[] {Double.NaN}));
+  }
+
+  public void coverage() {
+    coverPrivateConstructor(BlackFormulaBatchRepository.class);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() {
+    int nbOptions = 1000;
+    int nbTest = 10000;
+    double[] forward = new double[nbOptions];
+    double[] strike = new double[nbOptions];
+    double[] expiry = new double[nbOptions];
+    double[] vol = new double[nbOptions];
+    for (int i = 0; i < nbOptions; i++) {
+      forward[i] = 0.03;
+      strike[i] = 0.01 + 0.00004 * i;
+      expiry[i] = 0.25 + 0.01 * i;
+      vol[i] = 0.20 + 0.0001 * i;
+    }
+    for (int looprep = 0; looprep < 5; looprep++) {
+      double total = 0d;
+      long startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        for (int i = 0; i < nbOptions; i++) {
+          total += BlackFormulaRepository.priceAdjoint(forward[i], strike[i], expiry[i], vol[i], true).getValue();
+        }
+      }
+      long endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " x " + nbOptions + " Black price adjoint, scalar: " + (endTime - startTime) + " ms");
+      startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        total += BlackFormulaBatchRepository.priceAdjoint(forward, strike, expiry, vol, true)[0][0];
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " x " + nbOptions + " Black price adjoint, batch: " + (endTime - startTime) + " ms");
+      System.out.println("Total: " + total);
+    }
+  }
+
+}
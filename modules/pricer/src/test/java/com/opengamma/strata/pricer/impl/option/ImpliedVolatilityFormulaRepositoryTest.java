@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static org.testng.Assert.assertEquals;
+
+import java.util.function.Function;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Test {@link ImpliedVolatilityFormulaRepository}.
+ */
+@Test
+public class ImpliedVolatilityFormulaRepositoryTest {
+
+  private static final double TOLERANCE_VOL = 1.0E-10;
+  private static final double[] X = {-1e-8, -1e-4, -0.01, -0.1, -0.5, -1d, -2d, -5d, -10d, -20d};
+  private static final double[] S = {0.001, 0.01, 0.05, 0.1, 0.3, 0.6, 1d, 2d, 3d, 5d, 8d};
+
+  //-------------------------------------------------------------------------
+  public void test_normalisedBlack() {
+    for (double x = -3d; x < 0d; x += 0.1) {
+      for (double s = 0.1; s < 3d; s += 0.1) {
+        double computed = ImpliedVolatilityFormulaRepository.normalisedBlack(x, s);
+        double expected = BlackFormulaRepository.price(Math.exp(0.5 * x), Math.exp(-0.5 * x), 1d, s, true);
+        assertEquals(computed, expected, 1.0E-10 * expected);
+      }
+    }
+    assertEquals(ImpliedVolatilityFormulaRepository.normalisedBlack(-1d, 0d), 0d);
+  }
+
+  public void test_normalisedBlackImpliedVolatility() {
+    for (double x : X) {
+      for (double s : S) {
+        double beta = ImpliedVolatilityFormulaRepository.normalisedBlack(x, s);
+        if (beta > 0d) {
+          double computed = ImpliedVolatilityFormulaRepository.normalisedBlackImpliedVolatility(beta, x);
+          assertEquals(computed, s, TOLERANCE_VOL * s);
+        }
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_blackImpliedVolatility() {
+    double forward = 0.03;
+    double[] strikes = {0.001, 0.01, 0.025, 0.03, 0.035, 0.06, 0.15};
+    double[] expiries = {0.1, 1d, 10d};
+    double[] vols = {0.05, 0.2, 0.8};
+    for (double strike : strikes) {
+      for (double expiry : expiries) {
+        for (double vol : vols) {
+          // the standard price formula is not accurate far from the money
+          if (Math.abs(Math.log(forward / strike)) > 3d * vol * Math.sqrt(expiry)) {
+            continue;
+          }
+          for (boolean isCall : new boolean[] {true, false}) {
+            double price = BlackFormulaRepository.price(forward, strike, expiry, vol, isCall);
+            double computed = ImpliedVolatilityFormulaRepository.blackImpliedVolatility(
+                price, forward, strike, expiry, isCall);
+            assertEquals(computed, vol, 1.0E-8 * vol);
+          }
+        }
+      }
+    }
+  }
+
+  public void test_blackImpliedVolatilityOtm_farStrikes() {
+    // prices far out-of-the-money are not representable with the standard formula, they are built in normalised form
+    double forward = 100d;
+    double expiry = 2d;
+    double vol = 0.5;
+    for (double x : new double[] {-10d, -20d, 10d, 20d}) {
+      double strike = forward * Math.exp(-x);
+      double b = ImpliedVolatilityFormulaRepository.normalisedBlack(-Math.abs(x), vol * Math.sqrt(expiry));
+      double otmPrice = b * Math.sqrt(forward * strike);
+      double computed = ImpliedVolatilityFormulaRepository.blackImpliedVolatilityOtm(otmPrice, forward, strike, expiry);
+      assertEquals(computed, vol, TOLERANCE_VOL * vol);
+    }
+  }
+
+  public void test_blackImpliedVolatilityOtm_zero() {
+    assertEquals(ImpliedVolatilityFormulaRepository.blackImpliedVolatilityOtm(0d, 0.03, 0.05, 1d), 0d);
+  }
+
+  public void test_blackImpliedVolatility_consistency() {
+    double forward = 0.03;
+    double strike = 0.045;
+    double expiry = 1.5;
+    double price = BlackFormulaRepository.price(forward, strike, expiry, 0.3, true);
+    double computed = ImpliedVolatilityFormulaRepository.blackImpliedVolatilityOtm(price, forward, strike, expiry);
+    double expected = BlackFormulaRepository.impliedVolatility(price, forward, strike, expiry, 0.1);
+    assertEquals(computed, expected, 0d);
+  }
+
+  public void test_black_invalid() {
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatilityOtm(-0.01, 0.03, 0.05, 1d));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatilityOtm(0.01, -0.03, 0.05, 1d));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatilityOtm(0.01, 0.03, -0.05, 1d));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatilityOtm(0.01, 0.03, 0.05, 0d));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatilityOtm(0.04, 0.03, 0.05, 1d));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackImpliedVolatility(0.01, 0.03, 0.01, 1d, true));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_normalImpliedVolatility() {
+    double[] forwards = {-0.005, 0.02};
+    double[] strikes = {-0.02, -0.005, 0d, 0.015, 0.02, 0.03, 0.08};
+    double[] expiries = {0.1, 1d, 10d};
+    double[] vols = {0.001, 0.005, 0.01, 0.03};
+    for (double forward : forwards) {
+      for (double strike : strikes) {
+        for (double expiry : expiries) {
+          for (double vol : vols) {
+            PutCall putCall = strike >= forward ? PutCall.CALL : PutCall.PUT;
+            double price = NormalFormulaRepository.price(forward, strike, expiry, vol, putCall);
+            // the standard price formula is not accurate far out-of-the-money
+            if (Math.abs(forward - strike) < 8d * vol * Math.sqrt(expiry)) {
+              double computed = ImpliedVolatilityFormulaRepository.normalImpliedVolatility(
+                  price, forward, strike, expiry, putCall.isCall());
+              assertEquals(computed, vol, TOLERANCE_VOL * vol);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  public void test_normalImpliedVolatility_inTheMoney() {
+    double forward = 0.02;
+    double strike = 0.015;
+    double expiry = 2d;
+    double vol = 0.01;
+    double price = NormalFormulaRepository.price(forward, strike, expiry, vol, PutCall.CALL);
+    double computed =
+        ImpliedVolatilityFormulaRepository.normalImpliedVolatility(price, forward, strike, expiry, true);
+    assertEquals(computed, vol, 1.0E-9 * vol);
+  }
+
+  public void test_normalImpliedVolatility_atm() {
+    double forward = 0.02;
+    double expiry = 2d;
+    double vol = 0.01;
+    double price = NormalFormulaRepository.price(forward, forward, expiry, vol, PutCall.PUT);
+    double computed =
+        ImpliedVolatilityFormulaRepository.normalImpliedVolatility(price, forward, forward, expiry, false);
+    assertEquals(computed, vol, TOLERANCE_VOL * vol);
+    assertEquals(ImpliedVolatilityFormulaRepository.normalImpliedVolatility(0d, forward, 0.03, expiry, true), 0d);
+  }
+
+  public void test_normal_invalid() {
+    // price below intrinsic value
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.normalImpliedVolatility(0.001, 0.02, 0.01, 1d, true));
+    // zero time to expiry
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.normalImpliedVolatility(0.001, 0.02, 0.01, 0d, false));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    coverPrivateConstructor(ImpliedVolatilityFormulaRepository.class);
+  }
+
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() {
+    int nbOptions = 1000;
+    int nbTest = 100;
+    double forward = 0.03;
+    double expiry = 2d;
+    double[] strike = new double[nbOptions];
+    double[] price = new double[nbOptions];
+    for (int i = 0; i < nbOptions; i++) {
+      strike[i] = 0.001 + 0.0001 * i;
+      price[i] = BlackFormulaRepository.price(forward, strike[i], expiry, 0.10 + 0.0005 * i, strike[i] >= forward);
+    }
+    for (int looprep = 0; looprep < 5; looprep++) {
+      double total = 0d;
+      long startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        for (int i = 0; i < nbOptions; i++) {
+          double k = strike[i];
+          boolean isCall = k >= forward;
+          Function<Double, Double> priceFunc = v -> BlackFormulaRepository.price(forward, k, expiry, v, isCall);
+          Function<Double, Double> vegaFunc = v -> BlackFormulaRepository.vega(forward, k, expiry, v);
+          total += new GenericImpliedVolatiltySolver(priceFunc, vegaFunc).impliedVolatility(price[i], 0.2);
+        }
+      }
+      long endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " x " + nbOptions + " Black implied volatility, generic: " +
+          (endTime - startTime) + " ms");
+      startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        for (int i = 0; i < nbOptions; i++) {
+          total += ImpliedVolatilityFormulaRepository.blackImpliedVolatilityOtm(price[i], forward, strike[i], expiry);
+        }
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " x " + nbOptions + " Black implied volatility, Householder: " +
+          (endTime - startTime) + " ms");
+      System.out.println("Total: " + total);
+    }
+  }
+
+}
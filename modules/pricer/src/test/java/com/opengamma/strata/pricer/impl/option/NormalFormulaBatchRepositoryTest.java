@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static com.opengamma.strata.product.common.PutCall.CALL;
+import static com.opengamma.strata.product.common.PutCall.PUT;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Test {@link NormalFormulaBatchRepository}.
+ */
+@Test
+public class NormalFormulaBatchRepositoryTest {
+
+  private static final double TOLERANCE = 1.0E-12;
+  private static final double NUMERAIRE = 0.95;
+  private static final double[] FORWARDS;
+  private static final double[] STRIKES;
+  private static final double[] EXPIRIES;
+  private static final double[] VOLS;
+  static {
+    double[] strikes = {-0.05, -0.005, 0.02, 0.0299, 0.03, 0.0301, 0.05, 0.20};
+    double[] expiries = {0d, 0.25, 1d, 10d};
+    double[] vols = {0d, 0.0001, 0.01, 0.05};
+    int nbOptions = strikes.length * expiries.length * vols.length;
+    FORWARDS = new double[nbOptions];
+    STRIKES = new double[nbOptions];
+    EXPIRIES = new double[nbOptions];
+    VOLS = new double[nbOptions];
+    int i = 0;
+    for (double strike : strikes) {
+      for (double expiry : expiries) {
+        for (double vol : vols) {
+          FORWARDS[i] = 0.03;
+          STRIKES[i] = strike;
+          EXPIRIES[i] = expiry;
+          VOLS[i] = vol;
+          i++;
+        }
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_price() {
+    for (PutCall putCall : new PutCall[] {CALL, PUT}) {
+      double[] computed = NormalFormulaBatchRepository.price(FORWARDS, STRIKES, EXPIRIES, VOLS, putCall);
+      for (int i = 0; i < FORWARDS.length; i++) {
+        double expected = NormalFormulaRepository.price(FORWARDS[i], STRIKES[i], EXPIRIES[i], VOLS[i], putCall);
+        assertEquals(computed[i], expected, TOLERANCE);
+      }
+    }
+  }
+
+  public void test_priceAdjoint() {
+    for (PutCall putCall : new PutCall[] {CALL, PUT}) {
+      double[][] computed =
+          NormalFormulaBatchRepository.priceAdjoint(FORWARDS, STRIKES, EXPIRIES, VOLS, NUMERAIRE, putCall);
+      assertEquals(computed.length, 4);
+      for (int i = 0; i < FORWARDS.length; i++) {
+        ValueDerivatives expected = NormalFormulaRepository.priceAdjoint(
+            FORWARDS[i], STRIKES[i], EXPIRIES[i], VOLS[i], NUMERAIRE, putCall);
+        assertEquals(computed[0][i], expected.getValue(), TOLERANCE);
+        for (int j = 0; j < 3; j++) {
+          assertEquals(computed[j + 1][i], expected.getDerivative(j), TOLERANCE);
+        }
+      }
+    }
+  }
+
+  public void test_delta() {
+    for (PutCall putCall : new PutCall[] {CALL, PUT}) {
+      double[] computed = NormalFormulaBatchRepository.delta(FORWARDS, STRIKES, EXPIRIES, VOLS, putCall);
+      for (int i = 0; i < FORWARDS.length; i++) {
+        double expected = NormalFormulaRepository.delta(FORWARDS[i], STRIKES[i], EXPIRIES[i], VOLS[i], putCall);
+        assertEquals(computed[i], expected, TOLERANCE);
+      }
+    }
+  }
+
+  public void test_vega() {
+    double[] computed = NormalFormulaBatchRepository.vega(FORWARDS, STRIKES, EXPIRIES, VOLS);
+    for (int i = 0; i < FORWARDS.length; i++) {
+      double expected = NormalFormulaRepository.vega(FORWARDS[i], STRIKES[i], EXPIRIES[i], VOLS[i], CALL);
+      assertEquals(computed[i], expected, TOLERANCE);
+    }
+  }
+
+  public void test_invalid() {
+    double[] one = {1d};
+    double[] two = {1d, 1d};
+    assertThrowsIllegalArg(() -> NormalFormulaBatchRepository.price(one, two, one, one, CALL));
+    assertThrowsIllegalArg(() -> NormalFormulaBatchRepository.delta(one, one, two, one, CALL));
+    assertThrowsIllegalArg(() -> NormalFormulaBatchRepository.vega(one, one, one, two));
+  }
+
+  public void coverage() {
+    coverPrivateConstructor(NormalFormulaBatchRepository.class);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() {
+    int nbOptions = 1000;
+    int nbTest = 10000;
+    double[] forward = new double[nbOptions];
+    double[] strike = new double[nbOptions];
+    double[] expiry = new double[nbOptions];
+    double[] vol = new double[nbOptions];
+    for (int i = 0; i < nbOptions; i++) {
+      forward[i] = 0.03;
+      strike[i] = -0.01 + 0.00008 * i;
+      expiry[i] = 0.25 + 0.01 * i;
+      vol[i] = 0.0050 + 0.00001 * i;
+    }
+    for (int looprep = 0; looprep < 5; looprep++) {
+      double total = 0d;
+      long startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        for (int i = 0; i < nbOptions; i++) {
+          total += NormalFormulaRepository.priceAdjoint(
+              forward[i], strike[i], expiry[i], vol[i], 1d, CALL).getValue();
+        }
+      }
+      long endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " x " + nbOptions + " normal adjoint, scalar: " + (endTime - startTime) + " ms");
+      startTime = System.currentTimeMillis();
+      for (int looptest = 0; looptest < nbTest; looptest++) {
+        total += NormalFormulaBatchRepository.priceAdjoint(forward, strike, expiry, vol, 1d, CALL)[0][0];
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println(nbTest + " x " + nbOptions + " normal adjoint, batch: " + (endTime - startTime) + " ms");
+      System.out.println("Total: " + total);
+    }
+  }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.volatility.smile;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link SabrHaganFrozenSmile}.
+ */
+@Test
+public class SabrHaganFrozenSmileTest {
+
+  private static final SabrHaganVolatilityFunctionProvider FUNCTION = SabrHaganVolatilityFunctionProvider.DEFAULT;
+  private static final double FORWARD = 0.03;
+  private static final double EXPIRY = 2.5;
+  private static final double[] BETAS = {0d, 0.5, 1d};
+  private static final double[] STRIKES =
+      {0d, 1.0E-6, 0.001, 0.01, 0.025, 0.0299999999, 0.03, 0.03000000001, 0.035, 0.06, 0.15, 0.5};
+  private static final double TOLERANCE_VOL = 1.0E-12;
+
+  public void test_volatility() {
+    for (double beta : BETAS) {
+      SabrFormulaData data = SabrFormulaData.of(0.05, beta, -0.25, 0.4);
+      SabrHaganFrozenSmile smile = SabrHaganFrozenSmile.of(FORWARD, EXPIRY, data);
+      for (double strike : STRIKES) {
+        double expected = FUNCTION.volatility(FORWARD, strike, EXPIRY, data);
+        assertEquals(smile.volatility(strike), expected, TOLERANCE_VOL * expected);
+      }
+    }
+  }
+
+  public void test_volatility_zeroAlpha() {
+    SabrFormulaData data = SabrFormulaData.of(0d, 0.5, -0.25, 0.4);
+    SabrHaganFrozenSmile smile = SabrHaganFrozenSmile.of(FORWARD, EXPIRY, data);
+    assertEquals(smile.volatility(0.04), FUNCTION.volatility(FORWARD, 0.04, EXPIRY, data));
+  }
+
+  public void test_volatility_zeroExpiry() {
+    SabrFormulaData data = SabrFormulaData.of(0.05, 0.5, -0.25, 0.4);
+    SabrHaganFrozenSmile smile = SabrHaganFrozenSmile.of(FORWARD, 0d, data);
+    for (double strike : STRIKES) {
+      double expected = FUNCTION.volatility(FORWARD, strike, 0d, data);
+      assertEquals(smile.volatility(strike), expected, TOLERANCE_VOL * expected);
+    }
+  }
+
+  public void test_getters() {
+    SabrFormulaData data = SabrFormulaData.of(0.05, 0.5, -0.25, 0.4);
+    SabrHaganFrozenSmile smile = SabrHaganFrozenSmile.of(FORWARD, EXPIRY, data);
+    assertEquals(smile.getForward(), FORWARD);
+    assertEquals(smile.getTimeToExpiry(), EXPIRY);
+    assertEquals(smile.getData(), data);
+  }
+
+  public void test_invalid() {
+    SabrFormulaData data = SabrFormulaData.of(0.05, 0.5, -0.25, 0.4);
+    assertThrowsIllegalArg(() -> SabrHaganFrozenSmile.of(-FORWARD, EXPIRY, data));
+    assertThrowsIllegalArg(() -> SabrHaganFrozenSmile.of(FORWARD, -EXPIRY, data));
+    assertThrowsIllegalArg(() -> SabrHaganFrozenSmile.of(FORWARD, EXPIRY, null));
+    assertThrowsIllegalArg(() -> SabrHaganFrozenSmile.of(FORWARD, EXPIRY, data).volatility(-0.01));
+  }
+
+}
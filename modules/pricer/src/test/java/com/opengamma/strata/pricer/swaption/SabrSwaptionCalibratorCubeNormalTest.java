@@ -19,6 +19,9 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -88,6 +91,7 @@ public class SabrSwaptionCalibratorCubeNormalTest {
       SabrSwaptionDefinition.of(NAME_SABR, EUR_FIXED_1Y_EURIBOR_6M, DAY_COUNT, INTERPOLATOR_2D);
 
   private static final double TOLERANCE_PRICE_CALIBRATION_LS = 5.0E-4; // Calibration Least Square; result not exact
+  private static final double TOLERANCE_PARAMETER_WARM_START = 1.0E-4;
 
   @Test
   public void normal_cube() {
@@ -130,4 +134,40 @@ public class SabrSwaptionCalibratorCubeNormalTest {
     }
   }
 
+  @Test
+  public void normal_cube_executor() {
+    Surface betaSurface = ConstantSurface.of("Beta", 0.50)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
+            .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
+    Surface shiftSurface = ConstantSurface.of("Shift", 0.0300)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
+    SabrParametersSwaptionVolatilities expected = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      SabrParametersSwaptionVolatilities computed = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+          DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface, true,
+          Optional.empty(), executor);
+      assertEquals(computed, expected);
+      // warm start from the calibrated parameters
+      SabrParametersSwaptionVolatilities warm = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+          DEFINITION, CALIBRATION_TIME, DATA_SPARSE, MULTICURVE, betaSurface, shiftSurface, true,
+          Optional.of(expected), executor);
+      int nbParameters = expected.getParameters().getAlphaSurface().getParameterCount();
+      assertEquals(warm.getParameters().getAlphaSurface().getParameterCount(), nbParameters);
+      for (int i = 0; i < nbParameters; i++) {
+        assertEquals(warm.getParameters().getAlphaSurface().getParameter(i),
+            expected.getParameters().getAlphaSurface().getParameter(i), TOLERANCE_PARAMETER_WARM_START);
+        assertEquals(warm.getParameters().getRhoSurface().getParameter(i),
+            expected.getParameters().getRhoSurface().getParameter(i), TOLERANCE_PARAMETER_WARM_START);
+        assertEquals(warm.getParameters().getNuSurface().getParameter(i),
+            expected.getParameters().getNuSurface().getParameter(i), TOLERANCE_PARAMETER_WARM_START);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
 }
@@ -119,6 +119,20 @@ public final class ReportCalculationResults implements ImmutableBean {
         valuationDate, ImmutableList.copyOf(targets), columns, calculationResults, calculationFunctions, refData);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of rows in the report.
+   * <p>
+   * This is the number of rows in the calculation results.
+   * If there are no calculation columns, such as when a report only refers to trade data,
+   * this is the number of targets.
+   *
+   * @return the number of rows
+   */
+  public int getRowCount() {
+    return calculationResults.getColumnCount() == 0 ? targets.size() : calculationResults.getRowCount();
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   /**
    * The meta-bean for {@code ReportCalculationResults}.
@@ -0,0 +1,297 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.binary;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.Unchecked;
+
+/**
+ * The binary columnar format.
+ * <p>
+ * A file consists of a header, followed by blocks of data.
+ * All values are little-endian and each block starts on an 8 byte boundary.
+ * <p>
+ * The header starts with the magic number, the version and the type of file, each a 4 byte int.
+ * This is followed by the dictionary, the number of strings followed by each string as
+ * the number of bytes and the UTF-8 bytes. All strings elsewhere in the file are stored as
+ * the 4 byte index of the string in the dictionary, with -1 meaning no string.
+ * The remainder of the header depends on the type of file, and contains the 8 byte offset
+ * from the start of the file of each block of data.
+ * <p>
+ * Each block is either raw doubles or 4 byte ints, allowing a memory-mapped file to be
+ * read without parsing.
+ */
+final class BinaryFormat {
+
+  /**
+   * The magic number, 'STRB'.
+   */
+  static final int MAGIC = 0x42525453;
+  /**
+   * The version.
+   */
+  static final int VERSION = 1;
+  /**
+   * The type of a file of results.
+   */
+  static final int TYPE_RESULTS = 1;
+  /**
+   * The type of a file of sensitivities.
+   */
+  static final int TYPE_SENSITIVITIES = 2;
+  /**
+   * The index representing no string.
+   */
+  static final int NONE = -1;
+  /**
+   * The size of the buffer used when writing.
+   */
+  private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+  // restricted constructor
+  private BinaryFormat() {
+  }
+
+  //-------------------------------------------------------------------------
+  // memory-maps a file
+  static ByteBuffer map(Path file) {
+    return Unchecked.wrap(() -> {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        return channel.map(MapMode.READ_ONLY, 0, channel.size());
+      }
+    });
+  }
+
+  // reads the start of the header, returning a little-endian buffer positioned after the type
+  static ByteBuffer readHeader(ByteBuffer buffer, int expectedType) {
+    ByteBuffer header = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    header.position(0);
+    if (header.remaining() < 12 || header.getInt() != MAGIC) {
+      throw new IllegalArgumentException("Buffer does not contain the binary columnar format");
+    }
+    int version = header.getInt();
+    if (version != VERSION) {
+      throw new IllegalArgumentException(Messages.format("Unsupported binary columnar format version: {}", version));
+    }
+    int type = header.getInt();
+    if (type != expectedType) {
+      throw new IllegalArgumentException(Messages.format(
+          "Binary columnar format has type {} but expected type {}", type, expectedType));
+    }
+    return header;
+  }
+
+  // reads the dictionary from the header
+  static String[] readDictionary(ByteBuffer header) {
+    String[] strings = new String[header.getInt()];
+    for (int i = 0; i < strings.length; i++) {
+      byte[] bytes = new byte[header.getInt()];
+      header.get(bytes);
+      strings[i] = new String(bytes, StandardCharsets.UTF_8);
+    }
+    return strings;
+  }
+
+  // obtains a read-only view of a block of doubles
+  static DoubleBuffer doubles(ByteBuffer buffer, long offset, int count) {
+    return slice(buffer, offset, count * Double.BYTES).asDoubleBuffer();
+  }
+
+  // obtains a read-only view of a block of ints
+  static IntBuffer ints(ByteBuffer buffer, long offset, int count) {
+    return slice(buffer, offset, count * Integer.BYTES).asIntBuffer();
+  }
+
+  // obtains a read-only little-endian slice
+  private static ByteBuffer slice(ByteBuffer buffer, long offset, int length) {
+    ByteBuffer slice = buffer.asReadOnlyBuffer();
+    slice.limit(Math.toIntExact(offset + length));
+    slice.position(Math.toIntExact(offset));
+    // the byte order is reset by slice()
+    return slice.slice().order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Mutable writer of the format.
+   * <p>
+   * The header is written to memory, with the offset of each block patched once the size
+   * of the header is known. The header and blocks are then written to the output stream.
+   */
+  static final class Writer {
+    /**
+     * The dictionary.
+     */
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    /**
+     * The strings of the dictionary, in order.
+     */
+    private final List<String> strings = new ArrayList<>();
+    /**
+     * The header, following the dictionary.
+     */
+    private ByteBuffer header = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+    /**
+     * The blocks, each double[] or int[].
+     */
+    private final List<Object> blocks = new ArrayList<>();
+    /**
+     * The positions in the header of the offset of each block.
+     */
+    private final List<Integer> offsetPositions = new ArrayList<>();
+
+    // returns the index of the string in the dictionary
+    int string(String str) {
+      if (str == null) {
+        return NONE;
+      }
+      return dictionary.computeIfAbsent(str, s -> {
+        strings.add(s);
+        return strings.size() - 1;
+      });
+    }
+
+    // writes an int to the header
+    void putInt(int value) {
+      ensure(Integer.BYTES);
+      header.putInt(value);
+    }
+
+    // writes the offset of a block of doubles to the header
+    void putBlock(double[] values) {
+      putBlockOffset(values);
+    }
+
+    // writes the offset of a block of ints to the header
+    void putBlock(int[] values) {
+      putBlockOffset(values);
+    }
+
+    private void putBlockOffset(Object block) {
+      ensure(Long.BYTES);
+      offsetPositions.add(header.position());
+      blocks.add(block);
+      header.putLong(0);
+    }
+
+    private void ensure(int size) {
+      if (header.remaining() < size) {
+        ByteBuffer grown = ByteBuffer.allocate(header.capacity() * 2).order(ByteOrder.LITTLE_ENDIAN);
+        header.flip();
+        grown.put(header);
+        header = grown;
+      }
+    }
+
+    // writes the file, with the specified type
+    void write(int type, OutputStream out) {
+      // the start of the header and the dictionary
+      List<byte[]> encoded = new ArrayList<>(strings.size());
+      int dictionarySize = Integer.BYTES;
+      for (String str : strings) {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        encoded.add(bytes);
+        dictionarySize += Integer.BYTES + bytes.length;
+      }
+      int headerSize = 3 * Integer.BYTES + dictionarySize + header.position();
+      // the offset of each block
+      long offset = align(headerSize);
+      for (int i = 0; i < blocks.size(); i++) {
+        header.putLong(offsetPositions.get(i), offset);
+        offset = align(offset + blockSize(blocks.get(i)));
+      }
+      // write
+      WritableByteChannel channel = Channels.newChannel(out);
+      ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putInt(MAGIC).putInt(VERSION).putInt(type).putInt(encoded.size());
+      for (byte[] bytes : encoded) {
+        buffer = flushIfNeeded(channel, buffer, Integer.BYTES + bytes.length);
+        buffer.putInt(bytes.length).put(bytes);
+      }
+      header.flip();
+      buffer = flushIfNeeded(channel, buffer, header.remaining());
+      buffer.put(header);
+      long written = headerSize;
+      for (Object block : blocks) {
+        buffer = pad(channel, buffer, written);
+        written = align(written);
+        if (block instanceof double[]) {
+          for (double value : (double[]) block) {
+            buffer = flushIfNeeded(channel, buffer, Double.BYTES);
+            buffer.putDouble(value);
+          }
+        } else {
+          for (int value : (int[]) block) {
+            buffer = flushIfNeeded(channel, buffer, Integer.BYTES);
+            buffer.putInt(value);
+          }
+        }
+        written += blockSize(block);
+      }
+      buffer = pad(channel, buffer, written);
+      flush(channel, buffer);
+      Unchecked.wrap(out::flush);
+    }
+
+    // pads the output to an 8 byte boundary
+    private static ByteBuffer pad(WritableByteChannel channel, ByteBuffer buffer, long written) {
+      int padding = (int) (align(written) - written);
+      ByteBuffer result = flushIfNeeded(channel, buffer, padding);
+      for (int i = 0; i < padding; i++) {
+        result.put((byte) 0);
+      }
+      return result;
+    }
+
+    // flushes the buffer if there is insufficient space, returning a buffer with the space
+    private static ByteBuffer flushIfNeeded(WritableByteChannel channel, ByteBuffer buffer, int size) {
+      if (buffer.remaining() >= size) {
+        return buffer;
+      }
+      flush(channel, buffer);
+      if (buffer.capacity() < size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+      }
+      return buffer;
+    }
+
+    private static void flush(WritableByteChannel channel, ByteBuffer buffer) {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        Unchecked.wrap(() -> channel.write(buffer));
+      }
+      buffer.clear();
+    }
+
+    private static long blockSize(Object block) {
+      return block instanceof double[] ?
+          (long) ((double[]) block).length * Double.BYTES :
+          (long) ((int[]) block).length * Integer.BYTES;
+    }
+
+    private static long align(long offset) {
+      return (offset + 7) & ~7L;
+    }
+  }
+
+}
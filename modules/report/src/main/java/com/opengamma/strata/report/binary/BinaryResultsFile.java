@@ -0,0 +1,404 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.binary;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.ColumnName;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * Calculation results read from the binary columnar format.
+ * <p>
+ * The file is written by {@link BinaryResultsWriter}.
+ * Only the header is parsed when the file is read. The values of a numeric column are
+ * accessed as a {@link DoubleBuffer} that is a read-only view of the underlying buffer,
+ * thus a memory-mapped file is never copied into the heap.
+ * <p>
+ * The values of a numeric column are organized by row, then scenario, with zero for each row
+ * that is a failure, or that has no amount in the currency.
+ * Thus, the index of a given value is {@code (rowIndex * scenarioCount) + scenarioIndex}.
+ * <p>
+ * This class is immutable and thread-safe, provided the underlying buffer is not changed.
+ */
+public final class BinaryResultsFile {
+
+  /**
+   * The underlying buffer.
+   */
+  private final ByteBuffer buffer;
+  /**
+   * The dictionary.
+   */
+  private final String[] strings;
+  /**
+   * The number of rows.
+   */
+  private final int rowCount;
+  /**
+   * The columns.
+   */
+  private final Column[] columns;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Reads the results from a file.
+   * <p>
+   * The file is memory-mapped, thus it must be less than 2GB in size.
+   *
+   * @param file  the file
+   * @return the results
+   * @throws java.io.UncheckedIOException if an IO error occurs
+   * @throws IllegalArgumentException if the file is not a file of results in the binary columnar format
+   */
+  public static BinaryResultsFile of(Path file) {
+    ArgChecker.notNull(file, "file");
+    return of(BinaryFormat.map(file));
+  }
+
+  /**
+   * Reads the results from a buffer.
+   * <p>
+   * The buffer is read from position zero and is not copied.
+   *
+   * @param buffer  the buffer
+   * @return the results
+   * @throws IllegalArgumentException if the buffer is not a file of results in the binary columnar format
+   */
+  public static BinaryResultsFile of(ByteBuffer buffer) {
+    ArgChecker.notNull(buffer, "buffer");
+    return new BinaryResultsFile(buffer);
+  }
+
+  // parses the header
+  private BinaryResultsFile(ByteBuffer buffer) {
+    ByteBuffer header = BinaryFormat.readHeader(buffer, BinaryFormat.TYPE_RESULTS);
+    this.buffer = buffer;
+    this.strings = BinaryFormat.readDictionary(header);
+    this.rowCount = header.getInt();
+    this.columns = new Column[header.getInt()];
+    for (int col = 0; col < columns.length; col++) {
+      String name = strings[header.getInt()];
+      String measureName = strings[header.getInt()];
+      Optional<Currency> currency = optionalString(header.getInt()).map(Currency::of);
+      Optional<String> valueType = optionalString(header.getInt());
+      int kind = header.getInt();
+      int scenarioCount = header.getInt();
+      IntBuffer statuses = BinaryFormat.ints(buffer, header.getLong(), rowCount);
+      int blockCount = header.getInt();
+      ImmutableMap.Builder<Currency, Long> currencyOffsets = ImmutableMap.builder();
+      long offset = 0;
+      for (int i = 0; i < blockCount; i++) {
+        int currencyIndex = header.getInt();
+        offset = header.getLong();
+        if (kind == BinaryResultsWriter.KIND_CURRENCY) {
+          currencyOffsets.put(Currency.of(strings[currencyIndex]), offset);
+        }
+      }
+      columns[col] = new Column(
+          ColumnName.of(name), measureName, currency, valueType, kind, scenarioCount, statuses, offset,
+          currencyOffsets.build());
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of rows.
+   *
+   * @return the number of rows
+   */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Gets the number of columns.
+   *
+   * @return the number of columns
+   */
+  public int getColumnCount() {
+    return columns.length;
+  }
+
+  /**
+   * Gets the name of a column.
+   *
+   * @param columnIndex  the index of the column
+   * @return the column name
+   * @throws IllegalArgumentException if the column index is invalid
+   */
+  public ColumnName getColumnName(int columnIndex) {
+    return column(columnIndex).name;
+  }
+
+  /**
+   * Gets the name of the measure of a column.
+   *
+   * @param columnIndex  the index of the column
+   * @return the measure name
+   * @throws IllegalArgumentException if the column index is invalid
+   */
+  public String getMeasureName(int columnIndex) {
+    return column(columnIndex).measureName;
+  }
+
+  /**
+   * Gets the currency of a column, empty if the column does not specify a currency.
+   *
+   * @param columnIndex  the index of the column
+   * @return the currency of the column
+   * @throws IllegalArgumentException if the column index is invalid
+   */
+  public Optional<Currency> getColumnCurrency(int columnIndex) {
+    return column(columnIndex).currency;
+  }
+
+  /**
+   * Gets the simple name of the type of value in a column, empty if every row is a failure.
+   * <p>
+   * The type is that of the first successful result in the column.
+   *
+   * @param columnIndex  the index of the column
+   * @return the type of value
+   * @throws IllegalArgumentException if the column index is invalid
+   */
+  public Optional<String> getValueType(int columnIndex) {
+    return column(columnIndex).valueType;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the result for a row and column index is a success.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @return true if the result is a success
+   * @throws IllegalArgumentException if the row or column index is invalid
+   */
+  public boolean isSuccess(int rowIndex, int columnIndex) {
+    return status(rowIndex, columnIndex) == BinaryResultsWriter.SUCCESS;
+  }
+
+  /**
+   * Finds the failure message for a row and column index, empty if the result is a success.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @return the failure message
+   * @throws IllegalArgumentException if the row or column index is invalid
+   */
+  public Optional<String> findFailureMessage(int rowIndex, int columnIndex) {
+    return optionalString(status(rowIndex, columnIndex));
+  }
+
+  /**
+   * Finds the string form of the value for a row and column index of a non-numeric column.
+   * <p>
+   * The result is empty if the result is a failure.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @return the string form of the value
+   * @throws IllegalArgumentException if the row or column index is invalid or the column is numeric
+   */
+  public Optional<String> findString(int rowIndex, int columnIndex) {
+    checkRowIndex(rowIndex);
+    Column column = column(columnIndex);
+    if (column.kind != BinaryResultsWriter.KIND_STRING) {
+      throw new IllegalArgumentException(Messages.format("Column {} is numeric", columnIndex));
+    }
+    return optionalString(BinaryFormat.ints(buffer, column.offset, rowCount).get(rowIndex));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the column is numeric.
+   * <p>
+   * The bulk accessors can only be used on a numeric column.
+   *
+   * @param columnIndex  the index of the column
+   * @return true if the column is numeric
+   * @throws IllegalArgumentException if the column index is invalid
+   */
+  public boolean isPrimitive(int columnIndex) {
+    return column(columnIndex).kind != BinaryResultsWriter.KIND_STRING;
+  }
+
+  /**
+   * Checks if the column is numeric and contains currency amounts.
+   * <p>
+   * If true, the values are obtained using {@link #getValues(int, Currency)},
+   * otherwise the values of a numeric column are obtained using {@link #getValues(int)}.
+   *
+   * @param columnIndex  the index of the column
+   * @return true if the column contains currency amounts
+   * @throws IllegalArgumentException if the column index is invalid
+   */
+  public boolean hasCurrencies(int columnIndex) {
+    return column(columnIndex).kind == BinaryResultsWriter.KIND_CURRENCY;
+  }
+
+  /**
+   * Gets the number of scenarios of a numeric column.
+   *
+   * @param columnIndex  the index of the column
+   * @return the number of scenarios
+   * @throws IllegalArgumentException if the column index is invalid or the column is not numeric
+   */
+  public int getScenarioCount(int columnIndex) {
+    return primitiveColumn(columnIndex).scenarioCount;
+  }
+
+  /**
+   * Gets the values of a numeric column of doubles.
+   * <p>
+   * The buffer is a read-only view, the values are not copied.
+   *
+   * @param columnIndex  the index of the column
+   * @return the values
+   * @throws IllegalArgumentException if the column index is invalid or the column does not contain doubles
+   */
+  public DoubleBuffer getValues(int columnIndex) {
+    Column column = primitiveColumn(columnIndex);
+    if (column.kind != BinaryResultsWriter.KIND_DOUBLE) {
+      throw new IllegalArgumentException(Messages.format("Column {} does not contain double values", columnIndex));
+    }
+    return BinaryFormat.doubles(buffer, column.offset, rowCount * column.scenarioCount);
+  }
+
+  /**
+   * Gets the currencies of a numeric column of currency amounts.
+   *
+   * @param columnIndex  the index of the column
+   * @return the currencies that occur in the column
+   * @throws IllegalArgumentException if the column index is invalid or the column does not contain currency amounts
+   */
+  public ImmutableSet<Currency> getCurrencies(int columnIndex) {
+    return currencyColumn(columnIndex).currencyOffsets.keySet();
+  }
+
+  /**
+   * Gets the values of a numeric column of currency amounts for a single currency.
+   * <p>
+   * The buffer is a read-only view, the values are not copied.
+   *
+   * @param columnIndex  the index of the column
+   * @param currency  the currency
+   * @return the values
+   * @throws IllegalArgumentException if the column index is invalid, the column does not contain
+   *  currency amounts or the currency does not occur in the column
+   */
+  public DoubleBuffer getValues(int columnIndex, Currency currency) {
+    Column column = currencyColumn(columnIndex);
+    Long offset = column.currencyOffsets.get(currency);
+    if (offset == null) {
+      throw new IllegalArgumentException(
+          Messages.format("Column {} does not contain values in currency {}", columnIndex, currency));
+    }
+    return BinaryFormat.doubles(buffer, offset, rowCount * column.scenarioCount);
+  }
+
+  //-------------------------------------------------------------------------
+  private int status(int rowIndex, int columnIndex) {
+    checkRowIndex(rowIndex);
+    return column(columnIndex).statuses.get(rowIndex);
+  }
+
+  private Optional<String> optionalString(int index) {
+    return index == BinaryFormat.NONE ? Optional.empty() : Optional.of(strings[index]);
+  }
+
+  private void checkRowIndex(int rowIndex) {
+    if (rowIndex < 0 || rowIndex >= rowCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Row index must be greater than or equal to zero and less than the row count ({}), but it was {}",
+          rowCount,
+          rowIndex));
+    }
+  }
+
+  private Column column(int columnIndex) {
+    if (columnIndex < 0 || columnIndex >= columns.length) {
+      throw new IllegalArgumentException(Messages.format(
+          "Column index must be greater than or equal to zero and less than the column count ({}), but it was {}",
+          columns.length,
+          columnIndex));
+    }
+    return columns[columnIndex];
+  }
+
+  private Column primitiveColumn(int columnIndex) {
+    Column column = column(columnIndex);
+    if (column.kind == BinaryResultsWriter.KIND_STRING) {
+      throw new IllegalArgumentException(Messages.format("Column {} is not numeric", columnIndex));
+    }
+    return column;
+  }
+
+  private Column currencyColumn(int columnIndex) {
+    Column column = primitiveColumn(columnIndex);
+    if (column.kind != BinaryResultsWriter.KIND_CURRENCY) {
+      throw new IllegalArgumentException(Messages.format("Column {} does not contain currency amounts", columnIndex));
+    }
+    return column;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("BinaryResultsFile[rows={}, columns={}]", rowCount, columns.length);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The header of a single column.
+   */
+  private static final class Column {
+    private final ColumnName name;
+    private final String measureName;
+    private final Optional<Currency> currency;
+    private final Optional<String> valueType;
+    private final int kind;
+    private final int scenarioCount;
+    // the status of each row, the failure message or SUCCESS
+    private final IntBuffer statuses;
+    // the offset of the values of a column of doubles or strings
+    private final long offset;
+    // the offset of the values of each currency of a column of currency amounts
+    private final ImmutableMap<Currency, Long> currencyOffsets;
+
+    private Column(
+        ColumnName name,
+        String measureName,
+        Optional<Currency> currency,
+        Optional<String> valueType,
+        int kind,
+        int scenarioCount,
+        IntBuffer statuses,
+        long offset,
+        ImmutableMap<Currency, Long> currencyOffsets) {
+
+      this.name = name;
+      this.measureName = measureName;
+      this.currency = currency;
+      this.valueType = valueType;
+      this.kind = kind;
+      this.scenarioCount = scenarioCount;
+      this.statuses = statuses;
+      this.offset = offset;
+      this.currencyOffsets = currencyOffsets;
+    }
+  }
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.binary;
+
+import java.io.OutputStream;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.ColumnarResults;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+
+/**
+ * Writes calculation results and sensitivities in a compact binary columnar format.
+ * <p>
+ * The format is intended for exchanging large volumes of results, such as those of many
+ * scenarios, with other processes. Numeric values are written as raw little-endian doubles,
+ * one block per column, or per column and currency, in the same layout as {@link ColumnarResults}.
+ * Strings, such as column names, currencies and failure messages, are written once to a dictionary.
+ * <p>
+ * The file is read using {@link BinaryResultsFile} or {@link BinarySensitivitiesFile},
+ * which memory-map the file and only parse the header.
+ * <p>
+ * A numeric column is written as doubles, see {@link ColumnarResults} for the types of value that
+ * are numeric. Any other column is written as the string form of each value.
+ */
+public final class BinaryResultsWriter {
+
+  /**
+   * The kind of a column of doubles.
+   */
+  static final int KIND_DOUBLE = 1;
+  /**
+   * The kind of a column of currency amounts.
+   */
+  static final int KIND_CURRENCY = 2;
+  /**
+   * The kind of a column of strings.
+   */
+  static final int KIND_STRING = 3;
+  /**
+   * The status of a successful result.
+   */
+  static final int SUCCESS = BinaryFormat.NONE;
+
+  // restricted constructor
+  private BinaryResultsWriter() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes calculation results to an output stream.
+   * <p>
+   * The results are first converted to {@link ColumnarResults}.
+   * The output stream is not closed.
+   *
+   * @param results  the results
+   * @param out  the output stream
+   * @throws java.io.UncheckedIOException if an IO error occurs
+   */
+  public static void write(Results results, OutputStream out) {
+    ArgChecker.notNull(results, "results");
+    write(ColumnarResults.of(results), out);
+  }
+
+  /**
+   * Writes columnar calculation results to an output stream.
+   * <p>
+   * The output stream is not closed.
+   *
+   * @param results  the results
+   * @param out  the output stream
+   * @throws java.io.UncheckedIOException if an IO error occurs
+   */
+  public static void write(ColumnarResults results, OutputStream out) {
+    ArgChecker.notNull(results, "results");
+    ArgChecker.notNull(out, "out");
+    BinaryFormat.Writer writer = new BinaryFormat.Writer();
+    int rowCount = results.getRowCount();
+    writer.putInt(rowCount);
+    writer.putInt(results.getColumnCount());
+    for (int col = 0; col < results.getColumnCount(); col++) {
+      ColumnHeader header = results.getColumns().get(col);
+      writer.putInt(writer.string(header.getName().getName()));
+      writer.putInt(writer.string(header.getMeasure().getName()));
+      writer.putInt(writer.string(header.getCurrency().map(Currency::getCode).orElse(null)));
+      // the type of value and the status of each row
+      String valueType = null;
+      int[] statuses = new int[rowCount];
+      for (int row = 0; row < rowCount; row++) {
+        if (results.isSuccess(row, col)) {
+          statuses[row] = SUCCESS;
+          if (valueType == null) {
+            valueType = results.get(row, col).getValue().getClass().getSimpleName();
+          }
+        } else {
+          statuses[row] = writer.string(results.get(row, col).getFailure().getMessage());
+        }
+      }
+      writer.putInt(writer.string(valueType));
+      // the values
+      if (!results.isPrimitive(col)) {
+        int[] strings = new int[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+          Result<?> result = results.get(row, col);
+          strings[row] = result.isSuccess() ? writer.string(result.getValue().toString()) : BinaryFormat.NONE;
+        }
+        writer.putInt(KIND_STRING);
+        writer.putInt(0);
+        writer.putBlock(statuses);
+        writer.putInt(1);
+        writer.putInt(BinaryFormat.NONE);
+        writer.putBlock(strings);
+      } else if (results.hasCurrencies(col)) {
+        writer.putInt(KIND_CURRENCY);
+        writer.putInt(results.getScenarioCount(col));
+        writer.putBlock(statuses);
+        writer.putInt(results.getCurrencies(col).size());
+        for (Currency currency : results.getCurrencies(col)) {
+          writer.putInt(writer.string(currency.getCode()));
+          writer.putBlock(results.getValues(col, currency).toArrayUnsafe());
+        }
+      } else {
+        writer.putInt(KIND_DOUBLE);
+        writer.putInt(results.getScenarioCount(col));
+        writer.putBlock(statuses);
+        writer.putInt(1);
+        writer.putInt(BinaryFormat.NONE);
+        writer.putBlock(results.getValues(col).toArrayUnsafe());
+      }
+    }
+    writer.write(BinaryFormat.TYPE_RESULTS, out);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes sensitivities to an output stream.
+   * <p>
+   * The market data name, currency and parameter labels of each sensitivity are written,
+   * with the sensitivity values written as a block of doubles.
+   * The output stream is not closed.
+   *
+   * @param sensitivities  the sensitivities
+   * @param out  the output stream
+   * @throws java.io.UncheckedIOException if an IO error occurs
+   */
+  public static void write(CurrencyParameterSensitivities sensitivities, OutputStream out) {
+    ArgChecker.notNull(sensitivities, "sensitivities");
+    ArgChecker.notNull(out, "out");
+    BinaryFormat.Writer writer = new BinaryFormat.Writer();
+    writer.putInt(sensitivities.size());
+    for (CurrencyParameterSensitivity sensitivity : sensitivities.getSensitivities()) {
+      writer.putInt(writer.string(sensitivity.getMarketDataName().getName()));
+      writer.putInt(writer.string(sensitivity.getCurrency().getCode()));
+      writer.putInt(sensitivity.getParameterCount());
+      for (int i = 0; i < sensitivity.getParameterCount(); i++) {
+        writer.putInt(writer.string(sensitivity.getParameterMetadata(i).getLabel()));
+      }
+      writer.putBlock(sensitivity.getSensitivity().toArrayUnsafe());
+    }
+    writer.write(BinaryFormat.TYPE_SENSITIVITIES, out);
+  }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.binary;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * Sensitivities read from the binary columnar format.
+ * <p>
+ * The file is written by {@link BinaryResultsWriter}.
+ * Only the header is parsed when the file is read. The values of each sensitivity are
+ * accessed as a {@link DoubleBuffer} that is a read-only view of the underlying buffer,
+ * thus a memory-mapped file is never copied into the heap.
+ * <p>
+ * This class is immutable and thread-safe, provided the underlying buffer is not changed.
+ */
+public final class BinarySensitivitiesFile {
+
+  /**
+   * The underlying buffer.
+   */
+  private final ByteBuffer buffer;
+  /**
+   * The market data names.
+   */
+  private final String[] names;
+  /**
+   * The currencies.
+   */
+  private final Currency[] currencies;
+  /**
+   * The parameter labels.
+   */
+  private final ImmutableList<String>[] labels;
+  /**
+   * The offset of the values of each sensitivity.
+   */
+  private final long[] offsets;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Reads the sensitivities from a file.
+   * <p>
+   * The file is memory-mapped, thus it must be less than 2GB in size.
+   *
+   * @param file  the file
+   * @return the sensitivities
+   * @throws java.io.UncheckedIOException if an IO error occurs
+   * @throws IllegalArgumentException if the file is not a file of sensitivities in the binary columnar format
+   */
+  public static BinarySensitivitiesFile of(Path file) {
+    ArgChecker.notNull(file, "file");
+    return of(BinaryFormat.map(file));
+  }
+
+  /**
+   * Reads the sensitivities from a buffer.
+   * <p>
+   * The buffer is read from position zero and is not copied.
+   *
+   * @param buffer  the buffer
+   * @return the sensitivities
+   * @throws IllegalArgumentException if the buffer is not a file of sensitivities in the binary columnar format
+   */
+  public static BinarySensitivitiesFile of(ByteBuffer buffer) {
+    ArgChecker.notNull(buffer, "buffer");
+    return new BinarySensitivitiesFile(buffer);
+  }
+
+  // parses the header
+  @SuppressWarnings("unchecked")
+  private BinarySensitivitiesFile(ByteBuffer buffer) {
+    ByteBuffer header = BinaryFormat.readHeader(buffer, BinaryFormat.TYPE_SENSITIVITIES);
+    String[] strings = BinaryFormat.readDictionary(header);
+    int size = header.getInt();
+    this.buffer = buffer;
+    this.names = new String[size];
+    this.currencies = new Currency[size];
+    this.labels = new ImmutableList[size];
+    this.offsets = new long[size];
+    for (int i = 0; i < size; i++) {
+      names[i] = strings[header.getInt()];
+      currencies[i] = Currency.of(strings[header.getInt()]);
+      ImmutableList.Builder<String> builder = ImmutableList.builder();
+      int parameterCount = header.getInt();
+      for (int j = 0; j < parameterCount; j++) {
+        builder.add(strings[header.getInt()]);
+      }
+      labels[i] = builder.build();
+      offsets[i] = header.getLong();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of sensitivities.
+   *
+   * @return the number of sensitivities
+   */
+  public int size() {
+    return names.length;
+  }
+
+  /**
+   * Gets the name of the market data of a sensitivity.
+   *
+   * @param index  the index of the sensitivity
+   * @return the market data name
+   * @throws IllegalArgumentException if the index is invalid
+   */
+  public String getMarketDataName(int index) {
+    checkIndex(index);
+    return names[index];
+  }
+
+  /**
+   * Gets the currency of a sensitivity.
+   *
+   * @param index  the index of the sensitivity
+   * @return the currency
+   * @throws IllegalArgumentException if the index is invalid
+   */
+  public Currency getCurrency(int index) {
+    checkIndex(index);
+    return currencies[index];
+  }
+
+  /**
+   * Gets the parameter labels of a sensitivity.
+   *
+   * @param index  the index of the sensitivity
+   * @return the parameter labels
+   * @throws IllegalArgumentException if the index is invalid
+   */
+  public ImmutableList<String> getParameterLabels(int index) {
+    checkIndex(index);
+    return labels[index];
+  }
+
+  /**
+   * Gets the values of a sensitivity.
+   * <p>
+   * The buffer is a read-only view, the values are not copied.
+   *
+   * @param index  the index of the sensitivity
+   * @return the values, one per parameter
+   * @throws IllegalArgumentException if the index is invalid
+   */
+  public DoubleBuffer getSensitivity(int index) {
+    checkIndex(index);
+    return BinaryFormat.doubles(buffer, offsets[index], labels[index].size());
+  }
+
+  /**
+   * Finds the values of the sensitivity for a market data name and currency.
+   * <p>
+   * The buffer is a read-only view, the values are not copied.
+   *
+   * @param name  the market data name
+   * @param currency  the currency
+   * @return the values, empty if not found
+   */
+  public Optional<DoubleBuffer> findSensitivity(String name, Currency currency) {
+    ArgChecker.notNull(name, "name");
+    ArgChecker.notNull(currency, "currency");
+    for (int i = 0; i < names.length; i++) {
+      if (names[i].equals(name) && currencies[i].equals(currency)) {
+        return Optional.of(getSensitivity(i));
+      }
+    }
+    return Optional.empty();
+  }
+
+  //-------------------------------------------------------------------------
+  private void checkIndex(int index) {
+    ArgChecker.inRange(index, 0, names.length, "index");
+  }
+
+  @Override
+  public String toString() {
+    return Messages.format("BinarySensitivitiesFile[size={}]", names.length);
+  }
+
+}
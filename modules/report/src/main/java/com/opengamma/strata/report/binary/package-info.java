@@ -0,0 +1,10 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * Compact binary columnar export of calculation results and sensitivities.
+ */
+package com.opengamma.strata.report.binary;
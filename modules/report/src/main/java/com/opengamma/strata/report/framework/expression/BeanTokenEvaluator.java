@@ -8,8 +8,12 @@ package com.opengamma.strata.report.framework.expression;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.joda.beans.Bean;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.MetaProperty;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -41,6 +45,20 @@ import com.opengamma.strata.market.amount.LegAmounts;
  */
 public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
 
+  /**
+   * The meta-property matching each token, cached for each type of immutable bean.
+   * <p>
+   * The properties of an immutable bean are fixed by its type, thus the case-insensitive
+   * search for the property only needs to be performed once for each type and token.
+   */
+  private static final ClassValue<ConcurrentMap<String, Optional<MetaProperty<?>>>> META_PROPERTIES =
+      new ClassValue<ConcurrentMap<String, Optional<MetaProperty<?>>>>() {
+        @Override
+        protected ConcurrentMap<String, Optional<MetaProperty<?>>> computeValue(Class<?> beanClass) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
   @Override
   public Class<Bean> getTargetType() {
     return Bean.class;
@@ -69,12 +87,10 @@ public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
       String firstToken,
       List<String> remainingTokens) {
 
-    Optional<String> propertyName = bean.propertyNames().stream()
-        .filter(p -> p.equalsIgnoreCase(firstToken))
-        .findFirst();
+    Optional<MetaProperty<?>> metaProperty = findMetaProperty(bean, firstToken);
 
-    if (propertyName.isPresent()) {
-      Object propertyValue = bean.property(propertyName.get()).get();
+    if (metaProperty.isPresent()) {
+      Object propertyValue = metaProperty.get().get(bean);
 
       return propertyValue != null ?
           EvaluationResult.success(propertyValue, remainingTokens) :
@@ -95,4 +111,20 @@ public class BeanTokenEvaluator extends TokenEvaluator<Bean> {
     return invalidTokenFailure(bean, firstToken);
   }
 
+  // finds the meta-property matching the token, ignoring case
+  private static Optional<MetaProperty<?>> findMetaProperty(Bean bean, String token) {
+    if (bean instanceof ImmutableBean) {
+      return META_PROPERTIES.get(bean.getClass())
+          .computeIfAbsent(token, t -> findPropertyName(bean, t).map(bean.metaBean()::metaProperty));
+    }
+    return findPropertyName(bean, token).map(bean.metaBean()::metaProperty);
+  }
+
+  // finds the name of the property matching the token, ignoring case
+  private static Optional<String> findPropertyName(Bean bean, String token) {
+    return bean.propertyNames().stream()
+        .filter(p -> p.equalsIgnoreCase(token))
+        .findFirst();
+  }
+
 }
@@ -8,7 +8,9 @@ package com.opengamma.strata.report.framework.expression;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.CalculationTarget;
@@ -37,6 +39,9 @@ class ResultsRow {
   /** The index of the row in the result whose data is exposed by this object. */
   private final int rowIndex;
 
+  /** The column index of each measure name, shared between rows of the same results. */
+  private final Map<String, Integer> columnIndices;
+
   /**
    * Returns a new instance exposing the data from a single row in the results.
    *
@@ -44,8 +49,24 @@ class ResultsRow {
    * @param rowIndex  the index of the row in the result whose data is exposed by this object
    */
   ResultsRow(ReportCalculationResults results, int rowIndex) {
+    this(results, rowIndex, new ConcurrentHashMap<>());
+  }
+
+  /**
+   * Returns a new instance exposing the data from a single row in the results.
+   * <p>
+   * The map caches the column index of each measure name, and must be thread-safe.
+   * It may be shared between all rows of the same results, so that the column
+   * of a measure is only looked up once rather than once per row.
+   *
+   * @param results  the results used to generate a report
+   * @param rowIndex  the index of the row in the result whose data is exposed by this object
+   * @param columnIndices  the mutable cache of column index by measure name
+   */
+  ResultsRow(ReportCalculationResults results, int rowIndex, Map<String, Integer> columnIndices) {
     this.results = results;
     this.rowIndex = rowIndex;
+    this.columnIndices = columnIndices;
   }
 
   //-------------------------------------------------------------------------
@@ -140,23 +161,23 @@ class ResultsRow {
    * @return the result of calculating the named measure for the trade in the row
    */
   Result<?> getResult(String measureName) {
-    List<String> validMeasureNames = measureNames(results.getTargets().get(rowIndex), results.getCalculationFunctions());
-    if (!validMeasureNames.contains(measureName)) {
+    CalculationTarget target = getTarget();
+    CalculationFunctions functions = results.getCalculationFunctions();
+    if (!isSupportedMeasure(target, functions, measureName)) {
       return Result.failure(
           FailureReason.INVALID,
           "Invalid measure name: {}. Valid measure names: {}",
           measureName,
-          validMeasureNames);
+          measureNames(target, functions));
     }
     try {
-      Column column = Column.of(Measure.of(measureName));
-      int columnIndex = results.getColumns().indexOf(column);
+      int columnIndex = columnIndices.computeIfAbsent(measureName, this::findColumnIndex);
       if (columnIndex == -1) {
         return Result.failure(
             FailureReason.INVALID,
             "Measure not found in results: '{}'. Valid measure names: {}",
             measureName,
-            validMeasureNames);
+            measureNames(target, functions));
       }
       Result<?> result = results.getCalculationResults().get(rowIndex, columnIndex);
       if (result.isFailure() && result.getFailure().getReason() == FailureReason.ERROR) {
@@ -164,7 +185,7 @@ class ResultsRow {
             FailureReason.INVALID,
             "Unable to calculate measure '{}'. Reason: {}",
             measureName,
-            validMeasureNames,
+            measureNames(target, functions),
             result.getFailure().getMessage());
       }
       return result;
@@ -175,10 +196,27 @@ class ResultsRow {
           "Unable to calculate measure '{}'. Reason: {}. Valid measure names: {}",
           measureName,
           ex.getMessage(),
-          validMeasureNames);
+          measureNames(target, functions));
     }
   }
 
+  // finds the index of the column of the measure, -1 if not found
+  private int findColumnIndex(String measureName) {
+    Column column = Column.of(Measure.of(measureName));
+    return results.getColumns().indexOf(column);
+  }
+
+  // checks if the measure is supported, avoiding the cost of sorting the measure names
+  private static boolean isSupportedMeasure(
+      CalculationTarget target,
+      CalculationFunctions calculationFunctions,
+      String measureName) {
+
+    return calculationFunctions.findFunction(target)
+        .map(fn -> fn.supportedMeasures().stream().anyMatch(measure -> measure.getName().equals(measureName)))
+        .orElse(false);
+  }
+
   // determine the available measures
   static List<String> measureNames(CalculationTarget target, CalculationFunctions calculationFunctions) {
     Set<Measure> validMeasures = calculationFunctions.findFunction(target)
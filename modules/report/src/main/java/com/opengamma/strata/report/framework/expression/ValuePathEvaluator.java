@@ -9,8 +9,10 @@ import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.IntStream;
 
 import com.google.common.base.Joiner;
@@ -53,6 +55,15 @@ public final class ValuePathEvaluator {
       new BeanTokenEvaluator(),
       new IterableTokenEvaluator());
 
+  /** The evaluator for each type, looked up once per type rather than once per value. */
+  private static final ClassValue<Optional<TokenEvaluator<Object>>> EVALUATOR_LOOKUP =
+      new ClassValue<Optional<TokenEvaluator<Object>>>() {
+        @Override
+        protected Optional<TokenEvaluator<Object>> computeValue(Class<?> targetClass) {
+          return findEvaluator(targetClass);
+        }
+      };
+
   //-------------------------------------------------------------------------
   /**
    * Gets the measure encoded in a value path, if present.
@@ -77,6 +88,8 @@ public final class ValuePathEvaluator {
 
   /**
    * Evaluates a value path against a set of results, returning the resolved result for each trade.
+   * <p>
+   * The value path is parsed once, and the rows are evaluated in parallel.
    *
    * @param valuePath  the value path
    * @param results  the calculation results
@@ -91,9 +104,12 @@ public final class ValuePathEvaluator {
           Result.failure(FailureReason.INVALID, "Column expressions must not be empty"));
     }
     CalculationFunctions functions = results.getCalculationFunctions();
-    int rowCount = results.getCalculationResults().getRowCount();
+    int rowCount = results.getRowCount();
+    Map<String, Integer> columnIndices = new ConcurrentHashMap<>();
     return IntStream.range(0, rowCount)
-        .mapToObj(rowIndex -> evaluate(functions, tokens, RootEvaluator.INSTANCE, new ResultsRow(results, rowIndex)))
+        .parallel()
+        .mapToObj(rowIndex -> new ResultsRow(results, rowIndex, columnIndices))
+        .map(row -> evaluate(functions, tokens, RootEvaluator.INSTANCE, row))
         .collect(toImmutableList());
   }
 
@@ -143,8 +159,12 @@ public final class ValuePathEvaluator {
     return ImmutableList.copyOf(tokens);
   }
 
-  @SuppressWarnings("unchecked")
   private static Optional<TokenEvaluator<Object>> getEvaluator(Class<?> targetClass) {
+    return EVALUATOR_LOOKUP.get(targetClass);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Optional<TokenEvaluator<Object>> findEvaluator(Class<?> targetClass) {
     return EVALUATORS.stream()
         .filter(e -> e.getTargetType().isAssignableFrom(targetClass))
         .map(e -> (TokenEvaluator<Object>) e)
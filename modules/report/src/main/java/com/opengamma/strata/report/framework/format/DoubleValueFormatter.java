@@ -13,6 +13,9 @@ import java.util.Map;
 
 /**
  * Formatter for double amounts.
+ * <p>
+ * {@code DecimalFormat} is not thread-safe, thus each thread has its own formats,
+ * allowing reports to be formatted in parallel.
  */
 final class DoubleValueFormatter
     implements ValueFormatter<Double> {
@@ -23,14 +26,14 @@ final class DoubleValueFormatter
   static final DoubleValueFormatter INSTANCE = new DoubleValueFormatter();
 
   /**
-   * The decimal format.
+   * The decimal format, one per thread.
    */
-  private static final DecimalFormat FULL_AMOUNT_FORMAT =
-      new DecimalFormat("#.##########", new DecimalFormatSymbols(Locale.ENGLISH));
+  private static final ThreadLocal<DecimalFormat> FULL_AMOUNT_FORMAT =
+      ThreadLocal.withInitial(() -> new DecimalFormat("#.##########", new DecimalFormatSymbols(Locale.ENGLISH)));
   /**
-   * The format cache.
+   * The format cache, one per thread.
    */
-  private final Map<Integer, DecimalFormat> displayFormatCache = new HashMap<Integer, DecimalFormat>();
+  private final ThreadLocal<Map<Integer, DecimalFormat>> displayFormatCache = ThreadLocal.withInitial(HashMap::new);
 
   // restricted constructor
   private DoubleValueFormatter() {
@@ -39,7 +42,7 @@ final class DoubleValueFormatter
   //-------------------------------------------------------------------------
   @Override
   public String formatForCsv(Double amount) {
-    return FULL_AMOUNT_FORMAT.format(amount.doubleValue());
+    return FULL_AMOUNT_FORMAT.get().format(amount.doubleValue());
   }
 
   @Override
@@ -61,14 +64,15 @@ final class DoubleValueFormatter
 
   //-------------------------------------------------------------------------
   private DecimalFormat getDecimalPlacesFormat(int decimalPlaces) {
-    if (!displayFormatCache.containsKey(decimalPlaces)) {
+    Map<Integer, DecimalFormat> formats = displayFormatCache.get();
+    if (!formats.containsKey(decimalPlaces)) {
       DecimalFormat format = new DecimalFormat("#,##0;(#,##0)", new DecimalFormatSymbols(Locale.ENGLISH));
       format.setMinimumFractionDigits(decimalPlaces);
       format.setMaximumFractionDigits(decimalPlaces);
-      displayFormatCache.put(decimalPlaces, format);
+      formats.put(decimalPlaces, format);
       return format;
     }
-    return displayFormatCache.get(decimalPlaces);
+    return formats.get(decimalPlaces);
   }
 
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.framework.format;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * A cache of formatted cells, allowing a report that is run repeatedly to reuse formatted values.
+ * <p>
+ * When a report is formatted using a cache, the formatted value of each cell is stored along with
+ * a key identifying the data of the cell, such as the calculation result.
+ * When a later report is formatted using the same cache, a cell whose key is equal to the key
+ * stored for the same row and column reuses the formatted value rather than formatting again.
+ * This is useful for intraday re-reporting, where most results are unchanged between runs.
+ * <p>
+ * The formatted output is identical to that produced without a cache.
+ * A cache must only be used with a single report formatter.
+ * <p>
+ * This class is mutable and thread-safe.
+ */
+public final class ReportFormatCache {
+
+  /**
+   * The cached cells for each output format, keyed by row and column.
+   */
+  private final Map<ReportOutputFormat, Map<Long, CachedCell>> cells = new EnumMap<>(ReportOutputFormat.class);
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty cache.
+   *
+   * @return the cache
+   */
+  public static ReportFormatCache create() {
+    return new ReportFormatCache();
+  }
+
+  // restricted constructor
+  private ReportFormatCache() {
+    for (ReportOutputFormat format : ReportOutputFormat.values()) {
+      cells.put(format, new ConcurrentHashMap<>());
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the formatted value of a cell, reusing the cached value if the key is unchanged.
+   *
+   * @param rowIdx  the row index
+   * @param colIdx  the column index
+   * @param format  the report output format
+   * @param key  the key identifying the data of the cell
+   * @param formatter  the supplier of the formatted value, invoked if the key has changed
+   * @return the formatted value
+   */
+  String format(int rowIdx, int colIdx, ReportOutputFormat format, Object key, Supplier<String> formatter) {
+    Map<Long, CachedCell> formatCells = cells.get(format);
+    Long cellIdx = ((long) rowIdx << 32) | colIdx;
+    CachedCell cached = formatCells.get(cellIdx);
+    if (cached != null && Objects.equals(cached.key, key)) {
+      return cached.formatted;
+    }
+    String formatted = formatter.get();
+    formatCells.put(cellIdx, new CachedCell(key, formatted));
+    return formatted;
+  }
+
+  /**
+   * Gets the number of cells in the cache, across all output formats.
+   *
+   * @return the number of cells
+   */
+  public int size() {
+    return cells.values().stream().mapToInt(Map::size).sum();
+  }
+
+  /**
+   * Removes all cells from the cache.
+   */
+  public void clear() {
+    cells.values().forEach(Map::clear);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("ReportFormatCache[size={}]", size());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * A formatted cell and the key of the data it was formatted from.
+   */
+  private static final class CachedCell {
+    private final Object key;
+    private final String formatted;
+
+    private CachedCell(Object key, String formatted) {
+      this.key = key;
+      this.formatted = formatted;
+    }
+  }
+
+}
@@ -16,6 +16,7 @@ import java.util.Optional;
 import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Unchecked;
 import com.opengamma.strata.collect.io.AsciiTable;
 import com.opengamma.strata.collect.io.AsciiTableAlignment;
@@ -48,20 +49,52 @@ public abstract class ReportFormatter<R extends Report> {
   }
 
   //-------------------------------------------------------------------------
+  /**
+   * Creates the CSV output used to write reports.
+   * <p>
+   * Entries that could be treated as an expression by a spreadsheet are escaped,
+   * as described by {@link CsvOutput#safe(Appendable)}.
+   * Any code writing a report in CSV format should use this to ensure the output is consistent.
+   *
+   * @param underlying  the destination to write to
+   * @return the CSV output
+   */
+  public static CsvOutput csvOutput(Appendable underlying) {
+    return CsvOutput.safe(underlying);
+  }
+
   /**
    * Outputs the report table in CSV format.
    * 
    * @param report  the report
    * @param out  the output stream to write to
    */
-  @SuppressWarnings("resource")
   public void writeCsv(R report, OutputStream out) {
+    writeCsv(report, formatRows(report, ReportOutputFormat.CSV, null), out);
+  }
+
+  /**
+   * Outputs the report table in CSV format, reusing formatted values from a cache.
+   * <p>
+   * Cells whose data is unchanged since the cache was last used are not formatted again.
+   * The output is identical to that of {@link #writeCsv(Report, OutputStream)}.
+   * 
+   * @param report  the report
+   * @param out  the output stream to write to
+   * @param cache  the cache of formatted values, updated by this method
+   */
+  public void writeCsv(R report, OutputStream out, ReportFormatCache cache) {
+    ArgChecker.notNull(cache, "cache");
+    writeCsv(report, formatRows(report, ReportOutputFormat.CSV, cache), out);
+  }
+
+  // writes rows that have already been formatted in CSV format
+  @SuppressWarnings("resource")
+  private void writeCsv(R report, List<? extends List<String>> rows, OutputStream out) {
     OutputStreamWriter outputWriter = new OutputStreamWriter(out, StandardCharsets.UTF_8);
-    CsvOutput csvOut = new CsvOutput(outputWriter);
+    CsvOutput csvOut = csvOutput(outputWriter);
     csvOut.writeLine(report.getColumnHeaders());
-    IntStream.range(0, report.getRowCount())
-        .mapToObj(rowIdx -> formatRow(report, rowIdx, ReportOutputFormat.CSV))
-        .forEach(csvOut::writeLine);
+    rows.forEach(csvOut::writeLine);
     Unchecked.wrap(outputWriter::flush);
   }
 
@@ -72,13 +105,47 @@ public abstract class ReportFormatter<R extends Report> {
    * @param out  the output stream to write to
    */
   public void writeAsciiTable(R report, OutputStream out) {
-    List<Class<?>> columnTypes = getColumnTypes(report);
+    List<ImmutableList<String>> rows = formatRows(report, ReportOutputFormat.ASCII_TABLE, null);
+    writeAsciiTable(report.getColumnHeaders(), getColumnTypes(report), rows, out);
+  }
+
+  /**
+   * Outputs the report as an ASCII table, reusing formatted values from a cache.
+   * <p>
+   * Cells whose data is unchanged since the cache was last used are not formatted again.
+   * The output is identical to that of {@link #writeAsciiTable(Report, OutputStream)}.
+   * 
+   * @param report  the report
+   * @param out  the output stream to write to
+   * @param cache  the cache of formatted values, updated by this method
+   */
+  public void writeAsciiTable(R report, OutputStream out, ReportFormatCache cache) {
+    ArgChecker.notNull(cache, "cache");
+    List<ImmutableList<String>> rows = formatRows(report, ReportOutputFormat.ASCII_TABLE, cache);
+    writeAsciiTable(report.getColumnHeaders(), getColumnTypes(report), rows, out);
+  }
+
+  /**
+   * Outputs rows that have already been formatted as an ASCII table.
+   * <p>
+   * This allows a report to be formatted a row at a time, see {@link #formatRow}.
+   * The column types control the alignment of each column.
+   * 
+   * @param headers  the column headers
+   * @param columnTypes  the type of the data in each column
+   * @param rows  the formatted rows
+   * @param out  the output stream to write to
+   */
+  public void writeAsciiTable(
+      List<String> headers,
+      List<Class<?>> columnTypes,
+      List<? extends List<String>> rows,
+      OutputStream out) {
+
     List<AsciiTableAlignment> alignments = IntStream.range(0, columnTypes.size())
         .mapToObj(i -> calculateAlignment(columnTypes.get(i)))
         .collect(toImmutableList());
-    List<String> headers = report.getColumnHeaders();
-    ImmutableList<ImmutableList<String>> cells = formatAsciiTable(report);
-    String asciiTable = AsciiTable.generate(headers, alignments, cells);
+    String asciiTable = AsciiTable.generate(headers, alignments, rows);
     PrintWriter pw = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
     pw.println(asciiTable);
     pw.flush();
@@ -92,20 +159,41 @@ public abstract class ReportFormatter<R extends Report> {
     return isNumeric ? AsciiTableAlignment.RIGHT : AsciiTableAlignment.LEFT;
   }
 
-  // formats the ASCII table
-  private ImmutableList<ImmutableList<String>> formatAsciiTable(R report) {
-    ImmutableList.Builder<ImmutableList<String>> table = ImmutableList.builder();
-    for (int rowIdx = 0; rowIdx < report.getRowCount(); rowIdx++) {
-      table.add(formatRow(report, rowIdx, ReportOutputFormat.ASCII_TABLE));
-    }
-    return table.build();
+  // formats the rows in parallel, reusing formatted values if there is a cache
+  private ImmutableList<ImmutableList<String>> formatRows(
+      R report,
+      ReportOutputFormat format,
+      ReportFormatCache cache) {
+
+    return IntStream.range(0, report.getRowCount())
+        .parallel()
+        .mapToObj(rowIdx -> formatRow(report, rowIdx, format, cache))
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Formats a single row of the report.
+   * 
+   * @param report  the report
+   * @param rowIdx  the row index
+   * @param format  the report output format
+   * @return the formatted row
+   */
+  public ImmutableList<String> formatRow(R report, int rowIdx, ReportOutputFormat format) {
+    return formatRow(report, rowIdx, format, null);
   }
 
-  // formats a single row
-  private ImmutableList<String> formatRow(R report, int rowIdx, ReportOutputFormat format) {
+  // formats a single row, reusing formatted values if there is a cache
+  private ImmutableList<String> formatRow(R report, int rowIdx, ReportOutputFormat format, ReportFormatCache cache) {
     ImmutableList.Builder<String> tableRow = ImmutableList.builder();
     for (int colIdx = 0; colIdx < report.getColumnCount(); colIdx++) {
-      tableRow.add(formatData(report, rowIdx, colIdx, format));
+      Object key = cache != null ? cellKey(report, rowIdx, colIdx) : null;
+      if (key != null) {
+        int col = colIdx;
+        tableRow.add(cache.format(rowIdx, colIdx, format, key, () -> formatData(report, rowIdx, col, format)));
+      } else {
+        tableRow.add(formatData(report, rowIdx, colIdx, format));
+      }
     }
     return tableRow.build();
   }
@@ -132,6 +220,24 @@ public abstract class ReportFormatter<R extends Report> {
    */
   protected abstract String formatData(R report, int rowIdx, int colIdx, ReportOutputFormat format);
 
+  /**
+   * Gets the key identifying the data of a cell, used when formatting with a {@link ReportFormatCache}.
+   * <p>
+   * The formatted value of the cell is reused if the key is equal to the key of the same cell
+   * when the cache was last used. As such, the key must capture everything that affects the
+   * formatted value. Formatting is performed in parallel, so this method must be thread-safe.
+   * <p>
+   * This implementation returns null, which means that the formatted value is never reused.
+   * 
+   * @param report  the report containing the data
+   * @param rowIdx  the row index of the data
+   * @param colIdx  the column index of the data
+   * @return the key, null if the formatted value must not be reused
+   */
+  protected Object cellKey(R report, int rowIdx, int colIdx) {
+    return null;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Formats a value into a string.
@@ -76,4 +76,11 @@ public final class TradeReportFormatter
     return formatValue(value, format);
   }
 
+  @Override
+  protected Object cellKey(TradeReport report, int rowIdx, int colIdx) {
+    // a successful result is formatted from its value alone, failures are cheap to format so are not reused
+    Result<?> result = report.getData().get(rowIdx, colIdx);
+    return result.isSuccess() ? result : null;
+  }
+
 }
@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.trade;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.calc.runner.CalculationListener;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
+import com.opengamma.strata.collect.io.CsvOutput;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.report.ReportCalculationResults;
+import com.opengamma.strata.report.framework.format.ReportFormatter;
+import com.opengamma.strata.report.framework.format.ReportOutputFormat;
+
+/**
+ * Calculation listener that writes a trade report as the results of the calculations are received.
+ * <p>
+ * A {@link TradeReport} is created from the complete set of calculation results, thus every result
+ * and every report cell is held in memory at the same time. This listener instead evaluates the report
+ * template against each row as soon as all the results for that row have been received.
+ * Only the results of incomplete rows and the formatted text of rows awaiting output are held in memory.
+ * The output is identical to that of {@link TradeReport} for the same template and results.
+ * <p>
+ * In CSV format, each row is written as soon as possible. Since the calculations are performed in parallel,
+ * the rows complete in no particular order. The ordering window is the number of completed rows that
+ * can be held waiting for earlier rows to complete. If the window is exceeded, the earliest completed row
+ * is written regardless. Thus a window of zero writes the rows in the order they complete, and a window
+ * at least as large as the number of targets writes the rows in the order of the targets.
+ * <p>
+ * In ASCII table format, the width of each column depends on every row, thus the formatted rows are
+ * held until the calculations are complete, then written in the order of the targets.
+ * <p>
+ * The output stream is flushed, but not closed, when the calculations are complete.
+ * A listener instance must only be used for a single set of calculations.
+ */
+public final class TradeReportListener implements CalculationListener {
+
+  /**
+   * The report template.
+   */
+  private final TradeReportTemplate template;
+  /**
+   * The valuation date.
+   */
+  private final LocalDate valuationDate;
+  /**
+   * The calculation functions.
+   */
+  private final CalculationFunctions functions;
+  /**
+   * The reference data.
+   */
+  private final ReferenceData refData;
+  /**
+   * The output format.
+   */
+  private final ReportOutputFormat format;
+  /**
+   * The number of completed rows that can be held waiting for earlier rows.
+   */
+  private final int orderingWindow;
+  /**
+   * The output stream.
+   */
+  private final OutputStream out;
+  /**
+   * The CSV output, null if writing an ASCII table.
+   */
+  private final CsvOutput csvOutput;
+  /**
+   * The CSV writer, null if writing an ASCII table.
+   */
+  private final OutputStreamWriter csvWriter;
+
+  /**
+   * The calculation targets.
+   */
+  private List<CalculationTarget> targets;
+  /**
+   * The calculation columns.
+   */
+  private List<Column> columns;
+  /**
+   * The headers of the calculation columns.
+   */
+  private List<ColumnHeader> columnHeaders;
+  /**
+   * The rows that have received some, but not all, of their results, keyed by row index.
+   */
+  private final Map<Integer, Result<?>[]> pendingRows = new HashMap<>();
+  /**
+   * The number of results received for each pending row.
+   */
+  private final Map<Integer, Integer> pendingCounts = new HashMap<>();
+  /**
+   * The formatted rows that have not yet been written, keyed by row index.
+   */
+  private final SortedMap<Integer, ImmutableList<String>> completedRows = new TreeMap<>();
+  /**
+   * The index of the next row to be written in CSV format.
+   */
+  private int nextRowIndex;
+  /**
+   * The type of the data in each report column, used for an ASCII table.
+   */
+  private final List<Class<?>> columnTypes = new ArrayList<>();
+  /**
+   * The row index that each column type was obtained from, used for an ASCII table.
+   */
+  private int[] columnTypeRows;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a listener that writes the report in CSV format.
+   * <p>
+   * The calculation functions and reference data must be those used by the calculations.
+   *
+   * @param template  the report template
+   * @param valuationDate  the valuation date of the calculations
+   * @param functions  the calculation functions
+   * @param refData  the reference data
+   * @param orderingWindow  the number of completed rows that can be held waiting for earlier rows
+   * @param out  the output stream to write to
+   * @return the listener
+   */
+  public static TradeReportListener ofCsv(
+      TradeReportTemplate template,
+      LocalDate valuationDate,
+      CalculationFunctions functions,
+      ReferenceData refData,
+      int orderingWindow,
+      OutputStream out) {
+
+    ArgChecker.notNegative(orderingWindow, "orderingWindow");
+    return new TradeReportListener(
+        template, valuationDate, functions, refData, ReportOutputFormat.CSV, orderingWindow, out);
+  }
+
+  /**
+   * Obtains a listener that writes the report as an ASCII table.
+   * <p>
+   * The calculation functions and reference data must be those used by the calculations.
+   *
+   * @param template  the report template
+   * @param valuationDate  the valuation date of the calculations
+   * @param functions  the calculation functions
+   * @param refData  the reference data
+   * @param out  the output stream to write to
+   * @return the listener
+   */
+  public static TradeReportListener ofAsciiTable(
+      TradeReportTemplate template,
+      LocalDate valuationDate,
+      CalculationFunctions functions,
+      ReferenceData refData,
+      OutputStream out) {
+
+    return new TradeReportListener(
+        template, valuationDate, functions, refData, ReportOutputFormat.ASCII_TABLE, Integer.MAX_VALUE, out);
+  }
+
+  // restricted constructor
+  private TradeReportListener(
+      TradeReportTemplate template,
+      LocalDate valuationDate,
+      CalculationFunctions functions,
+      ReferenceData refData,
+      ReportOutputFormat format,
+      int orderingWindow,
+      OutputStream out) {
+
+    this.template = ArgChecker.notNull(template, "template");
+    this.valuationDate = ArgChecker.notNull(valuationDate, "valuationDate");
+    this.functions = ArgChecker.notNull(functions, "functions");
+    this.refData = ArgChecker.notNull(refData, "refData");
+    this.format = format;
+    this.orderingWindow = orderingWindow;
+    this.out = ArgChecker.notNull(out, "out");
+    if (format == ReportOutputFormat.CSV) {
+      this.csvWriter = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+      this.csvOutput = ReportFormatter.csvOutput(csvWriter);
+    } else {
+      this.csvWriter = null;
+      this.csvOutput = null;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+    this.targets = ImmutableList.copyOf(targets);
+    this.columns = ImmutableList.copyOf(columns);
+    this.columnHeaders = columns.stream().map(Column::toHeader).collect(toImmutableList());
+    int reportColumnCount = template.getColumns().size();
+    columnTypes.addAll(Collections.nCopies(reportColumnCount, Object.class));
+    columnTypeRows = new int[reportColumnCount];
+    Arrays.fill(columnTypeRows, Integer.MAX_VALUE);
+    if (csvOutput != null) {
+      csvOutput.writeLine(reportColumnHeaders());
+    }
+    if (columns.isEmpty()) {
+      // no results will be received, thus every row is already complete
+      for (int rowIndex = 0; rowIndex < targets.size(); rowIndex++) {
+        completedRows.put(rowIndex, formatRow(rowIndex, ImmutableList.of()));
+      }
+      if (csvOutput != null) {
+        writeCompletedRows();
+      }
+    }
+  }
+
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult result) {
+    int rowIndex = result.getRowIndex();
+    Result<?>[] cells = pendingRows.computeIfAbsent(rowIndex, i -> new Result<?>[columns.size()]);
+    cells[result.getColumnIndex()] = result.getResult();
+    int count = pendingCounts.merge(rowIndex, 1, Integer::sum);
+    if (count == cells.length) {
+      pendingRows.remove(rowIndex);
+      pendingCounts.remove(rowIndex);
+      completedRows.put(rowIndex, formatRow(rowIndex, Arrays.asList(cells)));
+      if (csvOutput != null) {
+        writeCompletedRows();
+      }
+    }
+  }
+
+  @Override
+  public void calculationsComplete() {
+    if (csvOutput != null) {
+      completedRows.values().forEach(csvOutput::writeLine);
+      completedRows.clear();
+      Unchecked.wrap(csvWriter::flush);
+    } else {
+      TradeReportFormatter.INSTANCE.writeAsciiTable(
+          reportColumnHeaders(), columnTypes, ImmutableList.copyOf(completedRows.values()), out);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // the headers of the report columns
+  private List<String> reportColumnHeaders() {
+    return template.getColumns().stream().map(TradeReportColumn::getHeader).collect(toImmutableList());
+  }
+
+  // evaluates the report template against a single row, formatting the result
+  private ImmutableList<String> formatRow(int rowIndex, List<Result<?>> cells) {
+    Results rowResults = Results.of(columnHeaders, cells);
+    ReportCalculationResults calculationResults = ReportCalculationResults.of(
+        valuationDate, ImmutableList.of(targets.get(rowIndex)), columns, rowResults, functions, refData);
+    TradeReport report = TradeReport.of(calculationResults, template);
+    if (csvOutput == null) {
+      updateColumnTypes(rowIndex, TradeReportFormatter.INSTANCE.getColumnTypes(report));
+    }
+    return TradeReportFormatter.INSTANCE.formatRow(report, 0, format);
+  }
+
+  // the type of a column is that of the first successful value in row order, as in TradeReportFormatter
+  private void updateColumnTypes(int rowIndex, List<Class<?>> rowTypes) {
+    for (int i = 0; i < rowTypes.size(); i++) {
+      if (rowTypes.get(i) != Object.class && rowIndex < columnTypeRows[i]) {
+        columnTypes.set(i, rowTypes.get(i));
+        columnTypeRows[i] = rowIndex;
+      }
+    }
+  }
+
+  // writes the completed rows that are next in order, or that exceed the ordering window
+  private void writeCompletedRows() {
+    while (!completedRows.isEmpty() &&
+        (completedRows.firstKey() <= nextRowIndex || completedRows.size() > orderingWindow)) {
+      int rowIndex = completedRows.firstKey();
+      csvOutput.writeLine(completedRows.remove(rowIndex));
+      nextRowIndex = Math.max(nextRowIndex, rowIndex + 1);
+    }
+  }
+
+}
@@ -56,23 +56,19 @@ public final class TradeReportRunner
 
   @Override
   public TradeReport runReport(ReportCalculationResults results, TradeReportTemplate reportTemplate) {
-    ImmutableTable.Builder<Integer, Integer, Result<?>> resultTable = ImmutableTable.builder();
-
-    for (int reportColumnIdx = 0; reportColumnIdx < reportTemplate.getColumns().size(); reportColumnIdx++) {
-      TradeReportColumn reportColumn = reportTemplate.getColumns().get(reportColumnIdx);
-      List<Result<?>> columnResults;
-
-      if (reportColumn.getValue().isPresent()) {
-        columnResults = ValuePathEvaluator.evaluate(reportColumn.getValue().get(), results);
-      } else {
-        columnResults = IntStream.range(0, results.getTargets().size())
-            .mapToObj(i -> Result.failure(FailureReason.INVALID, "No value specified in report template"))
-            .collect(toImmutableList());
-      }
-      int rowCount = results.getCalculationResults().getRowCount();
+    // the columns are evaluated in parallel, with the rows of each column also evaluated in parallel
+    List<TradeReportColumn> reportColumns = reportTemplate.getColumns();
+    List<List<Result<?>>> columnResults = IntStream.range(0, reportColumns.size())
+        .parallel()
+        .mapToObj(reportColumnIdx -> evaluateColumn(reportColumns.get(reportColumnIdx), results))
+        .collect(toImmutableList());
 
+    ImmutableTable.Builder<Integer, Integer, Result<?>> resultTable = ImmutableTable.builder();
+    int rowCount = results.getRowCount();
+    for (int reportColumnIdx = 0; reportColumnIdx < reportColumns.size(); reportColumnIdx++) {
+      List<Result<?>> column = columnResults.get(reportColumnIdx);
       for (int rowIdx = 0; rowIdx < rowCount; rowIdx++) {
-        resultTable.put(rowIdx, reportColumnIdx, columnResults.get(rowIdx));
+        resultTable.put(rowIdx, reportColumnIdx, column.get(rowIdx));
       }
     }
 
@@ -84,4 +80,14 @@ public final class TradeReportRunner
         .build();
   }
 
+  // evaluates the results of a single column
+  private static List<Result<?>> evaluateColumn(TradeReportColumn reportColumn, ReportCalculationResults results) {
+    if (reportColumn.getValue().isPresent()) {
+      return ValuePathEvaluator.evaluate(reportColumn.getValue().get(), results);
+    }
+    return IntStream.range(0, results.getTargets().size())
+        .mapToObj(i -> Result.failure(FailureReason.INVALID, "No value specified in report template"))
+        .collect(toImmutableList());
+  }
+
 }
@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.binary;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.ColumnName;
+import com.opengamma.strata.calc.ColumnarResults;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.measure.Measures;
+
+/**
+ * Test {@link BinaryResultsFile} and {@link BinaryResultsWriter}.
+ */
+@Test
+public class BinaryResultsFileTest {
+
+  private static final ColumnName NAME_A = ColumnName.of("A");
+  private static final ColumnName NAME_B = ColumnName.of("B");
+  private static final ColumnName NAME_C = ColumnName.of("C");
+  private static final ColumnName NAME_D = ColumnName.of("D");
+  private static final ColumnHeader HEADER_A = ColumnHeader.of(NAME_A, Measures.PAR_RATE);
+  private static final ColumnHeader HEADER_B = ColumnHeader.of(NAME_B, Measures.PRESENT_VALUE, USD);
+  private static final ColumnHeader HEADER_C = ColumnHeader.of(NAME_C, Measures.PRESENT_VALUE);
+  private static final ColumnHeader HEADER_D = ColumnHeader.of(NAME_D, Measures.PV01_CALIBRATED_SUM);
+  private static final Result<Object> FAILURE = Result.failure(FailureReason.CALCULATION_FAILED, "Failed");
+  private static final Results RESULTS = Results.of(
+      ImmutableList.of(HEADER_A, HEADER_B, HEADER_C, HEADER_D),
+      ImmutableList.of(
+          Result.success(DoubleScenarioArray.of(DoubleArray.of(1, 2))),
+          Result.success(CurrencyScenarioArray.of(USD, DoubleArray.of(3, 4))),
+          Result.success(MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 5), CurrencyAmount.of(EUR, 6))),
+          Result.success("Text"),
+          FAILURE,
+          Result.success(CurrencyScenarioArray.of(USD, DoubleArray.of(7, 8))),
+          Result.success(MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 9))),
+          FAILURE));
+
+  //-------------------------------------------------------------------------
+  public void test_roundTrip() {
+    BinaryResultsFile test = BinaryResultsFile.of(ByteBuffer.wrap(write(RESULTS)));
+    assertEquals(test.getRowCount(), 2);
+    assertEquals(test.getColumnCount(), 4);
+    assertEquals(test.getColumnName(0), NAME_A);
+    assertEquals(test.getColumnName(3), NAME_D);
+    assertEquals(test.getMeasureName(1), Measures.PRESENT_VALUE.getName());
+    assertEquals(test.getColumnCurrency(0), Optional.empty());
+    assertEquals(test.getColumnCurrency(1), Optional.of(USD));
+    assertEquals(test.getValueType(0), Optional.of("DoubleScenarioArray"));
+    assertEquals(test.getValueType(2), Optional.of("MultiCurrencyAmount"));
+    assertEquals(test.getValueType(3), Optional.of("String"));
+    assertEquals(test.toString(), "BinaryResultsFile[rows=2, columns=4]");
+
+    // doubles
+    assertTrue(test.isPrimitive(0));
+    assertFalse(test.hasCurrencies(0));
+    assertTrue(test.isSuccess(0, 0));
+    assertFalse(test.isSuccess(1, 0));
+    assertEquals(test.findFailureMessage(0, 0), Optional.empty());
+    assertEquals(test.findFailureMessage(1, 0), Optional.of("Failed"));
+    assertEquals(test.getScenarioCount(0), 2);
+    assertEquals(toArray(test.getValues(0)), DoubleArray.of(1, 2, 0, 0));
+    assertThrowsIllegalArg(() -> test.getCurrencies(0));
+    assertThrowsIllegalArg(() -> test.getValues(0, USD));
+    assertThrowsIllegalArg(() -> test.findString(0, 0));
+
+    // currency scenarios
+    assertTrue(test.hasCurrencies(1));
+    assertEquals(test.getScenarioCount(1), 2);
+    assertEquals(test.getCurrencies(1), ImmutableSet.of(USD));
+    assertEquals(toArray(test.getValues(1, USD)), DoubleArray.of(3, 4, 7, 8));
+    assertThrowsIllegalArg(() -> test.getValues(1));
+    assertThrowsIllegalArg(() -> test.getValues(1, GBP));
+
+    // multi-currency amounts
+    assertEquals(test.getScenarioCount(2), 1);
+    assertEquals(test.getCurrencies(2), ImmutableSet.of(EUR, GBP));
+    assertEquals(toArray(test.getValues(2, EUR)), DoubleArray.of(6, 0));
+    assertEquals(toArray(test.getValues(2, GBP)), DoubleArray.of(5, 9));
+
+    // strings
+    assertFalse(test.isPrimitive(3));
+    assertFalse(test.hasCurrencies(3));
+    assertEquals(test.findString(0, 3), Optional.of("Text"));
+    assertEquals(test.findString(1, 3), Optional.empty());
+    assertEquals(test.findFailureMessage(1, 3), Optional.of("Failed"));
+    assertThrowsIllegalArg(() -> test.getScenarioCount(3));
+    assertThrowsIllegalArg(() -> test.getValues(3));
+
+    // invalid indices
+    assertThrowsIllegalArg(() -> test.isSuccess(2, 0));
+    assertThrowsIllegalArg(() -> test.isSuccess(0, 4));
+    assertThrowsIllegalArg(() -> test.getColumnName(-1));
+  }
+
+  public void test_valuesReadOnly() {
+    BinaryResultsFile test = BinaryResultsFile.of(ByteBuffer.wrap(write(RESULTS)));
+    DoubleBuffer values = test.getValues(0);
+    assertTrue(values.isReadOnly());
+    values.get();
+    // each call returns an independent view
+    assertEquals(test.getValues(0).position(), 0);
+  }
+
+  public void test_columnarResults() {
+    ColumnarResults columnar = ColumnarResults.of(RESULTS);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryResultsWriter.write(columnar, out);
+    BinaryResultsFile test = BinaryResultsFile.of(ByteBuffer.wrap(out.toByteArray()));
+    assertEquals(toArray(test.getValues(2, GBP)), columnar.getValues(2, GBP));
+  }
+
+  public void test_empty() {
+    BinaryResultsFile test = BinaryResultsFile.of(
+        ByteBuffer.wrap(write(Results.of(ImmutableList.of(HEADER_A), ImmutableList.of()))));
+    assertEquals(test.getRowCount(), 0);
+    assertEquals(test.getColumnCount(), 1);
+    assertFalse(test.isPrimitive(0));
+    assertEquals(test.getValueType(0), Optional.empty());
+  }
+
+  public void test_allFailures() {
+    BinaryResultsFile test = BinaryResultsFile.of(
+        ByteBuffer.wrap(write(Results.of(ImmutableList.of(HEADER_A), ImmutableList.of(FAILURE)))));
+    assertFalse(test.isPrimitive(0));
+    assertEquals(test.findFailureMessage(0, 0), Optional.of("Failed"));
+    assertEquals(test.findString(0, 0), Optional.empty());
+  }
+
+  public void test_file() throws IOException {
+    Path file = tempFile();
+    try (OutputStream out = Files.newOutputStream(file)) {
+      BinaryResultsWriter.write(RESULTS, out);
+    }
+    BinaryResultsFile test = BinaryResultsFile.of(file);
+    assertEquals(test.getColumnName(1), NAME_B);
+    assertEquals(toArray(test.getValues(1, USD)), DoubleArray.of(3, 4, 7, 8));
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> BinaryResultsFile.of(ByteBuffer.wrap(new byte[16])));
+    assertThrowsIllegalArg(() -> BinaryResultsFile.of(ByteBuffer.wrap(new byte[4])));
+    assertThrows(
+        () -> BinarySensitivitiesFile.of(ByteBuffer.wrap(write(RESULTS))),
+        IllegalArgumentException.class,
+        "Binary columnar format has type 1 but expected type 2");
+  }
+
+  //-------------------------------------------------------------------------
+  private static byte[] write(Results results) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryResultsWriter.write(results, out);
+    return out.toByteArray();
+  }
+
+  private static DoubleArray toArray(DoubleBuffer buffer) {
+    double[] array = new double[buffer.remaining()];
+    buffer.get(array);
+    return DoubleArray.ofUnsafe(array);
+  }
+
+  // creates a temporary file
+  private static Path tempFile() throws IOException {
+    File file = File.createTempFile("BinaryResultsFileTest", ".bin");
+    file.deleteOnExit();
+    return file.toPath();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() throws IOException {
+    int nbRows = 10_000;
+    int nbScenarios = 250;
+    List<Result<?>> cells = new ArrayList<>();
+    for (int i = 0; i < nbRows; i++) {
+      double[] values = new double[nbScenarios];
+      for (int j = 0; j < nbScenarios; j++) {
+        values[j] = i + j;
+      }
+      cells.add(Result.success(CurrencyScenarioArray.of(USD, DoubleArray.ofUnsafe(values))));
+      cells.add(Result.success(DoubleScenarioArray.of(DoubleArray.ofUnsafe(values))));
+    }
+    Results results = Results.of(ImmutableList.of(HEADER_B, HEADER_A), cells);
+    Path file = tempFile();
+    long start, end;
+    int nbRep = 5;
+    for (int looprep = 0; looprep < nbRep; looprep++) {
+      start = System.currentTimeMillis();
+      try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+        for (int i = 0; i < nbRows; i++) {
+          CurrencyScenarioArray array = (CurrencyScenarioArray) cells.get(i * 2).getValue();
+          for (int j = 0; j < nbScenarios; j++) {
+            writer.write(Double.toString(array.get(j).getAmount()));
+            writer.write(j == nbScenarios - 1 ? '\n' : ',');
+          }
+        }
+      }
+      double textTotal = 0;
+      for (String line : Files.readAllLines(file)) {
+        for (String value : line.split(",")) {
+          textTotal += Double.parseDouble(value);
+        }
+      }
+      end = System.currentTimeMillis();
+      System.out.println("Text write and read: " + (end - start) + " ms, " + Files.size(file) + " bytes, " + textTotal);
+
+      start = System.currentTimeMillis();
+      try (OutputStream fileOut = Files.newOutputStream(file)) {
+        BinaryResultsWriter.write(results, fileOut);
+      }
+      BinaryResultsFile read = BinaryResultsFile.of(file);
+      DoubleBuffer values = read.getValues(0, USD);
+      double total = 0;
+      while (values.hasRemaining()) {
+        total += values.get();
+      }
+      end = System.currentTimeMillis();
+      System.out.println("Binary write and read: " + (end - start) + " ms, " + Files.size(file) + " bytes, " + total);
+    }
+  }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.binary;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.param.LabelParameterMetadata;
+import com.opengamma.strata.market.param.ParameterMetadata;
+
+/**
+ * Test {@link BinarySensitivitiesFile}.
+ */
+@Test
+public class BinarySensitivitiesFileTest {
+
+  private static final CurveName NAME1 = CurveName.of("USD-Disc");
+  private static final CurveName NAME2 = CurveName.of("GBP-Disc");
+  private static final ImmutableList<ParameterMetadata> METADATA1 = ImmutableList.of(
+      LabelParameterMetadata.of("1Y"), LabelParameterMetadata.of("2Y"), LabelParameterMetadata.of("5Y"));
+  private static final ImmutableList<ParameterMetadata> METADATA2 =
+      ImmutableList.of(LabelParameterMetadata.of("1Y"), LabelParameterMetadata.of("10Y"));
+  private static final CurrencyParameterSensitivities SENSITIVITIES = CurrencyParameterSensitivities.of(
+      CurrencyParameterSensitivity.of(NAME1, METADATA1, USD, DoubleArray.of(1, 2, 3)),
+      CurrencyParameterSensitivity.of(NAME2, METADATA2, GBP, DoubleArray.of(4, 5)));
+
+  //-------------------------------------------------------------------------
+  public void test_roundTrip() {
+    BinarySensitivitiesFile test = BinarySensitivitiesFile.of(ByteBuffer.wrap(write(SENSITIVITIES)));
+    assertEquals(test.size(), 2);
+    for (int i = 0; i < test.size(); i++) {
+      CurrencyParameterSensitivity expected = SENSITIVITIES.getSensitivities().get(i);
+      assertEquals(test.getMarketDataName(i), expected.getMarketDataName().getName());
+      assertEquals(test.getCurrency(i), expected.getCurrency());
+      assertEquals(test.getParameterLabels(i).size(), expected.getParameterCount());
+      assertEquals(test.getParameterLabels(i).get(1), expected.getParameterMetadata(1).getLabel());
+      assertEquals(toArray(test.getSensitivity(i)), expected.getSensitivity());
+    }
+    assertEquals(toArray(test.findSensitivity("GBP-Disc", GBP).get()), DoubleArray.of(4, 5));
+    assertFalse(test.findSensitivity("GBP-Disc", EUR).isPresent());
+    assertFalse(test.findSensitivity("EUR-Disc", GBP).isPresent());
+    assertTrue(test.getSensitivity(0).isReadOnly());
+    assertThrowsIllegalArg(() -> test.getSensitivity(2));
+    assertThrowsIllegalArg(() -> test.getCurrency(-1));
+    assertEquals(test.toString(), "BinarySensitivitiesFile[size=2]");
+  }
+
+  public void test_empty() {
+    BinarySensitivitiesFile test =
+        BinarySensitivitiesFile.of(ByteBuffer.wrap(write(CurrencyParameterSensitivities.empty())));
+    assertEquals(test.size(), 0);
+  }
+
+  public void test_file() throws IOException {
+    File tempFile = File.createTempFile("BinarySensitivitiesFileTest", ".bin");
+    tempFile.deleteOnExit();
+    Path file = tempFile.toPath();
+    try (OutputStream out = Files.newOutputStream(file)) {
+      BinaryResultsWriter.write(SENSITIVITIES, out);
+    }
+    BinarySensitivitiesFile test = BinarySensitivitiesFile.of(file);
+    assertEquals(toArray(test.findSensitivity("USD-Disc", USD).get()), DoubleArray.of(1, 2, 3));
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> BinarySensitivitiesFile.of(ByteBuffer.wrap(new byte[32])));
+  }
+
+  //-------------------------------------------------------------------------
+  private static byte[] write(CurrencyParameterSensitivities sensitivities) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryResultsWriter.write(sensitivities, out);
+    return out.toByteArray();
+  }
+
+  private static DoubleArray toArray(DoubleBuffer buffer) {
+    double[] array = new double[buffer.remaining()];
+    buffer.get(array);
+    return DoubleArray.ofUnsafe(array);
+  }
+
+}
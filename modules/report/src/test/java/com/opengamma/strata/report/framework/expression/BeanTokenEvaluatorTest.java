@@ -45,6 +45,29 @@ public class BeanTokenEvaluatorTest {
     assertThat(notional2.getResult()).hasValue(1_000_000d);
   }
 
+  public void evaluate_differentInstances() {
+    Fra bean1 = (Fra) bean();
+    Fra bean2 = bean1.toBuilder().notional(2_000_000).build();
+    BeanTokenEvaluator evaluator = new BeanTokenEvaluator();
+
+    EvaluationResult notional1 = evaluator.evaluate(bean1, FUNCTIONS, "NOTIONAL", ImmutableList.of());
+    assertThat(notional1.getResult()).hasValue(1_000_000d);
+
+    EvaluationResult notional2 = evaluator.evaluate(bean2, FUNCTIONS, "NOTIONAL", ImmutableList.of());
+    assertThat(notional2.getResult()).hasValue(2_000_000d);
+  }
+
+  public void evaluate_invalidToken() {
+    Bean bean = bean();
+    BeanTokenEvaluator evaluator = new BeanTokenEvaluator();
+
+    for (int i = 0; i < 2; i++) {
+      EvaluationResult result = evaluator.evaluate(bean, FUNCTIONS, "wibble", ImmutableList.of());
+      assertThat(result.getResult().isFailure()).isTrue();
+      assertThat(result.getResult().getFailure().getMessage()).startsWith("Invalid field 'wibble'");
+    }
+  }
+
   public void tokens() {
     Bean bean = bean();
     BeanTokenEvaluator evaluator = new BeanTokenEvaluator();
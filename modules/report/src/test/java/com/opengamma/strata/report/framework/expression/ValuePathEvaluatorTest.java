@@ -12,6 +12,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.testng.annotations.Test;
@@ -24,6 +25,7 @@ import com.opengamma.strata.basics.date.AdjustableDate;
 import com.opengamma.strata.calc.Column;
 import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.product.Trade;
 import com.opengamma.strata.product.TradeInfo;
@@ -122,6 +124,31 @@ public class ValuePathEvaluatorTest {
     assertThat(counterpartyResults).isEqualTo(expectedCounterparties);
   }
 
+  public void manyRows() {
+    int rowCount = 1000;
+    Column column = Column.of(Measure.of("PresentValue"));
+    List<Trade> trades = new ArrayList<>();
+    List<Result<?>> resultValues = new ArrayList<>();
+    for (int i = 0; i < rowCount; i++) {
+      trades.add(trade("cpty" + i, i + 1));
+      resultValues.add(i % 3 == 0 ?
+          Result.failure(FailureReason.CALCULATION_FAILED, "Failed " + i) :
+          Result.success(CurrencyAmount.of(Currency.GBP, i)));
+    }
+    Results results = Results.of(ImmutableList.of(column.toHeader()), resultValues);
+    ReportCalculationResults reportResults =
+        ReportCalculationResults.of(LocalDate.now(ZoneOffset.UTC), trades, ImmutableList.of(column), results);
+
+    List<Result<?>> counterparties = ValuePathEvaluator.evaluate("Trade.Counterparty.Value", reportResults);
+    List<Result<?>> notionals = ValuePathEvaluator.evaluate("Product.notional", reportResults);
+    List<Result<?>> amounts = ValuePathEvaluator.evaluate("Measures.PresentValue.Amount", reportResults);
+    for (int i = 0; i < rowCount; i++) {
+      assertThat(counterparties.get(i)).isEqualTo(Result.success("cpty" + i));
+      assertThat(notionals.get(i)).isEqualTo(Result.success(i + 1d));
+      assertThat(amounts.get(i)).isEqualTo(resultValues.get(i));
+    }
+  }
+
   //--------------------------------------------------------------------------------------------------
 
   private static ReportCalculationResults reportResults() {
@@ -158,4 +185,39 @@ public class ValuePathEvaluatorTest {
         .product(fra)
         .build();
   }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Tests of performance. "enabled = false" for the standard testing.
+   */
+  @Test(enabled = false)
+  public void performance() {
+    int nbTrades = 200_000;
+    Column column = Column.of(Measure.of("PresentValue"));
+    List<Trade> trades = new ArrayList<>();
+    List<Result<?>> resultValues = new ArrayList<>();
+    for (int i = 0; i < nbTrades; i++) {
+      trades.add(trade("cpty" + i, i + 1));
+      resultValues.add(Result.success(CurrencyAmount.of(Currency.GBP, i)));
+    }
+    Results results = Results.of(ImmutableList.of(column.toHeader()), resultValues);
+    ReportCalculationResults reportResults =
+        ReportCalculationResults.of(LocalDate.now(ZoneOffset.UTC), trades, ImmutableList.of(column), results);
+    List<String> paths = ImmutableList.of(
+        "Trade.Counterparty.Value",
+        "Product.notional",
+        "Product.index.name",
+        "Product.startDate",
+        "Measures.PresentValue.Amount");
+    for (int looprep = 0; looprep < 5; looprep++) {
+      long total = 0;
+      long startTime = System.currentTimeMillis();
+      for (String path : paths) {
+        total += ValuePathEvaluator.evaluate(path, reportResults).size();
+      }
+      long endTime = System.currentTimeMillis();
+      System.out.println(nbTrades + " trades x " + paths.size() + " value paths: " + (endTime - startTime) + " ms");
+      System.out.println("Total: " + total);
+    }
+  }
 }
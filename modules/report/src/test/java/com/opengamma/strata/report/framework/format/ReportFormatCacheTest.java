@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.framework.format;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link ReportFormatCache}.
+ */
+@Test
+public class ReportFormatCacheTest {
+
+  public void format() {
+    ReportFormatCache test = ReportFormatCache.create();
+    AtomicInteger count = new AtomicInteger();
+    assertThat(test.format(0, 1, ReportOutputFormat.CSV, 1d, () -> "A" + count.incrementAndGet())).isEqualTo("A1");
+    assertThat(test.format(0, 1, ReportOutputFormat.CSV, 1d, () -> "A" + count.incrementAndGet())).isEqualTo("A1");
+    assertThat(test.size()).isEqualTo(1);
+    // different cell, format or key
+    assertThat(test.format(1, 0, ReportOutputFormat.CSV, 1d, () -> "A" + count.incrementAndGet())).isEqualTo("A2");
+    assertThat(test.format(0, 1, ReportOutputFormat.ASCII_TABLE, 1d, () -> "A" + count.incrementAndGet()))
+        .isEqualTo("A3");
+    assertThat(test.format(0, 1, ReportOutputFormat.CSV, 2d, () -> "A" + count.incrementAndGet())).isEqualTo("A4");
+    assertThat(test.format(0, 1, ReportOutputFormat.CSV, 2d, () -> "A" + count.incrementAndGet())).isEqualTo("A4");
+    assertThat(test.size()).isEqualTo(3);
+    assertThat(test.toString()).isEqualTo("ReportFormatCache[size=3]");
+    test.clear();
+    assertThat(test.size()).isEqualTo(0);
+    assertThat(test.format(0, 1, ReportOutputFormat.CSV, 2d, () -> "A" + count.incrementAndGet())).isEqualTo("A5");
+  }
+
+}
@@ -5,19 +5,28 @@
  */
 package com.opengamma.strata.report.trade;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ArrayTable;
 import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.io.CsvOutput;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.report.framework.format.ReportFormatCache;
+import com.opengamma.strata.report.framework.format.ReportOutputFormat;
 
 /**
  * Test {@link TradeReportFormatter}.
@@ -62,6 +71,64 @@ public class TradeReportFormatterTest {
     assertThat(columnTypes).isEqualTo(ImmutableList.of(Object.class, Object.class));
   }
 
+  public void formatWithCache() {
+    ArrayTable<Integer, Integer, Result<?>> table = ArrayTable.create(INDICES, INDICES);
+    table.put(0, 0, Result.success(1.5d));
+    table.put(0, 1, Result.success("abc"));
+    table.put(1, 0, Result.failure(FailureReason.ERROR, "fail"));
+    table.put(1, 1, Result.success(CurrencyAmount.of(Currency.GBP, 1234.5)));
+    ReportFormatCache cache = ReportFormatCache.create();
+    assertThat(csv(report(table), cache)).isEqualTo(csv(report(table), null));
+    assertThat(asciiTable(report(table), cache)).isEqualTo(asciiTable(report(table), null));
+    // failures are not cached
+    assertThat(cache.size()).isEqualTo(6);
+
+    // a later run with a changed result
+    table.put(0, 0, Result.success(2.5d));
+    assertThat(csv(report(table), cache)).isEqualTo(csv(report(table), null));
+    assertThat(asciiTable(report(table), cache)).isEqualTo(asciiTable(report(table), null));
+    assertThat(csv(report(table), cache)).contains("2.5");
+  }
+
+  public void formatInParallel() {
+    ImmutableList<Integer> rows = IntStream.range(0, 1000).boxed().collect(toImmutableList());
+    ArrayTable<Integer, Integer, Result<?>> table = ArrayTable.create(rows, INDICES);
+    for (int i = 0; i < rows.size(); i++) {
+      table.put(i, 0, Result.success(i + 0.25d));
+      table.put(i, 1, Result.success(CurrencyAmount.of(Currency.USD, i * 1000.5)));
+    }
+    TradeReport report = report(table);
+    StringBuilder expected = new StringBuilder();
+    CsvOutput csvOut = new CsvOutput(expected);
+    csvOut.writeLine(report.getColumnHeaders());
+    for (int i = 0; i < rows.size(); i++) {
+      csvOut.writeLine(TradeReportFormatter.INSTANCE.formatRow(report, i, ReportOutputFormat.CSV));
+    }
+    assertThat(csv(report, null)).isEqualTo(expected.toString());
+    assertThat(csv(report, ReportFormatCache.create())).isEqualTo(expected.toString());
+  }
+
+  //-------------------------------------------------------------------------
+  private static String csv(TradeReport report, ReportFormatCache cache) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    if (cache == null) {
+      TradeReportFormatter.INSTANCE.writeCsv(report, out);
+    } else {
+      TradeReportFormatter.INSTANCE.writeCsv(report, out, cache);
+    }
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static String asciiTable(TradeReport report, ReportFormatCache cache) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    if (cache == null) {
+      TradeReportFormatter.INSTANCE.writeAsciiTable(report, out);
+    } else {
+      TradeReportFormatter.INSTANCE.writeAsciiTable(report, out, cache);
+    }
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
   private TradeReport report(ArrayTable<Integer, Integer, Result<?>> table) {
     return TradeReport.builder()
         .columns(
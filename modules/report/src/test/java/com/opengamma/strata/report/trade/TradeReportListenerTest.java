@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.trade;
+
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.AdjustableDate;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.product.Trade;
+import com.opengamma.strata.product.TradeInfo;
+import com.opengamma.strata.product.fra.Fra;
+import com.opengamma.strata.product.fra.FraTrade;
+import com.opengamma.strata.report.ReportCalculationResults;
+
+/**
+ * Test {@link TradeReportListener}.
+ */
+@Test
+public class TradeReportListenerTest {
+
+  private static final LocalDate VAL_DATE = date(2016, 6, 30);
+  private static final CalculationFunctions FUNCTIONS = StandardComponents.calculationFunctions();
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measure.of("PresentValue")),
+      Column.of(Measure.of("ParRate")));
+  private static final TradeReportTemplate TEMPLATE = TradeReportTemplate.builder()
+      .columns(
+          TradeReportColumn.builder().header("Counterparty").value("Trade.Counterparty.Value").build(),
+          TradeReportColumn.builder().header("Notional").value("Product.notional").build(),
+          TradeReportColumn.builder().header("PV").value("Measures.PresentValue").build(),
+          TradeReportColumn.builder().header("Par Rate").value("Measures.ParRate").ignoreFailures(true).build())
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_csv_ordered() {
+    List<Trade> trades = trades(20);
+    List<CalculationResult> results = results(trades.size());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportListener test = TradeReportListener.ofCsv(TEMPLATE, VAL_DATE, FUNCTIONS, REF_DATA, trades.size(), out);
+    run(test, trades, reverse(results));
+    assertThat(csv(out)).isEqualTo(expectedCsv(trades, results));
+  }
+
+  public void test_csv_unordered() {
+    List<Trade> trades = trades(20);
+    List<CalculationResult> results = results(trades.size());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportListener test = TradeReportListener.ofCsv(TEMPLATE, VAL_DATE, FUNCTIONS, REF_DATA, 0, out);
+    run(test, trades, reverse(results));
+    List<String> expected = lines(expectedCsv(trades, results));
+    List<String> actual = lines(csv(out));
+    assertThat(actual.get(0)).isEqualTo(expected.get(0));
+    assertThat(actual.subList(1, actual.size())).isEqualTo(reverse(expected.subList(1, expected.size())));
+  }
+
+  public void test_csv_smallWindow() {
+    List<Trade> trades = trades(20);
+    List<CalculationResult> results = results(trades.size());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportListener test = TradeReportListener.ofCsv(TEMPLATE, VAL_DATE, FUNCTIONS, REF_DATA, 3, out);
+    // row 0 is received last, the other rows are received in order
+    List<CalculationResult> received = new ArrayList<>(results.subList(COLUMNS.size(), results.size()));
+    received.addAll(results.subList(0, COLUMNS.size()));
+    run(test, trades, received);
+    List<String> expected = lines(expectedCsv(trades, results));
+    List<String> actual = lines(csv(out));
+    assertThat(actual).hasSameSizeAs(expected);
+    assertThat(actual).containsExactlyInAnyOrder(expected.toArray(new String[0]));
+    assertThat(actual.get(1)).isEqualTo(expected.get(2));
+  }
+
+  public void test_asciiTable() {
+    List<Trade> trades = trades(20);
+    List<CalculationResult> results = results(trades.size());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportListener test = TradeReportListener.ofAsciiTable(TEMPLATE, VAL_DATE, FUNCTIONS, REF_DATA, out);
+    run(test, trades, reverse(results));
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    report(trades, results).writeAsciiTable(expected);
+    assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8))
+        .isEqualTo(new String(expected.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  public void test_csv_expressionCharacters() {
+    List<Trade> trades = ImmutableList.of(
+        trade("-cpty", 1_000_000), trade("=cpty", 2_000_000), trade("@cpty", 3_000_000), trade("+cpty", 4_000_000));
+    List<CalculationResult> results = results(trades.size());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportListener test = TradeReportListener.ofCsv(TEMPLATE, VAL_DATE, FUNCTIONS, REF_DATA, trades.size(), out);
+    run(test, trades, results);
+    String csv = csv(out);
+    assertThat(csv).isEqualTo(expectedCsv(trades, results));
+    assertThat(csv).contains("=\"-cpty\"", "=\"=cpty\"", "=\"@cpty\"", "=\"+cpty\"");
+  }
+
+  public void test_noCalculationColumns() {
+    TradeReportTemplate template = TradeReportTemplate.builder()
+        .columns(TradeReportColumn.builder().header("Counterparty").value("Trade.Counterparty.Value").build())
+        .build();
+    List<Trade> trades = trades(3);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportListener test = TradeReportListener.ofCsv(template, VAL_DATE, FUNCTIONS, REF_DATA, 0, out);
+    test.calculationsStarted(ImmutableList.copyOf(trades), ImmutableList.of());
+    test.calculationsComplete();
+    ReportCalculationResults calcResults = ReportCalculationResults.of(
+        VAL_DATE, trades, ImmutableList.of(), Results.of(ImmutableList.of(), ImmutableList.of()), FUNCTIONS, REF_DATA);
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    TradeReport.of(calcResults, template).writeCsv(expected);
+    assertThat(lines(csv(out))).containsExactly("Counterparty", "cpty0", "cpty1", "cpty2");
+    assertThat(csv(out)).isEqualTo(csv(expected));
+  }
+
+  public void test_noTargets() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TradeReportListener test = TradeReportListener.ofCsv(TEMPLATE, VAL_DATE, FUNCTIONS, REF_DATA, 0, out);
+    run(test, ImmutableList.of(), ImmutableList.of());
+    assertThat(csv(out)).isEqualTo(expectedCsv(ImmutableList.of(), ImmutableList.of()));
+  }
+
+  public void test_ofCsv_negativeWindow() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertThrowsIllegalArg(() -> TradeReportListener.ofCsv(TEMPLATE, VAL_DATE, FUNCTIONS, REF_DATA, -1, out));
+  }
+
+  //-------------------------------------------------------------------------
+  private static void run(TradeReportListener listener, List<Trade> trades, List<CalculationResult> results) {
+    listener.calculationsStarted(ImmutableList.copyOf(trades), COLUMNS);
+    for (CalculationResult result : results) {
+      listener.resultReceived(trades.get(result.getRowIndex()), result);
+    }
+    listener.calculationsComplete();
+  }
+
+  private static String expectedCsv(List<Trade> trades, List<CalculationResult> results) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    report(trades, results).writeCsv(out);
+    return csv(out);
+  }
+
+  private static TradeReport report(List<Trade> trades, List<CalculationResult> results) {
+    List<Result<?>> cells = new ArrayList<>();
+    results.forEach(result -> cells.add(result.getResult()));
+    Results calcResults = Results.of(ImmutableList.of(COLUMNS.get(0).toHeader(), COLUMNS.get(1).toHeader()), cells);
+    List<CalculationTarget> targets = ImmutableList.copyOf(trades);
+    return TradeReport.of(
+        ReportCalculationResults.of(VAL_DATE, targets, COLUMNS, calcResults, FUNCTIONS, REF_DATA), TEMPLATE);
+  }
+
+  private static String csv(ByteArrayOutputStream out) {
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static List<String> lines(String text) {
+    return ImmutableList.copyOf(text.split("\\R"));
+  }
+
+  private static <T> List<T> reverse(List<T> list) {
+    return ImmutableList.copyOf(list).reverse();
+  }
+
+  // the results, in row then column order
+  private static List<CalculationResult> results(int rowCount) {
+    List<CalculationResult> results = new ArrayList<>();
+    for (int i = 0; i < rowCount; i++) {
+      results.add(CalculationResult.of(i, 0, Result.success(CurrencyAmount.of(Currency.GBP, i * 10))));
+      results.add(CalculationResult.of(i, 1, i % 2 == 0 ?
+          Result.success(0.01 * i) :
+          Result.failure(FailureReason.CALCULATION_FAILED, "Failed")));
+    }
+    return results;
+  }
+
+  private static List<Trade> trades(int count) {
+    List<Trade> trades = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      trades.add(trade("cpty" + i, 1_000_000 * (i + 1)));
+    }
+    return trades;
+  }
+
+  private static Trade trade(String counterparty, double notional) {
+    TradeInfo tradeInfo = TradeInfo.builder()
+        .counterparty(StandardId.of("cpty", counterparty))
+        .build();
+    Fra fra = Fra.builder()
+        .buySell(BUY)
+        .notional(notional)
+        .startDate(date(2015, 8, 5))
+        .endDate(date(2015, 11, 5))
+        .paymentDate(AdjustableDate.of(date(2015, 8, 7)))
+        .fixedRate(0.25d)
+        .index(GBP_LIBOR_3M)
+        .build();
+    return FraTrade.builder()
+        .info(tradeInfo)
+        .product(fra)
+        .build();
+  }
+
+}